@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
@@ -110,6 +111,7 @@ import com.google.gson.JsonSyntaxException;
 @NonNullByDefault
 public class Connection {
     private static final long expiresIn = 432000; // five days
+    private static final long RESPONSE_CACHE_TIME_TO_LIVE_SECONDS = 5;
     private static final Pattern charsetPattern = Pattern.compile("(?i)\\bcharset=\\s*\"?([^\\s;\"]*)");
 
     private final Logger logger = LoggerFactory.getLogger(Connection.class);
@@ -131,6 +133,9 @@ public class Connection {
 
     private final Gson gson = new Gson();
     private final Gson gsonWithNullSerialization;
+    // state requests of all devices share the cache, commands invalidate it
+    private final HttpResponseCache responseCache = new HttpResponseCache(RESPONSE_CACHE_TIME_TO_LIVE_SECONDS,
+            TimeUnit.SECONDS);
 
     public Connection(@Nullable Connection oldConnection) {
         String frc = null;
@@ -446,8 +451,30 @@ public class Connection {
         return convertStream(connection);
     }
 
+    /**
+     * Makes a GET request for a state. The response is cached for a short time and shared with concurrent requests
+     * for the same url.
+     */
+    private String makeCachedRequestAndReturnString(String url) throws IOException, URISyntaxException {
+        return responseCache.get(url, () -> makeRequestAndReturnString(url));
+    }
+
+    /**
+     * Removes the cached state responses of a device, i.e. if the device pushed a state change.
+     */
+    public void invalidateCachedResponses(Device device) {
+        String serialNumber = device.serialNumber;
+        if (serialNumber != null) {
+            responseCache.invalidate(serialNumber);
+        }
+    }
+
     public HttpsURLConnection makeRequest(String verb, String url, @Nullable String postData, boolean json,
             boolean autoredirect, @Nullable Map<String, String> customHeaders) throws IOException, URISyntaxException {
+        if (!"GET".equals(verb)) {
+            // the request may change the state of devices
+            responseCache.invalidate();
+        }
         String currentUrl = url;
         for (int i = 0; i < 30; i++) // loop for handling redirect, using automatic redirect is not possible, because
                                      // all response headers must be catched
@@ -798,6 +825,7 @@ public class Connection {
 
     public void logout() {
         cookieManager.getCookieStore().removeAll();
+        responseCache.invalidate();
         // reset all members
         refreshToken = null;
         loginTime = null;
@@ -821,7 +849,7 @@ public class Connection {
     public WakeWord[] getWakeWords() {
         String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/wake-word?cached=true");
+            json = makeCachedRequestAndReturnString(alexaServer + "/api/wake-word?cached=true");
             JsonWakeWords wakeWords = parseJson(json, JsonWakeWords.class);
             WakeWord[] result = wakeWords.wakeWords;
             if (result != null) {
@@ -849,14 +877,14 @@ public class Connection {
     }
 
     public JsonPlayerState getPlayer(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/np/player?deviceSerialNumber="
+        String json = makeCachedRequestAndReturnString(alexaServer + "/api/np/player?deviceSerialNumber="
                 + device.serialNumber + "&deviceType=" + device.deviceType + "&screenWidth=1440");
         JsonPlayerState playerState = parseJson(json, JsonPlayerState.class);
         return playerState;
     }
 
     public JsonMediaState getMediaState(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/media/state?deviceSerialNumber="
+        String json = makeCachedRequestAndReturnString(alexaServer + "/api/media/state?deviceSerialNumber="
                 + device.serialNumber + "&deviceType=" + device.deviceType);
         JsonMediaState mediaState = parseJson(json, JsonMediaState.class);
         return mediaState;
@@ -881,7 +909,7 @@ public class Connection {
     public JsonBluetoothStates getBluetoothConnectionStates() {
         String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/bluetooth?cached=true");
+            json = makeCachedRequestAndReturnString(alexaServer + "/api/bluetooth?cached=true");
         } catch (IOException | URISyntaxException e) {
             logger.debug("failed to get bluetooth state: {}", e.getMessage());
             return new JsonBluetoothStates();
@@ -891,7 +919,7 @@ public class Connection {
     }
 
     public JsonPlaylists getPlaylists(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/cloudplayer/playlists?deviceSerialNumber="
+        String json = makeCachedRequestAndReturnString(alexaServer + "/api/cloudplayer/playlists?deviceSerialNumber="
                 + device.serialNumber + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                 + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId
                         : this.accountCustomerId));
@@ -924,7 +952,7 @@ public class Connection {
     public DeviceNotificationState[] getDeviceNotificationStates() {
         String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/device-notification-state");
+            json = makeCachedRequestAndReturnString(alexaServer + "/api/device-notification-state");
             JsonDeviceNotificationState result = parseJson(json, JsonDeviceNotificationState.class);
             DeviceNotificationState[] deviceNotificationStates = result.deviceNotificationStates;
             if (deviceNotificationStates != null) {
@@ -939,7 +967,7 @@ public class Connection {
     public AscendingAlarmModel[] getAscendingAlarm() {
         String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/ascending-alarm");
+            json = makeCachedRequestAndReturnString(alexaServer + "/api/ascending-alarm");
             JsonAscendingAlarm result = parseJson(json, JsonAscendingAlarm.class);
             AscendingAlarmModel[] ascendingAlarmModelList = result.ascendingAlarmModelList;
             if (ascendingAlarmModelList != null) {
@@ -1260,7 +1288,7 @@ public class Connection {
     }
 
     public JsonNotificationSound[] getNotificationSounds(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(
+        String json = makeCachedRequestAndReturnString(
                 alexaServer + "/api/notification/sounds?deviceSerialNumber=" + device.serialNumber + "&deviceType="
                         + device.deviceType + "&softwareVersion=" + device.softwareVersion);
         JsonNotificationSounds result = parseJson(json, JsonNotificationSounds.class);
@@ -1390,7 +1418,7 @@ public class Connection {
     }
 
     public JsonEqualizer getEqualizer(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(
+        String json = makeCachedRequestAndReturnString(
                 alexaServer + "/api/equalizer/" + device.serialNumber + "/" + device.deviceType);
         return parseJson(json, JsonEqualizer.class);
     }
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.amazonechocontrol.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link HttpResponseCache} caches the responses of GET requests for a short time and shares the result of a
+ * request with all callers requesting the same url while the request is running.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HttpResponseCache {
+
+    @FunctionalInterface
+    public interface Request {
+        String execute() throws IOException, URISyntaxException;
+    }
+
+    private static class CachedResponse {
+        final String response;
+        final long time;
+
+        CachedResponse(String response, long time) {
+            this.response = response;
+            this.time = time;
+        }
+    }
+
+    private final long timeToLiveNanos;
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> runningRequests = new ConcurrentHashMap<>();
+    // incremented on every invalidation, so that responses of requests started before are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public HttpResponseCache(long timeToLive, TimeUnit unit) {
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+    }
+
+    /**
+     * Returns the cached response of the url, the response of a running request for the url or executes the request.
+     */
+    public String get(String url, Request request) throws IOException, URISyntaxException {
+        CachedResponse cachedResponse = responses.get(url);
+        if (cachedResponse != null && System.nanoTime() - cachedResponse.time < timeToLiveNanos) {
+            return cachedResponse.response;
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> runningRequest = runningRequests.putIfAbsent(url, future);
+        if (runningRequest != null) {
+            return waitForResponse(runningRequest);
+        }
+        long requestGeneration = generation.get();
+        try {
+            String response = request.execute();
+            if (requestGeneration == generation.get()) {
+                responses.put(url, new CachedResponse(response, System.nanoTime()));
+            }
+            future.complete(response);
+            return response;
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            runningRequests.remove(url, future);
+        }
+    }
+
+    /**
+     * Removes all cached responses, i.e. after a command changed the state of a device.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        responses.clear();
+    }
+
+    /**
+     * Removes the cached responses of all urls containing the given text.
+     */
+    public void invalidate(String urlPart) {
+        generation.incrementAndGet();
+        responses.keySet().removeIf(url -> url.contains(urlPart));
+    }
+
+    private String waitForResponse(CompletableFuture<String> runningRequest) throws IOException, URISyntaxException {
+        try {
+            return runningRequest.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response");
+        } catch (ExecutionException e) {
+            @Nullable
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof URISyntaxException) {
+                throw (URISyntaxException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
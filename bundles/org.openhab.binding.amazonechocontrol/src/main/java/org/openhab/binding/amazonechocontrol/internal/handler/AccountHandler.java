@@ -23,12 +23,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.storage.Storage;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
@@ -80,7 +85,11 @@ import com.google.gson.JsonSyntaxException;
 @NonNullByDefault
 public class AccountHandler extends BaseBridgeHandler implements IWebSocketCommandHandler {
 
+    private static final String REFRESH_THREAD_POOL_NAME = "amazonechocontrol";
+    private static final int REFRESH_TIMEOUT_SECONDS = 60;
+
     private final Logger logger = LoggerFactory.getLogger(AccountHandler.class);
+    private final ExecutorService refreshExecutor = ThreadPoolManager.getPool(REFRESH_THREAD_POOL_NAME);
     private Storage<String> stateStorage;
     private @Nullable Connection connection;
     private @Nullable WebSocketConnection webSocketConnection;
@@ -439,73 +448,45 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                 JsonBluetoothStates states = null;
                 List<JsonMusicProvider> musicProviders = null;
                 if (currentConnection.getIsLoggedIn()) {
+                    // the requests are independent, run them concurrently
+                    Future<DeviceNotificationState[]> deviceNotificationStatesRequest = refreshExecutor
+                            .submit(currentConnection::getDeviceNotificationStates);
+                    Future<AscendingAlarmModel[]> ascendingAlarmModelsRequest = refreshExecutor
+                            .submit(currentConnection::getAscendingAlarm);
+                    Future<JsonBluetoothStates> statesRequest = refreshExecutor
+                            .submit(currentConnection::getBluetoothConnectionStates);
+                    Future<List<JsonMusicProvider>> musicProvidersRequest = refreshExecutor
+                            .submit(currentConnection::getMusicProviders);
+
                     // update notification states
-                    deviceNotificationStates = currentConnection.getDeviceNotificationStates();
+                    deviceNotificationStates = getResult(deviceNotificationStatesRequest);
 
                     // update ascending alarm
-                    ascendingAlarmModels = currentConnection.getAscendingAlarm();
+                    ascendingAlarmModels = getResult(ascendingAlarmModelsRequest);
 
                     // update bluetooth states
-                    states = currentConnection.getBluetoothConnectionStates();
+                    states = getResult(statesRequest);
 
                     // update music providers
-                    if (currentConnection.getIsLoggedIn()) {
-                        try {
-                            musicProviders = currentConnection.getMusicProviders();
-                        } catch (HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update music provider failed {}", e);
-                        }
+                    try {
+                        musicProviders = getResult(musicProvidersRequest);
+                    } catch (HttpException | JsonSyntaxException | ConnectionException e) {
+                        logger.debug("Update music provider failed {}", e);
                     }
                 }
-                // forward device information to echo handler
-                for (EchoHandler child : echoHandlers) {
-                    Device device = findDeviceJson(child);
-
-                    @Nullable
-                    JsonNotificationSound[] notificationSounds = null;
-                    JsonPlaylists playlists = null;
-                    if (device != null && currentConnection.getIsLoggedIn()) {
-                        // update notification sounds
-                        try {
-                            notificationSounds = currentConnection.getNotificationSounds(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update notification sounds failed {}", e);
-                        }
-                        // update playlists
-                        try {
-                            playlists = currentConnection.getPlaylists(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update playlist failed {}", e);
-                        }
-                    }
-
-                    BluetoothState state = null;
-                    if (states != null) {
-                        state = states.findStateByDevice(device);
-                    }
-                    DeviceNotificationState deviceNotificationState = null;
-                    AscendingAlarmModel ascendingAlarmModel = null;
-                    if (device != null) {
-                        if (ascendingAlarmModels != null) {
-                            for (AscendingAlarmModel current : ascendingAlarmModels) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    ascendingAlarmModel = current;
-                                    break;
-                                }
-                            }
-                        }
-
-                        if (deviceNotificationStates != null) {
-                            for (DeviceNotificationState current : deviceNotificationStates) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    deviceNotificationState = current;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    child.updateState(this, device, state, deviceNotificationState, ascendingAlarmModel, playlists,
-                            notificationSounds, musicProviders);
+                // forward device information to echo handlers, the devices are refreshed concurrently
+                final Connection refreshConnection = currentConnection;
+                final JsonBluetoothStates bluetoothStates = states;
+                final DeviceNotificationState[] notificationStates = deviceNotificationStates;
+                final AscendingAlarmModel[] alarmModels = ascendingAlarmModels;
+                final List<JsonMusicProvider> providers = musicProviders;
+                List<Future<?>> echoHandlerRefreshes = new ArrayList<>();
+                for (EchoHandler child : getEchoHandlers()) {
+                    echoHandlerRefreshes.add(refreshExecutor.submit(() -> refreshEchoHandler(refreshConnection, child,
+                            bluetoothStates, notificationStates, alarmModels, providers)));
+                }
+                for (Future<?> echoHandlerRefresh : echoHandlerRefreshes) {
+                    getResult(echoHandlerRefresh);
                 }
 
                 // refresh notifications
@@ -517,12 +498,86 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                 logger.debug("refresh data {} finished", getThing().getUID().getAsString());
             } catch (HttpException | JsonSyntaxException | ConnectionException e) {
                 logger.debug("refresh data fails {}", e);
+            } catch (TimeoutException e) {
+                logger.debug("refresh data {} timed out", getThing().getUID().getAsString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             } catch (Exception e) { // this handler can be removed later, if we know that nothing else can fail.
                 logger.error("refresh data fails with unexpected error {}", e);
             }
         }
     }
 
+    private void refreshEchoHandler(Connection currentConnection, EchoHandler child,
+            @Nullable JsonBluetoothStates states, DeviceNotificationState @Nullable [] deviceNotificationStates,
+            AscendingAlarmModel @Nullable [] ascendingAlarmModels, @Nullable List<JsonMusicProvider> musicProviders) {
+        Device device = findDeviceJson(child);
+
+        @Nullable
+        JsonNotificationSound[] notificationSounds = null;
+        JsonPlaylists playlists = null;
+        if (device != null && currentConnection.getIsLoggedIn()) {
+            // update notification sounds
+            try {
+                notificationSounds = currentConnection.getNotificationSounds(device);
+            } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
+                logger.debug("Update notification sounds failed {}", e);
+            }
+            // update playlists
+            try {
+                playlists = currentConnection.getPlaylists(device);
+            } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
+                logger.debug("Update playlist failed {}", e);
+            }
+        }
+
+        BluetoothState state = null;
+        if (states != null) {
+            state = states.findStateByDevice(device);
+        }
+        DeviceNotificationState deviceNotificationState = null;
+        AscendingAlarmModel ascendingAlarmModel = null;
+        if (device != null) {
+            if (ascendingAlarmModels != null) {
+                for (AscendingAlarmModel current : ascendingAlarmModels) {
+                    if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
+                        ascendingAlarmModel = current;
+                        break;
+                    }
+                }
+            }
+
+            if (deviceNotificationStates != null) {
+                for (DeviceNotificationState current : deviceNotificationStates) {
+                    if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
+                        deviceNotificationState = current;
+                        break;
+                    }
+                }
+            }
+        }
+        child.updateState(this, device, state, deviceNotificationState, ascendingAlarmModel, playlists,
+                notificationSounds, musicProviders);
+    }
+
+    private List<EchoHandler> getEchoHandlers() {
+        synchronized (echoHandlers) {
+            return new ArrayList<>(echoHandlers);
+        }
+    }
+
+    private <T> T getResult(Future<T> request) throws InterruptedException, TimeoutException {
+        try {
+            return request.get(REFRESH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
     public @Nullable Device findDeviceJson(EchoHandler echoHandler) {
         String serialNumber = echoHandler.findSerialNumber();
         return findDeviceJson(serialNumber);
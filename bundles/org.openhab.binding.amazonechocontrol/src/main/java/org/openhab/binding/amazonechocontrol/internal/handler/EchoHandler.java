@@ -96,6 +96,9 @@ import com.google.gson.Gson;
 @NonNullByDefault
 public class EchoHandler extends BaseThingHandler {
 
+    // time the player state of a push update replaces polling the player state
+    private static final long PUSHED_STATE_VALIDITY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
     private final Logger logger = LoggerFactory.getLogger(EchoHandler.class);
     private Gson gson = new Gson();
     private @Nullable Device device;
@@ -128,6 +131,9 @@ public class EchoHandler extends BaseThingHandler {
     private @Nullable JsonPlaylists playLists;
     private @Nullable JsonNotificationSound @Nullable [] alarmSounds;
     private @Nullable List<JsonMusicProvider> musicProviders;
+    private @Nullable JsonPlayerState pushedPlayerState;
+    private @Nullable JsonMediaState pushedMediaState;
+    private long pushedStateTime;
 
     private @Nullable JsonNotificationResponse currentNotification;
     private @Nullable ScheduledFuture<?> currentNotifcationUpdateTimer;
@@ -239,6 +245,8 @@ public class EchoHandler extends BaseThingHandler {
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
+        // the command may change the player state
+        this.pushedPlayerState = null;
         try {
             int waitForUpdate = 1000;
             boolean needBluetoothRefresh = false;
@@ -790,6 +798,21 @@ public class EchoHandler extends BaseThingHandler {
             @Nullable AscendingAlarmModel ascendingAlarmModel, @Nullable JsonPlaylists playlists,
             @Nullable JsonNotificationSound @Nullable [] alarmSounds,
             @Nullable List<JsonMusicProvider> musicProviders) {
+        updateState(accountHandler, device, bluetoothState, deviceNotificationState, ascendingAlarmModel, playlists,
+                alarmSounds, musicProviders, false);
+    }
+
+    /**
+     * Updates the state. If the device pushed a state change recently, the player state received after the push
+     * update is used instead of requesting it again, because further changes would have been pushed too.
+     *
+     * @param pushUpdate true if the update is triggered by a state change pushed by the device
+     */
+    private void updateState(AccountHandler accountHandler, @Nullable Device device,
+            @Nullable BluetoothState bluetoothState, @Nullable DeviceNotificationState deviceNotificationState,
+            @Nullable AscendingAlarmModel ascendingAlarmModel, @Nullable JsonPlaylists playlists,
+            @Nullable JsonNotificationSound @Nullable [] alarmSounds, @Nullable List<JsonMusicProvider> musicProviders,
+            boolean pushUpdate) {
         try {
             this.logger.debug("Handle updateState {}", this.getThing().getUID());
 
@@ -830,6 +853,10 @@ public class EchoHandler extends BaseThingHandler {
                 updateEqualizerState();
             }
 
+            JsonPlayerState pushedPlayerState = this.pushedPlayerState;
+            boolean usePushedState = !pushUpdate && pushedPlayerState != null
+                    && System.nanoTime() - pushedStateTime < PUSHED_STATE_VALIDITY_NANOS;
+            JsonPlayerState playerState = null;
             PlayerInfo playerInfo = null;
             Provider provider = null;
             InfoText infoText = null;
@@ -837,7 +864,8 @@ public class EchoHandler extends BaseThingHandler {
             String musicProviderId = null;
             Progress progress = null;
             try {
-                JsonPlayerState playerState = connection.getPlayer(device);
+                playerState = usePushedState && pushedPlayerState != null ? pushedPlayerState
+                        : connection.getPlayer(device);
                 playerInfo = playerState.playerInfo;
                 if (playerInfo != null) {
                     infoText = playerInfo.infoText;
@@ -880,42 +908,45 @@ public class EchoHandler extends BaseThingHandler {
 
             isPaused = (playerInfo != null && StringUtils.equals(playerInfo.state, "PAUSED"));
             // || (mediaState != null && StringUtils.equals(mediaState.currentState, "PAUSED"));
-            synchronized (progressLock) {
-                Boolean showTime = null;
-                Long mediaLength = null;
-                Long mediaProgress = null;
-                if (progress != null) {
-                    showTime = progress.showTiming;
-                    mediaLength = progress.mediaLength;
-                    mediaProgress = progress.mediaProgress;
-                }
-                if (showTime != null && showTime && mediaProgress != null && mediaLength != null) {
-                    mediaProgressMs = mediaProgress * 1000;
-                    mediaLengthMs = mediaLength * 1000;
-                    mediaStartMs = System.currentTimeMillis() - mediaProgressMs;
-                    if (isPlaying) {
-                        if (updateProgressJob == null) {
-                            updateProgressJob = scheduler.scheduleWithFixedDelay(this::updateMediaProgress, 1000, 1000,
-                                    TimeUnit.MILLISECONDS);
+            // the progress of a pushed player state is outdated, keep the running progress
+            if (!usePushedState) {
+                synchronized (progressLock) {
+                    Boolean showTime = null;
+                    Long mediaLength = null;
+                    Long mediaProgress = null;
+                    if (progress != null) {
+                        showTime = progress.showTiming;
+                        mediaLength = progress.mediaLength;
+                        mediaProgress = progress.mediaProgress;
+                    }
+                    if (showTime != null && showTime && mediaProgress != null && mediaLength != null) {
+                        mediaProgressMs = mediaProgress * 1000;
+                        mediaLengthMs = mediaLength * 1000;
+                        mediaStartMs = System.currentTimeMillis() - mediaProgressMs;
+                        if (isPlaying) {
+                            if (updateProgressJob == null) {
+                                updateProgressJob = scheduler.scheduleWithFixedDelay(this::updateMediaProgress, 1000,
+                                        1000, TimeUnit.MILLISECONDS);
+                            }
+                        } else {
+                            stopProgressTimer();
                         }
+
                     } else {
                         stopProgressTimer();
+                        mediaProgressMs = 0;
+                        mediaStartMs = 0;
+                        mediaLengthMs = 0;
                     }
-
-                } else {
-                    stopProgressTimer();
-                    mediaProgressMs = 0;
-                    mediaStartMs = 0;
-                    mediaLengthMs = 0;
+                    updateMediaProgress(true);
                 }
-                updateMediaProgress(true);
             }
 
-            JsonMediaState mediaState = null;
+            JsonMediaState mediaState = usePushedState ? this.pushedMediaState : null;
             try {
 
-                if (StringUtils.equalsIgnoreCase(musicProviderId, "AMAZON_MUSIC")
-                        || StringUtils.equalsIgnoreCase(musicProviderId, "TUNEIN")) {
+                if (!usePushedState && (StringUtils.equalsIgnoreCase(musicProviderId, "AMAZON_MUSIC")
+                        || StringUtils.equalsIgnoreCase(musicProviderId, "TUNEIN"))) {
                     mediaState = connection.getMediaState(device);
                 }
 
@@ -930,6 +961,11 @@ public class EchoHandler extends BaseThingHandler {
             } catch (IOException | URISyntaxException e) {
                 logger.info("getMediaState fails: {}", e);
             }
+            if (pushUpdate) {
+                this.pushedPlayerState = playerState;
+                this.pushedMediaState = mediaState;
+                this.pushedStateTime = System.nanoTime();
+            }
 
             // handle music provider id
 
@@ -1260,7 +1296,11 @@ public class EchoHandler extends BaseThingHandler {
                 Device device = this.device;
                 if (account != null && device != null) {
                     this.disableUpdate = false;
-                    updateState(account, device, null, null, null, null, null, null);
+                    Connection connection = account.findConnection();
+                    if (connection != null) {
+                        connection.invalidateCachedResponses(device);
+                    }
+                    updateState(account, device, null, null, null, null, null, null, true);
                 }
         }
     }
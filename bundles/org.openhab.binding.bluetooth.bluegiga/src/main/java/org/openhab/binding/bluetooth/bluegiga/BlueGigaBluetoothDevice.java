@@ -12,7 +12,11 @@
  */
 package org.openhab.binding.bluetooth.bluegiga;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
 
 import org.openhab.binding.bluetooth.BluetoothAddress;
@@ -44,6 +48,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * An extended {@link BluetoothDevice} class to handle BlueGiga specific information
+ * <p>
+ * A connection supports only one GATT procedure at a time. The procedures requested for the device are therefore
+ * queued and started one after the other, while the procedures of other devices run in parallel. The next procedure
+ * is started on the scheduler of the {@link BlueGigaBridgeHandler}, as starting it waits for the response of the
+ * dongle, which is received on the thread dispatching the events.
  *
  * @author Chris Jackson - Initial contribution
  */
@@ -68,6 +77,27 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
         CHARACTERISTIC_WRITE;
     }
 
+    // A procedure waiting until the previous procedures of the connection are completed
+    private static class PendingProcedure {
+        private final BlueGigaProcedure procedure;
+        private final BluetoothCharacteristic characteristic;
+        // The value to write, copied when the write was requested, as the characteristic value may change until then
+        private final int[] value;
+
+        PendingProcedure(BlueGigaProcedure procedure, BluetoothCharacteristic characteristic) {
+            this(procedure, characteristic, null);
+        }
+
+        PendingProcedure(BlueGigaProcedure procedure, BluetoothCharacteristic characteristic, int[] value) {
+            this.procedure = procedure;
+            this.characteristic = characteristic;
+            this.value = value;
+        }
+    }
+
+    // Queue of the procedures not started yet, also used to synchronize the procedure state
+    private final Queue<PendingProcedure> procedureQueue = new LinkedList<>();
+
     private BlueGigaProcedure procedureProgress = BlueGigaProcedure.NONE;
 
     // Somewhere to remember what characteristic we're working on
@@ -125,8 +155,7 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
     @Override
     public boolean discoverServices() {
         // Start by requesting all the services
-        procedureProgress = BlueGigaProcedure.GET_SERVICES;
-        return bgHandler.bgFindPrimaryServices(connection);
+        return queueProcedure(new PendingProcedure(BlueGigaProcedure.GET_SERVICES, null));
     }
 
     @Override
@@ -135,18 +164,7 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
             return false;
         }
 
-        if (!bgHandler.bgReadCharacteristic(connection, characteristic.getHandle())) {
-            return false;
-        }
-
-        if (procedureProgress != BlueGigaProcedure.NONE) {
-            return false;
-        }
-
-        procedureProgress = BlueGigaProcedure.CHARACTERISTIC_READ;
-        procedureCharacteristic = characteristic;
-
-        return true;
+        return queueProcedure(new PendingProcedure(BlueGigaProcedure.CHARACTERISTIC_READ, characteristic));
     }
 
     @Override
@@ -155,18 +173,106 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
             return false;
         }
 
-        if (procedureProgress != BlueGigaProcedure.NONE) {
-            return false;
+        int[] value = characteristic.getValue();
+        return queueProcedure(new PendingProcedure(BlueGigaProcedure.CHARACTERISTIC_WRITE, characteristic,
+                value == null ? new int[0] : value.clone()));
+    }
+
+    /**
+     * Queues a procedure. It is started on the scheduler of the handler, if no other procedure is in progress.
+     *
+     * @return false if the device is not connected
+     */
+    private boolean queueProcedure(PendingProcedure procedure) {
+        synchronized (procedureQueue) {
+            if (connection == -1) {
+                return false;
+            }
+            procedureQueue.add(procedure);
         }
+        bgHandler.submit(this::startNextProcedure);
 
-        if (!bgHandler.bgWriteCharacteristic(connection, characteristic.getHandle(), characteristic.getValue())) {
-            return false;
+        return true;
+    }
+
+    /**
+     * Starts the next queued procedure, if no other procedure is in progress.
+     */
+    private void startNextProcedure() {
+        while (true) {
+            PendingProcedure next;
+            int procedureConnection;
+            synchronized (procedureQueue) {
+                if (procedureProgress != BlueGigaProcedure.NONE || connection == -1) {
+                    return;
+                }
+                next = procedureQueue.poll();
+                if (next == null) {
+                    return;
+                }
+                procedureProgress = next.procedure;
+                procedureCharacteristic = next.characteristic;
+                procedureConnection = connection;
+            }
+
+            boolean started;
+            switch (next.procedure) {
+                case GET_SERVICES:
+                    started = bgHandler.bgFindPrimaryServices(procedureConnection);
+                    break;
+                case CHARACTERISTIC_READ:
+                    started = bgHandler.bgReadCharacteristic(procedureConnection, next.characteristic.getHandle());
+                    break;
+                case CHARACTERISTIC_WRITE:
+                    started = bgHandler.bgWriteCharacteristic(procedureConnection, next.characteristic.getHandle(),
+                            next.value);
+                    break;
+                default:
+                    started = false;
+                    break;
+            }
+            if (started) {
+                return;
+            }
+
+            logger.debug("BlueGiga {}: {} could not be started", address, next.procedure);
+            synchronized (procedureQueue) {
+                if (procedureCharacteristic != next.characteristic || procedureProgress != next.procedure) {
+                    // the procedure was already completed or the device was disconnected
+                    continue;
+                }
+                procedureProgress = BlueGigaProcedure.NONE;
+                procedureCharacteristic = null;
+            }
+            notifyProcedureFailed(next.procedure, next.characteristic);
         }
+    }
 
-        procedureProgress = BlueGigaProcedure.CHARACTERISTIC_WRITE;
-        procedureCharacteristic = characteristic;
+    /**
+     * Marks the current procedure as completed and starts the next procedure on the scheduler of the handler.
+     */
+    private void completeProcedure() {
+        synchronized (procedureQueue) {
+            if (procedureProgress == BlueGigaProcedure.NONE) {
+                return;
+            }
+            procedureProgress = BlueGigaProcedure.NONE;
+            procedureCharacteristic = null;
+            if (procedureQueue.isEmpty()) {
+                return;
+            }
+        }
+        bgHandler.submit(this::startNextProcedure);
+    }
 
-        return true;
+    private void notifyProcedureFailed(BlueGigaProcedure procedure, BluetoothCharacteristic characteristic) {
+        if (procedure == BlueGigaProcedure.CHARACTERISTIC_READ) {
+            notifyListeners(BluetoothEventType.CHARACTERISTIC_READ_COMPLETE, characteristic,
+                    BluetoothCompletionStatus.ERROR);
+        } else if (procedure == BlueGigaProcedure.CHARACTERISTIC_WRITE) {
+            notifyListeners(BluetoothEventType.CHARACTERISTIC_WRITE_COMPLETE, characteristic,
+                    BluetoothCompletionStatus.ERROR);
+        }
     }
 
     @Override
@@ -330,41 +436,49 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
                 return;
             }
 
-            if (procedureProgress == null) {
-                logger.debug("BlueGiga procedure completed but procedure is null with connection {}, address {}",
-                        connection, address);
-                return;
+            BlueGigaProcedure procedure;
+            BluetoothCharacteristic characteristic;
+            synchronized (procedureQueue) {
+                procedure = procedureProgress;
+                characteristic = procedureCharacteristic;
+                if (procedure == BlueGigaProcedure.GET_SERVICES) {
+                    procedureProgress = BlueGigaProcedure.GET_CHARACTERISTICS;
+                }
             }
 
             // The current procedure is now complete - move on...
-            switch (procedureProgress) {
+            switch (procedure) {
                 case GET_SERVICES:
                     // We've downloaded all services, now get the characteristics
-                    procedureProgress = BlueGigaProcedure.GET_CHARACTERISTICS;
-                    bgHandler.bgFindCharacteristics(connection);
+                    int procedureConnection = connection;
+                    bgHandler.submit(() -> {
+                        if (!bgHandler.bgFindCharacteristics(procedureConnection)) {
+                            completeProcedure();
+                        }
+                    });
                     break;
                 case GET_CHARACTERISTICS:
                     // We've downloaded all characteristics
-                    procedureProgress = BlueGigaProcedure.NONE;
+                    completeProcedure();
                     notifyListeners(BluetoothEventType.SERVICES_DISCOVERED);
                     break;
                 case CHARACTERISTIC_READ:
                     // The read failed
-                    notifyListeners(BluetoothEventType.CHARACTERISTIC_READ_COMPLETE, procedureCharacteristic,
+                    completeProcedure();
+                    notifyListeners(BluetoothEventType.CHARACTERISTIC_READ_COMPLETE, characteristic,
                             BluetoothCompletionStatus.ERROR);
-                    procedureProgress = BlueGigaProcedure.NONE;
-                    procedureCharacteristic = null;
                     break;
                 case CHARACTERISTIC_WRITE:
                     // The write completed - failure or success
                     BluetoothCompletionStatus result = completedEvent.getResult() == BgApiResponse.SUCCESS
                             ? BluetoothCompletionStatus.SUCCESS
                             : BluetoothCompletionStatus.ERROR;
-                    notifyListeners(BluetoothEventType.CHARACTERISTIC_WRITE_COMPLETE, procedureCharacteristic, result);
-                    procedureProgress = BlueGigaProcedure.NONE;
-                    procedureCharacteristic = null;
+                    completeProcedure();
+                    notifyListeners(BluetoothEventType.CHARACTERISTIC_WRITE_COMPLETE, characteristic, result);
                     break;
                 default:
+                    logger.debug("BlueGiga procedure completed but no procedure is in progress with connection {}, "
+                            + "address {}", connection, address);
                     break;
             }
 
@@ -401,10 +515,24 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
                 return;
             }
 
-            connectionState = ConnectionState.DISCONNECTED;
-            connection = -1;
+            // The procedures of the connection can't complete anymore
+            List<PendingProcedure> failedProcedures = new ArrayList<>();
+            synchronized (procedureQueue) {
+                connectionState = ConnectionState.DISCONNECTED;
+                connection = -1;
+                if (procedureProgress != BlueGigaProcedure.NONE) {
+                    failedProcedures.add(new PendingProcedure(procedureProgress, procedureCharacteristic));
+                    procedureProgress = BlueGigaProcedure.NONE;
+                    procedureCharacteristic = null;
+                }
+                failedProcedures.addAll(procedureQueue);
+                procedureQueue.clear();
+            }
             notifyListeners(BluetoothEventType.CONNECTION_STATE,
                     new BluetoothConnectionStatusNotification(connectionState));
+            for (PendingProcedure failedProcedure : failedProcedures) {
+                notifyProcedureFailed(failedProcedure.procedure, failedProcedure.characteristic);
+            }
 
             return;
         }
@@ -417,17 +545,23 @@ public class BlueGigaBluetoothDevice extends BluetoothDevice implements BlueGiga
             if (characteristic == null) {
                 logger.debug("BlueGiga didn't find characteristic for event {}", event);
             } else {
+                characteristic.setValue(valueEvent.getValue());
+
                 // If this is the characteristic we were reading, then send a read completion
-                if (procedureProgress == BlueGigaProcedure.CHARACTERISTIC_READ && procedureCharacteristic != null
-                        && procedureCharacteristic.getHandle() == valueEvent.getAttHandle()) {
-                    procedureProgress = BlueGigaProcedure.NONE;
-                    procedureCharacteristic = null;
+                boolean readComplete;
+                synchronized (procedureQueue) {
+                    readComplete = procedureProgress == BlueGigaProcedure.CHARACTERISTIC_READ
+                            && procedureCharacteristic != null
+                            && procedureCharacteristic.getHandle() == valueEvent.getAttHandle();
+                }
+                if (readComplete) {
+                    completeProcedure();
                     notifyListeners(BluetoothEventType.CHARACTERISTIC_READ_COMPLETE, characteristic,
                             BluetoothCompletionStatus.SUCCESS);
                 }
 
                 // Notify the user of the updated value
-                notifyListeners(BluetoothEventType.CHARACTERISTIC_UPDATED, procedureCharacteristic);
+                notifyListeners(BluetoothEventType.CHARACTERISTIC_UPDATED, characteristic);
             }
         }
     }
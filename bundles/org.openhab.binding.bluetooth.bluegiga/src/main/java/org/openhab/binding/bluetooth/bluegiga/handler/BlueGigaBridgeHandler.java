@@ -21,6 +21,9 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -47,6 +50,7 @@ import org.openhab.binding.bluetooth.bluegiga.BlueGigaAdapterConstants;
 import org.openhab.binding.bluetooth.bluegiga.BlueGigaBluetoothDevice;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaCommand;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaEventListener;
+import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaException;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaHandlerListener;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaResponse;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaSerialHandler;
@@ -96,6 +100,10 @@ import org.slf4j.LoggerFactory;
  * scanning is enabled when we want to include new devices. Passive scanning is enough for us to receive beacons etc
  * that are transmitted periodically, and active scanning will get more information which may be useful when we are
  * including new devices.
+ * <p>
+ * Scanning is only interrupted while a connection is established, and continues while devices are connected. The GATT
+ * procedures of connected devices are queued per connection by the {@link BlueGigaBluetoothDevice}s, so procedures
+ * of different connections run concurrently.
  *
  * @author Chris Jackson - Initial contribution
  * @author Kai Kreuzer - Made handler implement BlueGigaHandlerListener
@@ -133,6 +141,25 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
     private final int activeScanInterval = 0x40;
     private final int activeScanWindow = 0x20;
 
+    // Timeout for the response to a command in milliseconds
+    private static final long TRANSACTION_TIMEOUT = 5000;
+
+    // Time after which an attempt to establish a connection is cancelled in seconds
+    private static final long CONNECT_TIMEOUT = 10;
+
+    // Lock for the GAP procedures (scanning and establishing connections) of the dongle
+    private final Object gapProcedureLock = new Object();
+
+    // true if active scanning was requested for the discovery of new devices
+    private volatile boolean activeScanning = false;
+
+    // The device a connection is currently established to, scanning is resumed when it is connected
+    @Nullable
+    private BluetoothAddress connectingAddress;
+
+    @Nullable
+    private ScheduledFuture<?> connectTimeoutJob;
+
     // Our BT address
     @Nullable
     private BluetoothAddress address;
@@ -248,6 +275,14 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
 
     @Override
     public void dispose() {
+        synchronized (gapProcedureLock) {
+            ScheduledFuture<?> job = connectTimeoutJob;
+            if (job != null) {
+                job.cancel(false);
+                connectTimeoutJob = null;
+            }
+            connectingAddress = null;
+        }
         try {
             BlueGigaSerialHandler bgh = getBgHandler();
             bgh.removeEventListener(this);
@@ -349,7 +384,20 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
 
         if (event instanceof BlueGigaConnectionStatusEvent) {
             BlueGigaConnectionStatusEvent connectionEvent = (BlueGigaConnectionStatusEvent) event;
-            connections.put(connectionEvent.getConnection(), new BluetoothAddress(connectionEvent.getAddress()));
+            BluetoothAddress connectionAddress = new BluetoothAddress(connectionEvent.getAddress());
+            connections.put(connectionEvent.getConnection(), connectionAddress);
+            synchronized (gapProcedureLock) {
+                if (connectionAddress.equals(connectingAddress)) {
+                    // The connection is established, we can resume scanning
+                    connectingAddress = null;
+                    ScheduledFuture<?> job = connectTimeoutJob;
+                    if (job != null) {
+                        job.cancel(false);
+                        connectTimeoutJob = null;
+                    }
+                    scheduler.submit(this::restartScanning);
+                }
+            }
         }
 
         if (event instanceof BlueGigaDisconnectedEvent) {
@@ -360,11 +408,9 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
 
     @Override
     public void scanStart() {
-        // Stop the passive scan
-        bgStopProcedure();
-
-        // Start a active scan
-        bgStartScanning(true, activeScanInterval, activeScanWindow);
+        // Replace the passive scan by an active scan
+        activeScanning = true;
+        restartScanning();
 
         for (BluetoothDevice device : devices.values()) {
             deviceDiscovered(device);
@@ -373,11 +419,27 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
 
     @Override
     public void scanStop() {
-        // Stop the active scan
-        bgStopProcedure();
+        // Replace the active scan by a passive scan
+        activeScanning = false;
+        restartScanning();
+    }
 
-        // Start a passive scan
-        bgStartScanning(false, passiveScanInterval, passiveScanWindow);
+    /**
+     * Stops the current scan and starts a passive or active scan, unless a connection is being established.
+     */
+    private void restartScanning() {
+        synchronized (gapProcedureLock) {
+            if (connectingAddress != null) {
+                // scanning is resumed when the connection is established
+                return;
+            }
+            bgStopProcedure();
+            if (activeScanning) {
+                bgStartScanning(true, activeScanInterval, activeScanWindow);
+            } else {
+                bgStartScanning(false, passiveScanInterval, passiveScanWindow);
+            }
+        }
     }
 
     @Override
@@ -425,7 +487,11 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
      * Connects to a device.
      * <p>
      * If the device is already connected, or the attempt to connect failed, then we return false. If we have reached
-     * the maximum number of connections supported by this dongle, then we return false.
+     * the maximum number of connections supported by this dongle, then we return false. As the dongle can only
+     * establish one connection at a time, we also return false while a connection to another device is established.
+     * <p>
+     * Scanning is stopped while the connection is established and resumed when the device is connected or the
+     * attempt timed out.
      *
      * @param address the device {@link BluetoothAddress} to connect to
      * @param addressType the {@link BluetoothAddressType} of the device
@@ -445,30 +511,60 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
             return false;
         }
 
-        bgSetMode();
-
-        // Connect...
-        int connIntervalMin = 60;
-        int connIntervalMax = 100;
-        int latency = 0;
-        int timeout = 100;
-
-        BlueGigaConnectDirectCommand connect = new BlueGigaConnectDirectCommand();
-        connect.setAddress(address.toString());
-        connect.setAddrType(addressType);
-        connect.setConnIntervalMin(connIntervalMin);
-        connect.setConnIntervalMax(connIntervalMax);
-        connect.setLatency(latency);
-        connect.setTimeout(timeout);
-        BlueGigaConnectDirectResponse connectResponse = (BlueGigaConnectDirectResponse) getBgHandler()
-                .sendTransaction(connect);
-        if (connectResponse.getResult() != BgApiResponse.SUCCESS) {
-            return false;
+        synchronized (gapProcedureLock) {
+            if (connectingAddress != null) {
+                logger.debug("BlueGiga: Attempt to connect to {} while connecting to {}.", address, connectingAddress);
+                return false;
+            }
+
+            // The dongle does not establish connections while scanning
+            bgStopProcedure();
+            bgSetMode();
+
+            // Connect...
+            int connIntervalMin = 60;
+            int connIntervalMax = 100;
+            int latency = 0;
+            int timeout = 100;
+
+            BlueGigaConnectDirectCommand connect = new BlueGigaConnectDirectCommand();
+            connect.setAddress(address.toString());
+            connect.setAddrType(addressType);
+            connect.setConnIntervalMin(connIntervalMin);
+            connect.setConnIntervalMax(connIntervalMax);
+            connect.setLatency(latency);
+            connect.setTimeout(timeout);
+            BlueGigaConnectDirectResponse connectResponse = sendTransaction(connect,
+                    BlueGigaConnectDirectResponse.class);
+            if (connectResponse == null || connectResponse.getResult() != BgApiResponse.SUCCESS) {
+                restartScanning();
+                return false;
+            }
+
+            connectingAddress = address;
+            connectTimeoutJob = scheduler.schedule(() -> connectTimedOut(address), CONNECT_TIMEOUT, TimeUnit.SECONDS);
         }
 
         return true;
     }
 
+    /**
+     * Cancels the attempt to connect to a device, if it is not connected yet, and resumes scanning.
+     *
+     * @param address the device {@link BluetoothAddress} the connection was attempted to
+     */
+    private void connectTimedOut(BluetoothAddress address) {
+        synchronized (gapProcedureLock) {
+            if (!address.equals(connectingAddress)) {
+                return;
+            }
+            logger.debug("BlueGiga: Connecting to {} timed out.", address);
+            connectTimeoutJob = null;
+            connectingAddress = null;
+            restartScanning();
+        }
+    }
+
     /**
      * Close a connection using {@link BlueGigaDisconnectCommand}
      *
@@ -478,9 +574,9 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
     public boolean bgDisconnect(int connectionHandle) {
         BlueGigaDisconnectCommand command = new BlueGigaDisconnectCommand();
         command.setConnection(connectionHandle);
-        BlueGigaDisconnectResponse response = (BlueGigaDisconnectResponse) getBgHandler().sendTransaction(command);
+        BlueGigaDisconnectResponse response = sendTransaction(command, BlueGigaDisconnectResponse.class);
 
-        return response.getResult() == BgApiResponse.SUCCESS;
+        return response != null && response.getResult() == BgApiResponse.SUCCESS;
     }
 
     /**
@@ -507,9 +603,8 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
         command.setStart(1);
         command.setEnd(65535);
         command.setUuid(UUID.fromString("00002800-0000-0000-0000-000000000000"));
-        BlueGigaReadByGroupTypeResponse response = (BlueGigaReadByGroupTypeResponse) getBgHandler()
-                .sendTransaction(command);
-        return response.getResult() == BgApiResponse.SUCCESS;
+        BlueGigaReadByGroupTypeResponse response = sendTransaction(command, BlueGigaReadByGroupTypeResponse.class);
+        return response != null && response.getResult() == BgApiResponse.SUCCESS;
     }
 
     /**
@@ -524,10 +619,9 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
         command.setConnection(connectionHandle);
         command.setStart(1);
         command.setEnd(65535);
-        BlueGigaFindInformationResponse response = (BlueGigaFindInformationResponse) getBgHandler()
-                .sendTransaction(command);
+        BlueGigaFindInformationResponse response = sendTransaction(command, BlueGigaFindInformationResponse.class);
 
-        return response.getResult() == BgApiResponse.SUCCESS;
+        return response != null && response.getResult() == BgApiResponse.SUCCESS;
     }
 
     /**
@@ -542,9 +636,9 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
         BlueGigaReadByHandleCommand command = new BlueGigaReadByHandleCommand();
         command.setConnection(connectionHandle);
         command.setChrHandle(handle);
-        BlueGigaReadByHandleResponse response = (BlueGigaReadByHandleResponse) getBgHandler().sendTransaction(command);
+        BlueGigaReadByHandleResponse response = sendTransaction(command, BlueGigaReadByHandleResponse.class);
 
-        return response.getResult() == BgApiResponse.SUCCESS;
+        return response != null && response.getResult() == BgApiResponse.SUCCESS;
     }
 
     /**
@@ -561,10 +655,19 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
         command.setConnection(connectionHandle);
         command.setAttHandle(handle);
         command.setData(value);
-        BlueGigaAttributeWriteResponse response = (BlueGigaAttributeWriteResponse) getBgHandler()
-                .sendTransaction(command);
+        BlueGigaAttributeWriteResponse response = sendTransaction(command, BlueGigaAttributeWriteResponse.class);
 
-        return response.getResult() == BgApiResponse.SUCCESS;
+        return response != null && response.getResult() == BgApiResponse.SUCCESS;
+    }
+
+    /**
+     * Runs a task of a device on the scheduler of the handler. The GATT procedures wait for the response of the dongle
+     * and must not be started on the thread dispatching the events of the dongle.
+     *
+     * @param task the task to run
+     */
+    public void submit(Runnable task) {
+        scheduler.submit(task);
     }
 
     /*
@@ -572,18 +675,18 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
      */
     private boolean bgStopProcedure() {
         BlueGigaCommand command = new BlueGigaEndProcedureCommand();
-        BlueGigaEndProcedureResponse response = (BlueGigaEndProcedureResponse) getBgHandler().sendTransaction(command);
+        BlueGigaEndProcedureResponse response = sendTransaction(command, BlueGigaEndProcedureResponse.class);
 
-        return response.getResult() == BgApiResponse.SUCCESS;
+        return response != null && response.getResult() == BgApiResponse.SUCCESS;
     }
 
     private boolean bgSetMode() {
         BlueGigaSetModeCommand command = new BlueGigaSetModeCommand();
         command.setConnect(GapConnectableMode.GAP_NON_CONNECTABLE);
         command.setDiscover(GapDiscoverableMode.GAP_NON_DISCOVERABLE);
-        BlueGigaSetModeResponse response = (BlueGigaSetModeResponse) getBgHandler().sendTransaction(command);
+        BlueGigaSetModeResponse response = sendTransaction(command, BlueGigaSetModeResponse.class);
 
-        return response.getResult() == BgApiResponse.SUCCESS;
+        return response != null && response.getResult() == BgApiResponse.SUCCESS;
     }
 
     /**
@@ -596,11 +699,27 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
         scanCommand.setActiveScanning(active);
         scanCommand.setScanInterval(interval);
         scanCommand.setScanWindow(window);
-        getBgHandler().sendTransaction(scanCommand);
+        sendTransaction(scanCommand, BlueGigaResponse.class);
 
         BlueGigaDiscoverCommand discoverCommand = new BlueGigaDiscoverCommand();
         discoverCommand.setMode(GapDiscoverMode.GAP_DISCOVER_OBSERVATION);
-        getBgHandler().sendTransaction(discoverCommand);
+        sendTransaction(discoverCommand, BlueGigaResponse.class);
+    }
+
+    /**
+     * Sends a command to the dongle and waits for the response.
+     *
+     * @param command the {@link BlueGigaCommand} to send
+     * @param expected the class of the expected response
+     * @return the response or null if the dongle did not respond as expected
+     */
+    private <T extends BlueGigaResponse> @Nullable T sendTransaction(BlueGigaCommand command, Class<T> expected) {
+        try {
+            return getBgHandler().sendTransaction(command, expected, TRANSACTION_TIMEOUT);
+        } catch (BlueGigaException | IllegalStateException | TimeoutException e) {
+            logger.debug("BlueGiga transaction {} failed: {}", command, e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -15,20 +15,21 @@ package org.openhab.binding.bluetooth.bluegiga.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
@@ -37,6 +38,11 @@ import org.slf4j.LoggerFactory;
 /**
  * The main handler class for interacting with the BlueGiga serial API. This class provides transaction management and
  * queuing of of data, and conversion of packets from the serial stream into command and response classes.
+ * <p>
+ * The BGAPI processes one command at a time, so commands are queued and the next command is sent as soon as the
+ * response to the previous command was received. Waiting for the response does not block any thread, the responses
+ * complete the futures returned by {@link #sendBleRequestAsync(BlueGigaCommand, Class)}. Events are passed to the
+ * event listeners in the order they were received.
  *
  * @author Chris Jackson - Initial contribution and API
  *
@@ -44,7 +50,7 @@ import org.slf4j.LoggerFactory;
 public class BlueGigaSerialHandler {
 
     private static final int BLE_MAX_LENGTH = 64;
-    private static final int TRANSACTION_TIMEOUT_PERIOD = 50;
+    private static final int TRANSACTION_TIMEOUT_PERIOD = 2000;
 
     private final Logger logger = LoggerFactory.getLogger(BlueGigaSerialHandler.class);
 
@@ -52,16 +58,23 @@ public class BlueGigaSerialHandler {
      * The portName portName output stream.
      */
     private final OutputStream outputStream;
-    private final Queue<BlueGigaCommand> sendQueue = new LinkedList<BlueGigaCommand>();
+    private final long transactionTimeout;
+    private final Queue<BlueGigaTransaction<?>> sendQueue = new LinkedList<>();
     private final Timer timer = new Timer();
     private TimerTask timerTask = null;
     private Thread parserThread = null;
     private final ExecutorService executor = ThreadPoolManager.getPool("bluegiga");
 
     /**
-     * Transaction listeners are used internally to correlate the commands and responses
+     * The transaction sent to the dongle, which is waiting for its response
      */
-    private final List<BluetoothListener<? extends BlueGigaResponse>> transactionListeners = new CopyOnWriteArrayList<>();
+    private BlueGigaTransaction<?> currentTransaction = null;
+
+    /**
+     * The events received, but not passed to the event listeners yet
+     */
+    private final Queue<BlueGigaResponse> eventQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean eventDispatcherRunning = new AtomicBoolean();
 
     /**
      * The event listeners will be notified of any asynchronous events
@@ -80,7 +93,20 @@ public class BlueGigaSerialHandler {
     private boolean close = false;
 
     public BlueGigaSerialHandler(final InputStream inputStream, final OutputStream outputStream) {
+        this(inputStream, outputStream, TRANSACTION_TIMEOUT_PERIOD);
+    }
+
+    /**
+     * Creates a handler which fails a transaction when no response is received within the given timeout.
+     *
+     * @param inputStream the stream receiving the data from the dongle
+     * @param outputStream the stream sending the data to the dongle
+     * @param transactionTimeout milliseconds to wait for the response to a command
+     */
+    BlueGigaSerialHandler(final InputStream inputStream, final OutputStream outputStream,
+            final long transactionTimeout) {
         this.outputStream = outputStream;
+        this.transactionTimeout = transactionTimeout;
 
         final int framecheckParams[] = new int[] { 0x00, 0x7F, 0xC0, 0xF8, 0xE0 };
 
@@ -132,7 +158,7 @@ public class BlueGigaSerialHandler {
                                 if (responsePacket.isEvent()) {
                                     notifyEventListeners(responsePacket);
                                 } else {
-                                    notifyTransactionComplete(responsePacket);
+                                    notifyTransactionComplete(responsePacket, inputBuffer[2], inputBuffer[3]);
                                 }
                             }
 
@@ -184,11 +210,23 @@ public class BlueGigaSerialHandler {
     public void close(long timeout) {
         close = true;
         executor.shutdownNow();
-        if (timerTask != null) {
-            timerTask.cancel();
-            timerTask = null;
+        List<BlueGigaTransaction<?>> transactions;
+        synchronized (this) {
+            if (timerTask != null) {
+                timerTask.cancel();
+                timerTask = null;
+            }
+            timer.cancel();
+            transactions = new ArrayList<>(sendQueue);
+            sendQueue.clear();
+            if (currentTransaction != null) {
+                transactions.add(currentTransaction);
+                currentTransaction = null;
+            }
+        }
+        for (BlueGigaTransaction<?> transaction : transactions) {
+            transaction.future.completeExceptionally(new BlueGigaException("BlueGiga handler closed"));
         }
-        timer.cancel();
         try {
             parserThread.interrupt();
             parserThread.join(timeout);
@@ -207,10 +245,9 @@ public class BlueGigaSerialHandler {
     }
 
     // Synchronize this method to ensure a packet gets sent as a block
-    private synchronized void sendFrame(BlueGigaCommand bleFrame) {
+    private synchronized void sendFrame(BlueGigaCommand bleFrame, int[] payload) {
         // Send the data
         try {
-            int[] payload = bleFrame.serialize();
             logger.trace("TX BLE frame: {}", printHex(payload, payload.length));
             for (int b : payload) {
                 outputStream.write(b);
@@ -222,17 +259,23 @@ public class BlueGigaSerialHandler {
         logger.trace("--> TX BLE frame: {}", bleFrame);
     }
 
-    // Synchronize this method so we can do the window check without interruption.
-    // Otherwise this method could be called twice from different threads that could end up with
-    // more than the TX_WINDOW number of frames sent.
+    // Synchronize this method so the next frame is only sent when the response to the previous frame was received.
     private synchronized void sendNextFrame() {
-        BlueGigaCommand nextFrame = sendQueue.poll();
-        if (nextFrame == null) {
-            // Nothing to send
-            return;
+        while (currentTransaction == null) {
+            BlueGigaTransaction<?> nextTransaction = sendQueue.poll();
+            if (nextTransaction == null) {
+                // Nothing to send
+                return;
+            }
+            try {
+                sendFrame(nextTransaction.command, nextTransaction.payload);
+            } catch (BlueGigaException e) {
+                nextTransaction.future.completeExceptionally(e);
+                continue;
+            }
+            currentTransaction = nextTransaction;
+            startTransactionTimer();
         }
-
-        sendFrame(nextFrame);
     }
 
     /**
@@ -244,115 +287,53 @@ public class BlueGigaSerialHandler {
      *            {@link BlueGigaCommand}
      */
     public void queueFrame(BlueGigaCommand request) {
-        logger.trace("TX BLE frame: {}", request);
-        checkIfAlive();
-        sendQueue.add(request);
-        logger.trace("TX BLE queue: {}", sendQueue.size());
-        sendNextFrame();
+        sendBleRequestAsync(request, BlueGigaResponse.class);
     }
 
     /**
-     * Notify any transaction listeners when we receive a response.
+     * Completes the current transaction when we receive a response.
      *
-     * @param response
-     *            the response data received
+     * @param response the response data received
+     * @param classId the class ID of the response
+     * @param commandId the command ID of the response
      * @return true if the response was processed
      */
-    private boolean notifyTransactionComplete(final BlueGigaResponse response) {
-        boolean processed = false;
-
-        synchronized (transactionListeners) {
-            for (BluetoothListener<? extends BlueGigaResponse> listener : transactionListeners) {
-                if (listener.transactionEvent(response)) {
-                    processed = true;
-                }
-            }
-        }
+    private boolean notifyTransactionComplete(final BlueGigaResponse response, int classId, int commandId) {
+        BlueGigaTransaction<?> transaction;
 
-        return processed;
-    }
-
-    private void addTransactionListener(BluetoothListener<? extends BlueGigaResponse> listener) {
-        synchronized (transactionListeners) {
-            if (transactionListeners.contains(listener)) {
-                return;
+        synchronized (this) {
+            transaction = currentTransaction;
+            if (transaction == null || transaction.classId != classId || transaction.commandId != commandId) {
+                logger.debug("Ignoring {} response which has not been requested.",
+                        response.getClass().getSimpleName());
+                return false;
             }
-
-            transactionListeners.add(listener);
+            resetTransactionTimer();
+            currentTransaction = null;
+            sendNextFrame();
         }
-    }
+        transaction.complete(response);
 
-    private void removeTransactionListener(BluetoothListener<?> listener) {
-        synchronized (transactionListeners) {
-            transactionListeners.remove(listener);
-        }
+        return true;
     }
 
     /**
      * Sends an BlueGiga request without waiting for the response.
      *
      * @param bleCommand {@link BlueGigaCommand}
-     * @return response {@link Future} {@link BlueGigaResponse}
+     * @return response {@link CompletableFuture} {@link BlueGigaResponse}, completed exceptionally if the dongle does
+     *         not respond in time or responds with an unexpected response
      */
-    public <T extends BlueGigaResponse> Future<T> sendBleRequestAsync(final BlueGigaCommand bleCommand,
+    public <T extends BlueGigaResponse> CompletableFuture<T> sendBleRequestAsync(final BlueGigaCommand bleCommand,
             final Class<T> expected) {
         checkIfAlive();
-        class TransactionWaiter implements Callable<T>, BluetoothListener<T> {
-            private boolean complete;
-            private BlueGigaResponse response;
-
-            @SuppressWarnings("unchecked")
-            @Override
-            public T call() {
-                // Register a listener
-                addTransactionListener(this);
-
-                // Send the transaction
-                queueFrame(bleCommand);
-
-                // Wait for the transaction to complete
-                synchronized (this) {
-                    while (!complete) {
-                        try {
-                            wait();
-                        } catch (InterruptedException e) {
-                            complete = true;
-                        }
-                    }
-                }
-
-                // Remove the listener
-                removeTransactionListener(this);
-
-                return (T) response;
-            }
-
-            @Override
-            public boolean transactionEvent(BlueGigaResponse bleResponse) {
-                // Check if this response completes our transaction
-                if (bleCommand.hashCode() == bleResponse.hashCode()) {
-                    return false;
-                }
-
-                if (!expected.isInstance(bleResponse)) {
-                    // ignoring response if it was not requested
-                    logger.warn("Ignoring {} response which has not been requested.",
-                            bleResponse.getClass().getSimpleName());
-                    return false;
-                }
-
-                response = bleResponse;
-                complete = true;
-                synchronized (this) {
-                    notify();
-                }
-
-                return true;
-            }
+        BlueGigaTransaction<T> transaction = new BlueGigaTransaction<>(bleCommand, expected);
+        synchronized (this) {
+            sendQueue.add(transaction);
+            logger.trace("TX BLE queue: {}", sendQueue.size());
+            sendNextFrame();
         }
-
-        Callable<T> worker = new TransactionWaiter();
-        return executor.submit(worker);
+        return transaction.future;
     }
 
     /**
@@ -364,7 +345,7 @@ public class BlueGigaSerialHandler {
      */
     public BlueGigaResponse sendTransaction(BlueGigaCommand bleCommand) {
         checkIfAlive();
-        Future<BlueGigaResponse> futureResponse = sendBleRequestAsync(bleCommand, BlueGigaResponse.class);
+        CompletableFuture<BlueGigaResponse> futureResponse = sendBleRequestAsync(bleCommand, BlueGigaResponse.class);
 
         try {
             return futureResponse.get();
@@ -385,7 +366,7 @@ public class BlueGigaSerialHandler {
      */
     public <T extends BlueGigaResponse> T sendTransaction(BlueGigaCommand bleCommand, Class<T> expected, long timeout)
             throws TimeoutException {
-        Future<T> futureResponse = sendBleRequestAsync(bleCommand, expected);
+        CompletableFuture<T> futureResponse = sendBleRequestAsync(bleCommand, expected);
         try {
             return futureResponse.get(timeout, TimeUnit.MILLISECONDS);
         } catch (InterruptedException | ExecutionException e) {
@@ -394,14 +375,13 @@ public class BlueGigaSerialHandler {
         }
     }
 
-    @SuppressWarnings("unused")
     private synchronized void startTransactionTimer() {
         // Stop any existing timer
         resetTransactionTimer();
 
         // Create the timer task
         timerTask = new TransactionTimer();
-        timer.schedule(timerTask, TRANSACTION_TIMEOUT_PERIOD);
+        timer.schedule(timerTask, transactionTimeout);
     }
 
     private synchronized void resetTransactionTimer() {
@@ -415,6 +395,18 @@ public class BlueGigaSerialHandler {
     private class TransactionTimer extends TimerTask {
         @Override
         public void run() {
+            BlueGigaTransaction<?> transaction;
+            synchronized (BlueGigaSerialHandler.this) {
+                if (timerTask != this || currentTransaction == null) {
+                    return;
+                }
+                transaction = currentTransaction;
+                timerTask = null;
+                currentTransaction = null;
+                sendNextFrame();
+            }
+            logger.debug("BlueGiga transaction timed out: {}", transaction.command);
+            transaction.future.completeExceptionally(new TimeoutException("No response from BlueGiga dongle"));
         }
     }
 
@@ -426,14 +418,33 @@ public class BlueGigaSerialHandler {
      * @return true if the response was processed
      */
     private void notifyEventListeners(final BlueGigaResponse response) {
-        synchronized (this) {
-            // Notify the listeners
-            for (final BlueGigaEventListener listener : eventListeners) {
-                executor.submit(() -> listener.bluegigaEventReceived(response));
-            }
+        eventQueue.add(response);
+        if (eventDispatcherRunning.compareAndSet(false, true)) {
+            executor.submit(this::dispatchEvents);
         }
     }
 
+    /**
+     * Passes the queued events to the listeners. At most one thread runs this method at any time, so that the
+     * listeners receive the events in order.
+     */
+    private void dispatchEvents() {
+        do {
+            BlueGigaResponse event;
+            while ((event = eventQueue.poll()) != null) {
+                for (BlueGigaEventListener listener : eventListeners) {
+                    try {
+                        listener.bluegigaEventReceived(event);
+                    } catch (RuntimeException e) {
+                        logger.warn("Execution error of a BlueGigaEventListener listener.", e);
+                    }
+                }
+            }
+            eventDispatcherRunning.set(false);
+            // another event might have been queued after the queue was found empty
+        } while (!eventQueue.isEmpty() && eventDispatcherRunning.compareAndSet(false, true));
+    }
+
     public void addEventListener(BlueGigaEventListener listener) {
         synchronized (eventListeners) {
             eventListeners.add(listener);
@@ -492,8 +503,33 @@ public class BlueGigaSerialHandler {
         }
     }
 
-    interface BluetoothListener<T extends BlueGigaResponse> {
-        boolean transactionEvent(BlueGigaResponse response);
+    /**
+     * A command waiting for its response
+     */
+    private static class BlueGigaTransaction<T extends BlueGigaResponse> {
+        private final BlueGigaCommand command;
+        private final Class<T> expected;
+        private final int[] payload;
+        private final int classId;
+        private final int commandId;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        BlueGigaTransaction(BlueGigaCommand command, Class<T> expected) {
+            this.command = command;
+            this.expected = expected;
+            payload = command.serialize();
+            classId = payload[2];
+            commandId = payload[3];
+        }
+
+        void complete(BlueGigaResponse response) {
+            if (expected.isInstance(response)) {
+                future.complete(expected.cast(response));
+            } else {
+                future.completeExceptionally(new BlueGigaException(
+                        "Unexpected response " + response.getClass().getSimpleName() + " to " + command));
+            }
+        }
     }
 
 }
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.system.BlueGigaBootEvent;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.system.BlueGigaGetInfoCommand;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.system.BlueGigaGetInfoResponse;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.system.BlueGigaHelloCommand;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.system.BlueGigaHelloResponse;
+
+/**
+ * Tests for the transaction handling of the {@link BlueGigaSerialHandler}. The dongle is replaced by a fake input
+ * stream, which the tests feed with the responses, and an output stream recording the sent commands.
+ *
+ * @author agent - Initial contribution
+ */
+public class BlueGigaSerialHandlerTest {
+    private static final long TIMEOUT = 5000;
+
+    private static final int[] HELLO_COMMAND = { 0x00, 0x00, 0x00, 0x01 };
+    private static final int[] HELLO_RESPONSE = { 0x00, 0x00, 0x00, 0x01 };
+    private static final int[] GET_INFO_COMMAND = { 0x00, 0x00, 0x00, 0x08 };
+    private static final int[] GET_INFO_RESPONSE = { 0x00, 0x0E, 0x00, 0x08, 0x01, 0x00, 0x04, 0x00, 0x00, 0x00,
+            0x8A, 0x00, 0x01, 0x00, 0x06, 0x00, 0x01, 0x00 };
+
+    private FakeInputStream inputStream;
+    private ByteArrayOutputStream outputStream;
+    private BlueGigaSerialHandler handler;
+
+    @Before
+    public void setup() {
+        inputStream = new FakeInputStream();
+        outputStream = new ByteArrayOutputStream();
+    }
+
+    @After
+    public void cleanup() {
+        if (handler != null) {
+            handler.close(TIMEOUT);
+        }
+    }
+
+    @Test
+    public void responseCompletesTransaction() throws Exception {
+        handler = new BlueGigaSerialHandler(inputStream, outputStream, TIMEOUT);
+
+        CompletableFuture<BlueGigaHelloResponse> future = handler.sendBleRequestAsync(new BlueGigaHelloCommand(),
+                BlueGigaHelloResponse.class);
+        assertSent(HELLO_COMMAND);
+        assertFalse(future.isDone());
+
+        inputStream.receive(HELLO_RESPONSE);
+
+        assertNotNull(future.get(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void nextCommandIsSentAfterResponse() throws Exception {
+        handler = new BlueGigaSerialHandler(inputStream, outputStream, TIMEOUT);
+
+        CompletableFuture<BlueGigaHelloResponse> hello = handler.sendBleRequestAsync(new BlueGigaHelloCommand(),
+                BlueGigaHelloResponse.class);
+        CompletableFuture<BlueGigaGetInfoResponse> getInfo = handler
+                .sendBleRequestAsync(new BlueGigaGetInfoCommand(), BlueGigaGetInfoResponse.class);
+        assertSent(HELLO_COMMAND);
+
+        inputStream.receive(HELLO_RESPONSE);
+        hello.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertSent(HELLO_COMMAND, GET_INFO_COMMAND);
+
+        inputStream.receive(GET_INFO_RESPONSE);
+        BlueGigaGetInfoResponse response = getInfo.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertEquals(1, response.getMajor());
+        assertEquals(4, response.getMinor());
+        assertEquals(138, response.getBuild());
+    }
+
+    @Test
+    public void responseNotMatchingTheCurrentCommandIsIgnored() throws Exception {
+        handler = new BlueGigaSerialHandler(inputStream, outputStream, TIMEOUT);
+
+        CompletableFuture<BlueGigaHelloResponse> future = handler.sendBleRequestAsync(new BlueGigaHelloCommand(),
+                BlueGigaHelloResponse.class);
+
+        // A late response to a command which timed out before must not complete the current transaction
+        inputStream.receive(GET_INFO_RESPONSE);
+        inputStream.receive(HELLO_RESPONSE);
+
+        assertNotNull(future.get(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void responseOfUnexpectedTypeFailsTransaction() throws Exception {
+        handler = new BlueGigaSerialHandler(inputStream, outputStream, TIMEOUT);
+
+        CompletableFuture<BlueGigaGetInfoResponse> future = handler.sendBleRequestAsync(new BlueGigaHelloCommand(),
+                BlueGigaGetInfoResponse.class);
+        inputStream.receive(HELLO_RESPONSE);
+
+        assertFailure(BlueGigaException.class, future);
+    }
+
+    @Test
+    public void transactionTimesOutAndNextCommandIsSent() throws Exception {
+        handler = new BlueGigaSerialHandler(inputStream, outputStream, 100);
+
+        CompletableFuture<BlueGigaHelloResponse> hello = handler.sendBleRequestAsync(new BlueGigaHelloCommand(),
+                BlueGigaHelloResponse.class);
+        CompletableFuture<BlueGigaGetInfoResponse> getInfo = handler
+                .sendBleRequestAsync(new BlueGigaGetInfoCommand(), BlueGigaGetInfoResponse.class);
+
+        assertFailure(TimeoutException.class, hello);
+        assertSent(HELLO_COMMAND, GET_INFO_COMMAND);
+
+        // The late response to the timed out command is ignored
+        inputStream.receive(HELLO_RESPONSE);
+        inputStream.receive(GET_INFO_RESPONSE);
+        assertNotNull(getInfo.get(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void closeFailsPendingTransactions() throws Exception {
+        handler = new BlueGigaSerialHandler(inputStream, outputStream, TIMEOUT);
+
+        CompletableFuture<BlueGigaHelloResponse> hello = handler.sendBleRequestAsync(new BlueGigaHelloCommand(),
+                BlueGigaHelloResponse.class);
+        CompletableFuture<BlueGigaGetInfoResponse> getInfo = handler
+                .sendBleRequestAsync(new BlueGigaGetInfoCommand(), BlueGigaGetInfoResponse.class);
+        handler.close(TIMEOUT);
+
+        assertFailure(BlueGigaException.class, hello);
+        assertFailure(BlueGigaException.class, getInfo);
+        assertFalse(handler.isAlive());
+    }
+
+    @Test
+    public void eventsArePassedToListenersInOrder() throws Exception {
+        handler = new BlueGigaSerialHandler(inputStream, outputStream, TIMEOUT);
+        BlockingQueue<BlueGigaResponse> events = new LinkedBlockingQueue<>();
+        handler.addEventListener(events::add);
+
+        for (int major = 1; major <= 5; major++) {
+            inputStream.receive(new int[] { 0x80, 0x0E, 0x00, 0x00, major, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00,
+                    0x00, 0x00, 0x00, 0x00, 0x00, 0x00 });
+        }
+
+        for (int major = 1; major <= 5; major++) {
+            BlueGigaResponse event = events.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+            assertTrue(event instanceof BlueGigaBootEvent);
+            assertEquals(major, ((BlueGigaBootEvent) event).getMajor());
+        }
+    }
+
+    private void assertSent(int[]... commands) {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int[] command : commands) {
+            for (int b : command) {
+                expected.write(b);
+            }
+        }
+        assertArrayEquals(expected.toByteArray(), outputStream.toByteArray());
+    }
+
+    private void assertFailure(Class<? extends Exception> expected, CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            fail("Transaction completed without failure");
+        } catch (ExecutionException e) {
+            assertTrue(expected.isInstance(e.getCause()));
+        }
+    }
+
+    /**
+     * Input stream returning the data received from the fake dongle. Like a serial port with a receive timeout, it
+     * returns -1 when no data has been received for a while.
+     */
+    private static class FakeInputStream extends InputStream {
+        private final BlockingQueue<Integer> data = new LinkedBlockingQueue<>();
+
+        void receive(int[] packet) {
+            for (int b : packet) {
+                data.add(b);
+            }
+        }
+
+        @Override
+        public int read() {
+            try {
+                Integer b = data.poll(10, TimeUnit.MILLISECONDS);
+                return b == null ? -1 : b;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        }
+    }
+}
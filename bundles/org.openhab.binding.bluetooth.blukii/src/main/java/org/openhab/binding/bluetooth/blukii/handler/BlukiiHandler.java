@@ -49,28 +49,28 @@ public class BlukiiHandler extends BeaconBluetoothHandler implements BluetoothDe
     }
 
     @Override
-    public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
+    protected void onScanRecordChanged(BluetoothScanNotification scanNotification) {
         final byte[] manufacturerData = scanNotification.getManufacturerData();
         if (manufacturerData != null) {
             final BlukiiData blukiiData = decoder.decode(manufacturerData);
             if (blukiiData != null) {
-                updateState(BlukiiBindingConstants.CHANNEL_ID_BATTERY, new DecimalType(blukiiData.battery));
+                updateStateIfChanged(BlukiiBindingConstants.CHANNEL_ID_BATTERY, new DecimalType(blukiiData.battery));
                 blukiiData.environment.ifPresent(environment -> {
-                    updateState(BlukiiBindingConstants.CHANNEL_ID_TEMPERATURE,
+                    updateStateIfChanged(BlukiiBindingConstants.CHANNEL_ID_TEMPERATURE,
                             new QuantityType<Temperature>(environment.temperature, SIUnits.CELSIUS));
-                    updateState(BlukiiBindingConstants.CHANNEL_ID_HUMIDITY,
+                    updateStateIfChanged(BlukiiBindingConstants.CHANNEL_ID_HUMIDITY,
                             new QuantityType<Dimensionless>(environment.humidity, SmartHomeUnits.PERCENT));
-                    updateState(BlukiiBindingConstants.CHANNEL_ID_PRESSURE,
+                    updateStateIfChanged(BlukiiBindingConstants.CHANNEL_ID_PRESSURE,
                             new QuantityType<Pressure>(environment.pressure, MetricPrefix.HECTO(SIUnits.PASCAL)));
-                    updateState(BlukiiBindingConstants.CHANNEL_ID_LUMINANCE,
+                    updateStateIfChanged(BlukiiBindingConstants.CHANNEL_ID_LUMINANCE,
                             new QuantityType<Illuminance>(environment.luminance, SmartHomeUnits.LUX));
                 });
                 blukiiData.accelerometer.ifPresent(accelerometer -> {
-                    updateState(BlukiiBindingConstants.CHANNEL_ID_TILTX,
+                    updateStateIfChanged(BlukiiBindingConstants.CHANNEL_ID_TILTX,
                             new QuantityType<Angle>(accelerometer.tiltX, SmartHomeUnits.DEGREE_ANGLE));
-                    updateState(BlukiiBindingConstants.CHANNEL_ID_TILTY,
+                    updateStateIfChanged(BlukiiBindingConstants.CHANNEL_ID_TILTY,
                             new QuantityType<Angle>(accelerometer.tiltY, SmartHomeUnits.DEGREE_ANGLE));
-                    updateState(BlukiiBindingConstants.CHANNEL_ID_TILTZ,
+                    updateStateIfChanged(BlukiiBindingConstants.CHANNEL_ID_TILTZ,
                             new QuantityType<Angle>(accelerometer.tiltZ, SmartHomeUnits.DEGREE_ANGLE));
                 });
                 blukiiData.magnetometer.ifPresent(magnetometer -> {
@@ -80,7 +80,6 @@ public class BlukiiHandler extends BeaconBluetoothHandler implements BluetoothDe
                 });
             }
         }
-        super.onScanRecordReceived(scanNotification);
     }
 
 }
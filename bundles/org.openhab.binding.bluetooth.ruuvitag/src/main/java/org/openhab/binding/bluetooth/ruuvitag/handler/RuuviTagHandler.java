@@ -63,8 +63,7 @@ public class RuuviTagHandler extends BeaconBluetoothHandler {
     }
 
     @Override
-    public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
-        super.onScanRecordReceived(scanNotification);
+    protected void onScanRecordChanged(BluetoothScanNotification scanNotification) {
         final byte[] manufacturerData = scanNotification.getManufacturerData();
         if (manufacturerData != null && manufacturerData.length > 0) {
             final RuuviMeasurement ruuvitagData = parser.parse(manufacturerData);
@@ -122,7 +121,8 @@ public class RuuviTagHandler extends BeaconBluetoothHandler {
                     }
                 }
                 if (atLeastOneRuuviFieldPresent) {
-                    // In practice, updated to ONLINE by super.onScanRecordReceived already, based on RSSI value
+                    // In practice, already updated to ONLINE based on the RSSI value of the scan record, which is
+                    // published before onScanRecordChanged is called
                 } else {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                             "Received Ruuvi Tag data but no fields could be parsed");
@@ -153,7 +153,7 @@ public class RuuviTagHandler extends BeaconBluetoothHandler {
             return false;
         }
         if (isLinked(channelUID)) {
-            updateState(channelUID, new QuantityType<>(value, unit));
+            updateStateIfChanged(channelUID, new QuantityType<>(value, unit));
         }
         return true;
     }
@@ -172,7 +172,7 @@ public class RuuviTagHandler extends BeaconBluetoothHandler {
             return false;
         }
         if (isLinked(channelUID)) {
-            updateState(channelUID, new DecimalType(value));
+            updateStateIfChanged(channelUID, new DecimalType(value));
         }
         return true;
     }
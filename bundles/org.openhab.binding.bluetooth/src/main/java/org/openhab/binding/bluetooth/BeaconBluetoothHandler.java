@@ -12,9 +12,15 @@
  */
 package org.openhab.binding.bluetooth;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
@@ -25,6 +31,7 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.thing.binding.BridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
+import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
 import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
@@ -33,6 +40,10 @@ import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
  * This is a handler for generic Bluetooth devices in beacon-mode (i.e. not connected), which at the same time can be
  * used as a base implementation for more specific thing handlers.
  *
+ * Received scan records pass a {@link BluetoothAdvertisementFilter}: scan records repeating the previous payload only
+ * update the (smoothed) RSSI and scan records received faster than the configured update interval are coalesced.
+ * Subclasses decode the payload in {@link #onScanRecordChanged(BluetoothScanNotification)}.
+ *
  * @author Kai Kreuzer - Initial contribution and API
  */
 @NonNullByDefault
@@ -49,6 +60,15 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
 
     protected final ReentrantLock deviceLock;
 
+    private final Object scanRecordLock = new Object();
+    private BluetoothAdvertisementFilter advertisementFilter = new BluetoothAdvertisementFilter(0, 1);
+    private @Nullable BluetoothScanNotification pendingScanRecord;
+    private boolean pendingPayloadChanged;
+    private @Nullable ScheduledFuture<?> scanRecordJob;
+
+    // the states last set by updateStateIfChanged
+    private final Map<String, State> channelStates = new HashMap<>();
+
     public BeaconBluetoothHandler(Thing thing) {
         super(thing);
         deviceLock = new ReentrantLock();
@@ -78,6 +98,13 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
 
         adapter = (BluetoothAdapter) bridgeHandler;
 
+        synchronized (scanRecordLock) {
+            advertisementFilter = new BluetoothAdvertisementFilter(
+                    getConfigValue(BluetoothBindingConstants.CONFIGURATION_UPDATE_INTERVAL, 0),
+                    (int) getConfigValue(BluetoothBindingConstants.CONFIGURATION_RSSI_SMOOTHING, 1));
+            channelStates.clear();
+        }
+
         try {
             deviceLock.lock();
             device = adapter.getDevice(address);
@@ -89,8 +116,21 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
         updateStatus(ThingStatus.UNKNOWN);
     }
 
+    private long getConfigValue(String name, long defaultValue) {
+        Object value = getConfig().get(name);
+        return value instanceof BigDecimal ? ((BigDecimal) value).longValue() : defaultValue;
+    }
+
     @Override
     public void dispose() {
+        synchronized (scanRecordLock) {
+            ScheduledFuture<?> job = scanRecordJob;
+            if (job != null) {
+                job.cancel(false);
+                scanRecordJob = null;
+            }
+            pendingScanRecord = null;
+        }
         try {
             deviceLock.lock();
             if (device != null) {
@@ -140,13 +180,104 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
         }
     }
 
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        synchronized (scanRecordLock) {
+            // make sure the newly linked item receives the next state
+            channelStates.remove(channelUID.getId());
+        }
+        super.channelLinked(channelUID);
+    }
+
+    /**
+     * Updates the state of a channel, if it differs from the state last set by this method.
+     *
+     * @param channelID the id of the channel
+     * @param state the new state
+     */
+    protected void updateStateIfChanged(String channelID, State state) {
+        synchronized (scanRecordLock) {
+            if (state.equals(channelStates.put(channelID, state))) {
+                return;
+            }
+        }
+        updateState(channelID, state);
+    }
+
+    /**
+     * Updates the state of a channel, if it differs from the state last set by this method.
+     *
+     * @param channelUID the UID of the channel
+     * @param state the new state
+     */
+    protected void updateStateIfChanged(ChannelUID channelUID, State state) {
+        updateStateIfChanged(channelUID.getId(), state);
+    }
+
     @Override
     public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
-        int rssi = scanNotification.getRssi();
-        if (rssi != Integer.MIN_VALUE) {
+        synchronized (scanRecordLock) {
+            BluetoothAdvertisementFilter filter = advertisementFilter;
+            int rssi = scanNotification.getRssi();
+            if (rssi != Integer.MIN_VALUE) {
+                filter.addRssi(rssi);
+            }
+            boolean payloadChanged = filter.updatePayload(scanNotification.getBeaconType(),
+                    scanNotification.getManufacturerData(), scanNotification.getData());
+            if (!payloadChanged && !filter.isRssiChanged() && getThing().getStatus() == ThingStatus.ONLINE) {
+                return;
+            }
+            pendingScanRecord = scanNotification;
+            pendingPayloadChanged |= payloadChanged;
+
+            long delay = filter.getUpdateDelay(System.currentTimeMillis());
+            if (delay > 0) {
+                if (scanRecordJob == null) {
+                    scanRecordJob = scheduler.schedule(this::processScanRecord, delay, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+        }
+        processScanRecord();
+    }
+
+    private void processScanRecord() {
+        BluetoothScanNotification scanNotification;
+        boolean payloadChanged;
+        boolean rssiChanged;
+        int rssi;
+        synchronized (scanRecordLock) {
+            scanRecordJob = null;
+            scanNotification = pendingScanRecord;
+            if (scanNotification == null) {
+                return;
+            }
+            payloadChanged = pendingPayloadChanged;
+            pendingScanRecord = null;
+            pendingPayloadChanged = false;
+            advertisementFilter.updated(System.currentTimeMillis());
+            rssiChanged = advertisementFilter.isRssiChanged();
+            rssi = advertisementFilter.publishRssi();
+        }
+        if (device == null) {
+            return;
+        }
+        if (rssi != Integer.MIN_VALUE && (rssiChanged || getThing().getStatus() != ThingStatus.ONLINE)) {
             device.setRssi(rssi);
             updateRSSI();
         }
+        if (payloadChanged) {
+            onScanRecordChanged(scanNotification);
+        }
+    }
+
+    /**
+     * This method is called for received scan records, whose payload differs from the previous scan record of the same
+     * type. Scan records received faster than the configured update interval are coalesced, only the latest is passed.
+     *
+     * @param scanNotification the {@link BluetoothScanNotification} providing the scan record
+     */
+    protected void onScanRecordChanged(BluetoothScanNotification scanNotification) {
     }
 
     @Override
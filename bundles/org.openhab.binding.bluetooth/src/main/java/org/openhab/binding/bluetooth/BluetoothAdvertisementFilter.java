@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification.BluetoothBeaconType;
+
+/**
+ * The {@link BluetoothAdvertisementFilter} keeps track of the advertisements received from a single device. It detects
+ * advertisements repeating the payload of the previous advertisement of the same type, limits the rate in which
+ * advertisements are processed and smooths the RSSI values with an exponential moving average.
+ *
+ * This class is not thread-safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothAdvertisementFilter {
+
+    private final long updateIntervalMillis;
+    private final double rssiWeight;
+
+    // the last payloads (manufacturer data, raw data) per beacon type
+    private final byte[][] manufacturerData = new byte[BluetoothBeaconType.values().length][];
+    private final byte[][] data = new byte[BluetoothBeaconType.values().length][];
+
+    private double averageRssi = Double.NaN;
+    private int publishedRssi = Integer.MIN_VALUE;
+    private long nextUpdate;
+
+    /**
+     * Creates a new filter
+     *
+     * @param updateIntervalMillis the minimum time between two processed advertisements in milliseconds, 0 for no
+     *            limit
+     * @param rssiSamples the number of RSSI samples to average, 1 for no smoothing
+     */
+    public BluetoothAdvertisementFilter(long updateIntervalMillis, int rssiSamples) {
+        this.updateIntervalMillis = Math.max(0, updateIntervalMillis);
+        this.rssiWeight = 2.0 / (Math.max(1, rssiSamples) + 1);
+    }
+
+    /**
+     * Stores the payload of an advertisement.
+     *
+     * @param beaconType the type of the advertisement
+     * @param manufacturerData the manufacturer specific data of the advertisement
+     * @param data the raw data of the advertisement
+     * @return true, if the payload differs from the payload of the previous advertisement of the same type
+     */
+    public boolean updatePayload(BluetoothBeaconType beaconType, byte @Nullable [] manufacturerData,
+            byte @Nullable [] data) {
+        if (manufacturerData == null && data == null) {
+            // nothing to process
+            return false;
+        }
+        int index = beaconType.ordinal();
+        if (Arrays.equals(this.manufacturerData[index], manufacturerData) && Arrays.equals(this.data[index], data)) {
+            return false;
+        }
+        this.manufacturerData[index] = manufacturerData == null ? null : manufacturerData.clone();
+        this.data[index] = data == null ? null : data.clone();
+        return true;
+    }
+
+    /**
+     * Adds a RSSI value to the moving average.
+     *
+     * @param rssi the RSSI value in dBm
+     */
+    public void addRssi(int rssi) {
+        averageRssi = Double.isNaN(averageRssi) ? rssi : averageRssi + rssiWeight * (rssi - averageRssi);
+    }
+
+    /**
+     * @return true, if the (rounded) average RSSI differs from the RSSI last returned by {@link #publishRssi()}
+     */
+    public boolean isRssiChanged() {
+        return !Double.isNaN(averageRssi) && Math.round(averageRssi) != publishedRssi;
+    }
+
+    /**
+     * @return the (rounded) average RSSI in dBm or Integer.MIN_VALUE if no RSSI is available.
+     */
+    public int publishRssi() {
+        if (!Double.isNaN(averageRssi)) {
+            publishedRssi = (int) Math.round(averageRssi);
+        }
+        return publishedRssi;
+    }
+
+    /**
+     * @param now the current time in milliseconds
+     * @return the time in milliseconds until the next advertisement may be processed, 0 if it may be processed now
+     */
+    public long getUpdateDelay(long now) {
+        return Math.max(0, nextUpdate - now);
+    }
+
+    /**
+     * Notifies the filter that an advertisement was processed.
+     *
+     * @param now the current time in milliseconds
+     */
+    public void updated(long now) {
+        nextUpdate = now + updateIntervalMillis;
+    }
+}
@@ -38,6 +38,8 @@ public class BluetoothBindingConstants {
     public static final String PROPERTY_MAXCONNECTIONS = "maxconnections";
 
     public static final String CONFIGURATION_ADDRESS = "address";
+    public static final String CONFIGURATION_UPDATE_INTERVAL = "updateInterval";
+    public static final String CONFIGURATION_RSSI_SMOOTHING = "rssiSmoothing";
 
     public static final long BLUETOOTH_BASE_UUID = 0x800000805f9b34fbL;
 
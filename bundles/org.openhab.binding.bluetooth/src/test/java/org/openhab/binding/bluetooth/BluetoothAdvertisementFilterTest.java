@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification.BluetoothBeaconType;
+
+/**
+ * Tests the suppression of repeated advertisement payloads, the smoothing of the RSSI and the minimum update interval
+ * of the {@link BluetoothAdvertisementFilter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BluetoothAdvertisementFilterTest {
+
+    @Test
+    public void testRepeatedPayload() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(0, 1);
+
+        assertTrue(filter.updatePayload(BluetoothBeaconType.BEACON_ADVERTISEMENT, new byte[] { 1, 2 }, null));
+        assertFalse(filter.updatePayload(BluetoothBeaconType.BEACON_ADVERTISEMENT, new byte[] { 1, 2 }, null));
+        assertTrue(filter.updatePayload(BluetoothBeaconType.BEACON_ADVERTISEMENT, new byte[] { 1, 3 }, null));
+    }
+
+    @Test
+    public void testPayloadPerBeaconType() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(0, 1);
+
+        assertTrue(filter.updatePayload(BluetoothBeaconType.BEACON_ADVERTISEMENT, new byte[] { 1 }, null));
+        assertTrue(filter.updatePayload(BluetoothBeaconType.BEACON_SCANRESPONSE, new byte[] { 2 }, null));
+        assertFalse(filter.updatePayload(BluetoothBeaconType.BEACON_ADVERTISEMENT, new byte[] { 1 }, null));
+        assertFalse(filter.updatePayload(BluetoothBeaconType.BEACON_SCANRESPONSE, new byte[] { 2 }, null));
+        assertFalse(filter.updatePayload(BluetoothBeaconType.BEACON_SCANRESPONSE, null, null));
+    }
+
+    @Test
+    public void testRssiSmoothing() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(0, 3);
+
+        assertFalse(filter.isRssiChanged());
+        filter.addRssi(-60);
+        assertTrue(filter.isRssiChanged());
+        assertEquals(-60, filter.publishRssi());
+        filter.addRssi(-80);
+        assertEquals(-70, filter.publishRssi());
+        filter.addRssi(-70);
+        assertFalse(filter.isRssiChanged());
+    }
+
+    @Test
+    public void testUpdateInterval() {
+        BluetoothAdvertisementFilter filter = new BluetoothAdvertisementFilter(1000, 1);
+
+        assertEquals(0, filter.getUpdateDelay(5000));
+        filter.updated(5000);
+        assertEquals(700, filter.getUpdateDelay(5300));
+        assertEquals(0, filter.getUpdateDelay(6000));
+    }
+}
@@ -71,6 +71,13 @@ public class Config {
     private int sensordataConnectionTimeout = DEFAULT_SENSORDATA_CONNECTION_TIMEOUT;
     private int sensordataReadTimeout = DEFAULT_SENSORDATA_READ_TIMEOUT;
 
+    /**
+     * Default number of requests, which can be executed concurrently on the digitalSTROM-Server. It matches the
+     * number of connections per host, which are kept alive by the JDK.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 5;
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+
     /* Internal Configurations */
     // Trash Bin Config
     /**
@@ -368,6 +375,24 @@ public class Config {
         this.trustCertPath = trustCertPath;
     }
 
+    /**
+     * Returns the number of requests, which can be executed concurrently on the digitalSTROM-Server.
+     *
+     * @return the max concurrent requests
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Sets the number of requests, which can be executed concurrently on the digitalSTROM-Server.
+     *
+     * @param maxConcurrentRequests to set
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
     /**
      * Returns the number of days after the trash devices is deleted.
      *
@@ -592,6 +617,7 @@ public class Config {
         setReadTimeout(config.getReadTimeout());
         setSensordataConnectionTimeout(config.getSensordataConnectionTimeout());
         setSensordataReadTimeout(config.getSensordataReadTimeout());
+        setMaxConcurrentRequests(config.getMaxConcurrentRequests());
         setTrustCertPath(config.getTrustCertPath());
         setTrashDeviceDeleteTime(config.getTrashDeviceDeleteTime());
         setBinCheckTime(config.getBinCheckTime());
@@ -611,7 +637,8 @@ public class Config {
         return "Config [applicationName=" + applicationName + ", host=" + host + ", userName=" + userName
                 + ", password=" + password + ", appToken=" + appToken + ", connectionTimeout=" + connectionTimeout
                 + ", readTimeout=" + readTimeout + ", sensordataConnectionTimeout=" + sensordataConnectionTimeout
-                + ", sensordataReadTimeout=" + sensordataReadTimeout + ", trustCertPath=" + trustCertPath
+                + ", sensordataReadTimeout=" + sensordataReadTimeout + ", maxConcurrentRequests="
+                + maxConcurrentRequests + ", trustCertPath=" + trustCertPath
                 + ", trashDeviceDeleteTime=" + trashDeviceDeleteTime + ", binCheckTime=" + binCheckTime
                 + ", pollingFrequency=" + pollingFrequency + ", sensordataRefreshInterval=" + sensordataRefreshInterval
                 + ", totalPowerUpdateInterval=" + totalPowerUpdateInterval + ", sensorReadingWaitTime="
@@ -12,12 +12,14 @@
  */
 package org.openhab.binding.digitalstrom.internal.lib.manager.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -42,6 +44,7 @@ import org.openhab.binding.digitalstrom.internal.lib.manager.SceneManager;
 import org.openhab.binding.digitalstrom.internal.lib.manager.StructureManager;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.SceneReadingJobExecutor;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.SensorJobExecutor;
+import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.SensorJobScheduler;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.impl.DeviceConsumptionSensorJob;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.impl.DeviceOutputValueSensorJob;
@@ -108,6 +111,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     private DsAPI digitalSTROMClient;
     private Config config;
 
+    private SensorJobScheduler sensorJobScheduler;
     private SensorJobExecutor sensorJobExecutor;
     private SceneReadingJobExecutor sceneJobExecutor;
     private EventListener eventListener;
@@ -210,6 +214,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
         this.connMan = connMan;
         this.digitalSTROMClient = connMan.getDigitalSTROMAPI();
         this.config = connMan.getConfig();
+        this.sensorJobScheduler = new SensorJobScheduler(connMan);
         if (strucMan != null) {
             this.strucMan = strucMan;
         } else {
@@ -251,27 +256,29 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
                 tempDeviceMap = new HashMap<DSID, Device>();
             }
 
-            List<Device> currentDeviceList = getDetailedDevices();
+            // the devices, circuits and meter values are queried in parallel
+            List<Callable<List<?>>> queries = new ArrayList<Callable<List<?>>>(2);
+            queries.add(new Callable<List<?>>() {
 
-            // update the current total power consumption
+                @Override
+                public List<?> call() {
+                    return getDetailedDevices();
+                }
+            });
             if (nextSensorUpdate <= System.currentTimeMillis()) {
-                // check circuits
-                List<Circuit> circuits = digitalSTROMClient.getApartmentCircuits(connMan.getSessionToken());
-                for (Circuit circuit : circuits) {
-                    if (strucMan.getCircuitByDSID(circuit.getDSID()) != null) {
-                        if (!circuit.equals(strucMan.getCircuitByDSID(circuit.getDSID()))) {
-                            strucMan.updateCircuitConfig(circuit);
-                        }
-                    } else {
-                        strucMan.addCircuit(circuit);
-                        if (deviceDiscovery != null) {
-                            deviceDiscovery.onDeviceAdded(circuit);
-                        }
+                queries.add(new Callable<List<?>>() {
+
+                    @Override
+                    public List<?> call() {
+                        updateCircuits();
+                        getMeterData();
+                        return null;
                     }
-                }
-                getMeterData();
+                });
                 nextSensorUpdate = System.currentTimeMillis() + config.getTotalPowerUpdateInterval();
             }
+            @SuppressWarnings("unchecked")
+            List<Device> currentDeviceList = (List<Device>) digitalSTROMClient.executeInParallel(queries).get(0);
 
             while (!currentDeviceList.isEmpty()) {
                 Device currentDevice = currentDeviceList.remove(0);
@@ -402,6 +409,22 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
             }
         }
 
+        private void updateCircuits() {
+            List<Circuit> circuits = digitalSTROMClient.getApartmentCircuits(connMan.getSessionToken());
+            for (Circuit circuit : circuits) {
+                if (strucMan.getCircuitByDSID(circuit.getDSID()) != null) {
+                    if (!circuit.equals(strucMan.getCircuitByDSID(circuit.getDSID()))) {
+                        strucMan.updateCircuitConfig(circuit);
+                    }
+                } else {
+                    strucMan.addCircuit(circuit);
+                    if (deviceDiscovery != null) {
+                        deviceDiscovery.onDeviceAdded(circuit);
+                    }
+                }
+            }
+        }
+
         private List<Device> getDetailedDevices() {
             List<Device> deviceList = new LinkedList<Device>();
             JsonObject result = connMan.getDigitalSTROMAPI().query2(connMan.getSessionToken(), GET_DETAILD_DEVICES);
@@ -659,51 +682,49 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
         strucMan.updateDevice(newDevice);
     }
 
-    private long lastSceneCall = 0;
-    private long sleepTime = 0;
-
     @Override
-    public synchronized void sendSceneComandsToDSS(InternalScene scene, boolean call_undo) {
+    public void sendSceneComandsToDSS(final InternalScene scene, final boolean call_undo) {
         if (scene != null) {
-            if (lastSceneCall + 1000 > System.currentTimeMillis()) {
-                sleepTime = System.currentTimeMillis() - lastSceneCall;
-                try {
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException e) {
-                    logger.debug("An InterruptedException occurred", e);
+            sensorJobScheduler.scheduleSceneCall(new Runnable() {
+
+                @Override
+                public void run() {
+                    callScene(scene, call_undo);
                 }
+            });
+        }
+    }
+
+    private void callScene(InternalScene scene, boolean call_undo) {
+        boolean requestSuccessful = false;
+        if (scene.getZoneID() == 0) {
+            if (call_undo) {
+                logger.debug("{} {} {}", scene.getGroupID(), scene.getSceneID(),
+                        ApartmentSceneEnum.getApartmentScene(scene.getSceneID()));
+                requestSuccessful = this.digitalSTROMClient.callApartmentScene(connMan.getSessionToken(),
+                        scene.getGroupID(), null, ApartmentSceneEnum.getApartmentScene(scene.getSceneID()), false);
+            } else {
+                requestSuccessful = this.digitalSTROMClient.undoApartmentScene(connMan.getSessionToken(),
+                        scene.getGroupID(), null, ApartmentSceneEnum.getApartmentScene(scene.getSceneID()));
             }
-            lastSceneCall = System.currentTimeMillis();
-            boolean requestSuccessful = false;
-            if (scene.getZoneID() == 0) {
-                if (call_undo) {
-                    logger.debug("{} {} {}", scene.getGroupID(), scene.getSceneID(),
-                            ApartmentSceneEnum.getApartmentScene(scene.getSceneID()));
-                    requestSuccessful = this.digitalSTROMClient.callApartmentScene(connMan.getSessionToken(),
-                            scene.getGroupID(), null, ApartmentSceneEnum.getApartmentScene(scene.getSceneID()), false);
-                } else {
-                    requestSuccessful = this.digitalSTROMClient.undoApartmentScene(connMan.getSessionToken(),
-                            scene.getGroupID(), null, ApartmentSceneEnum.getApartmentScene(scene.getSceneID()));
-                }
+        } else {
+            if (call_undo) {
+                requestSuccessful = this.digitalSTROMClient.callZoneScene(connMan.getSessionToken(),
+                        scene.getZoneID(), null, scene.getGroupID(), null, SceneEnum.getScene(scene.getSceneID()),
+                        false);
             } else {
-                if (call_undo) {
-                    requestSuccessful = this.digitalSTROMClient.callZoneScene(connMan.getSessionToken(),
-                            scene.getZoneID(), null, scene.getGroupID(), null, SceneEnum.getScene(scene.getSceneID()),
-                            false);
-                } else {
-                    requestSuccessful = this.digitalSTROMClient.undoZoneScene(connMan.getSessionToken(),
-                            scene.getZoneID(), null, scene.getGroupID(), null, SceneEnum.getScene(scene.getSceneID()));
-                }
+                requestSuccessful = this.digitalSTROMClient.undoZoneScene(connMan.getSessionToken(),
+                        scene.getZoneID(), null, scene.getGroupID(), null, SceneEnum.getScene(scene.getSceneID()));
             }
+        }
 
-            logger.debug("Was the scene call succsessful?: {}", requestSuccessful);
-            if (requestSuccessful) {
-                this.sceneMan.addEcho(scene.getID());
-                if (call_undo) {
-                    scene.activateScene();
-                } else {
-                    scene.deactivateScene();
-                }
+        logger.debug("Was the scene call succsessful?: {}", requestSuccessful);
+        if (requestSuccessful) {
+            this.sceneMan.addEcho(scene.getID());
+            if (call_undo) {
+                scene.activateScene();
+            } else {
+                scene.deactivateScene();
             }
         }
     }
@@ -1017,7 +1038,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     @Override
     public void updateSensorData(SensorJob sensorJob, String priority) {
         if (sensorJobExecutor == null) {
-            sensorJobExecutor = new SensorJobExecutor(connMan);
+            sensorJobExecutor = new SensorJobExecutor(connMan, sensorJobScheduler);
             this.sensorJobExecutor.startExecutor();
         }
         if (sensorJob != null && priority != null) {
@@ -1047,7 +1068,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     @Override
     public void updateSceneData(Device device, DeviceStateUpdate deviceStateUpdate) {
         if (sceneJobExecutor == null) {
-            sceneJobExecutor = new SceneReadingJobExecutor(connMan);
+            sceneJobExecutor = new SceneReadingJobExecutor(connMan, sensorJobScheduler);
             this.sceneJobExecutor.startExecutor();
         }
 
@@ -1197,15 +1218,26 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     }
 
     private void getMeterData() {
-        int val = getTotalPowerConsumption();
-        if (totalPowerConsumptionListener != null) {
-            totalPowerConsumptionListener.onTotalPowerConsumptionChanged(val);
-        }
-        val = getTotalEnergyMeterValue();
+        List<Callable<Integer>> queries = new ArrayList<Callable<Integer>>(2);
+        queries.add(new Callable<Integer>() {
+
+            @Override
+            public Integer call() {
+                return getTotalPowerConsumption();
+            }
+        });
+        queries.add(new Callable<Integer>() {
+
+            @Override
+            public Integer call() {
+                return getTotalEnergyMeterValue();
+            }
+        });
+        List<Integer> values = digitalSTROMClient.executeInParallel(queries);
         if (totalPowerConsumptionListener != null) {
-            totalPowerConsumptionListener.onEnergyMeterValueChanged(val);
+            totalPowerConsumptionListener.onTotalPowerConsumptionChanged(values.get(0));
+            totalPowerConsumptionListener.onEnergyMeterValueChanged(values.get(1));
         }
-
     }
 
     @Override
@@ -12,21 +12,10 @@
  */
 package org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-
-import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.digitalstrom.internal.lib.config.Config;
 import org.openhab.binding.digitalstrom.internal.lib.manager.ConnectionManager;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
-import org.openhab.binding.digitalstrom.internal.lib.serverconnection.DsAPI;
 import org.openhab.binding.digitalstrom.internal.lib.structure.devices.Device;
-import org.openhab.binding.digitalstrom.internal.lib.structure.devices.deviceparameters.impl.DSID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +30,10 @@ import org.slf4j.LoggerFactory;
  * <li>{@link #addMediumPriorityJob(SensorJob)}</li>
  * <li>{@link #addHighPriorityJob(SensorJob)}</li>
  * </ul>
+ * <p>
+ * The {@link SensorJob}s are executed by a {@link SensorJobScheduler}, which can be shared with other executors, so
+ * the executors share the bus budget of the circuits.
+ * </p>
  *
  * @author Michael Ochel - Initial contribution
  * @author Matthias Siegele - Initial contribution
@@ -50,83 +43,42 @@ public abstract class AbstractSensorJobExecutor {
 
     private final Logger logger = LoggerFactory.getLogger(AbstractSensorJobExecutor.class);
 
-    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(Config.THREADPOOL_NAME);
-    private Map<DSID, ScheduledFuture<?>> pollingSchedulers;
-
-    private final DsAPI dSAPI;
     protected Config config;
-    private final ConnectionManager connectionManager;
-
-    private final List<CircuitScheduler> circuitSchedulerList = new LinkedList<CircuitScheduler>();
-
-    private class ExecutorRunnable implements Runnable {
-        private final CircuitScheduler circuit;
-
-        public ExecutorRunnable(CircuitScheduler circuit) {
-            this.circuit = circuit;
-        }
-
-        @Override
-        public void run() {
-            SensorJob sensorJob = circuit.getNextSensorJob();
-            if (sensorJob != null) {
-                sensorJob.execute(dSAPI, connectionManager.getSessionToken());
-            }
-            if (circuit.noMoreJobs()) {
-                logger.debug("no more jobs... stop circuit schedduler with id = {}", circuit.getMeterDSID());
-                pollingSchedulers.get(circuit.getMeterDSID()).cancel(true);
-            }
-        }
-    };
+    private final SensorJobScheduler sensorJobScheduler;
 
     /**
-     * Creates a new {@link AbstractSensorJobExecutor}.
+     * Creates a new {@link AbstractSensorJobExecutor} with its own {@link SensorJobScheduler}.
      *
      * @param connectionManager must not be null
      */
     public AbstractSensorJobExecutor(ConnectionManager connectionManager) {
-        this.connectionManager = connectionManager;
+        this(connectionManager, new SensorJobScheduler(connectionManager));
+    }
+
+    /**
+     * Creates a new {@link AbstractSensorJobExecutor}, which executes the {@link SensorJob}s with the given
+     * {@link SensorJobScheduler}.
+     *
+     * @param connectionManager must not be null
+     * @param sensorJobScheduler must not be null
+     */
+    public AbstractSensorJobExecutor(ConnectionManager connectionManager, SensorJobScheduler sensorJobScheduler) {
         config = connectionManager.getConfig();
-        this.dSAPI = connectionManager.getDigitalSTROMAPI();
+        this.sensorJobScheduler = sensorJobScheduler;
     }
 
     /**
      * Stops all circuit schedulers.
      */
     public synchronized void shutdown() {
-        if (pollingSchedulers != null) {
-            for (ScheduledFuture<?> scheduledExecutor : pollingSchedulers.values()) {
-                scheduledExecutor.cancel(true);
-            }
-            pollingSchedulers = null;
-            logger.debug("stop all circuit schedulers.");
-        }
+        sensorJobScheduler.shutdown();
     }
 
     /**
      * Starts all circuit schedulers.
      */
     public synchronized void startExecutor() {
-        logger.debug("start all circuit schedulers.");
-        if (pollingSchedulers == null) {
-            pollingSchedulers = new HashMap<DSID, ScheduledFuture<?>>();
-        }
-        if (circuitSchedulerList != null && !circuitSchedulerList.isEmpty()) {
-            for (CircuitScheduler circuit : circuitSchedulerList) {
-                startSchedduler(circuit);
-            }
-        }
-    }
-
-    private void startSchedduler(CircuitScheduler circuit) {
-        if (pollingSchedulers != null) {
-            if (pollingSchedulers.get(circuit.getMeterDSID()) == null
-                    || pollingSchedulers.get(circuit.getMeterDSID()).isCancelled()) {
-                pollingSchedulers.put(circuit.getMeterDSID(),
-                        scheduler.scheduleWithFixedDelay(new ExecutorRunnable(circuit), circuit.getNextExecutionDelay(),
-                                config.getSensorReadingWaitTime(), TimeUnit.MILLISECONDS));
-            }
-        }
+        sensorJobScheduler.start();
     }
 
     /**
@@ -181,25 +133,7 @@ public abstract class AbstractSensorJobExecutor {
      * @param sensorJob to add
      */
     protected void addSensorJobToCircuitScheduler(SensorJob sensorJob) {
-        synchronized (this.circuitSchedulerList) {
-            CircuitScheduler circuit = getCircuitScheduler(sensorJob.getMeterDSID());
-            if (circuit != null) {
-                circuit.addSensorJob(sensorJob);
-            } else {
-                circuit = new CircuitScheduler(sensorJob, config);
-                this.circuitSchedulerList.add(circuit);
-            }
-            startSchedduler(circuit);
-        }
-    }
-
-    private CircuitScheduler getCircuitScheduler(DSID dsid) {
-        for (CircuitScheduler circuit : this.circuitSchedulerList) {
-            if (circuit.getMeterDSID().equals(dsid)) {
-                return circuit;
-            }
-        }
-        return null;
+        sensorJobScheduler.addSensorJob(sensorJob, this);
     }
 
     /**
@@ -209,10 +143,7 @@ public abstract class AbstractSensorJobExecutor {
      */
     public void removeSensorJobs(Device device) {
         if (device != null) {
-            CircuitScheduler circuit = getCircuitScheduler(device.getMeterDSID());
-            if (circuit != null) {
-                circuit.removeSensorJob(device.getDSID());
-            }
+            sensorJobScheduler.removeSensorJobs(device.getMeterDSID(), device.getDSID(), this);
         }
     }
 
@@ -224,10 +155,7 @@ public abstract class AbstractSensorJobExecutor {
      */
     public void removeSensorJob(Device device, String ID) {
         if (device != null && ID != null) {
-            CircuitScheduler circuit = getCircuitScheduler(device.getMeterDSID());
-            if (circuit != null) {
-                circuit.removeSensorJob(ID);
-            }
+            sensorJobScheduler.removeSensorJob(device.getMeterDSID(), ID, this);
         }
     }
 }
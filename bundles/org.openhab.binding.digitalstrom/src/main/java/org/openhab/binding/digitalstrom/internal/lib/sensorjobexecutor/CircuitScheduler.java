@@ -12,9 +12,9 @@
  */
 package org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor;
 
-import java.util.Comparator;
 import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.openhab.binding.digitalstrom.internal.lib.config.Config;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
@@ -25,6 +25,13 @@ import org.slf4j.LoggerFactory;
 /**
  * This {@link CircuitScheduler} represents a circuit in the digitalSTROM-System and manages the priorities and
  * execution times for the {@link SensorJob}s on this circuit.
+ * <p>
+ * The circuit has a bus budget of one {@link SensorJob} per sensor reading wait time (see
+ * {@link Config#getSensorReadingWaitTime()}), which is shared by all {@link AbstractSensorJobExecutor}s. If the
+ * executors have queued jobs on the circuit, the jobs are executed alternately. {@link SensorJob}s with the same id are
+ * merged and the priority of a queued {@link SensorJob} raises by one level for each wait time it has been waiting, so
+ * no {@link SensorJob} starves.
+ * </p>
  *
  * @author Michael Ochel - Initial contribution
  * @author Matthias Siegele - Initial contribution
@@ -33,17 +40,25 @@ public class CircuitScheduler {
 
     private final Logger logger = LoggerFactory.getLogger(CircuitScheduler.class);
 
-    private class SensorJobComparator implements Comparator<SensorJob> {
+    private static final double LATENCY_WEIGHT = 0.2;
 
-        @Override
-        public int compare(SensorJob job1, SensorJob job2) {
-            return ((Long) job1.getInitalisationTime()).compareTo(job2.getInitalisationTime());
+    private class QueuedSensorJob {
+        private final SensorJob sensorJob;
+        private final Object source;
+        private final long queuedTime;
+
+        public QueuedSensorJob(SensorJob sensorJob, Object source, long queuedTime) {
+            this.sensorJob = sensorJob;
+            this.source = source;
+            this.queuedTime = queuedTime;
         }
     }
 
     private final DSID meterDSID;
     private long nextExecutionTime = System.currentTimeMillis();
-    private final PriorityQueue<SensorJob> sensorJobQueue = new PriorityQueue<SensorJob>(10, new SensorJobComparator());
+    private final Map<String, QueuedSensorJob> sensorJobs = new LinkedHashMap<String, QueuedSensorJob>();
+    private Object lastSource;
+    private double averageLatency = -1;
     private final Config config;
 
     /**
@@ -61,20 +76,6 @@ public class CircuitScheduler {
         this.config = config;
     }
 
-    /**
-     * Creates a new {@link CircuitScheduler} and add the first {@link SensorJob} to this {@link CircuitScheduler}.
-     *
-     * @param sensorJob to add, must not be null
-     * @param config must not be null
-     */
-    public CircuitScheduler(SensorJob sensorJob, Config config) {
-        this.meterDSID = sensorJob.getMeterDSID();
-        this.sensorJobQueue.add(sensorJob);
-        this.config = config;
-        logger.debug("create circuitScheduler: {} and add sensorJob: {}", this.getMeterDSID(),
-                sensorJob.getDSID().toString());
-    }
-
     /**
      * Returns the meterDSID of the dS-Meter in which the {@link SensorJob}s will be executed.
      *
@@ -85,55 +86,69 @@ public class CircuitScheduler {
     }
 
     /**
-     * Adds a new SensorJob to this {@link CircuitScheduler}, if no {@link SensorJob} with a higher priority exists.
+     * Adds a new SensorJob of the given source to this {@link CircuitScheduler}, if no {@link SensorJob} with the same
+     * id and a higher priority exists.
      *
      * @param sensorJob to add
+     * @param source which added the {@link SensorJob}, e.g. the {@link AbstractSensorJobExecutor}
      */
-    public void addSensorJob(SensorJob sensorJob) {
-        synchronized (sensorJobQueue) {
-            if (!this.sensorJobQueue.contains(sensorJob)) {
-                sensorJobQueue.add(sensorJob);
-                logger.debug("Add sensorJob: {} to circuitScheduler: {}", sensorJob.toString(), this.getMeterDSID());
-            } else if (checkSensorJobPrio(sensorJob)) {
-                logger.debug("add sensorJob: {} with higher priority to circuitScheduler: {}", sensorJob.toString(),
-                        this.getMeterDSID());
-            } else {
-                logger.debug("sensorJob: {} allready exist with a higher priority", sensorJob.getDSID());
-            }
+    public synchronized void addSensorJob(SensorJob sensorJob, Object source) {
+        QueuedSensorJob existSensorJob = sensorJobs.get(sensorJob.getID());
+        if (existSensorJob == null) {
+            sensorJobs.put(sensorJob.getID(), new QueuedSensorJob(sensorJob, source, System.currentTimeMillis()));
+            logger.debug("Add sensorJob: {} to circuitScheduler: {}", sensorJob.toString(), this.getMeterDSID());
+        } else if (sensorJob.getInitalisationTime() < existSensorJob.sensorJob.getInitalisationTime()) {
+            // keeps the queued time, so the merged job does not lose its waiting time
+            sensorJobs.put(sensorJob.getID(), new QueuedSensorJob(sensorJob, source, existSensorJob.queuedTime));
+            logger.debug("add sensorJob: {} with higher priority to circuitScheduler: {}", sensorJob.toString(),
+                    this.getMeterDSID());
+        } else {
+            logger.debug("sensorJob: {} allready exist with a higher priority", sensorJob.getDSID());
         }
     }
 
-    private boolean checkSensorJobPrio(SensorJob sensorJob) {
-        synchronized (sensorJobQueue) {
-            for (Iterator<SensorJob> iter = sensorJobQueue.iterator(); iter.hasNext();) {
-                SensorJob existSensorJob = iter.next();
-                if (existSensorJob.equals(sensorJob)) {
-                    if (sensorJob.getInitalisationTime() < existSensorJob.getInitalisationTime()) {
-                        iter.remove();
-                        sensorJobQueue.add(sensorJob);
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
     /**
      * Returns the next {@link SensorJob} which can be executed or null, if there are no more {@link SensorJob} to
      * execute or the wait time between the {@link SensorJob}s executions has not expired yet.
      *
      * @return next SensorJob or null
      */
-    public SensorJob getNextSensorJob() {
-        synchronized (sensorJobQueue) {
-            if (sensorJobQueue.peek() != null && this.nextExecutionTime <= System.currentTimeMillis()) {
-                nextExecutionTime = System.currentTimeMillis() + config.getSensorReadingWaitTime();
-                return sensorJobQueue.poll();
-            } else {
-                return null;
+    public synchronized SensorJob getNextSensorJob() {
+        long now = System.currentTimeMillis();
+        if (sensorJobs.isEmpty() || this.nextExecutionTime > now) {
+            return null;
+        }
+        QueuedSensorJob next = null;
+        boolean nextOfOtherSource = false;
+        for (QueuedSensorJob sensorJob : sensorJobs.values()) {
+            boolean otherSource = sensorJob.source != lastSource;
+            if (next == null || (otherSource && !nextOfOtherSource) || (otherSource == nextOfOtherSource
+                    && getEffectivePriority(sensorJob, now) < getEffectivePriority(next, now))) {
+                next = sensorJob;
+                nextOfOtherSource = otherSource;
             }
         }
+        sensorJobs.remove(next.sensorJob.getID());
+        lastSource = next.source;
+        nextExecutionTime = now + config.getSensorReadingWaitTime();
+
+        long latency = now - next.queuedTime;
+        averageLatency = averageLatency < 0 ? latency
+                : LATENCY_WEIGHT * latency + (1 - LATENCY_WEIGHT) * averageLatency;
+        return next.sensorJob;
+    }
+
+    /**
+     * Returns the priority of a queued {@link SensorJob}, each sensor reading wait time the {@link SensorJob} has been
+     * waiting raises the priority by one level. A level is the offset of a medium priority {@link SensorJob} in
+     * milliseconds (see {@link SensorJobExecutor#addMediumPriorityJob(SensorJob)}). Lower values will be executed
+     * first.
+     */
+    private long getEffectivePriority(QueuedSensorJob sensorJob, long now) {
+        long waitTime = Math.max(1, config.getSensorReadingWaitTime());
+        long waitedWaitTimes = (now - sensorJob.queuedTime) / waitTime;
+        return sensorJob.sensorJob.getInitalisationTime()
+                - waitedWaitTimes * waitTime * config.getMediumPriorityFactor();
     }
 
     /**
@@ -141,7 +156,7 @@ public class CircuitScheduler {
      *
      * @return next SesnorJob execution time
      */
-    public Long getNextExecutionTime() {
+    public synchronized Long getNextExecutionTime() {
         return this.nextExecutionTime;
     }
 
@@ -150,43 +165,58 @@ public class CircuitScheduler {
      *
      * @return next SesnorJob execution delay
      */
-    public Long getNextExecutionDelay() {
+    public synchronized Long getNextExecutionDelay() {
         long delay = this.nextExecutionTime - System.currentTimeMillis();
         return delay > 0 ? delay : 0;
     }
 
     /**
-     * Removes all {@link SensorJob} of a specific {@link Device} with the given {@link DSID}.
+     * Returns the number of queued {@link SensorJob}s.
+     *
+     * @return queue length
+     */
+    public synchronized int getQueueLength() {
+        return sensorJobs.size();
+    }
+
+    /**
+     * Returns the average time in milliseconds, which the executed {@link SensorJob}s have been waiting in the queue,
+     * or -1 if no {@link SensorJob} has been executed yet.
+     *
+     * @return average latency
+     */
+    public synchronized long getAverageLatency() {
+        return Math.round(averageLatency);
+    }
+
+    /**
+     * Removes all {@link SensorJob} of the given source of a specific {@link Device} with the given {@link DSID}.
      *
      * @param dSID of the device
+     * @param source which added the {@link SensorJob}s
      */
-    public void removeSensorJob(DSID dSID) {
-        synchronized (sensorJobQueue) {
-            for (Iterator<SensorJob> iter = sensorJobQueue.iterator(); iter.hasNext();) {
-                SensorJob job = iter.next();
-                if (job.getDSID().equals(dSID)) {
-                    iter.remove();
-                    logger.debug("Remove SensorJob with ID {}.", job.getID());
-                }
+    public synchronized void removeSensorJob(DSID dSID, Object source) {
+        for (Iterator<QueuedSensorJob> iter = sensorJobs.values().iterator(); iter.hasNext();) {
+            QueuedSensorJob job = iter.next();
+            if (job.source == source && job.sensorJob.getDSID().equals(dSID)) {
+                iter.remove();
+                logger.debug("Remove SensorJob with ID {}.", job.sensorJob.getID());
             }
         }
     }
 
     /**
-     * Removes the {@link SensorJob} with the given ID .
+     * Removes the {@link SensorJob} of the given source with the given ID .
      *
      * @param id of the {@link SensorJob}
+     * @param source which added the {@link SensorJob}
      */
-    public void removeSensorJob(String id) {
-        synchronized (sensorJobQueue) {
-            for (Iterator<SensorJob> iter = sensorJobQueue.iterator(); iter.hasNext();) {
-                SensorJob job = iter.next();
-                if (job.getID().equals(id)) {
-                    iter.remove();
-                    logger.debug("Remove SensorJob with ID {}.", id);
-                    return;
-                }
-            }
+    public synchronized void removeSensorJob(String id, Object source) {
+        QueuedSensorJob job = sensorJobs.get(id);
+        if (job != null && job.source == source) {
+            sensorJobs.remove(id);
+            logger.debug("Remove SensorJob with ID {}.", id);
+        } else {
             logger.debug("No SensorJob with ID {} found, cannot remove a not existing SensorJob.", id);
         }
     }
@@ -196,9 +226,7 @@ public class CircuitScheduler {
      *
      * @return no more SensorJobs? (true | false)
      */
-    public boolean noMoreJobs() {
-        synchronized (sensorJobQueue) {
-            return this.sensorJobQueue.isEmpty();
-        }
+    public synchronized boolean noMoreJobs() {
+        return this.sensorJobs.isEmpty();
     }
 }
@@ -48,6 +48,17 @@ public class SceneReadingJobExecutor extends AbstractSensorJobExecutor {
         super(connectionManager);
     }
 
+    /**
+     * Creates a new {@link SceneReadingJobExecutor}, which shares the given {@link SensorJobScheduler} and therefore its
+     * per-circuit bus budget with other executors.
+     *
+     * @param connectionManager must not be null
+     * @param sensorJobScheduler must not be null
+     */
+    public SceneReadingJobExecutor(ConnectionManager connectionManager, SensorJobScheduler sensorJobScheduler) {
+        super(connectionManager, sensorJobScheduler);
+    }
+
     @Override
     public void addHighPriorityJob(SensorJob sensorJob) {
         if (sensorJob == null) {
@@ -51,6 +51,17 @@ public class SensorJobExecutor extends AbstractSensorJobExecutor {
         super(connectionManager);
     }
 
+    /**
+     * Creates a new {@link SensorJobExecutor}, which shares the given {@link SensorJobScheduler} and therefore its
+     * per-circuit bus budget with other executors.
+     *
+     * @param connectionManager must not be null
+     * @param sensorJobScheduler must not be null
+     */
+    public SensorJobExecutor(ConnectionManager connectionManager, SensorJobScheduler sensorJobScheduler) {
+        super(connectionManager, sensorJobScheduler);
+    }
+
     @Override
     public void addHighPriorityJob(SensorJob sensorJob) {
         if (sensorJob == null) {
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.binding.digitalstrom.internal.lib.config.Config;
+import org.openhab.binding.digitalstrom.internal.lib.manager.ConnectionManager;
+import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
+import org.openhab.binding.digitalstrom.internal.lib.serverconnection.DsAPI;
+import org.openhab.binding.digitalstrom.internal.lib.structure.devices.deviceparameters.impl.DSID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SensorJobScheduler} executes the {@link SensorJob}s of all circuits of a digitalSTROM-Server with a single
+ * scheduled task. It can be shared by several {@link AbstractSensorJobExecutor}s, so all executors share the bus
+ * budget of a circuit, which is managed by the {@link CircuitScheduler}. The due {@link SensorJob}s of different
+ * circuits are executed in parallel.
+ * <p>
+ * In addition the {@link SensorJobScheduler} paces scene calls, see {@link #scheduleSceneCall(Runnable)}.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+public class SensorJobScheduler {
+
+    private final Logger logger = LoggerFactory.getLogger(SensorJobScheduler.class);
+
+    /**
+     * The minimum time in milliseconds between two scene calls.
+     */
+    public static final int SCENE_CALL_INTERVAL = 1000;
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(Config.THREADPOOL_NAME);
+    private final ConnectionManager connectionManager;
+    private final DsAPI dSAPI;
+    private final Config config;
+
+    private final Map<DSID, CircuitScheduler> circuits = new HashMap<DSID, CircuitScheduler>();
+    private boolean running = false;
+    private ScheduledFuture<?> pollingScheduler;
+    private long nextRunTime;
+    private long nextSceneCallTime = 0;
+
+    /**
+     * Creates a new {@link SensorJobScheduler}.
+     *
+     * @param connectionManager must not be null
+     */
+    public SensorJobScheduler(ConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+        this.config = connectionManager.getConfig();
+        this.dSAPI = connectionManager.getDigitalSTROMAPI();
+    }
+
+    /**
+     * Starts the execution of the {@link SensorJob}s.
+     */
+    public synchronized void start() {
+        if (!running) {
+            logger.debug("start sensor job scheduler.");
+            running = true;
+            reschedule();
+        }
+    }
+
+    /**
+     * Stops the execution of the {@link SensorJob}s, the queued {@link SensorJob}s will be executed after a restart.
+     */
+    public synchronized void shutdown() {
+        if (running) {
+            logger.debug("stop sensor job scheduler.");
+            running = false;
+            if (pollingScheduler != null) {
+                pollingScheduler.cancel(true);
+                pollingScheduler = null;
+            }
+        }
+    }
+
+    /**
+     * Adds the {@link SensorJob} of the given source to the {@link CircuitScheduler} of its circuit.
+     *
+     * @param sensorJob to add
+     * @param source which adds the {@link SensorJob}, e.g. the {@link AbstractSensorJobExecutor}
+     */
+    public synchronized void addSensorJob(SensorJob sensorJob, Object source) {
+        CircuitScheduler circuit = circuits.get(sensorJob.getMeterDSID());
+        if (circuit == null) {
+            circuit = new CircuitScheduler(sensorJob.getMeterDSID(), config);
+            circuits.put(sensorJob.getMeterDSID(), circuit);
+            logger.debug("create circuitScheduler: {}", sensorJob.getMeterDSID());
+        }
+        circuit.addSensorJob(sensorJob, source);
+        reschedule();
+    }
+
+    /**
+     * Removes all {@link SensorJob}s of the given source of the device with the given {@link DSID}.
+     *
+     * @param meterDSID of the circuit of the device
+     * @param dSID of the device
+     * @param source which added the {@link SensorJob}s
+     */
+    public synchronized void removeSensorJobs(DSID meterDSID, DSID dSID, Object source) {
+        CircuitScheduler circuit = circuits.get(meterDSID);
+        if (circuit != null) {
+            circuit.removeSensorJob(dSID, source);
+        }
+    }
+
+    /**
+     * Removes the {@link SensorJob} of the given source with the given id.
+     *
+     * @param meterDSID of the circuit of the device
+     * @param id of the {@link SensorJob}
+     * @param source which added the {@link SensorJob}
+     */
+    public synchronized void removeSensorJob(DSID meterDSID, String id, Object source) {
+        CircuitScheduler circuit = circuits.get(meterDSID);
+        if (circuit != null) {
+            circuit.removeSensorJob(id, source);
+        }
+    }
+
+    /**
+     * Executes the given scene call, but at most one scene call per {@link #SCENE_CALL_INTERVAL}. If the last scene
+     * call was executed earlier, the scene call is executed immediately by the calling thread, otherwise it will be
+     * scheduled. The scene calls are executed in the order of their calls.
+     *
+     * @param sceneCall to execute
+     */
+    public void scheduleSceneCall(Runnable sceneCall) {
+        long delay;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            long callTime = Math.max(now, nextSceneCallTime);
+            nextSceneCallTime = callTime + SCENE_CALL_INTERVAL;
+            delay = callTime - now;
+        }
+        if (delay > 0) {
+            scheduler.schedule(sceneCall, delay, TimeUnit.MILLISECONDS);
+        } else {
+            sceneCall.run();
+        }
+    }
+
+    /**
+     * Schedules the next execution at the time when the first circuit with queued {@link SensorJob}s has bus budget
+     * again.
+     */
+    private synchronized void reschedule() {
+        if (!running) {
+            return;
+        }
+        long nextExecutionTime = Long.MAX_VALUE;
+        for (CircuitScheduler circuit : circuits.values()) {
+            if (!circuit.noMoreJobs()) {
+                nextExecutionTime = Math.min(nextExecutionTime, circuit.getNextExecutionTime());
+            }
+        }
+        if (nextExecutionTime == Long.MAX_VALUE) {
+            return;
+        }
+        if (pollingScheduler != null && !pollingScheduler.isDone()) {
+            if (nextRunTime <= nextExecutionTime) {
+                return;
+            }
+            pollingScheduler.cancel(false);
+        }
+        long delay = Math.max(0, nextExecutionTime - System.currentTimeMillis());
+        nextRunTime = System.currentTimeMillis() + delay;
+        pollingScheduler = scheduler.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                executeSensorJobs();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void executeSensorJobs() {
+        List<Callable<Void>> sensorJobs = new ArrayList<Callable<Void>>();
+        synchronized (this) {
+            pollingScheduler = null;
+            if (!running) {
+                return;
+            }
+            for (CircuitScheduler circuit : circuits.values()) {
+                final SensorJob sensorJob = circuit.getNextSensorJob();
+                if (sensorJob != null) {
+                    sensorJobs.add(new Callable<Void>() {
+
+                        @Override
+                        public Void call() {
+                            sensorJob.execute(dSAPI, connectionManager.getSessionToken());
+                            return null;
+                        }
+                    });
+                    logger.debug("execute sensorJob {} on circuit {}, queued: {}, average latency: {} ms", sensorJob,
+                            circuit.getMeterDSID(), circuit.getQueueLength(), circuit.getAverageLatency());
+                }
+            }
+        }
+        try {
+            if (!sensorJobs.isEmpty()) {
+                dSAPI.executeInParallel(sensorJobs);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("An exception occurred while executing a sensorJob: {}", e.getMessage(), e);
+        } finally {
+            reschedule();
+        }
+    }
+}
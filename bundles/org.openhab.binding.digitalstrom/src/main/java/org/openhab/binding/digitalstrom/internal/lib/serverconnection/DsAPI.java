@@ -15,6 +15,7 @@ package org.openhab.binding.digitalstrom.internal.lib.serverconnection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.openhab.binding.digitalstrom.internal.lib.climate.jsonresponsecontainer.BaseSensorValues;
 import org.openhab.binding.digitalstrom.internal.lib.climate.jsonresponsecontainer.impl.AssignedSensors;
@@ -1107,4 +1108,14 @@ public interface DsAPI {
      */
     Boolean propertyTreeRemove(String sessionToken, String path);
 
+    /**
+     * Executes the given queries in parallel and returns their results in the same order. The queries are executed in
+     * the digitalSTROM thread pool and by the calling thread, the number of concurrent requests to the
+     * digitalSTROM-Server is limited by the {@link HttpTransport}. If a query throws an exception, it is thrown after
+     * all queries have been finished.
+     *
+     * @param queries to execute, e.g. calls of {@link DsAPI} methods
+     * @return results of the queries
+     */
+    <T> List<T> executeInParallel(List<Callable<T>> queries);
 }
@@ -21,8 +21,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.digitalstrom.internal.lib.GeneralLibConstance;
 import org.openhab.binding.digitalstrom.internal.lib.climate.jsonresponsecontainer.BaseSensorValues;
 import org.openhab.binding.digitalstrom.internal.lib.climate.jsonresponsecontainer.impl.AssignedSensors;
@@ -1407,4 +1413,47 @@ public class DsAPIImpl implements DsAPI {
         }
         return null;
     }
+
+    @Override
+    public <T> List<T> executeInParallel(List<Callable<T>> queries) {
+        List<FutureTask<T>> tasks = new ArrayList<FutureTask<T>>(queries.size());
+        ExecutorService pool = ThreadPoolManager.getPool(Config.THREADPOOL_NAME);
+        for (Callable<T> query : queries) {
+            FutureTask<T> task = new FutureTask<T>(query);
+            // the first query is always executed by the calling thread
+            if (!tasks.isEmpty()) {
+                try {
+                    pool.execute(task);
+                } catch (RejectedExecutionException e) {
+                    logger.debug("Thread pool rejected query, it will be executed by the calling thread");
+                }
+            }
+            tasks.add(task);
+        }
+        List<T> results = new ArrayList<T>(tasks.size());
+        Throwable failure = null;
+        for (FutureTask<T> task : tasks) {
+            // executes the query in the calling thread, if it is not already started by the thread pool
+            task.run();
+            try {
+                results.add(task.get());
+            } catch (ExecutionException e) {
+                results.add(null);
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(null);
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+        return results;
+    }
 }
@@ -31,6 +31,7 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.Base64;
+import java.util.concurrent.Semaphore;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
@@ -70,6 +71,10 @@ import org.slf4j.LoggerFactory;
  * about
  * connection state changes through the {@link #execute(String, int, int)} method.
  * </p>
+ * <p>
+ * The connections to the server are kept alive and reused by following requests, so not every request needs a new
+ * TLS handshake. The number of concurrently executed requests is limited by {@link Config#getMaxConcurrentRequests()}.
+ * </p>
  *
  * @author Michael Ochel - Initial contribution
  * @author Matthias Siegele - Initial contribution
@@ -92,6 +97,8 @@ public class HttpTransportImpl implements HttpTransport {
 
     private ConnectionManager connectionManager;
 
+    private Semaphore requestPermits;
+
     private String cert;
     private SSLSocketFactory sslSocketFactory;
     private final HostnameVerifier hostnameVerifier = new HostnameVerifier() {
@@ -185,6 +192,9 @@ public class HttpTransportImpl implements HttpTransport {
         this.uri = fixURI(uri);
         this.connectTimeout = connectTimeout;
         this.readTimeout = readTimeout;
+        int maxConcurrentRequests = config != null ? config.getMaxConcurrentRequests()
+                : Config.DEFAULT_MAX_CONCURRENT_REQUESTS;
+        this.requestPermits = new Semaphore(Math.max(1, maxConcurrentRequests), true);
         // Check SSL Certificate
         if (exeptAllCerts) {
             sslSocketFactory = generateSSLContextWhichAcceptAllSSLCertificats();
@@ -248,32 +258,39 @@ public class HttpTransportImpl implements HttpTransport {
         // max 1 second.
         String response = null;
         HttpsURLConnection connection = null;
+        boolean keepAlive = false;
         try {
             String correctedRequest = checkSessionToken(request);
             connection = getConnection(correctedRequest, connectTimeout, readTimeout);
             if (connection != null) {
-                connection.connect();
-                final int responseCode = connection.getResponseCode();
-                if (responseCode != HttpURLConnection.HTTP_FORBIDDEN) {
-                    if (responseCode == HttpURLConnection.HTTP_INTERNAL_ERROR) {
-                        response = IOUtils.toString(connection.getErrorStream());
-                    } else {
-                        response = IOUtils.toString(connection.getInputStream());
-                    }
-                    if (response != null) {
-                        if (!response.contains("Authentication failed")) {
-                            if (loginCounter > 0) {
-                                connectionManager.checkConnection(responseCode);
-                            }
-                            loginCounter = 0;
+                final int responseCode;
+                requestPermits.acquireUninterruptibly();
+                try {
+                    connection.connect();
+                    responseCode = connection.getResponseCode();
+                    if (responseCode != HttpURLConnection.HTTP_FORBIDDEN) {
+                        if (responseCode == HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                            response = readResponse(connection.getErrorStream());
                         } else {
-                            connectionManager.checkConnection(ConnectionManager.AUTHENTIFICATION_PROBLEM);
-                            loginCounter++;
+                            response = readResponse(connection.getInputStream());
+                        }
+                        // the response is read completely, so the connection can be reused by the next request
+                        keepAlive = true;
+                        if (response != null) {
+                            if (!response.contains("Authentication failed")) {
+                                if (loginCounter > 0) {
+                                    connectionManager.checkConnection(responseCode);
+                                }
+                                loginCounter = 0;
+                            } else {
+                                connectionManager.checkConnection(ConnectionManager.AUTHENTIFICATION_PROBLEM);
+                                loginCounter++;
+                            }
                         }
                     }
-
+                } finally {
+                    requestPermits.release();
                 }
-                connection.disconnect();
                 if (response == null && connectionManager != null
                         && loginCounter <= MAY_A_NEW_SESSION_TOKEN_IS_NEEDED) {
                     if (responseCode == HttpURLConnection.HTTP_FORBIDDEN) {
@@ -302,13 +319,25 @@ public class HttpTransportImpl implements HttpTransport {
                 informConnectionManager(ConnectionManager.GENERAL_EXCEPTION);
             }
         } finally {
-            if (connection != null) {
+            if (connection != null && !keepAlive) {
                 connection.disconnect();
             }
         }
         return null;
     }
 
+    /**
+     * Reads the complete response and closes the stream, which returns the connection to the keep-alive cache.
+     */
+    private String readResponse(InputStream inputStream) throws IOException {
+        if (inputStream == null) {
+            return null;
+        }
+        try (InputStream in = inputStream) {
+            return IOUtils.toString(in);
+        }
+    }
+
     private boolean informConnectionManager(int code) {
         if (connectionManager != null && loginCounter < MAY_A_NEW_SESSION_TOKEN_IS_NEEDED) {
             connectionManager.checkConnection(code);
@@ -377,14 +406,21 @@ public class HttpTransportImpl implements HttpTransport {
         try {
             HttpsURLConnection connection = getConnection(testRequest, connectTimeout, readTimeout);
             if (connection != null) {
-                connection.connect();
-                if (connection.getResponseCode() == HttpURLConnection.HTTP_OK) {
-                    if (IOUtils.toString(connection.getInputStream()).contains("Authentication failed")) {
-                        return ConnectionManager.AUTHENTIFICATION_PROBLEM;
+                requestPermits.acquireUninterruptibly();
+                try {
+                    connection.connect();
+                    int responseCode = connection.getResponseCode();
+                    if (responseCode == HttpURLConnection.HTTP_OK) {
+                        if (readResponse(connection.getInputStream()).contains("Authentication failed")) {
+                            return ConnectionManager.AUTHENTIFICATION_PROBLEM;
+                        }
+                    } else {
+                        connection.disconnect();
                     }
+                    return responseCode;
+                } finally {
+                    requestPermits.release();
                 }
-                connection.disconnect();
-                return connection.getResponseCode();
             } else {
                 return ConnectionManager.GENERAL_EXCEPTION;
             }
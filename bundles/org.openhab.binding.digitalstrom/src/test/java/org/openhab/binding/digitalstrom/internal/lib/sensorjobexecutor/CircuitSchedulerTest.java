@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.digitalstrom.internal.lib.config.Config;
+import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
+import org.openhab.binding.digitalstrom.internal.lib.serverconnection.DsAPI;
+import org.openhab.binding.digitalstrom.internal.lib.structure.devices.deviceparameters.impl.DSID;
+
+/**
+ * Tests for the priorities of the {@link CircuitScheduler}. The priorities of the {@link SensorJob}s are set like the
+ * {@link SensorJobExecutor} sets them, with a short sensor reading wait time.
+ *
+ * @author agent - Initial contribution
+ */
+public class CircuitSchedulerTest {
+    private static final int WAIT_TIME = 50;
+    private static final DSID METER_DSID = new DSID("302ed89f43f00e4000001234");
+
+    private final Object source = new Object();
+    private final Object otherSource = new Object();
+    private Config config;
+    private CircuitScheduler circuit;
+
+    @Before
+    public void setup() {
+        config = new Config();
+        config.setSensorReadingWaitTime(WAIT_TIME);
+        circuit = new CircuitScheduler(METER_DSID, config);
+    }
+
+    @Test
+    public void higherPriorityIsExecutedFirst() throws InterruptedException {
+        circuit.addSensorJob(createJob("low", config.getLowPriorityFactor()), source);
+        circuit.addSensorJob(createJob("medium", config.getMediumPriorityFactor()), source);
+        circuit.addSensorJob(createJob("high", 0), source);
+
+        assertEquals("high", awaitNextSensorJob().getID());
+        assertEquals("medium", awaitNextSensorJob().getID());
+        assertEquals("low", awaitNextSensorJob().getID());
+        assertTrue(circuit.noMoreJobs());
+    }
+
+    @Test
+    public void waitingJobIsRaisedByOneLevelPerWaitTime() throws InterruptedException {
+        circuit.addSensorJob(createJob("medium", config.getMediumPriorityFactor()), source);
+        Thread.sleep(WAIT_TIME);
+
+        // The medium priority job has waited one wait time, so it is executed before a new high priority job
+        circuit.addSensorJob(createJob("high", 0), source);
+
+        assertEquals("medium", awaitNextSensorJob().getID());
+        assertEquals("high", awaitNextSensorJob().getID());
+    }
+
+    @Test
+    public void lowPriorityJobDoesNotStarve() throws InterruptedException {
+        circuit.addSensorJob(createJob("low", config.getLowPriorityFactor()), source);
+
+        int executedHighPriorityJobs = 0;
+        for (int i = 0; i < 10; i++) {
+            circuit.addSensorJob(createJob("high" + i, 0), source);
+            if ("low".equals(awaitNextSensorJob().getID())) {
+                break;
+            }
+            executedHighPriorityJobs++;
+        }
+
+        // The low priority job is raised by one medium priority level per wait time, while each new high priority job
+        // is queued one wait time later, so the low priority job overtakes them after a few wait times
+        assertTrue(executedHighPriorityJobs <= 4);
+        assertEquals(1, circuit.getQueueLength());
+    }
+
+    @Test
+    public void jobsOfSourcesAreExecutedAlternately() throws InterruptedException {
+        circuit.addSensorJob(createJob("a1", 0), source);
+        circuit.addSensorJob(createJob("a2", 0), source);
+        circuit.addSensorJob(createJob("b1", config.getLowPriorityFactor()), otherSource);
+
+        assertEquals("a1", awaitNextSensorJob().getID());
+        assertEquals("b1", awaitNextSensorJob().getID());
+        assertEquals("a2", awaitNextSensorJob().getID());
+    }
+
+    @Test
+    public void jobsAreExecutedOncePerWaitTime() throws InterruptedException {
+        circuit.addSensorJob(createJob("first", 0), source);
+        circuit.addSensorJob(createJob("second", 0), source);
+
+        assertEquals("first", awaitNextSensorJob().getID());
+        assertNull(circuit.getNextSensorJob());
+        assertTrue(circuit.getNextExecutionDelay() > 0);
+        assertEquals("second", awaitNextSensorJob().getID());
+        assertTrue(circuit.getAverageLatency() >= 0);
+    }
+
+    private SensorJob createJob(String id, long priorityFactor) {
+        return new TestSensorJob(id, System.currentTimeMillis() + WAIT_TIME * priorityFactor);
+    }
+
+    private SensorJob awaitNextSensorJob() throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 20 * WAIT_TIME;
+        while (System.currentTimeMillis() < timeout) {
+            SensorJob sensorJob = circuit.getNextSensorJob();
+            if (sensorJob != null) {
+                return sensorJob;
+            }
+            Thread.sleep(circuit.getNextExecutionDelay() + 1);
+        }
+        fail("No SensorJob was executed");
+        return null;
+    }
+
+    private static class TestSensorJob implements SensorJob {
+        private final String id;
+        private long initalisationTime;
+
+        TestSensorJob(String id, long initalisationTime) {
+            this.id = id;
+            this.initalisationTime = initalisationTime;
+        }
+
+        @Override
+        public DSID getDSID() {
+            return new DSID("302ed89f43f00e4000005678");
+        }
+
+        @Override
+        public DSID getMeterDSID() {
+            return METER_DSID;
+        }
+
+        @Override
+        public void execute(DsAPI dSAPI, String sessionToken) {
+        }
+
+        @Override
+        public long getInitalisationTime() {
+            return initalisationTime;
+        }
+
+        @Override
+        public void setInitalisationTime(long time) {
+            this.initalisationTime = time;
+        }
+
+        @Override
+        public String getID() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.connector;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connector replaying a captured P1 byte stream (e.g. a file with the raw data as read from the serial port) instead
+ * of reading from a serial port. The data is passed to the listener through the same code path as data read from a
+ * serial port. The replay speed is given in bytes per second, or {@link #AS_FAST_AS_POSSIBLE}.
+ *
+ * The stream of the {@link ReplaySource} must report the number of remaining bytes with
+ * {@link InputStream#available()}, like file and byte array streams do. The replay ends when no more bytes are
+ * available.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DSMRReplayConnector extends DSMRBaseConnector {
+
+    /**
+     * Replay speed to pass the data to the listener as fast as possible.
+     */
+    public static final int AS_FAST_AS_POSSIBLE = 0;
+
+    /**
+     * Repetitions value to replay the data until the connector is closed.
+     */
+    public static final int REPEAT_FOREVER = 0;
+
+    /**
+     * Interval in which data is passed to the listener when the replay speed is limited.
+     */
+    private static final int TICK_IN_MS = 10;
+
+    /**
+     * Number of bits transferred per byte on a serial line with 8 data bits, 1 start and 1 stop bit.
+     */
+    private static final int SERIAL_BITS_PER_BYTE = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(DSMRReplayConnector.class);
+
+    /**
+     * Source of the data to replay.
+     */
+    @FunctionalInterface
+    public interface ReplaySource {
+        /**
+         * @return a new stream with the data to replay
+         * @throws IOException in case the stream could not be opened
+         */
+        InputStream open() throws IOException;
+    }
+
+    private final ReplaySource replaySource;
+    private final int bytesPerSecond;
+    private volatile boolean stopped;
+    private volatile long bytesReplayed;
+
+    /**
+     * Creates a new replay connector.
+     *
+     * @param dsmrConnectorListener The listener to send error or replayed data to
+     * @param replaySource The source of the data to replay
+     * @param bytesPerSecond The replay speed in bytes per second or {@link #AS_FAST_AS_POSSIBLE}
+     */
+    public DSMRReplayConnector(DSMRConnectorListener dsmrConnectorListener, ReplaySource replaySource,
+            int bytesPerSecond) {
+        super(dsmrConnectorListener);
+        this.replaySource = replaySource;
+        this.bytesPerSecond = Math.max(AS_FAST_AS_POSSIBLE, bytesPerSecond);
+    }
+
+    /**
+     * Creates a new replay connector replaying the given file.
+     *
+     * @param dsmrConnectorListener The listener to send error or replayed data to
+     * @param file The file with the captured data
+     * @param bytesPerSecond The replay speed in bytes per second or {@link #AS_FAST_AS_POSSIBLE}
+     * @return the new replay connector
+     */
+    public static DSMRReplayConnector fromFile(DSMRConnectorListener dsmrConnectorListener, Path file,
+            int bytesPerSecond) {
+        return new DSMRReplayConnector(dsmrConnectorListener, () -> Files.newInputStream(file), bytesPerSecond);
+    }
+
+    /**
+     * Returns the replay speed matching the given serial port baudrate. This replays the data at the speed the meter
+     * sends it.
+     *
+     * @param baudrate baudrate of the serial port
+     * @return replay speed in bytes per second
+     */
+    public static int bytesPerSecond(int baudrate) {
+        return baudrate / SERIAL_BITS_PER_BYTE;
+    }
+
+    /**
+     * Replays the data the given number of times. This method blocks until all data is replayed or the connector is
+     * closed.
+     *
+     * @param repetitions The number of times to replay the data or {@link #REPEAT_FOREVER}
+     */
+    public void replay(int repetitions) {
+        stopped = false;
+        for (int i = 0; !stopped && (repetitions == REPEAT_FOREVER || i < repetitions); i++) {
+            final ThrottledInputStream inputStream;
+
+            try {
+                inputStream = new ThrottledInputStream(replaySource.open());
+                open(inputStream);
+            } catch (IOException e) {
+                logger.debug("Failed to open replay source", e);
+                dsmrConnectorListener.handleErrorEvent(DSMRConnectorErrorEvent.DONT_EXISTS);
+                return;
+            }
+            try {
+                replay(inputStream);
+            } catch (IOException e) {
+                logger.debug("Exception on replay of data", e);
+                dsmrConnectorListener.handleErrorEvent(DSMRConnectorErrorEvent.READ_ERROR);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                super.close();
+            }
+        }
+    }
+
+    private void replay(ThrottledInputStream inputStream) throws IOException, InterruptedException {
+        final long startNanos = System.nanoTime();
+
+        while (!stopped && inputStream.hasRemaining()) {
+            if (bytesPerSecond != AS_FAST_AS_POSSIBLE) {
+                inputStream.limit = bytesPerSecond
+                        * (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + TICK_IN_MS) / 1000;
+            }
+            handleDataAvailable();
+            if (bytesPerSecond != AS_FAST_AS_POSSIBLE) {
+                Thread.sleep(TICK_IN_MS);
+            }
+        }
+    }
+
+    /**
+     * Stops a running replay.
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        super.close();
+    }
+
+    /**
+     * @return the total number of bytes passed to the listener
+     */
+    public long getBytesReplayed() {
+        return bytesReplayed;
+    }
+
+    /**
+     * Input stream only making the bytes up to the current limit available. Reading at the limit returns -1 until the
+     * limit is raised.
+     */
+    private class ThrottledInputStream extends FilterInputStream {
+        private long position;
+        private long limit = Long.MAX_VALUE;
+
+        ThrottledInputStream(InputStream in) {
+            super(in);
+        }
+
+        boolean hasRemaining() throws IOException {
+            return in.available() > 0;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), limit - position);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position >= limit) {
+                return -1;
+            }
+            final int data = in.read();
+
+            if (data >= 0) {
+                count(1);
+            }
+            return data;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= limit) {
+                // The data beyond the limit is not available yet, which is signalled like an end of the stream
+                return -1;
+            }
+            final int read = in.read(b, off, (int) Math.min(len, limit - position));
+
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) {
+            position += read;
+            bytesReplayed += read;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -27,11 +27,24 @@ import org.slf4j.LoggerFactory;
  * Factory for constructing Cosem Objects from Strings
  *
  * @author M. Volaart - Initial contribution
+ * @author agent - Cache parsed OBIS identifiers
  */
 @NonNullByDefault
 public class CosemObjectFactory {
+    /**
+     * Maximum number of parsed OBIS identifiers kept. A meter sends about 40 different identifiers, the limit only
+     * protects against corrupted data.
+     */
+    private static final int MAX_CACHED_OBIS_IDENTIFIERS = 256;
+
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
+    /**
+     * Cache of the OBIS identifiers and reduced OBIS identifiers by their String representation in the telegram.
+     * A meter sends the same identifiers with every telegram, so they are only parsed once.
+     */
+    private final Map<String, OBISIdentifier[]> obisIdentifierCache = new HashMap<>();
+
     /**
      * Lookup cache for fixed OBIS Identifiers
      */
@@ -88,27 +101,28 @@ public class CosemObjectFactory {
      * @return CosemObject or null if parsing failed
      */
     public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
+        OBISIdentifier[] obisIds = getOBISIdentifiers(obisIdString);
 
-        try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-        } catch (ParseException pe) {
+        if (obisIds == null) {
             logger.debug("Received invalid OBIS identifier: {}", obisIdString);
             return null;
         }
+        OBISIdentifier obisId = obisIds[0];
+        OBISIdentifier reducedObisId = obisIds[1];
 
         logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
 
         CosemObject cosemObject = null;
 
-        if (obisLookupTableFixed.containsKey(reducedObisId)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisId), obisId, cosemStringValues);
+        CosemObjectType fixedType = obisLookupTableFixed.get(reducedObisId);
+        CosemObjectType dynamicType = fixedType == null ? obisLookupTableDynamic.get(reducedObisId) : null;
+
+        if (fixedType != null) {
+            cosemObject = getCosemObjectInternal(fixedType, obisId, cosemStringValues);
             logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-        } else if (obisLookupTableDynamic.containsKey(reducedObisId)) {
+        } else if (dynamicType != null) {
             logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
-            cosemObject = getCosemObjectInternal(obisLookupTableDynamic.get(reducedObisId), obisId, cosemStringValues);
+            cosemObject = getCosemObjectInternal(dynamicType, obisId, cosemStringValues);
         } else {
             for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
                 if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
@@ -130,6 +144,30 @@ public class CosemObjectFactory {
         return cosemObject;
     }
 
+    /**
+     * Returns the OBIS identifier and the reduced OBIS identifier for the given String.
+     *
+     * @param obisIdString String containing the OBIS message identifier
+     * @return array with the OBIS identifier and the reduced OBIS identifier or null if the String is invalid
+     */
+    private OBISIdentifier @Nullable [] getOBISIdentifiers(String obisIdString) {
+        OBISIdentifier[] obisIds = obisIdentifierCache.get(obisIdString);
+
+        if (obisIds == null) {
+            try {
+                OBISIdentifier obisId = new OBISIdentifier(obisIdString);
+                obisIds = new OBISIdentifier[] { obisId, obisId.getReducedOBISIdentifier() };
+            } catch (ParseException pe) {
+                return null;
+            }
+            if (obisIdentifierCache.size() >= MAX_CACHED_OBIS_IDENTIFIERS) {
+                obisIdentifierCache.clear();
+            }
+            obisIdentifierCache.put(obisIdString, obisIds);
+        }
+        return obisIds;
+    }
+
     /**
      * Constructs a CosemObject from the given type, OBISIdentifier and the values
      *
@@ -14,8 +14,6 @@ package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -25,19 +23,10 @@ import org.eclipse.jdt.annotation.Nullable;
  *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Fix bug in regex pattern.
+ * @author agent - Parse OBIS identifiers without regex
  */
 @NonNullByDefault
 public class OBISIdentifier {
-    /**
-     * String representing a-b:c.d.e.f OBIS ID
-     */
-    private static final String OBISID_REGEX = "((\\d+)\\-)?((\\d+):)?((\\d+)\\.)(\\d+)(\\.(\\d+))?(.(\\d+))?";
-
-    /**
-     * OBIS ID pattern
-     */
-    private static final Pattern OBIS_ID_PATTERN = Pattern.compile(OBISID_REGEX);
-
     /* the six individual group values of the OBIS ID */
     private int groupA;
     private @Nullable Integer groupB;
@@ -69,39 +58,75 @@ public class OBISIdentifier {
     /**
      * Creates a new {@link OBISIdentifier} of the specified String
      *
+     * The String has the format [A-][B:]C.D[.E][xF], where x is any separator character (usually '.' or '*').
+     *
      * @param obisIDString the OBIS String ID
      * @throws ParseException if obisIDString is not a valid OBIS Identifier
      */
     public OBISIdentifier(String obisIDString) throws ParseException {
-        Matcher m = OBIS_ID_PATTERN.matcher(obisIDString);
+        final int length = obisIDString.length();
+        int pos = 0;
+        int value = 0;
+        int group = 0;
+        // The groups are read in order, group 0 is the first number, which is A, B or C depending on its separator
+        boolean digits = false;
+        boolean seenC = false;
+        boolean seenD = false;
+        boolean readF = false;
 
-        if (m.matches()) {
-            // Optional value A
-            if (m.group(2) != null) {
-                this.groupA = Integer.parseInt(m.group(2));
+        while (pos <= length) {
+            final char c = pos < length ? obisIDString.charAt(pos) : 0;
+            pos++;
+            if (c >= '0' && c <= '9') {
+                if (value > (Integer.MAX_VALUE - 9) / 10) {
+                    throw invalidIdentifier(obisIDString);
+                }
+                value = value * 10 + (c - '0');
+                digits = true;
+                continue;
             }
-
-            // Optional value B
-            if (m.group(4) != null) {
-                this.groupB = Integer.valueOf(m.group(4));
+            if (!digits) {
+                throw invalidIdentifier(obisIDString);
             }
-
-            // Required value C & D
-            this.groupC = Integer.parseInt(m.group(6));
-            this.groupD = Integer.parseInt(m.group(7));
-
-            // Optional value E
-            if (m.group(9) != null) {
-                this.groupE = Integer.valueOf(m.group(9));
+            if (!seenC) {
+                if (c == '-' && group == 0) {
+                    groupA = value;
+                    group = 1;
+                } else if (c == ':' && group <= 1) {
+                    groupB = value;
+                    group = 2;
+                } else if (c == '.') {
+                    groupC = value;
+                    seenC = true;
+                } else {
+                    throw invalidIdentifier(obisIDString);
+                }
+            } else if (!seenD) {
+                groupD = value;
+                seenD = true;
+                // Value E follows after a '.', any other separator is directly followed by value F
+                readF = c != '.';
+            } else if (!readF) {
+                groupE = value;
+                readF = true;
+            } else if (groupF == null && c == 0) {
+                groupF = value;
+            } else {
+                throw invalidIdentifier(obisIDString);
             }
-
-            // Optional value F
-            if (m.group(11) != null) {
-                this.groupF = Integer.valueOf(m.group(11));
+            value = 0;
+            digits = false;
+            if (c == 0) {
+                break;
             }
-        } else {
-            throw new ParseException("Invalid OBIS identifier:" + obisIDString, 0);
         }
+        if (!seenD) {
+            throw invalidIdentifier(obisIDString);
+        }
+    }
+
+    private static ParseException invalidIdentifier(String obisIDString) {
+        return new ParseException("Invalid OBIS identifier:" + obisIDString, 0);
     }
 
     /**
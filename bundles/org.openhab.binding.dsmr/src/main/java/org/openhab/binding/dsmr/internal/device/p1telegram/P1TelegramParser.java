@@ -17,7 +17,6 @@ import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
@@ -34,6 +33,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
+ * @author agent - Check the CRC without regex and without locking
  */
 @NonNullByDefault
 public class P1TelegramParser implements TelegramParser {
@@ -59,9 +59,9 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     /**
-     * Pattern for the CRC-code
+     * Number of hex digits of the CRC-code
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int CRC_LENGTH = 4;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
@@ -83,9 +83,14 @@ public class P1TelegramParser implements TelegramParser {
     private final StringBuilder rawData = new StringBuilder();
 
     /**
-     * Current crc value read.
+     * Current crc value read, or -1 if the crc value contains invalid characters.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+
+    /**
+     * Number of crc characters read.
+     */
+    private int crcLength;
 
     /**
      * CRC calculation helper
@@ -241,18 +246,17 @@ public class P1TelegramParser implements TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        logger.trace("telegramState {}, crcValue to check {}", telegramState, crcValue);
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcLength > 0) {
+                            if (crcLength == CRC_LENGTH && crcValue >= 0) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: 0x{}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -337,7 +341,7 @@ public class P1TelegramParser implements TelegramParser {
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    appendCRCCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -346,6 +350,28 @@ public class P1TelegramParser implements TelegramParser {
         }
     }
 
+    /**
+     * Adds a hex digit to the current crc value
+     *
+     * @param c the character to add
+     */
+    private void appendCRCCharacter(char c) {
+        crcLength++;
+        if (crcValue < 0) {
+            return;
+        }
+        final int digit;
+        if (c >= '0' && c <= '9') {
+            digit = c - '0';
+        } else if (c >= 'A' && c <= 'F') {
+            digit = c - 'A' + 10;
+        } else {
+            crcValue = -1;
+            return;
+        }
+        crcValue = crcLength > CRC_LENGTH ? -1 : (crcValue << 4) | digit;
+    }
+
     /**
      * Clears all internal state
      */
@@ -353,7 +379,8 @@ public class P1TelegramParser implements TelegramParser {
         obisId.setLength(0);
         obisValue.setLength(0);
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcLength = 0;
         crc.initialize();
         cosemObjects.clear();
         unknownCosemObjects.clear();
@@ -395,31 +422,30 @@ public class P1TelegramParser implements TelegramParser {
      * @param newState the new state to set
      */
     private void setState(State newState) {
-        synchronized (state) {
-            switch (newState) {
-                case HEADER:
-                    // Clear CRC data and mark current telegram as OK
-                    crc.initialize();
-                    break;
-                case WAIT_FOR_START:
-                    // Clears internal state data and mark current telegram as OK
-                    clearInternalData();
-                    telegramState = TelegramState.OK;
-                    break;
-                case DATA_OBIS_ID:
-                    // If the current state is CRLF we are processing the header and don't have a cosem object yet
-                    if (state != State.CRLF) {
-                        storeCurrentCosemObject();
-                    }
-                    break;
-                case CRC_VALUE:
+        // The parser is only called from the thread reading the data, no locking needed
+        switch (newState) {
+            case HEADER:
+                // Clear CRC data and mark current telegram as OK
+                crc.initialize();
+                break;
+            case WAIT_FOR_START:
+                // Clears internal state data and mark current telegram as OK
+                clearInternalData();
+                telegramState = TelegramState.OK;
+                break;
+            case DATA_OBIS_ID:
+                // If the current state is CRLF we are processing the header and don't have a cosem object yet
+                if (state != State.CRLF) {
                     storeCurrentCosemObject();
-                    break;
-                default:
-                    break;
-            }
-            state = newState;
+                }
+                break;
+            case CRC_VALUE:
+                storeCurrentCosemObject();
+                break;
+            default:
+                break;
         }
+        state = newState;
     }
 
     @Override
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.connector.DSMRConnectorErrorEvent;
+import org.openhab.binding.dsmr.internal.device.connector.DSMRReplayConnector;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectType;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeter;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterDescriptor;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterKind;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterType;
+
+/**
+ * Benchmark measuring the throughput and allocation of the full path of P1 data through the binding: replay by the
+ * {@link DSMRReplayConnector}, (optionally) decryption by the {@link SmartyDecrypter}, parsing and conversion of the
+ * values to the channel states of the meters found in the telegram.
+ *
+ * This is not a unit test. Run it from the IDE with the test classpath. Without arguments it runs on the test
+ * telegrams. Alternatively pass a file with a captured P1 stream and optionally the Smarty decryption key.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class DSMRReplayBenchmark {
+
+    private static final int WARMUP_TELEGRAMS = 20_000;
+    private static final int MEASURED_TELEGRAMS = 100_000;
+    private static final int ROUNDS = 5;
+
+    private final String name;
+    private final byte[] data;
+    private final @Nullable String decryptionKey;
+
+    /**
+     * Meters handling the received telegrams, like the meter handlers of the binding do.
+     */
+    private final List<DSMRMeter> meters = new ArrayList<>();
+    private final Map<String, State> channelStates = new HashMap<>();
+    private long telegrams;
+    private long channelUpdates;
+
+    private DSMRReplayBenchmark(String name, byte[] data, @Nullable String decryptionKey) {
+        this.name = name;
+        this.data = data;
+        this.decryptionKey = decryptionKey;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            new DSMRReplayBenchmark(args[0], Files.readAllBytes(Paths.get(args[0])), args.length > 1 ? args[1] : null)
+                    .run();
+        } else {
+            for (String telegramName : new String[] { "dsmr_40", "dsmr_42", "dsmr_50", "ace4000" }) {
+                new DSMRReplayBenchmark(telegramName, TelegramReaderUtil.readRawTelegram(telegramName), null).run();
+            }
+            byte[] smartyTelegram = new byte[SmartyDecrypterTest.TELEGRAM.length];
+
+            for (int i = 0; i < smartyTelegram.length; i++) {
+                smartyTelegram[i] = (byte) SmartyDecrypterTest.TELEGRAM[i];
+            }
+            new DSMRReplayBenchmark("smarty", smartyTelegram, SmartyDecrypterTest.KEY).run();
+        }
+    }
+
+    private void run() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        final com.sun.management.ThreadMXBean allocationBean = threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()
+                        ? (com.sun.management.ThreadMXBean) threadBean
+                        : null;
+        final long threadId = Thread.currentThread().getId();
+
+        // Count the telegrams in the data and warm up
+        replay(data);
+        final long telegramsInData = telegrams;
+
+        if (telegramsInData == 0) {
+            System.out.println(name + ": no valid telegrams received");
+            return;
+        }
+        replay(repeat(WARMUP_TELEGRAMS / telegramsInData));
+        for (int round = 1; round <= ROUNDS; round++) {
+            final byte[] replayData = repeat(MEASURED_TELEGRAMS / telegramsInData);
+            final long allocatedBefore = allocationBean == null ? 0 : allocationBean.getThreadAllocatedBytes(threadId);
+            final long start = System.nanoTime();
+
+            telegrams = 0;
+            channelUpdates = 0;
+            replay(replayData);
+            final long durationNanos = System.nanoTime() - start;
+            final long allocated = allocationBean == null ? -1
+                    : allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            System.out.println(String.format(Locale.ROOT,
+                    "%s round %d: %d telegrams, %.0f telegrams/s, %.1f MB/s, %s bytes allocated/telegram, "
+                            + "%d channel updates/telegram",
+                    name, round, telegrams, telegrams * 1e9 / durationNanos, replayData.length * 1e3 / durationNanos,
+                    allocated < 0 ? "n/a" : String.valueOf(allocated / Math.max(1, telegrams)),
+                    channelUpdates / Math.max(1, telegrams)));
+        }
+    }
+
+    private byte[] repeat(long times) {
+        final byte[] replayData = new byte[(int) Math.max(1, times) * data.length];
+
+        for (int i = 0; i < replayData.length; i += data.length) {
+            System.arraycopy(data, 0, replayData, i, data.length);
+        }
+        return replayData;
+    }
+
+    private void replay(byte[] replayData) {
+        final String localDecryptionKey = decryptionKey;
+        final DSMRTelegramListener telegramListener = localDecryptionKey == null ? new DSMRTelegramListener()
+                : new DSMRTelegramListener(localDecryptionKey);
+
+        telegramListener.setLenientMode(localDecryptionKey != null);
+        telegramListener.setDsmrEventListener(new DSMREventListener() {
+            @Override
+            public void handleTelegramReceived(P1Telegram telegram) {
+                telegramReceived(telegram);
+            }
+
+            @Override
+            public void handleErrorEvent(DSMRConnectorErrorEvent connectorErrorEvent) {
+                System.out.println(name + ": connector error " + connectorErrorEvent);
+            }
+        });
+        new DSMRReplayConnector(telegramListener, () -> new ByteArrayInputStream(replayData),
+                DSMRReplayConnector.AS_FAST_AS_POSSIBLE).replay(1);
+    }
+
+    private void telegramReceived(P1Telegram telegram) {
+        telegrams++;
+        if (meters.isEmpty()) {
+            detectMeters(telegram);
+        }
+        for (DSMRMeter meter : meters) {
+            for (CosemObject cosemObject : meter.filterMeterValues(telegram.getCosemObjects())) {
+                final String channel = cosemObject.getType().name().toLowerCase();
+
+                for (Entry<String, ? extends State> entry : cosemObject.getCosemValues().entrySet()) {
+                    channelStates.put(entry.getKey().isEmpty() ? channel : channel + "_" + entry.getKey(),
+                            entry.getValue());
+                    channelUpdates++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the meters for the telegram, picking the most specific meter type of each meter kind like the discovery
+     * does.
+     */
+    private void detectMeters(P1Telegram telegram) {
+        final Map<CosemObjectType, CosemObject> cosemObjects = new HashMap<>();
+        final Map<DSMRMeterKind, DSMRMeterDescriptor> descriptors = new EnumMap<>(DSMRMeterKind.class);
+
+        telegram.getCosemObjects().forEach(cosemObject -> cosemObjects.put(cosemObject.getType(), cosemObject));
+        for (DSMRMeterType meterType : DSMRMeterType.values()) {
+            final DSMRMeterDescriptor descriptor = meterType.isCompatible(cosemObjects);
+            final DSMRMeterDescriptor previous = descriptors.get(meterType.meterKind);
+
+            if (descriptor != null && (previous == null
+                    || meterType.requiredCosemObjects.length > previous.getMeterType().requiredCosemObjects.length)) {
+                descriptors.put(meterType.meterKind, descriptor);
+            }
+        }
+        descriptors.values().forEach(descriptor -> meters.add(new DSMRMeter(descriptor)));
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.connector;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramParser;
+
+/**
+ * Test class for {@link DSMRReplayConnector}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DSMRReplayConnectorTest {
+
+    private static final String TELEGRAM_NAME = "dsmr_50";
+
+    private final byte[] telegram = TelegramReaderUtil.readRawTelegram(TELEGRAM_NAME);
+    private final List<P1Telegram> telegrams = new ArrayList<>();
+    private final AtomicReference<DSMRConnectorErrorEvent> errorEvent = new AtomicReference<>();
+    private final P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+
+    private final DSMRConnectorListener listener = new DSMRConnectorListener() {
+        @Override
+        public void handleData(byte[] data, int length) {
+            parser.parse(data, length);
+        }
+
+        @Override
+        public void handleErrorEvent(DSMRConnectorErrorEvent connectorErrorEvent) {
+            errorEvent.set(connectorErrorEvent);
+        }
+    };
+
+    /**
+     * Test if all repetitions of the data are replayed when replaying as fast as possible.
+     */
+    @Test
+    public void testReplayAsFastAsPossible() {
+        DSMRReplayConnector connector = new DSMRReplayConnector(listener, () -> new ByteArrayInputStream(telegram),
+                DSMRReplayConnector.AS_FAST_AS_POSSIBLE);
+
+        connector.replay(3);
+        assertEquals("Expected all repetitions of the telegram", 3, telegrams.size());
+        telegrams.forEach(t -> assertEquals("Expected a valid telegram", TelegramState.OK, t.getTelegramState()));
+        assertEquals("Expected all bytes replayed", 3 * telegram.length, connector.getBytesReplayed());
+        assertNull("Expected no error", errorEvent.get());
+    }
+
+    /**
+     * Test if the data is replayed at the given speed.
+     */
+    @Test
+    public void testReplayWithLimitedSpeed() {
+        // Replay the telegram in about 200 ms.
+        DSMRReplayConnector connector = new DSMRReplayConnector(listener, () -> new ByteArrayInputStream(telegram),
+                telegram.length * 5);
+        long start = System.nanoTime();
+
+        connector.replay(1);
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals("Expected the telegram", 1, telegrams.size());
+        assertTrue("Replay should be limited in speed, but took " + durationMs + " ms", durationMs >= 150);
+    }
+
+    /**
+     * Test if a replay source that can't be opened is reported as error.
+     */
+    @Test
+    public void testReplaySourceNotFound() {
+        DSMRReplayConnector connector = new DSMRReplayConnector(listener, () -> {
+            throw new FileNotFoundException();
+        }, DSMRReplayConnector.AS_FAST_AS_POSSIBLE);
+
+        connector.replay(1);
+        assertEquals("Expected the missing source to be reported", DSMRConnectorErrorEvent.DONT_EXISTS,
+                errorEvent.get());
+        assertTrue("Expected no telegram", telegrams.isEmpty());
+    }
+
+    /**
+     * Test the replay speed for a given baudrate.
+     */
+    @Test
+    public void testBytesPerSecond() {
+        assertEquals(11520, DSMRReplayConnector.bytesPerSecond(115200));
+        assertEquals(960, DSMRReplayConnector.bytesPerSecond(9600));
+    }
+}
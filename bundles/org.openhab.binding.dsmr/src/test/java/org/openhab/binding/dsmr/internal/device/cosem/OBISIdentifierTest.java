@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import static org.junit.Assert.*;
+
+import java.text.ParseException;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link OBISIdentifier}.
+ *
+ * @author agent - Initial contribution
+ */
+public class OBISIdentifierTest {
+
+    @Test
+    public void testParseFullIdentifier() throws ParseException {
+        OBISIdentifier obisId = new OBISIdentifier("1-0:1.8.1*255");
+
+        assertEquals(1, obisId.getGroupA());
+        assertEquals(Integer.valueOf(0), obisId.getGroupB());
+        assertEquals(1, obisId.getGroupC());
+        assertEquals(8, obisId.getGroupD());
+        assertEquals(Integer.valueOf(1), obisId.getGroupE());
+        assertEquals(Integer.valueOf(255), obisId.getGroupF());
+        assertEquals(new OBISIdentifier(1, 0, 1, 8, 1, null), obisId.getReducedOBISIdentifier());
+    }
+
+    @Test
+    public void testParseIdentifierVariants() throws ParseException {
+        assertEquals(new OBISIdentifier(0, 1, 24, 2, 1, null), new OBISIdentifier("0-1:24.2.1"));
+        assertEquals(new OBISIdentifier(1, 0, 21, 7, 0, 255), new OBISIdentifier("1-0:21.7.0.255"));
+        assertEquals(new OBISIdentifier(0, 0, 96, 1, 1, null), new OBISIdentifier("0:96.1.1"));
+        assertEquals(new OBISIdentifier(0, null, 1, 8, 1, null), new OBISIdentifier("1.8.1"));
+        assertEquals(new OBISIdentifier(1, 0, 1, 8, null, null), new OBISIdentifier("1-0:1.8"));
+    }
+
+    @Test
+    public void testParseValueFDirectlyFollowingValueD() throws ParseException {
+        OBISIdentifier obisId = new OBISIdentifier("1.8*255");
+
+        assertEquals(1, obisId.getGroupC());
+        assertEquals(8, obisId.getGroupD());
+        assertNull(obisId.getGroupE());
+        assertEquals(Integer.valueOf(255), obisId.getGroupF());
+        assertEquals(new OBISIdentifier(1, 0, 96, 1, null, 2), new OBISIdentifier("1-0:96.1*2"));
+    }
+
+    @Test
+    public void testInvalidIdentifiers() {
+        for (String invalid : new String[] { "", "12", "1-2", "a.1", ":1.8", "1..8", "1.8.1*", "1.2.3.4.5",
+                "1-0:1.8.1 " }) {
+            try {
+                new OBISIdentifier(invalid);
+                fail("Identifier should be invalid: '" + invalid + "'");
+            } catch (ParseException e) {
+                // expected
+            }
+        }
+    }
+}
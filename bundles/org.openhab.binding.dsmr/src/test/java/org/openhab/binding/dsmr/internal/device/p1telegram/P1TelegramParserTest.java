@@ -14,6 +14,7 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -63,4 +64,28 @@ public class P1TelegramParserTest {
         assertEquals("Expected number of objects", numberOfCosemObjects,
                 telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum());
     }
+
+    @Test
+    public void testParsingConsecutiveTelegramsInChunks() {
+        byte[] data = TelegramReaderUtil.readRawTelegram(telegramName);
+        List<P1Telegram> telegrams = new ArrayList<>();
+        P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+        parser.setLenientMode(true);
+        byte[] chunk = new byte[7];
+
+        for (int i = 0; i < 3; i++) {
+            for (int offset = 0; offset < data.length; offset += chunk.length) {
+                int length = Math.min(chunk.length, data.length - offset);
+                System.arraycopy(data, offset, chunk, 0, length);
+                parser.parse(chunk, length);
+            }
+        }
+        assertEquals("Expected number of telegrams", 3, telegrams.size());
+        for (P1Telegram telegram : telegrams) {
+            assertEquals("Expected TelegramState should be as expected", TelegramState.OK,
+                    telegram.getTelegramState());
+            assertEquals("Expected number of objects", numberOfCosemObjects,
+                    telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum());
+        }
+    }
 }
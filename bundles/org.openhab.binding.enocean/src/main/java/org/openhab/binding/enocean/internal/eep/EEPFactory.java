@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.enocean.internal.eep;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.EnumMap;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.enocean.internal.eep.Base.UTEResponse;
@@ -36,28 +39,61 @@ public class EEPFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(EEPFactory.class);
 
-    public static EEP createEEP(EEPType eepType) {
+    // constructors are looked up once, so received telegrams don't need to search them by reflection
+    private static final Map<EEPType, Constructor<? extends EEP>> CONSTRUCTORS = new EnumMap<>(EEPType.class);
+    private static final Map<EEPType, Constructor<? extends EEP>> ERP1_CONSTRUCTORS = new EnumMap<>(EEPType.class);
 
-        try {
+    static {
+        for (EEPType eepType : EEPType.values()) {
             Class<? extends EEP> cl = eepType.getEEPClass();
             if (cl == null) {
+                continue;
+            }
+
+            try {
+                CONSTRUCTORS.put(eepType, cl.getConstructor());
+            } catch (NoSuchMethodException | SecurityException e) {
+                logger.trace("EEP {} has no default constructor", eepType);
+            }
+
+            try {
+                ERP1_CONSTRUCTORS.put(eepType, cl.getConstructor(ERP1Message.class));
+            } catch (NoSuchMethodException | SecurityException e) {
+                logger.trace("EEP {} has no ERP1Message constructor", eepType);
+            }
+        }
+    }
+
+    public static EEP createEEP(EEPType eepType) {
+
+        try {
+            if (eepType.getEEPClass() == null) {
                 throw new IllegalArgumentException("Message " + eepType + " not implemented");
             }
-            return cl.newInstance();
-        } catch (IllegalAccessException | InstantiationException e) {
+
+            Constructor<? extends EEP> constructor = CONSTRUCTORS.get(eepType);
+            if (constructor == null) {
+                throw new IllegalArgumentException("Message " + eepType + " has no default constructor");
+            }
+            return constructor.newInstance();
+        } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
             throw new IllegalArgumentException(e);
         }
     }
 
     public static EEP buildEEP(EEPType eepType, ERP1Message packet) {
         try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
+            if (eepType.getEEPClass() == null) {
                 throw new IllegalArgumentException("Message " + eepType + " not implemented");
             }
-            return cl.getConstructor(ERP1Message.class).newInstance(packet);
+
+            Constructor<? extends EEP> constructor = ERP1_CONSTRUCTORS.get(eepType);
+            if (constructor == null) {
+                throw new NoSuchMethodException(eepType.getEEPClass().getName() + ".<init>(ERP1Message)");
+            }
+            return constructor.newInstance(packet);
         } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
+                | NoSuchMethodException e) {
             logger.error("Cannot instantiate EEP {}-{}-{}: {}",
                     HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
                     HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
@@ -15,6 +15,7 @@ package org.openhab.binding.enocean.internal.eep;
 import static org.openhab.binding.enocean.internal.EnOceanBindingConstants.*;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
 
@@ -430,6 +431,23 @@ public enum EEPType {
 
     Rollershutter_D2(RORG.VLD, 0x05, 0x00, true, D2_05_00.class, THING_TYPE_ROLLERSHUTTER, CHANNEL_ROLLERSHUTTER);
 
+    private static final Map<String, EEPType> TYPES_BY_ID = new HashMap<>();
+    private static final Map<Class<? extends EEP>, EEPType> TYPES_BY_CLASS = new HashMap<>();
+    private static final Map<Long, EEPType> TYPES_BY_MANUFACTURER = new HashMap<>();
+    private static final Map<Long, EEPType> TYPES_BY_FUNC_AND_TYPE = new HashMap<>();
+
+    static {
+        // precomputed lookups for the received telegrams, the first matching type wins like before
+        for (EEPType eep : values()) {
+            TYPES_BY_ID.putIfAbsent(eep.getId(), eep);
+            if (eep.eepClass != null) {
+                TYPES_BY_CLASS.putIfAbsent(eep.eepClass, eep);
+            }
+            TYPES_BY_MANUFACTURER.putIfAbsent(getKey(eep.rorg, eep.func, eep.type, eep.manufactorId), eep);
+            TYPES_BY_FUNC_AND_TYPE.putIfAbsent(getKey(eep.rorg, eep.func, eep.type, 0), eep);
+        }
+    }
+
     private RORG rorg;
     private int func;
     private int type;
@@ -532,6 +550,10 @@ public enum EEPType {
         return type;
     }
 
+    public int getManufactorId() {
+        return manufactorId;
+    }
+
     public boolean getSupportsRefresh() {
         return supportsRefresh;
     }
@@ -583,37 +605,39 @@ public enum EEPType {
     }
 
     public static EEPType getType(String receivingEEPId) {
-        for (EEPType eep : values()) {
-            if (eep.getId().equals(receivingEEPId)) {
-                return eep;
-            }
+        EEPType eep = TYPES_BY_ID.get(receivingEEPId);
+        if (eep != null) {
+            return eep;
         }
 
         throw new IllegalArgumentException(String.format("EEP with id %s could not be found", receivingEEPId));
     }
 
     public static EEPType getType(Class<? extends EEP> eepClass) {
-        for (EEPType eep : values()) {
-            if (eep.eepClass != null && eep.eepClass.equals(eepClass)) {
-                return eep;
-            }
+        EEPType eep = TYPES_BY_CLASS.get(eepClass);
+        if (eep != null) {
+            return eep;
         }
 
         throw new IllegalArgumentException(String.format("EEP with class %s could not be found", eepClass.getName()));
     }
 
     public static EEPType getType(RORG rorg, int func, int type, int manufId) {
-        EEPType fallback = null;
+        if (rorg == null || func < 0 || func > 0xFF || type < 0 || type > 0xFF) {
+            return null;
+        }
 
-        for (EEPType eep : values()) {
-            if (eep.rorg == rorg && eep.func == func && eep.type == type && eep.manufactorId == manufId) {
-                return eep;
-            } else if (fallback == null && eep.rorg == rorg && eep.func == func && eep.type == type) {
-                fallback = eep;
-            }
+        EEPType eep = TYPES_BY_MANUFACTURER.get(getKey(rorg, func, type, manufId));
+        if (eep != null) {
+            return eep;
         }
 
-        return fallback;
+        return TYPES_BY_FUNC_AND_TYPE.get(getKey(rorg, func, type, 0));
+    }
+
+    private static Long getKey(RORG rorg, int func, int type, int manufId) {
+        return ((long) (rorg.getValue() & 0xFF) << 48) | ((long) func << 40) | ((long) type << 32)
+                | (manufId & 0xFFFFFFFFL);
     }
 
 }
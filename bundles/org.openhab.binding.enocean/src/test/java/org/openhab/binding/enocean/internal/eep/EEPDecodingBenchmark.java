@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.eep;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
+
+/**
+ * Benchmark comparing the decoding of received ERP1 telegrams with the precomputed {@link EEPType} lookups and the
+ * cached constructors of the {@link EEPFactory} to the decoding with a reflective constructor lookup and a linear scan
+ * of the {@link EEPType}s per telegram.
+ * <p>
+ * This is not a unit test. Run it from the IDE with the test classpath. It decodes a mixed stream of A5-02-05
+ * temperature, D2-01-00 actuator status and F6-02-01 rocker switch telegrams, like the sensor handlers do: the
+ * {@link EEPType} is selected by the RORG of the telegram, the {@link EEP} is built and validated.
+ *
+ * @author agent - Initial contribution
+ */
+public class EEPDecodingBenchmark {
+    private static final int WARMUP_TELEGRAMS = 200_000;
+    private static final int MEASURED_TELEGRAMS = 1_000_000;
+    private static final int ROUNDS = 3;
+    private static final int STREAM_LENGTH = 1000;
+
+    private static final byte[] SENDER_ID = { (byte) 0x01, (byte) 0x82, (byte) 0x3A, (byte) 0x1F };
+    private static final byte[] OPTIONAL_DATA = { 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x4A,
+            0x00 };
+
+    private final List<byte[]> telegrams = new ArrayList<>();
+    private final Map<RORG, EEPType> receivingEEPTypes = new EnumMap<>(RORG.class);
+
+    private EEPDecodingBenchmark() {
+        receivingEEPTypes.put(RORG._4BS, EEPType.TemperatureSensor_A5_02_05);
+        receivingEEPTypes.put(RORG.VLD, EEPType.SwitchWithEnergyMeasurment_00);
+        receivingEEPTypes.put(RORG.RPS, EEPType.RockerSwitch2RockerStyle1);
+
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            switch (i % 3) {
+                case 0:
+                    // temperature in DB1, DB0 data telegram
+                    telegrams.add(createTelegram(RORG._4BS, (byte) 0x00, (byte) 0x00, (byte) (i & 0xFF), (byte) 0x08));
+                    break;
+                case 1:
+                    // actuator status response, output value in DB0
+                    byte outputValue = (byte) (i % 2 == 0 ? 0xE4 : 0x80);
+                    telegrams.add(createTelegram(RORG.VLD, (byte) 0x04, (byte) 0x60, outputValue));
+                    break;
+                default:
+                    // button pressed or released
+                    telegrams.add(createTelegram(RORG.RPS, (byte) (i % 2 == 0 ? 0x30 : 0x00)));
+                    break;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        new EEPDecodingBenchmark().run();
+    }
+
+    private void run() {
+        measure("linear scan, reflective constructor", this::decodeWithReflection);
+        measure("precomputed lookup, cached constructor", this::decodeWithFactory);
+    }
+
+    private void measure(String name, Function<ERP1Message, EEP> decoder) {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocationBean = threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()
+                        ? (com.sun.management.ThreadMXBean) threadBean
+                        : null;
+        long threadId = Thread.currentThread().getId();
+
+        decode(decoder, WARMUP_TELEGRAMS);
+        for (int round = 1; round <= ROUNDS; round++) {
+            long allocatedBefore = allocationBean == null ? 0 : allocationBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+
+            int valid = decode(decoder, MEASURED_TELEGRAMS);
+            long durationNanos = System.nanoTime() - start;
+            long allocated = allocationBean == null ? -1
+                    : allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            System.out.println(String.format(Locale.ROOT,
+                    "%s round %d: %d valid telegrams, %.1f ns/telegram, %s bytes allocated/telegram", name, round,
+                    valid, (double) durationNanos / MEASURED_TELEGRAMS, allocated < 0 ? "n/a"
+                            : String.format(Locale.ROOT, "%.1f", (double) allocated / MEASURED_TELEGRAMS)));
+        }
+    }
+
+    private int decode(Function<ERP1Message, EEP> decoder, int count) {
+        int valid = 0;
+        for (int i = 0; i < count; i++) {
+            byte[] telegram = telegrams.get(i % telegrams.size());
+            ERP1Message msg = new ERP1Message(telegram.length - OPTIONAL_DATA.length, OPTIONAL_DATA.length,
+                    telegram);
+            if (decoder.apply(msg).isValid()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    private EEP decodeWithFactory(ERP1Message msg) {
+        return EEPFactory.buildEEP(receivingEEPTypes.get(msg.getRORG()), msg);
+    }
+
+    /**
+     * Decoding as done before the lookups were precomputed: the constructor was searched by reflection for each
+     * telegram and the {@link EEPType} of the {@link EEP} class was searched by a linear scan.
+     */
+    private EEP decodeWithReflection(ERP1Message msg) {
+        EEPType eepType = receivingEEPTypes.get(msg.getRORG());
+        try {
+            EEP eep = eepType.getEEPClass().getConstructor(ERP1Message.class).newInstance(msg);
+            for (EEPType type : EEPType.values()) {
+                if (type.getEEPClass() != null && type.getEEPClass().equals(eep.getClass())) {
+                    break;
+                }
+            }
+            return eep;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException
+                | NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static byte[] createTelegram(RORG rorg, byte... data) {
+        byte[] telegram = new byte[1 + data.length + SENDER_ID.length + 1 + OPTIONAL_DATA.length];
+        telegram[0] = rorg.getValue();
+        System.arraycopy(data, 0, telegram, 1, data.length);
+        System.arraycopy(SENDER_ID, 0, telegram, 1 + data.length, SENDER_ID.length);
+        // status byte, T21 and NU for RPS telegrams
+        telegram[1 + data.length + SENDER_ID.length] = rorg == RORG.RPS ? (byte) 0x30 : 0x00;
+        System.arraycopy(OPTIONAL_DATA, 0, telegram, telegram.length - OPTIONAL_DATA.length, OPTIONAL_DATA.length);
+        return telegram;
+    }
+}
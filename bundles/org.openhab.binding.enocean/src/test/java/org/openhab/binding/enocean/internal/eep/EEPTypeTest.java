@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.eep;
+
+import static org.junit.Assert.*;
+import static org.openhab.binding.enocean.internal.EnOceanBindingConstants.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
+
+/**
+ * Tests that the precomputed lookups of {@link EEPType} find the same types as a linear scan of all types.
+ *
+ * @author agent - Initial contribution
+ */
+public class EEPTypeTest {
+
+    @Test
+    public void getTypeByIdEqualsLinearScan() {
+        for (EEPType eep : EEPType.values()) {
+            assertSame(scanById(eep.getId()), EEPType.getType(eep.getId()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getTypeByUnknownIdFails() {
+        EEPType.getType("00_00_00_UNKNOWN");
+    }
+
+    @Test
+    public void getTypeByClassEqualsLinearScan() {
+        for (EEPType eep : EEPType.values()) {
+            if (eep.getEEPClass() != null) {
+                assertSame(scanByClass(eep.getEEPClass()), EEPType.getType(eep.getEEPClass()));
+            }
+        }
+    }
+
+    @Test
+    public void getTypeByRorgFuncTypeAndManufacturerEqualsLinearScan() {
+        Set<Integer> funcs = new TreeSet<>(Arrays.asList(-1, 0x3F, 0x100));
+        Set<Integer> types = new TreeSet<>(Arrays.asList(-1, 0x7F, 0x100));
+        Set<Integer> manufIds = new TreeSet<>(Arrays.asList(-1, 0, 0x7FF, ELTAKOID, NODONID, PERMUNDOID));
+        for (EEPType eep : EEPType.values()) {
+            funcs.add(eep.getFunc());
+            types.add(eep.getType());
+            manufIds.add(eep.getManufactorId());
+        }
+        List<RORG> rorgs = new ArrayList<>(Arrays.asList(RORG.values()));
+        rorgs.add(null);
+
+        for (RORG rorg : rorgs) {
+            for (int func : funcs) {
+                for (int type : types) {
+                    for (int manufId : manufIds) {
+                        assertSame(String.format("%s-%02X-%02X manufacturer %d", rorg, func, type, manufId),
+                                scanByRorgFuncTypeAndManufacturer(rorg, func, type, manufId),
+                                EEPType.getType(rorg, func, type, manufId));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getTypeFallsBackToTypeOfOtherManufacturer() {
+        assertSame(EEPType.LightSensor02, EEPType.getType(RORG._4BS, 0x06, 0x01, ELTAKOID));
+        assertSame(EEPType.LightSensor01, EEPType.getType(RORG._4BS, 0x06, 0x01, 0));
+        // no light sensor of NodOn, so the first light sensor is used
+        assertSame(EEPType.LightSensor01, EEPType.getType(RORG._4BS, 0x06, 0x01, NODONID));
+    }
+
+    @Test
+    public void getTypeReturnsFirstOfSeveralMatchingTypes() {
+        // A5-07-03 is declared with the type of A5-07-02
+        assertSame(EEPType.OCCUPANCYSENSOR_A5_07_02, EEPType.getType(RORG._4BS, 0x07, 0x02, 0));
+        assertNull(EEPType.getType(RORG._4BS, 0x07, 0x7F, 0));
+    }
+
+    /**
+     * The lookups as done before the precomputed lookups were introduced.
+     */
+    private EEPType scanById(String id) {
+        for (EEPType eep : EEPType.values()) {
+            if (eep.getId().equals(id)) {
+                return eep;
+            }
+        }
+        return null;
+    }
+
+    private EEPType scanByClass(Class<? extends EEP> eepClass) {
+        for (EEPType eep : EEPType.values()) {
+            if (eep.getEEPClass() != null && eep.getEEPClass().equals(eepClass)) {
+                return eep;
+            }
+        }
+        return null;
+    }
+
+    private EEPType scanByRorgFuncTypeAndManufacturer(RORG rorg, int func, int type, int manufId) {
+        EEPType fallback = null;
+
+        for (EEPType eep : EEPType.values()) {
+            if (eep.getRORG() == rorg && eep.getFunc() == func && eep.getType() == type
+                    && eep.getManufactorId() == manufId) {
+                return eep;
+            } else if (fallback == null && eep.getRORG() == rorg && eep.getFunc() == func && eep.getType() == type) {
+                fallback = eep;
+            }
+        }
+
+        return fallback;
+    }
+}
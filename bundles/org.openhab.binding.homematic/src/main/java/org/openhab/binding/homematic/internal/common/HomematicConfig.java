@@ -54,6 +54,7 @@ public class HomematicConfig {
 
     private int socketMaxAlive = 900;
     private int timeout = 15;
+    private int multicallBatchSize = 50;
     private int installModeDuration = DEFAULT_INSTALL_MODE_DURATION;
     private long discoveryTimeToLive = -1;
     private boolean unpairOnDeletion = false;
@@ -183,6 +184,20 @@ public class HomematicConfig {
         this.timeout = timeout;
     }
 
+    /**
+     * Returns the maximum number of RPC calls sent in one system.multicall request.
+     */
+    public int getMulticallBatchSize() {
+        return multicallBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of RPC calls sent in one system.multicall request.
+     */
+    public void setMulticallBatchSize(int multicallBatchSize) {
+        this.multicallBatchSize = multicallBatchSize;
+    }
+
     /**
      * Returns the time to live for discovery results of a Homematic gateway in seconds.
      */
@@ -404,7 +419,8 @@ public class HomematicConfig {
                 .append("rfPort", getRfPort()).append("wiredPort", getWiredPort()).append("hmIpPort", getHmIpPort())
                 .append("cuxdPort", getCuxdPort()).append("groupPort", getGroupPort()).append("timeout", timeout)
                 .append("discoveryTimeToLive", discoveryTimeToLive).append("installModeDuration", installModeDuration)
-                .append("socketMaxAlive", socketMaxAlive);
+                .append("socketMaxAlive", socketMaxAlive)
+                .append("multicallBatchSize", multicallBatchSize);
         return tsb.toString();
     }
 }
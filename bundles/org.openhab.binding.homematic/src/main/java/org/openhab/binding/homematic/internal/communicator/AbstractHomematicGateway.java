@@ -14,12 +14,15 @@ package org.openhab.binding.homematic.internal.communicator;
 
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -31,6 +34,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.client.BinRpcClient;
@@ -82,6 +86,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link AbstractHomematicGateway} is the main class for the communication with a Homematic gateway.
+ * <p>
+ * The datapoint metadata of the channels is persisted in a {@link DatapointMetadataCache}, so that it does not need to be
+ * loaded from the gateway again after a restart. Channels loaded from the cache are validated against the gateway in the
+ * background after all devices are loaded.
  *
  * @author Gerhard Riegler - Initial contribution
  */
@@ -90,6 +98,9 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
     private static final String GATEWAY_POOL_NAME = "homematicGateway";
+    private static final long METADATA_VALIDATION_DELAY_SECONDS = 60;
+    private static final String METADATA_CACHE_FOLDER = ConfigConstants.getUserDataFolder() + File.separator
+            + "homematic";
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<TransferMode, RpcClient<?>>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<TransferMode, RpcServer>();
@@ -110,6 +121,10 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
+    private final DatapointMetadataCache metadataCache;
+    private final Map<String, HmChannel> unvalidatedChannels = Collections
+            .synchronizedMap(new LinkedHashMap<String, HmChannel>());
+    private ScheduledFuture<?> metadataValidationFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
 
     static {
@@ -139,6 +154,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.metadataCache = new DatapointMetadataCache(
+                new File(METADATA_CACHE_FOLDER, MiscUtils.validateCharacters(id, "Gateway id", "_") + ".metadata"));
     }
 
     @Override
@@ -188,6 +205,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
             sb.setLength(sb.length() - 2);
         }
         logger.debug("Used Homematic transfer modes: {}", sb.toString());
+        metadataCache.load();
         startClients();
         startServers();
 
@@ -209,6 +227,11 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
             enableNewDeviceFuture.cancel(true);
         }
         newDeviceEventsEnabled = false;
+        if (metadataValidationFuture != null) {
+            metadataValidationFuture.cancel(true);
+            metadataValidationFuture = null;
+        }
+        unvalidatedChannels.clear();
         stopWatchdogs();
         sendDelayedExecutor.stop();
         receiveDelayedExecutor.stop();
@@ -391,9 +414,16 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                                 HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
                                 cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
                             } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
+                                String channelId = getChannelId(channel);
                                 Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
+                                if (cachedDatapoints == null) {
+                                    // metadata from a previous run, validated after all devices are loaded
+                                    cachedDatapoints = metadataCache.get(channelId);
+                                    if (cachedDatapoints != null) {
+                                        datapointsByChannelIdCache.put(channelId, cachedDatapoints);
+                                        unvalidatedChannels.put(channelId, channel);
+                                    }
+                                }
                                 if (cachedDatapoints != null) {
                                     // clone all datapoints
                                     cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
@@ -406,6 +436,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                                     // the data point set might change depending on the selected mode.
                                     if (!channel.isReconfigurable()) {
                                         datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
+                                        metadataCache.put(channelId, channel.getDatapoints());
                                     }
                                 }
                             }
@@ -423,7 +454,80 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
         }
+        metadataCache.save();
         initialized = true;
+
+        if (!unvalidatedChannels.isEmpty() && metadataValidationFuture == null) {
+            logger.debug("Validating cached metadata of {} channel(s) in {} seconds", unvalidatedChannels.size(),
+                    METADATA_VALIDATION_DELAY_SECONDS);
+            metadataValidationFuture = scheduler.schedule(this::validateCachedMetadata,
+                    METADATA_VALIDATION_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Returns the id of the channel used to share the datapoint metadata between equal channels.
+     */
+    private String getChannelId(HmChannel channel) {
+        return String.format("%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber());
+    }
+
+    /**
+     * Loads the metadata of the channels which were loaded from the cache again from the gateway. If the metadata has
+     * changed, the cache and all devices with the channel are updated.
+     */
+    private void validateCachedMetadata() {
+        metadataValidationFuture = null;
+        while (initialized) {
+            String channelId;
+            HmChannel cachedChannel;
+            synchronized (unvalidatedChannels) {
+                Iterator<Entry<String, HmChannel>> iterator = unvalidatedChannels.entrySet().iterator();
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                Entry<String, HmChannel> entry = iterator.next();
+                iterator.remove();
+                channelId = entry.getKey();
+                cachedChannel = entry.getValue();
+            }
+
+            HmChannel channel = new HmChannel(cachedChannel.getType(), cachedChannel.getNumber());
+            channel.setDevice(cachedChannel.getDevice());
+            try {
+                addChannelDatapoints(channel, HmParamsetType.MASTER);
+                addChannelDatapoints(channel, HmParamsetType.VALUES);
+            } catch (IOException ex) {
+                logger.debug("Can't validate cached metadata of channel '{}' on gateway '{}': {}", channelId, id,
+                        ex.getMessage());
+                continue;
+            }
+
+            if (channel.isReconfigurable()) {
+                metadataCache.remove(channelId);
+            } else if (metadataCache.put(channelId, channel.getDatapoints())) {
+                logger.debug("Cached metadata of channel '{}' on gateway '{}' is outdated, reloading devices",
+                        channelId, id);
+                List<HmDevice> changedDevices = new ArrayList<HmDevice>();
+                synchronized (devices) {
+                    for (HmDevice device : devices.values()) {
+                        HmChannel deviceChannel = device.getChannel(channel.getNumber());
+                        if (deviceChannel != null && channelId.equals(getChannelId(deviceChannel))) {
+                            // datapoints which are no longer part of the metadata must not remain in the channel
+                            deviceChannel.removeNonVirtualDatapoints();
+                            cloneAllDatapointsIntoChannel(deviceChannel, channel.getDatapoints());
+                            changedDevices.add(device);
+                        }
+                    }
+                }
+                for (HmDevice device : changedDevices) {
+                    prepareDevice(device);
+                    gatewayAdapter.onNewDevice(device);
+                }
+            }
+        }
+        metadataCache.save();
     }
 
     /**
@@ -495,6 +599,38 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         channel.setInitialized(true);
     }
 
+    @Override
+    public void loadDeviceValues(HmDevice device) throws IOException {
+        List<HmChannel> channels = new ArrayList<HmChannel>();
+        for (HmChannel channel : device.getChannels()) {
+            if (!channel.isInitialized()) {
+                channels.add(channel);
+            }
+        }
+        if (device.isGatewayExtras() || channels.size() < 2) {
+            for (HmChannel channel : channels) {
+                loadChannelValues(channel);
+            }
+            return;
+        }
+
+        logger.debug("Loading values for {} channels of device '{}'", channels.size(), device.getAddress());
+        RpcClient<?> rpcClient = getRpcClient(device.getHmInterface());
+        for (HmParamsetType paramsetType : new HmParamsetType[] { HmParamsetType.MASTER, HmParamsetType.VALUES }) {
+            // channels which could not be loaded together are loaded one by one, including all fallbacks
+            for (HmChannel channel : rpcClient.setChannelDatapointValues(channels, paramsetType)) {
+                setChannelDatapointValues(channel, paramsetType);
+            }
+        }
+
+        for (HmChannel channel : channels) {
+            for (HmDatapoint dp : channel.getDatapoints()) {
+                handleVirtualDatapointEvent(dp, false);
+            }
+            channel.setInitialized(true);
+        }
+    }
+
     @Override
     public void updateChannelValueDatapoints(HmChannel channel) throws IOException {
         logger.debug("Updating value datapoints for channel {} of device '{}', has {} datapoints before", channel,
@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the datapoint metadata (paramset descriptions) of the channels, identified by device type,
+ * firmware and channel number. The cache is stored in a file, so the metadata does not need to be requested from the
+ * gateway again after a restart.
+ *
+ * @author agent - Initial contribution
+ */
+public class DatapointMetadataCache {
+    private final Logger logger = LoggerFactory.getLogger(DatapointMetadataCache.class);
+    private static final int FILE_VERSION = 1;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_BOOLEAN = 1;
+    private static final byte VALUE_INTEGER = 2;
+    private static final byte VALUE_LONG = 3;
+    private static final byte VALUE_DOUBLE = 4;
+    private static final byte VALUE_STRING = 5;
+
+    private static final Comparator<HmDatapoint> DATAPOINT_ORDER = Comparator
+            .comparing(HmDatapoint::getParamsetType).thenComparing(HmDatapoint::getName);
+
+    private final File file;
+    private final Map<String, byte[]> metadataByChannelId = new HashMap<>();
+    private boolean modified;
+
+    public DatapointMetadataCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the cached metadata from the file. An invalid file is ignored.
+     */
+    public synchronized void load() {
+        metadataByChannelId.clear();
+        modified = false;
+        if (!file.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != FILE_VERSION) {
+                logger.debug("Ignoring datapoint metadata cache '{}' with unknown version", file);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String channelId = in.readUTF();
+                byte[] metadata = new byte[in.readInt()];
+                in.readFully(metadata);
+                metadataByChannelId.put(channelId, metadata);
+            }
+            logger.debug("Loaded metadata of {} channel(s) from cache '{}'", count, file);
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Ignoring invalid datapoint metadata cache '{}': {}", file, ex.getMessage());
+            metadataByChannelId.clear();
+        }
+    }
+
+    /**
+     * Stores the cached metadata in the file, if it has been modified.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+                out.writeInt(FILE_VERSION);
+                out.writeInt(metadataByChannelId.size());
+                for (Map.Entry<String, byte[]> entry : metadataByChannelId.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            modified = false;
+            logger.debug("Stored metadata of {} channel(s) in cache '{}'", metadataByChannelId.size(), file);
+        } catch (IOException ex) {
+            logger.debug("Can't store datapoint metadata cache '{}': {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns new datapoints with the cached metadata of the channel or null, if the channel is not cached.
+     */
+    public synchronized List<HmDatapoint> get(String channelId) {
+        byte[] metadata = metadataByChannelId.get(channelId);
+        if (metadata == null) {
+            return null;
+        }
+        try {
+            return decode(metadata);
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Ignoring invalid cached metadata of channel '{}': {}", channelId, ex.getMessage());
+            remove(channelId);
+            return null;
+        }
+    }
+
+    /**
+     * Caches the metadata of the non virtual datapoints of a channel.
+     *
+     * @return true, if the metadata differs from the previously cached metadata
+     */
+    public synchronized boolean put(String channelId, Collection<HmDatapoint> datapoints) {
+        byte[] metadata;
+        try {
+            metadata = encode(datapoints);
+        } catch (IOException ex) {
+            logger.debug("Can't cache metadata of channel '{}': {}", channelId, ex.getMessage());
+            return false;
+        }
+        byte[] previousMetadata = metadataByChannelId.put(channelId, metadata);
+        if (Arrays.equals(metadata, previousMetadata)) {
+            return false;
+        }
+        modified = true;
+        return true;
+    }
+
+    /**
+     * Removes the cached metadata of a channel.
+     */
+    public synchronized void remove(String channelId) {
+        if (metadataByChannelId.remove(channelId) != null) {
+            modified = true;
+        }
+    }
+
+    private byte[] encode(Collection<HmDatapoint> datapoints) throws IOException {
+        List<HmDatapoint> sortedDatapoints = new ArrayList<>();
+        for (HmDatapoint dp : datapoints) {
+            if (!dp.isVirtual()) {
+                sortedDatapoints.add(dp);
+            }
+        }
+        sortedDatapoints.sort(DATAPOINT_ORDER);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(sortedDatapoints.size());
+            for (HmDatapoint dp : sortedDatapoints) {
+                out.writeUTF(dp.getName());
+                writeString(out, dp.getDescription());
+                out.writeUTF(dp.getType().name());
+                out.writeUTF(dp.getParamsetType().name());
+                writeValue(out, dp.getMinValue());
+                writeValue(out, dp.getMaxValue());
+                writeValue(out, dp.getStep());
+                writeValue(out, dp.getDefaultValue());
+                String[] options = dp.getOptions();
+                out.writeInt(options == null ? -1 : options.length);
+                if (options != null) {
+                    for (String option : options) {
+                        writeString(out, option);
+                    }
+                }
+                out.writeBoolean(dp.isReadOnly());
+                out.writeBoolean(dp.isReadable());
+                out.writeBoolean(dp.isTrigger());
+                writeString(out, dp.getInfo());
+                writeString(out, dp.getUnit());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<HmDatapoint> decode(byte[] metadata) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(metadata))) {
+            int count = in.readInt();
+            List<HmDatapoint> datapoints = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                HmDatapoint dp = new HmDatapoint();
+                dp.setName(in.readUTF());
+                dp.setDescription(readString(in));
+                dp.setType(HmValueType.valueOf(in.readUTF()));
+                dp.setParamsetType(HmParamsetType.valueOf(in.readUTF()));
+                dp.setMinValue((Number) readValue(in));
+                dp.setMaxValue((Number) readValue(in));
+                dp.setStep((Number) readValue(in));
+                dp.setDefaultValue(readValue(in));
+                int optionCount = in.readInt();
+                if (optionCount >= 0) {
+                    String[] options = new String[optionCount];
+                    for (int j = 0; j < optionCount; j++) {
+                        options[j] = readString(in);
+                    }
+                    dp.setOptions(options);
+                }
+                dp.setReadOnly(in.readBoolean());
+                dp.setReadable(in.readBoolean());
+                dp.setTrigger(in.readBoolean());
+                dp.setInfo(readString(in));
+                dp.setUnit(readString(in));
+                datapoints.add(dp);
+            }
+            return datapoints;
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(VALUE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Number) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else {
+            out.writeByte(VALUE_STRING);
+            out.writeUTF(value.toString());
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_BOOLEAN:
+                return in.readBoolean();
+            case VALUE_INTEGER:
+                return in.readInt();
+            case VALUE_LONG:
+                return in.readLong();
+            case VALUE_DOUBLE:
+                return in.readDouble();
+            case VALUE_STRING:
+                return in.readUTF();
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+}
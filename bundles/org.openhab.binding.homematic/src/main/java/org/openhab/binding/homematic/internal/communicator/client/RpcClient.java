@@ -15,10 +15,13 @@ package org.openhab.binding.homematic.internal.communicator.client;
 import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.homematic.internal.HomematicBindingConstants;
@@ -33,6 +36,7 @@ import org.openhab.binding.homematic.internal.communicator.parser.GetValueParser
 import org.openhab.binding.homematic.internal.communicator.parser.HomegearLoadDeviceNamesParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListDevicesParser;
+import org.openhab.binding.homematic.internal.communicator.parser.RpcResponseParser;
 import org.openhab.binding.homematic.internal.communicator.parser.RssiInfoParser;
 import org.openhab.binding.homematic.internal.model.HmChannel;
 import org.openhab.binding.homematic.internal.model.HmDatapoint;
@@ -52,8 +56,10 @@ import org.slf4j.LoggerFactory;
 public abstract class RpcClient<T> {
     private final Logger logger = LoggerFactory.getLogger(RpcClient.class);
     protected static final int MAX_RPC_RETRY = 1;
+    private static final String MULTICALL_METHOD_NAME = "system.multicall";
 
     protected HomematicConfig config;
+    private final Map<Integer, Boolean> multicallSupport = new ConcurrentHashMap<Integer, Boolean>();
 
     public RpcClient(HomematicConfig config) {
         this.config = config;
@@ -213,14 +219,165 @@ public abstract class RpcClient<T> {
         }
     }
 
+    /**
+     * Sets all datapoint values for the given channels. The paramsets of several channels are requested at once with
+     * system.multicall, if the gateway supports it.
+     *
+     * @return the channels whose values could not be loaded with system.multicall and must be loaded one by one
+     */
+    public List<HmChannel> setChannelDatapointValues(Collection<HmChannel> channels, HmParamsetType paramsetType)
+            throws IOException {
+        List<HmChannel> remainingChannels = new ArrayList<HmChannel>();
+        Map<Integer, List<HmChannel>> channelsByPort = new LinkedHashMap<Integer, List<HmChannel>>();
+        for (HmChannel channel : channels) {
+            if (isConfigurationChannel(channel) && paramsetType != HmParamsetType.MASTER) {
+                // The configuration channel only has a MASTER Paramset, so there is nothing to load
+                continue;
+            }
+            if (channel.getDevice().getHmInterface() == HmInterface.CUXD && paramsetType == HmParamsetType.VALUES) {
+                remainingChannels.add(channel);
+            } else {
+                channelsByPort.computeIfAbsent(config.getRpcPort(channel), port -> new ArrayList<HmChannel>())
+                        .add(channel);
+            }
+        }
+
+        for (Map.Entry<Integer, List<HmChannel>> entry : channelsByPort.entrySet()) {
+            List<HmChannel> portChannels = entry.getValue();
+            List<List<Object>> calls = new ArrayList<List<Object>>();
+            for (HmChannel channel : portChannels) {
+                List<Object> params = new ArrayList<Object>();
+                params.add(getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel));
+                params.add(paramsetType.toString());
+                calls.add(params);
+            }
+
+            List<Object[]> responses = sendMulticall(entry.getKey(), "getParamset", calls);
+            for (int i = 0; i < portChannels.size(); i++) {
+                HmChannel channel = portChannels.get(i);
+                Object[] response = responses.get(i);
+                if (response == null) {
+                    remainingChannels.add(channel);
+                } else {
+                    new GetParamsetParser(channel, paramsetType).parse(response);
+                }
+            }
+        }
+        return remainingChannels;
+    }
+
     /**
      * Reads all VALUES datapoints individually, fallback method if setChannelDatapointValues throws a -1 Failure
-     * exception.
+     * exception. The datapoints are requested at once with system.multicall, if the gateway supports it.
      */
     private void setChannelDatapointValues(HmChannel channel) throws IOException {
+        List<HmDatapoint> datapoints = new ArrayList<HmDatapoint>();
+        List<List<Object>> calls = new ArrayList<List<Object>>();
         for (HmDatapoint dp : channel.getDatapoints()) {
-            getDatapointValue(dp);
+            if (dp.isReadable() && !dp.isVirtual() && dp.getParamsetType() == HmParamsetType.VALUES) {
+                List<Object> params = new ArrayList<Object>();
+                params.add(getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel));
+                params.add(dp.getName());
+                datapoints.add(dp);
+                calls.add(params);
+            }
+        }
+
+        List<Object[]> responses = sendMulticall(config.getRpcPort(channel), "getValue", calls);
+        for (int i = 0; i < datapoints.size(); i++) {
+            Object[] response = responses.get(i);
+            if (response == null) {
+                getDatapointValue(datapoints.get(i));
+            } else {
+                new GetValueParser(datapoints.get(i)).parse(response);
+            }
+        }
+    }
+
+    /**
+     * Sends the calls of a method in batches with system.multicall. If the gateway does not support system.multicall
+     * on the port, no calls are sent. The support is detected with the first request, which the gateway answers with
+     * results or a fault.
+     *
+     * @return the response of each call, or null for the calls which failed or have not been sent
+     */
+    private List<Object[]> sendMulticall(int port, String methodName, List<List<Object>> calls) throws IOException {
+        List<Object[]> responses = new ArrayList<Object[]>();
+        int batchSize = config.getMulticallBatchSize();
+        if (calls.size() < 2 || batchSize < 2 || Boolean.FALSE.equals(multicallSupport.get(port))) {
+            while (responses.size() < calls.size()) {
+                responses.add(null);
+            }
+            return responses;
+        }
+
+        for (int start = 0; start < calls.size(); start += batchSize) {
+            List<List<Object>> batch = calls.subList(start, Math.min(start + batchSize, calls.size()));
+            List<Map<String, Object>> multicall = new ArrayList<Map<String, Object>>();
+            for (List<Object> params : batch) {
+                Map<String, Object> call = new HashMap<String, Object>();
+                call.put("methodName", methodName);
+                call.put("params", params);
+                multicall.add(call);
+            }
+            RpcRequest<T> request = createRpcRequest(MULTICALL_METHOD_NAME);
+            request.addArg(multicall);
+
+            Object[] results = null;
+            try {
+                Object[] message = sendMessage(port, request);
+                if (message[0] instanceof Object[] && ((Object[]) message[0]).length == batch.size()) {
+                    results = (Object[]) message[0];
+                } else {
+                    logger.debug("Unexpected response to {} with {} calls of {}", MULTICALL_METHOD_NAME, batch.size(),
+                            methodName);
+                }
+            } catch (IOException ex) {
+                // only a fault response tells that the gateway does not support system.multicall, a connection
+                // failure is thrown, so that the support is detected again with the next request
+                if (Boolean.TRUE.equals(multicallSupport.get(port)) || !isFaultResponse(ex)) {
+                    throw ex;
+                }
+                logger.debug("{} failed on port {}: {}", MULTICALL_METHOD_NAME, port, ex.getMessage());
+            }
+
+            if (results == null) {
+                if (!Boolean.TRUE.equals(multicallSupport.get(port))) {
+                    logger.info("Gateway does not support {} on port {}, requesting values one by one",
+                            MULTICALL_METHOD_NAME, port);
+                    multicallSupport.put(port, Boolean.FALSE);
+                }
+                while (responses.size() < calls.size()) {
+                    responses.add(null);
+                }
+                return responses;
+            }
+            multicallSupport.put(port, Boolean.TRUE);
+
+            for (Object result : results) {
+                // a successful call returns an array with the result, a failed call returns a fault struct
+                Object[] response = result instanceof Object[] ? (Object[]) result : new Object[] { result };
+                try {
+                    responses.add(new RpcResponseParser(request).parse(response));
+                } catch (IOException ex) {
+                    logger.debug("Call of {} in {} failed: {}", methodName, MULTICALL_METHOD_NAME, ex.getMessage());
+                    responses.add(null);
+                }
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Returns true, if the exception or one of its causes is a fault response of the gateway.
+     */
+    private boolean isFaultResponse(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RpcFaultException) {
+                return true;
+            }
         }
+        return false;
     }
 
     /**
@@ -19,6 +19,9 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,7 +32,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,19 +43,23 @@ import org.slf4j.LoggerFactory;
 public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private final Logger logger = LoggerFactory.getLogger(BinRpcMessage.class);
 
+    private static final int HEADER_LENGTH = 8;
+    private static final int INITIAL_CAPACITY = 256;
+
     public enum TYPE {
         REQUEST,
         RESPONSE;
     }
 
     private Object[] messageData;
-    private byte binRpcData[];
-    private int offset;
+    private ByteBuffer binRpcData;
+    private int dataOffset;
+    private int argsPosition = -1;
 
     private String methodName;
     private TYPE type;
     private int args;
-    private String encoding;
+    private Charset charset;
 
     public BinRpcMessage(String methodName, String encoding) {
         this(methodName, TYPE.REQUEST, encoding);
@@ -65,7 +71,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     public BinRpcMessage(String methodName, TYPE type, String encoding) {
         this.methodName = methodName;
         this.type = type;
-        this.encoding = encoding;
+        this.charset = toCharset(encoding);
         createHeader();
     }
 
@@ -73,89 +79,117 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      * Decodes a BIN-RPC message from the given InputStream.
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, String encoding) throws IOException {
-        this.encoding = encoding;
-        byte sig[] = new byte[8];
-        int length = is.read(sig, 0, 4);
+        this.charset = toCharset(encoding);
+        byte header[] = new byte[HEADER_LENGTH];
+        int length = is.read(header, 0, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading signature");
         }
-        validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
+        validateBinXSignature(ByteBuffer.wrap(header));
+        length = is.read(header, 4, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(ArrayUtils.subarray(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
+        int datasize = ByteBuffer.wrap(header).getInt(4);
+        if (datasize < 0) {
+            throw new IOException("Invalid message length " + datasize);
+        }
+        byte message[] = new byte[HEADER_LENGTH + datasize];
+        System.arraycopy(header, 0, message, 0, HEADER_LENGTH);
+        int offset = HEADER_LENGTH;
         int currentLength;
 
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
+        while (offset < message.length && (currentLength = is.read(message, offset, message.length - offset)) != -1) {
             offset += currentLength;
         }
-        if (offset != datasize) {
-            throw new EOFException(
-                    "Only " + offset + " bytes received while reading message payload, expected " + datasize
-                            + " bytes");
-        }
-        byte[] message = ArrayUtils.addAll(sig, payload);
-        decodeMessage(message, methodHeader);
-    }
-
-    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
-        if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
-            throw new UnsupportedEncodingException("No BinX signature");
+        if (offset != message.length) {
+            throw new EOFException("Only " + (offset - HEADER_LENGTH)
+                    + " bytes received while reading message payload, expected " + datasize + " bytes");
         }
+        decodeMessage(ByteBuffer.wrap(message), methodHeader);
     }
 
     /**
      * Decodes a BIN-RPC message from the given byte array.
      */
     public BinRpcMessage(byte[] message, boolean methodHeader, String encoding) throws IOException, ParseException {
-        this.encoding = encoding;
-        if (message.length < 8) {
-            throw new EOFException("Only " + message.length + " bytes received");
+        this(ByteBuffer.wrap(message), methodHeader, encoding);
+    }
+
+    /**
+     * Decodes a BIN-RPC message from the given buffer, starting at the current position of the buffer. The values are
+     * read directly from the buffer, without copying the message.
+     */
+    public BinRpcMessage(ByteBuffer message, boolean methodHeader, String encoding) throws IOException {
+        this.charset = toCharset(encoding);
+        decodeMessage(message.slice(), methodHeader);
+    }
+
+    private static Charset toCharset(String encoding) {
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException ex) {
+            return Charset.defaultCharset();
         }
-        validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
-        binRpcData = message;
+    private void validateBinXSignature(ByteBuffer sig) throws UnsupportedEncodingException {
+        if (sig.get(0) != 'B' || sig.get(1) != 'i' || sig.get(2) != 'n') {
+            throw new UnsupportedEncodingException("No BinX signature");
+        }
+    }
 
-        offset = 8;
+    private void decodeMessage(ByteBuffer message, boolean methodHeader) throws IOException {
+        if (message.remaining() < HEADER_LENGTH) {
+            throw new EOFException("Only " + message.remaining() + " bytes received");
+        }
+        validateBinXSignature(message);
+        int datasize = message.getInt(4);
+        if (datasize < 0 || datasize > message.remaining() - HEADER_LENGTH) {
+            throw new EOFException("Only " + (message.remaining() - HEADER_LENGTH)
+                    + " bytes received while reading message payload, expected " + datasize + " bytes");
+        }
+        message.limit(HEADER_LENGTH + datasize);
+        message.position(HEADER_LENGTH);
+        binRpcData = message;
 
-        if (methodHeader) {
-            methodName = readString();
-            readInt();
+        try {
+            if (methodHeader) {
+                methodName = readString(message);
+                readInt(message);
+            }
+            dataOffset = message.position();
+            messageData = readMessageData(message);
+        } catch (BufferUnderflowException ex) {
+            throw new EOFException("Incomplete BIN-RPC message");
         }
-        generateResponseData();
     }
 
     public void setType(TYPE type) {
-        binRpcData[3] = type == TYPE.RESPONSE ? (byte) 1 : (byte) 0;
+        binRpcData.put(3, type == TYPE.RESPONSE ? (byte) 1 : (byte) 0);
     }
 
-    private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
+    private Object[] readMessageData(ByteBuffer data) throws IOException {
         List<Object> values = new ArrayList<Object>();
-        while (offset < binRpcData.length) {
-            values.add(readRpcValue());
+        while (data.hasRemaining()) {
+            values.add(readRpcValue(data));
         }
-        messageData = values.toArray();
-        values.clear();
+        return values.toArray();
     }
 
     private void createHeader() {
-        binRpcData = new byte[256];
-        addString("Bin ");
+        binRpcData = ByteBuffer.allocate(INITIAL_CAPACITY);
+        binRpcData.put((byte) 'B').put((byte) 'i').put((byte) 'n');
+        binRpcData.put((byte) 0);
         setType(type);
-        addInt(0); // placeholder content length
+        binRpcData.putInt(0); // placeholder content length
         if (methodName != null) {
-            addInt(methodName.length());
             addString(methodName);
-            addInt(0); // placeholder arguments
+            argsPosition = binRpcData.position();
+            binRpcData.putInt(0); // placeholder arguments
         }
-        setInt(4, offset - 8);
+        dataOffset = binRpcData.position();
+        binRpcData.putInt(4, binRpcData.position() - HEADER_LENGTH);
     }
 
     /**
@@ -164,10 +198,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public void addArg(Object argument) {
         addObject(argument);
-        setInt(4, offset - 8);
+        binRpcData.putInt(4, binRpcData.position() - HEADER_LENGTH);
 
-        if (methodName != null) {
-            setInt(12 + methodName.length(), ++args);
+        if (argsPosition >= 0) {
+            binRpcData.putInt(argsPosition, ++args);
         }
     }
 
@@ -182,14 +216,13 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     @Override
     public byte[] createMessage() {
-        trimBinRpcData();
-        return binRpcData;
-    }
-
-    private void trimBinRpcData() {
-        byte[] trimmed = new byte[offset];
-        System.arraycopy(binRpcData, 0, trimmed, 0, offset);
-        binRpcData = trimmed;
+        int length = binRpcData.position();
+        if (!binRpcData.hasArray() || binRpcData.arrayOffset() != 0 || binRpcData.array().length != length) {
+            ByteBuffer source = binRpcData.duplicate();
+            source.flip();
+            binRpcData = ByteBuffer.allocate(length).put(source);
+        }
+        return binRpcData.array();
     }
 
     @Override
@@ -198,82 +231,108 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     // read rpc values
-    private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
-        offset += 4;
-        return (new BigInteger(bi)).intValue();
+    private int readInt(ByteBuffer data) {
+        return data.getInt();
     }
 
-    private String readString() throws UnsupportedEncodingException {
-        int len = readInt();
-        offset += len;
-        return new String(binRpcData, offset - len, len, encoding);
+    private String readString(ByteBuffer data) throws IOException {
+        int len = readInt(data);
+        if (len < 0 || len > data.remaining()) {
+            throw new EOFException("Only " + data.remaining() + " bytes available reading a string of " + len
+                    + " bytes");
+        }
+        String value;
+        if (data.hasArray()) {
+            value = new String(data.array(), data.arrayOffset() + data.position(), len, charset);
+            data.position(data.position() + len);
+        } else {
+            byte[] bytes = new byte[len];
+            data.get(bytes);
+            value = new String(bytes, charset);
+        }
+        return value;
     }
 
-    private Object readRpcValue() throws IOException {
-        int type = readInt();
+    private Object readRpcValue(ByteBuffer data) throws IOException {
+        int type = readInt(data);
         switch (type) {
             case 1:
-                return new Integer(readInt());
+                return readInt(data);
             case 2:
-                return binRpcData[offset++] != 0 ? Boolean.TRUE : Boolean.FALSE;
+                return data.get() != 0 ? Boolean.TRUE : Boolean.FALSE;
             case 3:
-                return readString();
+                return readString(data);
             case 4:
-                int mantissa = readInt();
-                int exponent = readInt();
+                int mantissa = readInt(data);
+                int exponent = readInt(data);
                 BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
                 return bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue();
             case 5:
-                return new Date(readInt() * 1000);
+                return new Date(readInt(data) * 1000);
             case 0x100:
                 // Array
-                int numElements = readInt();
-                Collection<Object> array = new ArrayList<Object>();
-                while (numElements-- > 0) {
-                    array.add(readRpcValue());
+                int numElements = readElementCount(data);
+                Object[] array = new Object[numElements];
+                for (int i = 0; i < numElements; i++) {
+                    array[i] = readRpcValue(data);
                 }
-                return array.toArray();
+                return array;
             case 0x101:
                 // Struct
-                numElements = readInt();
+                numElements = readElementCount(data);
                 Map<String, Object> struct = new TreeMap<String, Object>();
                 while (numElements-- > 0) {
-                    String name = readString();
-                    struct.put(name, readRpcValue());
+                    String name = readString(data);
+                    struct.put(name, readRpcValue(data));
                 }
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
-                    logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
+                if (logger.isInfoEnabled()) {
+                    logger.info("Unknown data type {} at position {} of BIN-RPC message: {}", type,
+                            data.position() - 4, toHexString(data));
                 }
                 throw new IOException("Unknown data type " + type);
         }
     }
 
-    private void setInt(int position, int value) {
-        int temp = offset;
-        offset = position;
-        addInt(value);
-        offset = temp;
+    /**
+     * Reads the number of elements of an array or struct, every element needs at least four bytes.
+     */
+    private int readElementCount(ByteBuffer data) throws IOException {
+        int numElements = readInt(data);
+        if (numElements < 0 || numElements > data.remaining() / 4) {
+            throw new EOFException("Only " + data.remaining() + " bytes available reading " + numElements
+                    + " elements");
+        }
+        return numElements;
     }
 
-    private void addByte(byte b) {
-        if (offset == binRpcData.length) {
-            byte newdata[] = new byte[binRpcData.length * 2];
-            System.arraycopy(binRpcData, 0, newdata, 0, binRpcData.length);
-            binRpcData = newdata;
+    private String toHexString(ByteBuffer data) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < data.limit(); i++) {
+            sb.append(String.format("%02x ", data.get(i)));
         }
-        binRpcData[offset++] = b;
+        return sb.toString().trim();
+    }
+
+    private void ensureCapacity(int length) {
+        if (binRpcData.remaining() < length) {
+            ByteBuffer source = binRpcData;
+            source.flip();
+            binRpcData = ByteBuffer.allocate(Math.max(source.capacity() * 2, source.limit() + length));
+            binRpcData.put(source);
+        }
+    }
+
+    private void addByte(byte b) {
+        ensureCapacity(1);
+        binRpcData.put(b);
     }
 
     private void addInt(int value) {
-        addByte((byte) (value >> 24));
-        addByte((byte) (value >> 16));
-        addByte((byte) (value >> 8));
-        addByte((byte) (value));
+        ensureCapacity(4);
+        binRpcData.putInt(value);
     }
 
     private void addDouble(double value) {
@@ -298,16 +357,14 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         addInt(exp);
     }
 
+    /**
+     * Adds the length and the encoded bytes of the string.
+     */
     private void addString(String string) {
-        byte sd[];
-        try {
-            sd = string.getBytes(encoding);
-        } catch (UnsupportedEncodingException use) {
-            sd = string.getBytes();
-        }
-        for (byte ch : sd) {
-            addByte(ch);
-        }
+        byte sd[] = string.getBytes(charset);
+        addInt(sd.length);
+        ensureCapacity(sd.length);
+        binRpcData.put(sd);
     }
 
     private void addList(Collection<?> collection) {
@@ -319,9 +376,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private void addObject(Object object) {
         if (object.getClass() == String.class) {
             addInt(3);
-            String string = (String) object;
-            addInt(string.length());
-            addString(string);
+            addString((String) object);
         } else if (object.getClass() == Boolean.class) {
             addInt(2);
             addByte(((Boolean) object).booleanValue() ? (byte) 1 : (byte) 0);
@@ -349,6 +404,11 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             addInt(0x100);
             addInt(list.size());
             addList(list);
+        } else if (object instanceof Object[]) {
+            Object[] array = (Object[]) object;
+            addInt(0x100);
+            addInt(array.length);
+            addList(Arrays.asList(array));
         } else if (object instanceof Map<?, ?>) {
             Map<?, ?> map = (Map<?, ?>) object;
             addInt(0x101);
@@ -356,7 +416,6 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             for (Map.Entry<?, ?> entry : map.entrySet()) {
                 String key = (String) entry.getKey();
                 if (key != null) {
-                    addInt(key.length());
                     addString(key);
                     addList(Collections.singleton(entry.getValue()));
                 }
@@ -371,9 +430,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public String toString() {
         try {
-            trimBinRpcData();
-            generateResponseData();
-            return RpcUtils.dumpRpcMessage(methodName, messageData);
+            ByteBuffer data = binRpcData.duplicate();
+            data.flip();
+            data.position(dataOffset);
+            return RpcUtils.dumpRpcMessage(methodName, readMessageData(data));
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
         }
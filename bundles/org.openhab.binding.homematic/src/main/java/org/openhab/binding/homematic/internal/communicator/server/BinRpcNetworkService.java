@@ -12,32 +12,49 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
-import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway and starts the RpcCallbackHandler to handle the messages. All
+ * connections are served by a single selector thread, so idle connections of the gateway do not block a thread.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
-    private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    static final String RPC_POOL_NAME = "homematicRpc";
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final Queue<BinRpcResponseHandler> pendingResponses = new ConcurrentLinkedQueue<>();
+    private final Set<BinRpcResponseHandler> connections = ConcurrentHashMap.newKeySet();
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
@@ -45,9 +62,17 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            selector = Selector.open();
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            shutdown();
+            throw ex;
+        }
 
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
@@ -74,31 +99,99 @@ public class BinRpcNetworkService implements Runnable {
     }
 
     /**
-     * Listening for events and starts the callbackHandler if a event received.
+     * Listening for events and reads the messages from the connections of the Homematic gateway.
      */
     @Override
     public void run() {
         while (accept) {
             try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
-            } catch (IOException ex) {
+                selector.select();
+                BinRpcResponseHandler handler;
+                while ((handler = pendingResponses.poll()) != null) {
+                    write(handler);
+                }
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    } else if (key.isReadable()) {
+                        read((BinRpcResponseHandler) key.attachment());
+                    } else if (key.isWritable()) {
+                        write((BinRpcResponseHandler) key.attachment());
+                    }
+                }
+            } catch (ClosedSelectorException ex) {
+                break;
+            } catch (IOException | CancelledKeyException ex) {
                 // ignore
             }
         }
     }
 
+    private void acceptConnection() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            BinRpcResponseHandler handler = new BinRpcResponseHandler(channel, key, this, rpcResponseHandler, config);
+            key.attach(handler);
+            connections.add(handler);
+        }
+    }
+
+    private void read(BinRpcResponseHandler handler) {
+        try {
+            handler.read();
+        } catch (EOFException | CancelledKeyException ex) {
+            handler.close();
+        } catch (IOException ex) {
+            logger.warn("{}", ex.getMessage(), ex);
+            handler.close();
+        }
+    }
+
+    private void write(BinRpcResponseHandler handler) {
+        try {
+            handler.write();
+        } catch (IOException | CancelledKeyException ex) {
+            logger.debug("Can't send response to Homematic gateway: {}", ex.getMessage());
+            handler.close();
+        }
+    }
+
     /**
-     * Stops the listening.
+     * Queues the response of a handled method call, the response is written by the selector thread.
+     */
+    void sendResponse(BinRpcResponseHandler handler) {
+        pendingResponses.add(handler);
+        selector.wakeup();
+    }
+
+    void connectionClosed(BinRpcResponseHandler handler) {
+        connections.remove(handler);
+    }
+
+    /**
+     * Stops the listening and closes all connections.
      */
     public void shutdown() {
         accept = false;
         try {
-            serverSocket.close();
+            if (selector != null) {
+                selector.close();
+            }
+            serverChannel.close();
         } catch (IOException ioe) {
             // ignore
         }
+        for (BinRpcResponseHandler handler : connections) {
+            handler.close();
+        }
     }
 
 }
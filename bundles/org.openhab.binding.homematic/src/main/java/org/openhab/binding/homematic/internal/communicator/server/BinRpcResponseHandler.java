@@ -14,61 +14,135 @@ package org.openhab.binding.homematic.internal.communicator.server;
 
 import java.io.EOFException;
 import java.io.IOException;
-import java.net.Socket;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Reads a BIN-RPC message from the socket and handles the method call.
+ * Reads BIN-RPC messages from a connection of the Homematic gateway and handles the method calls. The non blocking
+ * socket is read and written by the selector thread of the {@link BinRpcNetworkService}, only the method calls are
+ * handled in the RPC thread pool.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcResponseHandler implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(BinRpcResponseHandler.class);
 
-    private Socket socket;
+    private static final int HEADER_LENGTH = 8;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final byte EMPTY_RESPONSE[] = new byte[0];
+
+    private SocketChannel channel;
+    private SelectionKey key;
+    private BinRpcNetworkService networkService;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
     private HomematicConfig config;
     private long created;
 
-    public BinRpcResponseHandler(Socket socket, RpcResponseHandler<byte[]> rpcResponseHandler, HomematicConfig config) {
-        this.socket = socket;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+    private ByteBuffer message = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer response;
+
+    public BinRpcResponseHandler(SocketChannel channel, SelectionKey key, BinRpcNetworkService networkService,
+            RpcResponseHandler<byte[]> rpcResponseHandler, HomematicConfig config) {
+        this.channel = channel;
+        this.key = key;
+        this.networkService = networkService;
         this.rpcResponseHandler = rpcResponseHandler;
         this.config = config;
         this.created = System.currentTimeMillis();
     }
 
     /**
-     * Reads the event from the Homematic gateway and handles the method call.
+     * Reads the available data from the socket. If the message is complete, the socket is not read anymore until the
+     * response has been written and the method call is handled in the RPC thread pool.
+     */
+    void read() throws IOException {
+        if (header.hasRemaining()) {
+            if (channel.read(header) < 0) {
+                throw new EOFException();
+            }
+            if (header.hasRemaining()) {
+                return;
+            }
+            if (header.get(0) != 'B' || header.get(1) != 'i' || header.get(2) != 'n') {
+                throw new UnsupportedEncodingException("No BinX signature");
+            }
+            int length = header.getInt(4);
+            if (length < 0) {
+                throw new IOException("Invalid message length " + length);
+            }
+            if (message.capacity() < HEADER_LENGTH + length) {
+                message = ByteBuffer.allocate(HEADER_LENGTH + length);
+            } else {
+                message.clear();
+                message.limit(HEADER_LENGTH + length);
+            }
+            header.flip();
+            message.put(header);
+        }
+        if (message.hasRemaining() && channel.read(message) < 0) {
+            throw new EOFException();
+        }
+        if (!message.hasRemaining()) {
+            message.flip();
+            key.interestOps(0);
+            ThreadPoolManager.getPool(BinRpcNetworkService.RPC_POOL_NAME).execute(this);
+        }
+    }
+
+    /**
+     * Decodes the received message and handles the method call.
      */
     @Override
     public void run() {
         try {
-            boolean isMaxAliveReached;
-            do {
-                BinRpcMessage message = new BinRpcMessage(socket.getInputStream(), true, config.getEncoding());
-                logger.trace("Event BinRpcMessage: {}", message);
-                byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
-                        message.getResponseData());
-                if (returnValue != null) {
-                    socket.getOutputStream().write(returnValue);
-                }
-                isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
-            } while (!isMaxAliveReached);
-
-        } catch (EOFException eof) {
-            // ignore
+            BinRpcMessage msg = new BinRpcMessage(message, true, config.getEncoding());
+            logger.trace("Event BinRpcMessage: {}", msg);
+            byte[] returnValue = rpcResponseHandler.handleMethodCall(msg.getMethodName(), msg.getResponseData());
+            response = ByteBuffer.wrap(returnValue != null ? returnValue : EMPTY_RESPONSE);
+            networkService.sendResponse(this);
         } catch (Exception e) {
             logger.warn("{}", e.getMessage(), e);
-        } finally {
-            try {
-                socket.close();
-            } catch (IOException ioe) {
-                // ignore
-            }
+            close();
+        }
+    }
+
+    /**
+     * Writes the response to the socket. If the response has been written completely, the socket is read again or
+     * closed, if the max alive time of the socket is reached.
+     */
+    void write() throws IOException {
+        channel.write(response);
+        if (response.hasRemaining()) {
+            key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+        response = null;
+        if (System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000L)) {
+            close();
+        } else {
+            header.clear();
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Closes the socket.
+     */
+    void close() {
+        networkService.connectionClosed(this);
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            // ignore
         }
     }
 }
@@ -110,6 +110,7 @@ public class HomematicThingHandler extends BaseThingHandler {
         HomematicGateway gateway = getHomematicGateway();
         HmDevice device = gateway.getDevice(UidUtils.getHomematicAddress(getThing()));
         HmChannel channelZero = device.getChannel(0);
+        loadHomematicDeviceValues(device);
         loadHomematicChannelValues(channelZero);
         updateStatus(device);
         logger.debug("Initializing thing '{}' from gateway '{}'", getThing().getUID(), gateway.getId());
@@ -386,6 +387,23 @@ public class HomematicThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Loads all values for the Homematic channels of the given device which are not initialized.
+     */
+    private void loadHomematicDeviceValues(HmDevice device) throws GatewayNotAvailableException, IOException {
+        synchronized (this) {
+            try {
+                getHomematicGateway().loadDeviceValues(device);
+            } catch (IOException ex) {
+                if (device.isOffline()) {
+                    logger.warn("Device '{}' is OFFLINE, can't update values", device.getAddress());
+                } else {
+                    throw ex;
+                }
+            }
+        }
+    }
+
     /**
      * Loads all values for the given Homematic channel if it is not initialized.
      */
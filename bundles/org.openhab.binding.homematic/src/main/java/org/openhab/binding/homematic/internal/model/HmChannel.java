@@ -139,6 +139,20 @@ public class HmChannel {
         }
     }
 
+    /**
+     * Removes all datapoints from the channel, which are not virtual datapoints.
+     */
+    public void removeNonVirtualDatapoints() {
+        synchronized (datapoints) {
+            Iterator<Map.Entry<HmDatapointInfo, HmDatapoint>> iterator = datapoints.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (!iterator.next().getValue().isVirtual()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
     /**
      * Returns the HmDatapoint with the given HmDatapointInfo.
      */
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests for {@link DatapointMetadataCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DatapointMetadataCacheTest {
+    private static final String CHANNEL_ID = "HM-LC-Dim1-Pl3:2.9:1";
+
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("homematic", ".metadata").toFile();
+        file.delete();
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    @Test
+    public void metadataIsRestoredFromFile() {
+        DatapointMetadataCache cache = new DatapointMetadataCache(file);
+        cache.put(CHANNEL_ID, Arrays.asList(createLevelDatapoint(), createVirtualDatapoint()));
+        cache.save();
+
+        DatapointMetadataCache restoredCache = new DatapointMetadataCache(file);
+        restoredCache.load();
+        List<HmDatapoint> datapoints = restoredCache.get(CHANNEL_ID);
+
+        assertThat(datapoints.size(), is(1));
+        HmDatapoint dp = datapoints.get(0);
+        assertThat(dp.getName(), is("LEVEL"));
+        assertThat(dp.getType(), is(HmValueType.FLOAT));
+        assertThat(dp.getParamsetType(), is(HmParamsetType.VALUES));
+        assertThat(dp.getMinValue(), is((Number) 0.0));
+        assertThat(dp.getMaxValue(), is((Number) 1.0));
+        assertThat(dp.getDefaultValue(), is((Object) 0.0));
+        assertThat(dp.getUnit(), is("100%"));
+        assertThat(dp.getOptions(), is(nullValue()));
+        assertThat(dp.isReadable(), is(true));
+        assertThat(restoredCache.get("HM-LC-Dim1-Pl3:2.9:2"), is(nullValue()));
+    }
+
+    @Test
+    public void changedMetadataIsDetected() {
+        DatapointMetadataCache cache = new DatapointMetadataCache(file);
+
+        assertThat(cache.put(CHANNEL_ID, Arrays.asList(createLevelDatapoint())), is(true));
+        assertThat(cache.put(CHANNEL_ID, Arrays.asList(createLevelDatapoint())), is(false));
+
+        HmDatapoint dp = createLevelDatapoint();
+        dp.setMaxValue(1.01);
+        assertThat(cache.put(CHANNEL_ID, Arrays.asList(dp)), is(true));
+    }
+
+    @Test
+    public void invalidFileIsIgnored() throws IOException {
+        Files.write(file.toPath(), new byte[] { 0, 0, 0, 1, 0, 0 });
+
+        DatapointMetadataCache cache = new DatapointMetadataCache(file);
+        cache.load();
+
+        assertThat(cache.get(CHANNEL_ID), is(nullValue()));
+    }
+
+    private HmDatapoint createLevelDatapoint() {
+        HmDatapoint dp = new HmDatapoint("LEVEL", "LEVEL", HmValueType.FLOAT, null, false, HmParamsetType.VALUES);
+        dp.setMinValue(0.0);
+        dp.setMaxValue(1.0);
+        dp.setDefaultValue(0.0);
+        dp.setUnit("100%");
+        dp.setReadable(true);
+        return dp;
+    }
+
+    private HmDatapoint createVirtualDatapoint() {
+        HmDatapoint dp = new HmDatapoint("RELOAD_FROM_GATEWAY", "RELOAD_FROM_GATEWAY", HmValueType.BOOL, null, false,
+                HmParamsetType.VALUES);
+        dp.setVirtual(true);
+        return dp;
+    }
+}
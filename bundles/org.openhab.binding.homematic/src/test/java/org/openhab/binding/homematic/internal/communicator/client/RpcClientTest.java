@@ -16,15 +16,19 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*;
 import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
 import static org.openhab.binding.homematic.test.util.RpcClientMockImpl.*;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.smarthome.test.java.JavaTest;
 import org.junit.Before;
 import org.junit.Test;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.binding.homematic.internal.communicator.message.XmlRpcRequest;
 import org.openhab.binding.homematic.internal.model.HmChannel;
@@ -94,6 +98,55 @@ public class RpcClientTest extends JavaTest {
         assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_NAME), is(0));
     }
 
+    @Test
+    public void paramsetsOfChannelsAreLoadedWithMulticall() throws IOException {
+        List<HmChannel> channels = createDimmerHmChannels(3);
+
+        List<HmChannel> remainingChannels = rpcClient.setChannelDatapointValues(channels, HmParamsetType.VALUES);
+
+        assertThat(remainingChannels.isEmpty(), is(true));
+        assertThat(rpcClient.numberOfCalls.get(MULTICALL_NAME), is(1));
+        assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_NAME), is(0));
+    }
+
+    @Test
+    public void multicallIsSplitIntoBatches() throws IOException {
+        HomematicConfig config = new HomematicConfig();
+        config.setMulticallBatchSize(2);
+        rpcClient = new RpcClientMockImpl(config);
+
+        rpcClient.setChannelDatapointValues(createDimmerHmChannels(5), HmParamsetType.MASTER);
+
+        assertThat(rpcClient.numberOfCalls.get(MULTICALL_NAME), is(3));
+    }
+
+    @Test
+    public void channelsAreReturnedIfMulticallIsNotSupported() throws IOException {
+        rpcClient.multicallSupported = false;
+        List<HmChannel> channels = createDimmerHmChannels(3);
+
+        assertThat(rpcClient.setChannelDatapointValues(channels, HmParamsetType.VALUES), is(channels));
+        assertThat(rpcClient.setChannelDatapointValues(channels, HmParamsetType.VALUES), is(channels));
+        assertThat(rpcClient.numberOfCalls.get(MULTICALL_NAME), is(1));
+    }
+
+    @Test
+    public void multicallIsTriedAgainAfterConnectionFailure() throws IOException {
+        rpcClient.multicallUnreachable = true;
+        List<HmChannel> channels = createDimmerHmChannels(3);
+
+        try {
+            rpcClient.setChannelDatapointValues(channels, HmParamsetType.VALUES);
+            fail("Connection failure was not thrown");
+        } catch (IOException ex) {
+            // expected
+        }
+
+        rpcClient.multicallUnreachable = false;
+        assertThat(rpcClient.setChannelDatapointValues(channels, HmParamsetType.VALUES).isEmpty(), is(true));
+        assertThat(rpcClient.numberOfCalls.get(MULTICALL_NAME), is(2));
+    }
+
     @Test
     public void burstRxModeIsConfiguredAsParameterOnRequest() throws IOException {
         RpcRequest<String> request = new XmlRpcRequest("setValue");
@@ -129,4 +182,13 @@ public class RpcClientTest extends JavaTest {
 
         assertThat(request.createMessage(), not(containsString("<value>")));
     }
+
+    private List<HmChannel> createDimmerHmChannels(int count) {
+        HmChannel[] channels = new HmChannel[count];
+        for (int i = 0; i < count; i++) {
+            channels[i] = new HmChannel("HM-LC-Dim1-Pl3", i + 1);
+            channels[i].setDevice(createDimmerHmDevice());
+        }
+        return Arrays.asList(channels);
+    }
 }
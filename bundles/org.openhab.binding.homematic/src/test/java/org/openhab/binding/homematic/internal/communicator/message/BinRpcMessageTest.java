@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link BinRpcMessage}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcMessageTest {
+    private static final String ENCODING = "UTF-8";
+
+    @Test
+    public void eventIsDecodedFromBuffer() throws IOException {
+        byte[] event = createEvent("MEQ0123456:1", "LEVEL", 0.5).createMessage();
+
+        ByteBuffer buffer = ByteBuffer.allocate(event.length + 10);
+        buffer.position(5);
+        buffer.put(event);
+        buffer.position(5);
+        BinRpcMessage message = new BinRpcMessage(buffer, true, ENCODING);
+
+        assertThat(message.getMethodName(), is("event"));
+        Object[] data = message.getResponseData();
+        assertThat(data.length, is(4));
+        assertThat(data[0], is((Object) "openHAB-Küche"));
+        assertThat(data[1], is((Object) "MEQ0123456:1"));
+        assertThat(data[2], is((Object) "LEVEL"));
+        assertThat(data[3], is((Object) 0.5));
+    }
+
+    @Test
+    public void multicallIsDecodedAndEncodedAgain() throws IOException {
+        List<Map<String, Object>> calls = new ArrayList<>();
+        calls.add(createCall("MEQ0123456:1", "LEVEL", 0.75));
+        calls.add(createCall("MEQ0123456:1", "WORKING", false));
+        calls.add(createCall("MEQ0123456:0", "RSSI_DEVICE", -65));
+        BinRpcMessage request = new BinRpcMessage("system.multicall", ENCODING);
+        request.addArg(calls);
+        byte[] multicall = request.createMessage();
+
+        BinRpcMessage message = new BinRpcMessage(ByteBuffer.wrap(multicall), true, ENCODING);
+
+        assertThat(message.getMethodName(), is("system.multicall"));
+        Object[] decodedCalls = (Object[]) message.getResponseData()[0];
+        assertThat(decodedCalls.length, is(3));
+        Map<?, ?> call = (Map<?, ?>) decodedCalls[2];
+        assertThat(call.get("methodName"), is((Object) "event"));
+        Object[] params = (Object[]) call.get("params");
+        assertThat(params[2], is((Object) "RSSI_DEVICE"));
+        assertThat(params[3], is((Object) (-65)));
+
+        BinRpcMessage encodedAgain = new BinRpcMessage("system.multicall", ENCODING);
+        encodedAgain.addArg(message.getResponseData()[0]);
+        assertThat(Arrays.equals(encodedAgain.createMessage(), multicall), is(true));
+    }
+
+    @Test(expected = EOFException.class)
+    public void incompleteMessageIsRejected() throws IOException {
+        byte[] event = createEvent("MEQ0123456:1", "LEVEL", 0.5).createMessage();
+
+        new BinRpcMessage(ByteBuffer.wrap(event, 0, event.length - 1), true, ENCODING);
+    }
+
+    private BinRpcMessage createEvent(String address, String datapointName, Object value) {
+        BinRpcMessage message = new BinRpcMessage("event", ENCODING);
+        message.addArg("openHAB-Küche");
+        message.addArg(address);
+        message.addArg(datapointName);
+        message.addArg(value);
+        return message;
+    }
+
+    private Map<String, Object> createCall(String address, String datapointName, Object value) {
+        Map<String, Object> call = new TreeMap<>();
+        call.put("methodName", "event");
+        call.put("params", Arrays.asList("openHAB-Küche", address, datapointName, value));
+        return call;
+    }
+}
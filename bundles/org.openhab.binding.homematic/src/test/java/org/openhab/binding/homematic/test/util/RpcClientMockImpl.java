@@ -13,20 +13,26 @@
 package org.openhab.binding.homematic.test.util;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.client.RpcClient;
+import org.openhab.binding.homematic.internal.communicator.client.UnknownRpcFailureException;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 
 public class RpcClientMockImpl extends RpcClient<String> {
 
     public static final String GET_PARAMSET_DESCRIPTION_NAME = "getParamsetDescription";
     public static final String GET_PARAMSET_NAME = "getParamset";
+    public static final String MULTICALL_NAME = "system.multicall";
 
     public Map<String, Integer> numberOfCalls = new HashMap<String, Integer>();
+    public boolean multicallSupported = true;
+    public boolean multicallUnreachable = false;
 
     public RpcClientMockImpl() throws IOException {
         this(new HomematicConfig());
@@ -35,7 +41,8 @@ public class RpcClientMockImpl extends RpcClient<String> {
     public RpcClientMockImpl(HomematicConfig config) throws IOException {
         super(config);
 
-        Arrays.asList(GET_PARAMSET_DESCRIPTION_NAME, GET_PARAMSET_NAME).forEach(method -> numberOfCalls.put(method, 0));
+        Arrays.asList(GET_PARAMSET_DESCRIPTION_NAME, GET_PARAMSET_NAME, MULTICALL_NAME)
+                .forEach(method -> numberOfCalls.put(method, 0));
     }
 
     @Override
@@ -44,6 +51,15 @@ public class RpcClientMockImpl extends RpcClient<String> {
 
         increaseNumberOfCalls(methodName);
 
+        if (MULTICALL_NAME.equals(methodName)) {
+            if (multicallUnreachable) {
+                throw new IOException("Connection refused");
+            }
+            if (!multicallSupported) {
+                throw new UnknownRpcFailureException("-1 Failure (sending " + methodName + ")");
+            }
+            return mockMulticallResponse(((MockRpcRequest) request).args.get(0));
+        }
         return mockResponse();
     }
 
@@ -62,25 +78,41 @@ public class RpcClientMockImpl extends RpcClient<String> {
         return response;
     }
 
+    private Object[] mockMulticallResponse(Object calls) {
+        Object[] results = new Object[((List<?>) calls).size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = mockResponse();
+        }
+        return new Object[] { results };
+    }
+
     @Override
     protected RpcRequest<String> createRpcRequest(String methodName) {
-        return new RpcRequest<String>() {
+        return new MockRpcRequest(methodName);
+    }
 
-            @Override
-            public void addArg(Object arg) {
-            }
+    private static class MockRpcRequest implements RpcRequest<String> {
+        private final String methodName;
+        private final List<Object> args = new ArrayList<Object>();
 
-            @Override
-            public String createMessage() {
-                return null;
-            }
+        MockRpcRequest(String methodName) {
+            this.methodName = methodName;
+        }
 
-            @Override
-            public String getMethodName() {
-                return methodName;
-            }
+        @Override
+        public void addArg(Object arg) {
+            args.add(arg);
+        }
 
-        };
+        @Override
+        public String createMessage() {
+            return null;
+        }
+
+        @Override
+        public String getMethodName() {
+            return methodName;
+        }
     }
 
     @Override
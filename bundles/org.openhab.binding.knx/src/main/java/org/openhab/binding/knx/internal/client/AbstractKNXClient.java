@@ -13,11 +13,10 @@
 package org.openhab.binding.knx.internal.client;
 
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -64,6 +63,8 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int MAX_READING_PAUSE = 5000;
+    private static final int READ_PROGRESS_LOG_INTERVAL = 100;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -85,8 +86,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressListenerIndex groupAddressListeners = new GroupAddressListenerIndex();
+    private final ReadDatapointQueue readDatapoints = new ReadDatapointQueue();
+    private volatile int currentReadingPause;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -196,8 +198,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             link.addLinkListener(this);
 
-            busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            currentReadingPause = readingPause;
+            scheduleReadJob(0);
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             cancelReconnectJob(false);
@@ -219,7 +221,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
-    private void releaseConnection() {
+    private synchronized void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
         readDatapoints.clear();
         busJob = nullify(busJob, j -> j.cancel(true));
@@ -249,10 +251,14 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        Set<GroupAddressListener> listeners = groupAddressListeners.get(destination);
+        if (!listeners.isEmpty()) {
+            // leave the calimero dispatcher thread, but use a single task for all listeners of the telegram
+            knxScheduler.execute(() -> {
+                for (GroupAddressListener listener : listeners) {
+                    action.apply(listener, source, destination, asdu);
+                }
+            });
         }
     }
 
@@ -268,6 +274,24 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return typeHelper.toDPTValue(type, dpt);
     }
 
+    private synchronized void scheduleReadJob(long delay) {
+        if (link != null) {
+            AtomicReference<@Nullable ScheduledFuture<?>> readJob = new AtomicReference<>();
+            readJob.set(knxScheduler.schedule(() -> {
+                readNextQueuedDatapoint();
+                rescheduleReadJob(readJob);
+            }, delay, TimeUnit.MILLISECONDS));
+            busJob = readJob.get();
+        }
+    }
+
+    private synchronized void rescheduleReadJob(AtomicReference<@Nullable ScheduledFuture<?>> readJob) {
+        // a reconnect from within the read job already started a new read job, which must remain the only one
+        if (readJob.get() == busJob) {
+            scheduleReadJob(currentReadingPause);
+        }
+    }
+
     private void readNextQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
             return;
@@ -279,12 +303,15 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         ReadDatapoint datapoint = readDatapoints.poll();
         if (datapoint != null) {
             datapoint.incrementRetries();
+            long start = System.currentTimeMillis();
             try {
                 logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
                 processCommunicator.read(datapoint.getDatapoint());
+                adaptReadingPause(System.currentTimeMillis() - start, true);
             } catch (KNXException e) {
+                adaptReadingPause(System.currentTimeMillis() - start, false);
                 if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
+                    readDatapoints.retry(datapoint);
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
                 } else {
@@ -295,6 +322,46 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
                 logger.debug("Interrupted sending KNX read request");
                 return;
             }
+            logReadProgress();
+        }
+    }
+
+    /**
+     * Adapts the pause between two read requests to the load of the bus. Slow or failing responses indicate a busy
+     * bus, so the pause is increased up to {@link #MAX_READING_PAUSE}. It decreases back to the configured reading
+     * pause as soon as the responses are quick again.
+     *
+     * @param latency the time the read request took in milliseconds
+     * @param success whether a response was received
+     */
+    private void adaptReadingPause(long latency, boolean success) {
+        int pause;
+        if (!success) {
+            pause = currentReadingPause * 2;
+        } else if (latency > currentReadingPause) {
+            pause = (int) Math.min(latency, Integer.MAX_VALUE);
+        } else {
+            pause = (currentReadingPause + readingPause) / 2;
+        }
+        pause = Math.max(readingPause, Math.min(MAX_READING_PAUSE, pause));
+        if (pause != currentReadingPause) {
+            logger.trace("Adapting the pause between read requests from {}ms to {}ms (last latency {}ms)",
+                    currentReadingPause, pause, latency);
+            currentReadingPause = pause;
+        }
+    }
+
+    private void logReadProgress() {
+        int handled = readDatapoints.getHandled();
+        int added = readDatapoints.getAdded();
+        if (readDatapoints.isEmpty()) {
+            if (added > 1) {
+                logger.debug("Bridge {} finished reading {} datapoints from the KNX bus in {}ms", thingUID, added,
+                        System.currentTimeMillis() - readDatapoints.getStarted());
+            }
+            readDatapoints.resetProgress();
+        } else if (handled % READ_PROGRESS_LOG_INTERVAL == 0) {
+            logger.debug("Bridge {} read {} of {} queued datapoints from the KNX bus", thingUID, handled, added);
         }
     }
 
@@ -364,12 +431,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+        readDatapoint(datapoint, false);
+    }
+
+    @Override
+    public void readDatapoint(Datapoint datapoint, boolean prioritize) {
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit), prioritize);
     }
 
     @Override
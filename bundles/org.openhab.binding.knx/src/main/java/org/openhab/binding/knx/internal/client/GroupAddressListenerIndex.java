@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Index of the registered {@link GroupAddressListener}s by the group addresses they listen to, so that an incoming
+ * telegram can be dispatched without asking every listener.
+ *
+ * Lookups are lock free, modifications are serialized.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class GroupAddressListenerIndex {
+
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByAddress = new ConcurrentHashMap<>();
+    private final Map<GroupAddressListener, Set<GroupAddress>> addressesByListener = new HashMap<>();
+
+    /**
+     * Adds the listener to the index, or re-indexes it if it already was registered.
+     *
+     * @param listener the listener
+     * @return {@code true} if it wasn't registered before
+     */
+    public synchronized boolean add(GroupAddressListener listener) {
+        boolean added = remove(listener);
+        Set<GroupAddress> addresses = Collections.unmodifiableSet(listener.getGroupAddresses());
+        for (GroupAddress address : addresses) {
+            listenersByAddress.computeIfAbsent(address, a -> new CopyOnWriteArraySet<>()).add(listener);
+        }
+        addressesByListener.put(listener, addresses);
+        return !added;
+    }
+
+    /**
+     * Removes the listener from the index.
+     *
+     * @param listener the listener
+     * @return {@code true} if it was registered
+     */
+    public synchronized boolean remove(GroupAddressListener listener) {
+        Set<GroupAddress> addresses = addressesByListener.remove(listener);
+        if (addresses == null) {
+            return false;
+        }
+        for (GroupAddress address : addresses) {
+            Set<GroupAddressListener> listeners = listenersByAddress.get(address);
+            if (listeners != null) {
+                listeners.remove(listener);
+                if (listeners.isEmpty()) {
+                    listenersByAddress.remove(address);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the listeners interested in the given group address.
+     *
+     * @param destination the group address of a telegram
+     * @return the listeners, never {@code null}
+     */
+    public Set<GroupAddressListener> get(GroupAddress destination) {
+        @Nullable
+        Set<GroupAddressListener> listeners = listenersByAddress.get(destination);
+        return listeners != null ? listeners : Collections.emptySet();
+    }
+
+    public synchronized void clear() {
+        listenersByAddress.clear();
+        addressesByListener.clear();
+    }
+}
@@ -63,6 +63,9 @@ public interface KNXClient {
     /**
      * Register the given listener to be informed on KNX bus traffic.
      *
+     * The listener is indexed by its {@link GroupAddressListener#getGroupAddresses()}, it has to be registered again
+     * whenever these change.
+     *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
      */
@@ -83,6 +86,14 @@ public interface KNXClient {
      */
     void readDatapoint(Datapoint datapoint);
 
+    /**
+     * Schedule the given data point for asynchronous reading.
+     *
+     * @param datapoint the datapoint
+     * @param prioritize {@code true} to read it before all regularly scheduled datapoints, e.g. on a user request
+     */
+    void readDatapoint(Datapoint datapoint, boolean prioritize);
+
     /**
      * Write a command to the KNX bus.
      *
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Queue of {@link ReadDatapoint}s waiting to be read from the KNX bus.
+ *
+ * Each group address is queued at most once. Prioritized reads (e.g. a REFRESH requested by the user) are served
+ * before the regular ones, a regular read which is already queued gets promoted when it is requested with priority.
+ *
+ * Besides that it keeps track of how many of the queued reads have been handled since the queue started to fill up,
+ * as a measure of the progress of e.g. the initial read-out of the bus.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ReadDatapointQueue {
+
+    private final LinkedHashSet<ReadDatapoint> prioritized = new LinkedHashSet<>();
+    private final LinkedHashSet<ReadDatapoint> regular = new LinkedHashSet<>();
+    private int added;
+    private int handled;
+    private long started;
+
+    /**
+     * Adds the datapoint to the queue, unless its group address is already queued.
+     *
+     * @param datapoint the datapoint to read
+     * @param prioritize whether it should be read before all non-prioritized datapoints
+     * @return {@code true} if the datapoint was added or promoted
+     */
+    public synchronized boolean add(ReadDatapoint datapoint, boolean prioritize) {
+        if (prioritized.contains(datapoint)) {
+            return false;
+        }
+        if (added == 0) {
+            started = System.currentTimeMillis();
+        }
+        if (prioritize) {
+            if (!regular.remove(datapoint)) {
+                added++;
+            }
+            return prioritized.add(datapoint);
+        }
+        if (regular.add(datapoint)) {
+            added++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Re-queues a datapoint which could not be read, behind all other regular reads.
+     *
+     * @param datapoint the datapoint to read again
+     */
+    public synchronized void retry(ReadDatapoint datapoint) {
+        if (!prioritized.contains(datapoint) && regular.add(datapoint)) {
+            added++;
+        }
+    }
+
+    /**
+     * Retrieves and removes the next datapoint to read.
+     *
+     * @return the datapoint or {@code null} if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        ReadDatapoint datapoint = poll(prioritized);
+        if (datapoint == null) {
+            datapoint = poll(regular);
+        }
+        if (datapoint != null) {
+            handled++;
+        }
+        return datapoint;
+    }
+
+    private @Nullable ReadDatapoint poll(LinkedHashSet<ReadDatapoint> queue) {
+        Iterator<ReadDatapoint> iterator = queue.iterator();
+        if (iterator.hasNext()) {
+            ReadDatapoint datapoint = iterator.next();
+            iterator.remove();
+            return datapoint;
+        }
+        return null;
+    }
+
+    public synchronized boolean isEmpty() {
+        return prioritized.isEmpty() && regular.isEmpty();
+    }
+
+    public synchronized int size() {
+        return prioritized.size() + regular.size();
+    }
+
+    /**
+     * @return the number of reads handled since the progress was reset the last time
+     */
+    public synchronized int getHandled() {
+        return handled;
+    }
+
+    /**
+     * @return the number of reads queued since the progress was reset the last time
+     */
+    public synchronized int getAdded() {
+        return added;
+    }
+
+    /**
+     * @return the time in milliseconds when the first read was queued after the progress was reset
+     */
+    public synchronized long getStarted() {
+        return started;
+    }
+
+    public synchronized void resetProgress() {
+        added = size();
+        handled = 0;
+        started = System.currentTimeMillis();
+    }
+
+    public synchronized void clear() {
+        prioritized.clear();
+        regular.clear();
+        resetProgress();
+    }
+}
@@ -24,7 +24,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.HSBType;
@@ -107,6 +109,36 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** caches everything needed to decode a datapoint type, so it only needs to be determined once per DPT */
+    private final Map<String, DecodingInfo> decodingInfos = new ConcurrentHashMap<>();
+
+    /**
+     * Decodes the ASDU of a datapoint type directly into an openHAB type, without creating a {@link DPTXlator} and
+     * going through its string representation.
+     */
+    @FunctionalInterface
+    private interface ASDUDecoder {
+        @Nullable
+        Type decode(byte[] data);
+    }
+
+    private static class DecodingInfo {
+        private final int mainNumber;
+        private final int subNumber;
+        private final @Nullable Class<? extends Type> typeClass;
+        private final @Nullable ASDUDecoder decoder;
+        private final int minimumLength;
+
+        private DecodingInfo(int mainNumber, int subNumber, @Nullable Class<? extends Type> typeClass,
+                @Nullable ASDUDecoder decoder, int minimumLength) {
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+            this.typeClass = typeClass;
+            this.decoder = decoder;
+            this.minimumLength = minimumLength;
+        }
+    }
+
     public KNXCoreTypeMapper() {
 
         @SuppressWarnings("unused")
@@ -674,6 +706,11 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        DecodingInfo decodingInfo = decodingInfos.computeIfAbsent(datapoint.getDPT(), this::createDecodingInfo);
+        ASDUDecoder decoder = decodingInfo.decoder;
+        if (decoder != null && data.length >= decodingInfo.minimumLength) {
+            return decoder.decode(data);
+        }
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
@@ -682,12 +719,12 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
             String id = translator.getType().getID();
             logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
 
-            int mainNumber = getMainNumber(id);
+            int mainNumber = decodingInfo.mainNumber;
             if (mainNumber == -1) {
                 logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
                 return null;
             }
-            int subNumber = getSubNumber(id);
+            int subNumber = decodingInfo.subNumber;
             if (subNumber == -1) {
                 logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
                 return null;
@@ -814,7 +851,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                     break;
             }
 
-            Class<? extends Type> typeClass = toTypeClass(id);
+            Class<? extends Type> typeClass = decodingInfo.typeClass;
             if (typeClass == null) {
                 return null;
             }
@@ -861,6 +898,97 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return null;
     }
 
+    private DecodingInfo createDecodingInfo(String dptId) {
+        int mainNumber = getMainNumber(dptId);
+        int subNumber = mainNumber == -1 ? -1 : getSubNumber(dptId);
+        Class<? extends Type> typeClass = mainNumber == -1 ? null : toTypeClass(dptId);
+        ASDUDecoder decoder = null;
+        int minimumLength = 0;
+        if (subNumber != -1 && typeClass != null && isSupportedByTranslator(mainNumber, dptId)) {
+            switch (mainNumber) {
+                case 1:
+                    decoder = createBooleanDecoder(subNumber);
+                    minimumLength = 1;
+                    break;
+                case 5:
+                    // angles and raw percentages are left to the translator
+                    if (DPTXlator8BitUnsigned.DPT_SCALING.getID().equals(dptId)) {
+                        decoder = data -> new PercentType(Math.round((data[0] & 0xFF) * 100 / 255.0));
+                        minimumLength = 1;
+                    } else if (typeClass.equals(DecimalType.class)
+                            && !DPTXlator8BitUnsigned.DPT_ANGLE.getID().equals(dptId)) {
+                        decoder = data -> new DecimalType(data[0] & 0xFF);
+                        minimumLength = 1;
+                    }
+                    break;
+                case 9:
+                    if (typeClass.equals(DecimalType.class)) {
+                        decoder = data -> new DecimalType(decode2ByteFloat(data));
+                        minimumLength = 2;
+                    } else if (typeClass.equals(PercentType.class)) {
+                        decoder = data -> new PercentType(decode2ByteFloat(data).setScale(0, BigDecimal.ROUND_HALF_UP));
+                        minimumLength = 2;
+                    }
+                    break;
+                case 14:
+                    if (typeClass.equals(DecimalType.class)) {
+                        decoder = data -> new DecimalType(Float.intBitsToFloat((data[0] & 0xFF) << 24
+                                | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF)));
+                        minimumLength = 4;
+                    }
+                    break;
+                case 232:
+                    if (DPTXlatorRGB.DPT_RGB.getID().equals(dptId)) {
+                        decoder = data -> HSBType.fromRGB(data[0] & 0xFF, data[1] & 0xFF, data[2] & 0xFF);
+                        minimumLength = 3;
+                    }
+                    break;
+            }
+        }
+        return new DecodingInfo(mainNumber, subNumber, typeClass, decoder, minimumLength);
+    }
+
+    private boolean isSupportedByTranslator(int mainNumber, String dptId) {
+        try {
+            TranslatorTypes.createTranslator(mainNumber, dptId);
+            return true;
+        } catch (KNXException e) {
+            return false;
+        }
+    }
+
+    private ASDUDecoder createBooleanDecoder(int subNumber) {
+        switch (subNumber) {
+            case 8:
+                return data -> (data[0] & 0x01) != 0 ? UpDownType.DOWN : UpDownType.UP;
+            case 9:
+            case 19:
+                return data -> (data[0] & 0x01) != 0 ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case 10:
+                return data -> (data[0] & 0x01) != 0 ? StopMoveType.MOVE : StopMoveType.STOP;
+            case 22:
+                return data -> new DecimalType(data[0] & 0x01);
+            default:
+                return data -> (data[0] & 0x01) != 0 ? OnOffType.ON : OnOffType.OFF;
+        }
+    }
+
+    /**
+     * Decodes a KNX 2-byte float (DPT 9.x, MEEEEMMM MMMMMMMM) into its exact decimal value 0.01 * M * 2^E.
+     *
+     * @param data the ASDU
+     * @return the decoded value
+     */
+    private static BigDecimal decode2ByteFloat(byte[] data) {
+        int raw = (data[0] & 0xFF) << 8 | (data[1] & 0xFF);
+        int mantissa = raw & 0x07FF;
+        if ((raw & 0x8000) != 0) {
+            mantissa -= 0x0800;
+        }
+        int exponent = (raw >> 11) & 0x0F;
+        return BigDecimal.valueOf((long) mantissa << exponent, 2).stripTrailingZeros();
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
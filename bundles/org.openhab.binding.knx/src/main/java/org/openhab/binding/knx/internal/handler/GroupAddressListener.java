@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -34,4 +36,12 @@ public interface GroupAddressListener extends BusMessageListener {
      */
     public boolean listensTo(GroupAddress destination);
 
+    /**
+     * Returns all GroupAddresses the GroupAddressListener has an interest in. The KNX client uses them to index its
+     * listeners, so the listener needs to be registered again when they change.
+     *
+     * @return the group addresses
+     */
+    public Set<GroupAddress> getGroupAddresses();
+
 }
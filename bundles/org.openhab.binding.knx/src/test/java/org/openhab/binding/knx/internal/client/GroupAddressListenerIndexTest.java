@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class GroupAddressListenerIndexTest {
+
+    private static class TestListener implements GroupAddressListener {
+
+        private final Set<GroupAddress> groupAddresses = new HashSet<>();
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return new HashSet<>(groupAddresses);
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source,
+                GroupAddress destination, byte[] asdu) {
+        }
+    }
+
+    private static final GroupAddress GA_1 = new GroupAddress(1, 0, 1);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 0, 2);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 0, 3);
+
+    @Test
+    public void testDispatchOnlyToInterestedListeners() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        TestListener listener1 = new TestListener();
+        listener1.groupAddresses.addAll(Arrays.asList(GA_1, GA_2));
+        TestListener listener2 = new TestListener();
+        listener2.groupAddresses.add(GA_2);
+
+        assertTrue(index.add(listener1));
+        assertTrue(index.add(listener2));
+
+        assertEquals(new HashSet<>(Arrays.asList(listener1)), index.get(GA_1));
+        assertEquals(new HashSet<>(Arrays.asList(listener1, listener2)), index.get(GA_2));
+        assertTrue(index.get(GA_3).isEmpty());
+    }
+
+    @Test
+    public void testReRegistrationUpdatesIndex() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        TestListener listener = new TestListener();
+        listener.groupAddresses.add(GA_1);
+        assertTrue(index.add(listener));
+
+        listener.groupAddresses.clear();
+        listener.groupAddresses.add(GA_3);
+        assertFalse(index.add(listener));
+
+        assertTrue(index.get(GA_1).isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList(listener)), index.get(GA_3));
+    }
+
+    @Test
+    public void testRemove() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        TestListener listener = new TestListener();
+        listener.groupAddresses.add(GA_1);
+        index.add(listener);
+
+        assertTrue(index.remove(listener));
+        assertFalse(index.remove(listener));
+        assertTrue(index.get(GA_1).isEmpty());
+    }
+
+    @Test
+    public void testReplayedTelegramStream() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        for (int i = 0; i < 300; i++) {
+            TestListener listener = new TestListener();
+            listener.groupAddresses.add(new GroupAddress(2, i / 256, i % 256));
+            listener.groupAddresses.add(GA_1);
+            index.add(listener);
+        }
+
+        int dispatched = 0;
+        for (int i = 0; i < 10000; i++) {
+            GroupAddress destination = i % 2 == 0 ? GA_1 : new GroupAddress(2, (i % 300) / 256, (i % 300) % 256);
+            for (GroupAddressListener listener : index.get(destination)) {
+                assertTrue(listener.listensTo(destination));
+                dispatched++;
+            }
+        }
+        assertEquals(5000 * 300 + 5000, dispatched);
+    }
+}
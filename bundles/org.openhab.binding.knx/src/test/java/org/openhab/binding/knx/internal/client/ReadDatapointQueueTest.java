@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ReadDatapointQueueTest {
+
+    private static ReadDatapoint createReadDatapoint(int subGroup) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(1, 1, subGroup), "test", 0, "1.001"), 3);
+    }
+
+    @Test
+    public void testDeduplication() {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        assertTrue(queue.add(createReadDatapoint(1), false));
+        assertFalse(queue.add(createReadDatapoint(1), false));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testPrioritizedFirst() {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        queue.add(createReadDatapoint(1), false);
+        queue.add(createReadDatapoint(2), false);
+        queue.add(createReadDatapoint(3), true);
+
+        assertEquals(createReadDatapoint(3), queue.poll());
+        assertEquals(createReadDatapoint(1), queue.poll());
+        assertEquals(createReadDatapoint(2), queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testPromotion() {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        queue.add(createReadDatapoint(1), false);
+        queue.add(createReadDatapoint(2), false);
+        assertTrue(queue.add(createReadDatapoint(2), true));
+        assertFalse(queue.add(createReadDatapoint(2), false));
+
+        assertEquals(2, queue.size());
+        assertEquals(createReadDatapoint(2), queue.poll());
+        assertEquals(createReadDatapoint(1), queue.poll());
+    }
+
+    @Test
+    public void testProgress() {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        for (int i = 0; i < 10; i++) {
+            queue.add(createReadDatapoint(i), false);
+        }
+        ReadDatapoint datapoint = queue.poll();
+        queue.poll();
+        assertEquals(2, queue.getHandled());
+        assertEquals(10, queue.getAdded());
+
+        queue.retry(datapoint);
+        assertEquals(11, queue.getAdded());
+
+        while (queue.poll() != null) {
+        }
+        assertEquals(11, queue.getHandled());
+
+        queue.resetProgress();
+        assertEquals(0, queue.getHandled());
+        assertEquals(0, queue.getAdded());
+    }
+}
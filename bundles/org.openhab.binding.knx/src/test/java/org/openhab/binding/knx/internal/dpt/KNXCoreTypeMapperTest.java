@@ -15,8 +15,17 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.junit.Assert.assertEquals;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -30,4 +39,52 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_boolean() {
+        assertEquals(OnOffType.ON, toType("1.001", 0x01));
+        assertEquals(OnOffType.OFF, toType("1.001", 0x00));
+        assertEquals(UpDownType.DOWN, toType("1.008", 0x01));
+        assertEquals(OpenClosedType.CLOSED, toType("1.009", 0x00));
+        assertEquals(new DecimalType(1), toType("1.022", 0x01));
+    }
+
+    @Test
+    public void testToType_8BitUnsigned() {
+        assertEquals(new PercentType(100), toType("5.001", 0xFF));
+        assertEquals(new PercentType(50), toType("5.001", 0x80));
+        assertEquals(new DecimalType(42), toType("5.010", 42));
+    }
+
+    @Test
+    public void testToType_2ByteFloat() {
+        // 21.5 = 0.01 * 1075 * 2^1
+        assertEquals(new DecimalType("21.5"), toType("9.001", 0x0C, 0x33));
+        // -1 = 0.01 * -100 * 2^0
+        assertEquals(new DecimalType("-1"), toType("9.001", 0x87, 0x9C));
+        assertEquals(new PercentType(45), toType("9.007", 0x14, 0x65));
+    }
+
+    @Test
+    public void testToType_4ByteFloat() {
+        assertEquals(new DecimalType(1.5f), toType("14.001", 0x3F, 0xC0, 0x00, 0x00));
+    }
+
+    @Test
+    public void testToType_rgb() {
+        assertEquals(HSBType.fromRGB(255, 0, 0), toType("232.600", 0xFF, 0x00, 0x00));
+    }
+
+    @Test
+    public void testToType_tooShortData() {
+        assertEquals(null, toType("9.001", 0x0C));
+    }
+
+    private Type toType(String dpt, int... data) {
+        byte[] asdu = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            asdu[i] = (byte) data[i];
+        }
+        return new KNXCoreTypeMapper().toType(new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt), asdu);
+    }
+
 }
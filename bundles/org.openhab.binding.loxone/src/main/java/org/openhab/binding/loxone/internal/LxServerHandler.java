@@ -13,21 +13,26 @@
 package org.openhab.binding.loxone.internal;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
 import java.nio.channels.Channels;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
@@ -52,12 +57,14 @@ import org.openhab.binding.loxone.internal.types.LxConfig.LxServerInfo;
 import org.openhab.binding.loxone.internal.types.LxErrorCode;
 import org.openhab.binding.loxone.internal.types.LxResponse;
 import org.openhab.binding.loxone.internal.types.LxState;
+import org.openhab.binding.loxone.internal.types.LxStateIndex;
 import org.openhab.binding.loxone.internal.types.LxUuid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 /**
  * Representation of a Loxone Miniserver. It is an openHAB {@link Thing}, which is used to communicate with
@@ -89,6 +96,8 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     // the state. It must be ensured that updates received for this state UUID are passed to all controls that have this
     // state UUID configured.
     private Map<LxUuid, Map<LxUuid, LxState>> states = new HashMap<>();
+    // Index of the states for value state updates, created from the states map on first use after it changed
+    private LxStateIndex stateIndex;
 
     private LxWebSocket socket;
     private WebSocketClient wsClient;
@@ -102,6 +111,11 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     // Data structures
     private final Map<LxUuid, LxControl> controls = new HashMap<>();
     private final Map<ChannelUID, LxControl> channels = new HashMap<>();
+    // Fingerprints of the controls defined in the current configuration (without subcontrols and dynamic controls)
+    private final Map<LxUuid, Long> controlFingerprints = new HashMap<>();
+    // Modification time of the structure file the current configuration was created from
+    private String configLastModified;
+    private final LxStructureFileCache structureFileCache;
 
     private LxDynamicStateDescriptionProvider dynamicStateDescriptionProvider;
     private final Logger logger = LoggerFactory.getLogger(LxServerHandler.class);
@@ -127,6 +141,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      */
     public LxServerHandler(Thing thing, LxDynamicStateDescriptionProvider provider) {
         super(thing);
+        structureFileCache = new LxStructureFileCache(thing.getUID());
         if (provider != null) {
             dynamicStateDescriptionProvider = provider;
         } else {
@@ -242,6 +257,12 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         }
     }
 
+    @Override
+    public void handleRemoval() {
+        structureFileCache.delete();
+        super.handleRemoval();
+    }
+
     /*
      * Public methods that are called by {@link LxControl} child classes
      */
@@ -279,29 +300,9 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      */
     @Override
     public void removeControl(LxControl control) {
-        logger.debug("[{}] Removing control: {}", debugId, control.getName());
-        control.getSubControls().values().forEach(subControl -> removeControl(subControl));
-        LxUuid controlUuid = control.getUuid();
-        control.getStates().values().forEach(state -> {
-            LxUuid stateUuid = state.getUuid();
-            Map<LxUuid, LxState> perUuid = states.get(stateUuid);
-            if (perUuid != null) {
-                perUuid.remove(controlUuid);
-                if (perUuid.isEmpty()) {
-                    states.remove(stateUuid);
-                }
-            }
-        });
-
         ThingBuilder builder = editThing();
-        control.getChannels().forEach(channel -> {
-            ChannelUID id = channel.getUID();
-            builder.withoutChannel(id);
-            dynamicStateDescriptionProvider.removeDescription(id);
-            channels.remove(id);
-        });
+        removeControlStructures(control).forEach(builder::withoutChannel);
         updateThing(builder.build());
-        controls.remove(controlUuid);
     }
 
     /*
@@ -386,15 +387,64 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         controls.clear();
         channels.clear();
         states.clear();
+        stateIndex = null;
+        controlFingerprints.clear();
+        configLastModified = null;
         dynamicStateDescriptionProvider.removeAllDescriptions();
     }
 
+    /**
+     * Use the current configuration or the cached structure file, if the structure file on the Miniserver was not
+     * modified since.
+     *
+     * @param lastModified modification time of the structure file on the Miniserver
+     * @return true if configuration is up to date, false if the structure file must be downloaded from the Miniserver
+     */
+    boolean loadConfiguration(String lastModified) {
+        if (lastModified.equals(configLastModified)) {
+            logger.debug("[{}] Miniserver configuration not modified since {}", debugId, lastModified);
+            updateStatus(ThingStatus.ONLINE);
+            return true;
+        }
+        LxConfig config = structureFileCache.load(GSON, lastModified);
+        if (config != null) {
+            logger.debug("[{}] Using cached Miniserver configuration modified {}", debugId, lastModified);
+            setMiniserverConfig(config);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sets a new configuration from the structure file received from the Miniserver and stores the structure file in
+     * the cache.
+     *
+     * @param structureFile structure file received from the Miniserver
+     * @return true if configuration was set, false if the structure file could not be parsed
+     */
+    boolean setMiniserverConfig(String structureFile) {
+        LxConfig config;
+        try {
+            config = LxConfig.parse(GSON, new StringReader(structureFile));
+        } catch (IOException | JsonParseException e) {
+            logger.debug("[{}] Error parsing Miniserver configuration: {}", debugId, e.getMessage());
+            return false;
+        }
+        if (config.lastModified != null) {
+            structureFileCache.store(structureFile);
+        }
+        setMiniserverConfig(config);
+        return true;
+    }
+
     /**
      * Sets a new configuration received from the Miniserver and creates all required channels.
+     * Controls with unchanged definition keep their objects, channels and states. Only controls that were added,
+     * changed or removed in the configuration are created or removed.
      *
      * @param config Miniserver's configuration
      */
-    void setMiniserverConfig(LxConfig config) {
+    private void setMiniserverConfig(LxConfig config) {
         logger.debug("[{}] Setting configuration from Miniserver", debugId);
 
         if (config.msInfo == null) {
@@ -411,17 +461,37 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         thing.setProperty(Thing.PROPERTY_SERIAL_NUMBER, buildName(info.serialNr));
         thing.setProperty(Thing.PROPERTY_MAC_ADDRESS, buildName(info.macAddress));
 
-        List<Channel> list = new ArrayList<>();
-        if (config.controls != null) {
-            logger.trace("[{}] creating control structures.", debugId);
-            config.controls.values().forEach(ctrl -> {
-                addControlStructures(ctrl);
-                list.addAll(ctrl.getChannelsWithSubcontrols());
-            });
-        } else {
+        if (config.controls == null) {
             logger.warn("[{}] no controls received in Miniserver configuration.", debugId);
+            config.controls = new HashMap<>();
         }
+        Set<LxUuid> keptControls = new HashSet<>();
+        config.controls.keySet().removeIf(uuid -> {
+            Long fingerprint = config.getFingerprint(uuid);
+            if (fingerprint != null && fingerprint.equals(controlFingerprints.get(uuid))) {
+                keptControls.add(uuid);
+                return true;
+            }
+            return false;
+        });
+        // controls must be removed before the new ones are initialized, as they share channel IDs
+        controlFingerprints.keySet().stream().filter(uuid -> !keptControls.contains(uuid)).map(controls::get)
+                .filter(Objects::nonNull).collect(Collectors.toList()).forEach(this::removeControlStructures);
+        controlFingerprints.keySet().retainAll(keptControls);
+
+        config.finalize(this);
+        logger.trace("[{}] creating control structures.", debugId);
+        config.controls.forEach((uuid, ctrl) -> {
+            addControlStructures(ctrl);
+            controlFingerprints.put(uuid, config.getFingerprint(uuid));
+        });
+        logger.debug("[{}] Controls unchanged: {}, added or changed: {}", debugId, keptControls.size(),
+                config.controls.size());
+
+        List<Channel> list = new ArrayList<>();
+        controls.values().forEach(ctrl -> list.addAll(ctrl.getChannels()));
         addThingChannels(list, true);
+        configLastModified = config.lastModified;
         updateStatus(ThingStatus.ONLINE);
     }
 
@@ -442,6 +512,27 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         }
     }
 
+    /**
+     * Update the values of states received from Miniserver in a value state event table. Only states whose value
+     * changed since the last update are updated.
+     *
+     * @param data   buffer with the event table
+     * @param offset offset of the event table in the buffer
+     * @param length length of the event table
+     */
+    void updateValueStates(byte[] data, int offset, int length) {
+        LxStateIndex index = stateIndex;
+        if (index == null) {
+            Map<LxUuid, Collection<LxState>> statesByUuid = new HashMap<>();
+            states.forEach((stateUuid, perUuid) -> statesByUuid.put(stateUuid, perUuid.values()));
+            index = new LxStateIndex(statesByUuid);
+            stateIndex = index;
+        }
+        int changed = index.updateValueStates(data, offset, length);
+        logger.trace("[{}] Value states received: {}, changed: {}", debugId,
+                length / LxStateIndex.VALUE_STATE_ENTRY_SIZE, changed);
+    }
+
     /**
      * Set thing status to offline and start attempts to establish a new connection to the Miniserver after a delay
      * depending of the reason for going offline.
@@ -520,11 +611,49 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
             }
             perUuid.put(uuid, state);
         });
+        stateIndex = null;
         controls.put(control.getUuid(), control);
         control.getChannels().forEach(channel -> channels.put(channel.getUID(), control));
         control.getSubControls().values().forEach(subControl -> addControlStructures(subControl));
     }
 
+    /**
+     * Remove a control, its states, subcontrols, dynamically created controls and channels from the handler
+     * structures. To remove the channels from the thing, the thing must be updated separately.
+     *
+     * @param control control object to remove
+     * @return IDs of the removed channels
+     */
+    private List<ChannelUID> removeControlStructures(LxControl control) {
+        logger.debug("[{}] Removing control: {}", debugId, control.getName());
+        List<ChannelUID> removedChannels = new ArrayList<>();
+        control.getSubControls().values()
+                .forEach(subControl -> removedChannels.addAll(removeControlStructures(subControl)));
+        control.getDynamicControls().stream().filter(dynamicControl -> controls.containsKey(dynamicControl.getUuid()))
+                .forEach(dynamicControl -> removedChannels.addAll(removeControlStructures(dynamicControl)));
+        LxUuid controlUuid = control.getUuid();
+        control.getStates().values().forEach(state -> {
+            LxUuid stateUuid = state.getUuid();
+            Map<LxUuid, LxState> perUuid = states.get(stateUuid);
+            if (perUuid != null) {
+                perUuid.remove(controlUuid);
+                if (perUuid.isEmpty()) {
+                    states.remove(stateUuid);
+                }
+            }
+        });
+        stateIndex = null;
+
+        control.getChannels().forEach(channel -> {
+            ChannelUID id = channel.getUID();
+            dynamicStateDescriptionProvider.removeDescription(id);
+            channels.remove(id);
+            removedChannels.add(id);
+        });
+        controls.remove(controlUuid);
+        return removedChannels;
+    }
+
     /**
      * Adds channels to the thing, to make them available to the framework and user.
      * This method will sort the channels according to their label.
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.openhab.binding.loxone.internal.types.LxConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Cache of the structure file (LoxAPP3.json) received from a Miniserver. The file is stored in the user data folder
+ * and used instead of downloading the structure file again, when its modification time reported by the Miniserver
+ * did not change.
+ *
+ * @author agent - initial contribution
+ *
+ */
+class LxStructureFileCache {
+    private static final String CACHE_FOLDER = ConfigConstants.getUserDataFolder() + File.separator + "loxone";
+
+    private final File file;
+    private final Logger logger = LoggerFactory.getLogger(LxStructureFileCache.class);
+
+    /**
+     * Create a cache of the structure file of a Miniserver
+     *
+     * @param thingUID UID of the Miniserver thing
+     */
+    LxStructureFileCache(ThingUID thingUID) {
+        file = new File(CACHE_FOLDER, thingUID.getAsString().replace(':', '_') + ".json");
+    }
+
+    /**
+     * Parse the cached structure file, if its modification time is the same as the given one.
+     *
+     * @param gson         GSON object used to parse the structure file
+     * @param lastModified modification time of the structure file reported by the Miniserver
+     * @return parsed structure file or null if cached file does not exist, is outdated or invalid
+     */
+    LxConfig load(Gson gson, String lastModified) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                if (!lastModified.equals(LxConfig.readLastModified(reader))) {
+                    logger.debug("Cached structure file {} is outdated", file);
+                    return null;
+                }
+            }
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                logger.debug("Loading structure file from cache {}", file);
+                return LxConfig.parse(gson, reader);
+            }
+        } catch (IOException | JsonParseException e) {
+            logger.debug("Error reading cached structure file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store a structure file received from the Miniserver in the cache
+     *
+     * @param structureFile content of the structure file
+     */
+    void store(String structureFile) {
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), structureFile.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.debug("Error writing structure file to cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Remove cached structure file
+     */
+    void delete() {
+        if (file.exists() && !file.delete()) {
+            logger.debug("Error deleting cached structure file {}", file);
+        }
+    }
+}
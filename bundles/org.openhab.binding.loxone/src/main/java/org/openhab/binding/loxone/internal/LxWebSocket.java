@@ -38,7 +38,6 @@ import org.eclipse.jetty.websocket.api.annotations.WebSocket;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.loxone.internal.security.LxWsSecurity;
-import org.openhab.binding.loxone.internal.types.LxConfig;
 import org.openhab.binding.loxone.internal.types.LxErrorCode;
 import org.openhab.binding.loxone.internal.types.LxResponse;
 import org.openhab.binding.loxone.internal.types.LxUuid;
@@ -62,6 +61,7 @@ public class LxWebSocket {
     private static final String CMD_KEEPALIVE = "keepalive";
     private static final String CMD_ENABLE_UPDATES = "jdev/sps/enablebinstatusupdate";
     private static final String CMD_GET_APP_CONFIG = "data/LoxAPP3.json";
+    private static final String CMD_GET_APP_VERSION = "jdev/sps/LoxAPPversion3";
 
     private final int debugId;
     private final Gson gson;
@@ -81,6 +81,7 @@ public class LxWebSocket {
     private ScheduledFuture<?> timeout;
     private LxWsBinaryHeader header;
     private LxWsSecurity security;
+    private boolean awaitingConfigurationVersion = false;
     private boolean awaitingConfiguration = false;
     private final Lock webSocketLock = new ReentrantLock();
     private final Lock responseLock = new ReentrantLock();
@@ -237,13 +238,7 @@ public class LxWebSocket {
                 switch (header.getType()) {
                     case EVENT_TABLE_OF_VALUE_STATES:
                         stopResponseTimeout();
-                        while (length > 0) {
-                            Double value = ByteBuffer.wrap(data, offset + 16, 8).order(ByteOrder.LITTLE_ENDIAN)
-                                    .getDouble();
-                            thingHandler.updateStateValue(new LxUuid(data, offset), value);
-                            offset += 24;
-                            length -= 24;
-                        }
+                        thingHandler.updateValueStates(data, offset, length);
                         break;
                     case EVENT_TABLE_OF_TEXT_STATES:
                         while (length > 0) {
@@ -282,21 +277,30 @@ public class LxWebSocket {
                 }
                 logger.trace("[{}] received message: {}", debugId, trace);
             }
+            if (awaitingConfigurationVersion) {
+                awaitingConfigurationVersion = false;
+                stopResponseTimeout();
+                LxResponse resp = getResponse(msg);
+                String lastModified = resp != null ? resp.getValueAsString() : null;
+                logger.debug("[{}] Miniserver configuration last modified: {}", debugId, lastModified);
+                if (lastModified != null && thingHandler.loadConfiguration(lastModified)) {
+                    enableUpdates();
+                } else {
+                    requestConfiguration();
+                }
+                return;
+            }
             if (!awaitingConfiguration) {
                 processResponse(msg);
                 return;
             }
             awaitingConfiguration = false;
             stopResponseTimeout();
-            thingHandler.clearConfiguration();
-
-            LxConfig config = gson.fromJson(msg, LxConfig.class);
-            config.finalize(thingHandler);
-
-            thingHandler.setMiniserverConfig(config);
 
-            if (sendCmdWithResp(CMD_ENABLE_UPDATES, false, false) == null) {
-                disconnect(LxErrorCode.COMMUNICATION_ERROR, "Failed to enable state updates.");
+            if (thingHandler.setMiniserverConfig(msg)) {
+                enableUpdates();
+            } else {
+                disconnect(LxErrorCode.COMMUNICATION_ERROR, "Error parsing Miniserver configuration.");
             }
         } finally {
             webSocketLock.unlock();
@@ -613,24 +617,46 @@ public class LxWebSocket {
 
     /**
      * Perform actions after user authentication is successfully completed.
-     * This method sends a request to receive Miniserver configuration.
+     * This method sends a request to receive modification time of the Miniserver configuration. The configuration
+     * will be requested only if it is not already known.
      */
     private void authenticated() {
         logger.debug("[{}] Websocket authentication successfull.", debugId);
         webSocketLock.lock();
         try {
-            awaitingConfiguration = true;
-            if (sendCmdNoResp(CMD_GET_APP_CONFIG, false)) {
+            awaitingConfigurationVersion = true;
+            if (sendCmdNoResp(CMD_GET_APP_VERSION, false)) {
                 startResponseTimeout();
-                // startKeepAlive();
             } else {
-                disconnect(LxErrorCode.INTERNAL_ERROR, "Error sending get config command.");
+                disconnect(LxErrorCode.INTERNAL_ERROR, "Error sending get config version command.");
             }
         } finally {
             webSocketLock.unlock();
         }
     }
 
+    /**
+     * Send a request to receive Miniserver configuration.
+     */
+    private void requestConfiguration() {
+        awaitingConfiguration = true;
+        if (sendCmdNoResp(CMD_GET_APP_CONFIG, false)) {
+            startResponseTimeout();
+            // startKeepAlive();
+        } else {
+            disconnect(LxErrorCode.INTERNAL_ERROR, "Error sending get config command.");
+        }
+    }
+
+    /**
+     * Send a request to start sending state updates by the Miniserver.
+     */
+    private void enableUpdates() {
+        if (sendCmdWithResp(CMD_ENABLE_UPDATES, false, false) == null) {
+            disconnect(LxErrorCode.COMMUNICATION_ERROR, "Failed to enable state updates.");
+        }
+    }
+
     /**
      * Called when response timeout occurred.
      */
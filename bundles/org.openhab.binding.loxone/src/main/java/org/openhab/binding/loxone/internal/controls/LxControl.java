@@ -15,6 +15,8 @@ package org.openhab.binding.loxone.internal.controls;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -329,6 +331,16 @@ public class LxControl {
         return list;
     }
 
+    /**
+     * Get controls dynamically created by this control and added to the framework with {@link #addControl}. They are
+     * not part of the Miniserver's configuration and must be removed together with this control.
+     *
+     * @return dynamically created controls
+     */
+    public Collection<LxControl> getDynamicControls() {
+        return Collections.emptyList();
+    }
+
     /**
      * Get control's Miniserver states
      *
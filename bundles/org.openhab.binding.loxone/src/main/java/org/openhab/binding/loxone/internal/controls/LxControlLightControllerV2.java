@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -197,6 +198,16 @@ class LxControlLightControllerV2 extends LxControl {
         return activeMoods.contains(moodId);
     }
 
+    /**
+     * Get moods of this controller, which are created dynamically when the list of moods is received
+     *
+     * @return controls of the moods
+     */
+    @Override
+    public Collection<LxControl> getDynamicControls() {
+        return new ArrayList<>(moodList.values());
+    }
+
     /**
      * Check if mood ID is within allowed range
      *
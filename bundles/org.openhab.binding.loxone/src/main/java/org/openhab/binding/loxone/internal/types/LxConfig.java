@@ -12,17 +12,23 @@
  */
 package org.openhab.binding.loxone.internal.types;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.openhab.binding.loxone.internal.LxServerHandlerApi;
 import org.openhab.binding.loxone.internal.controls.LxControl;
 import org.openhab.binding.loxone.internal.controls.LxControl.LxControlConfig;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 
 /**
  * A structure of JSON file http://miniserver/data/LoxAPP3.json used for parsing it with Gson library.
@@ -36,6 +42,9 @@ public class LxConfig {
     @SerializedName("cats")
     private Map<LxUuid, LxCategory> categories;
     public Map<LxUuid, LxControl> controls;
+    public String lastModified;
+    // Fingerprints of the definitions of the controls, including their room and category, set by parse method only
+    private transient Map<LxUuid, Long> fingerprints = new HashMap<>();
 
     public class LxServerInfo {
         public String serialNr;
@@ -59,6 +68,133 @@ public class LxConfig {
                 new LxControlConfig(thingHandler, rooms.get(c.getRoomUuid()), categories.get(c.getCategoryUuid()))));
     }
 
+    /**
+     * Get a fingerprint of a control's definition. The fingerprint covers the control's JSON object (including its
+     * subcontrols) and the control's room and category. If the fingerprint of a control did not change between two
+     * versions of the structure file, the control did not change either.
+     *
+     * @param uuid UUID of the control
+     * @return fingerprint of the control or null if not known
+     */
+    public Long getFingerprint(LxUuid uuid) {
+        return fingerprints.get(uuid);
+    }
+
+    /**
+     * Parse the structure file (LoxAPP3.json) from a stream. Only the sections used by the binding are read, all
+     * other sections are skipped without being deserialized. The controls are deserialized one at a time and a
+     * fingerprint of each control is calculated.
+     *
+     * @param gson   GSON object with registered {@link LxUuid} and {@link LxControl} deserializers
+     * @param reader reader of the structure file
+     * @return parsed structure file
+     * @throws IOException        when the structure file can't be read
+     * @throws JsonParseException when the structure file is not valid
+     */
+    public static LxConfig parse(Gson gson, Reader reader) throws IOException, JsonParseException {
+        LxConfig config = new LxConfig();
+        config.rooms = new HashMap<>();
+        config.categories = new HashMap<>();
+        config.controls = new HashMap<>();
+        Map<LxUuid, Long> containerFingerprints = new HashMap<>();
+
+        try {
+            JsonReader json = new JsonReader(reader);
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "lastModified":
+                        config.lastModified = json.nextString();
+                        break;
+                    case "msInfo":
+                        config.msInfo = gson.fromJson(json, LxServerInfo.class);
+                        break;
+                    case "rooms":
+                        readContainers(gson, json, LxContainer.class, config.rooms, containerFingerprints);
+                        break;
+                    case "cats":
+                        readContainers(gson, json, LxCategory.class, config.categories, containerFingerprints);
+                        break;
+                    case "controls":
+                        json.beginObject();
+                        while (json.hasNext()) {
+                            LxUuid uuid = new LxUuid(json.nextName());
+                            JsonElement element = gson.fromJson(json, JsonElement.class);
+                            config.controls.put(uuid, gson.fromJson(element, LxControl.class));
+                            config.fingerprints.put(uuid, fingerprint(element));
+                        }
+                        json.endObject();
+                        break;
+                    default:
+                        json.skipValue();
+                        break;
+                }
+            }
+            json.endObject();
+        } catch (IllegalStateException e) {
+            throw new JsonParseException(e);
+        }
+
+        // rooms and categories can be placed after the controls in the file
+        config.controls.forEach((uuid, control) -> {
+            if (control != null) {
+                long fingerprint = config.fingerprints.get(uuid);
+                fingerprint = 31 * fingerprint + containerFingerprints.getOrDefault(control.getRoomUuid(), 0L);
+                fingerprint = 31 * fingerprint + containerFingerprints.getOrDefault(control.getCategoryUuid(), 0L);
+                config.fingerprints.put(uuid, fingerprint);
+            }
+        });
+        return config;
+    }
+
+    /**
+     * Read the value of the lastModified field of the structure file, without parsing the rest of the file.
+     *
+     * @param reader reader of the structure file
+     * @return modification time of the structure file or null if not present
+     * @throws IOException when the structure file can't be read
+     */
+    public static String readLastModified(Reader reader) throws IOException {
+        try {
+            JsonReader json = new JsonReader(reader);
+            json.beginObject();
+            while (json.hasNext()) {
+                if ("lastModified".equals(json.nextName())) {
+                    return json.nextString();
+                }
+                json.skipValue();
+            }
+            return null;
+        } catch (IllegalStateException e) {
+            throw new IOException("Invalid structure file", e);
+        }
+    }
+
+    private static <T extends LxContainer> void readContainers(Gson gson, JsonReader json, Class<T> type,
+            Map<LxUuid, T> containers, Map<LxUuid, Long> fingerprints) throws IOException {
+        json.beginObject();
+        while (json.hasNext()) {
+            LxUuid uuid = new LxUuid(json.nextName());
+            JsonElement element = gson.fromJson(json, JsonElement.class);
+            containers.put(uuid, gson.fromJson(element, type));
+            fingerprints.put(uuid, fingerprint(element));
+        }
+        json.endObject();
+    }
+
+    /**
+     * Calculate 64-bit FNV-1a hash of JSON element's string representation
+     */
+    private static long fingerprint(JsonElement element) {
+        String text = element.toString();
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     public static <T> T deserializeObject(JsonObject parent, String name, Type type,
             JsonDeserializationContext context) {
         JsonElement element = parent.get(name);
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.types;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Index of states for decoding of value state event tables received from the Miniserver.
+ * <p>
+ * Each entry of a value state event table consists of a 16 bytes binary UUID of the state and an 8 bytes double
+ * value. The UUIDs are read as two longs and looked up in an open addressing hash table, without creating
+ * {@link LxUuid} objects or boxing the values. The index keeps the last received value of each UUID and only
+ * {@link LxState} objects whose value changed are updated.
+ *
+ * @author agent - initial contribution
+ *
+ */
+public class LxStateIndex {
+    public static final int VALUE_STATE_ENTRY_SIZE = 24;
+
+    private final long[] mostSignificantBits;
+    private final long[] leastSignificantBits;
+    private final LxState[][] states;
+    private final long[] values;
+    private final boolean[] valueReceived;
+    private final int mask;
+
+    /**
+     * Create an index of the states.
+     *
+     * @param statesByUuid states mapped by state UUID, UUIDs that are not in the binary format are not indexed
+     */
+    public LxStateIndex(Map<LxUuid, ? extends Collection<LxState>> statesByUuid) {
+        int capacity = Integer.highestOneBit(Math.max(statesByUuid.size(), 4) * 2 - 1) << 1;
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        states = new LxState[capacity][];
+        values = new long[capacity];
+        valueReceived = new boolean[capacity];
+        mask = capacity - 1;
+
+        statesByUuid.forEach((uuid, uuidStates) -> {
+            String[] parts = uuid.toString().split("-");
+            if (parts.length == 4 && parts[0].length() == 8 && parts[1].length() == 4 && parts[2].length() == 4
+                    && parts[3].length() == 16 && !uuidStates.isEmpty()) {
+                try {
+                    long msb = Long.parseLong(parts[0], 16) << 32 | Long.parseLong(parts[1], 16) << 16
+                            | Long.parseLong(parts[2], 16);
+                    long lsb = Long.parseUnsignedLong(parts[3], 16);
+                    put(msb, lsb, uuidStates.toArray(new LxState[uuidStates.size()]));
+                } catch (NumberFormatException e) {
+                    // not a binary UUID, can't be received in an event table
+                }
+            }
+        });
+    }
+
+    /**
+     * Update the states with the values of a value state event table.
+     *
+     * @param data   buffer with the event table
+     * @param offset offset of the event table in the buffer
+     * @param length length of the event table
+     * @return number of states whose value changed
+     */
+    public int updateValueStates(byte[] data, int offset, int length) {
+        int changed = 0;
+        for (int entry = offset; entry + VALUE_STATE_ENTRY_SIZE <= offset + length; entry += VALUE_STATE_ENTRY_SIZE) {
+            int slot = find(getMostSignificantBits(data, entry), getLeastSignificantBits(data, entry));
+            if (slot < 0) {
+                continue;
+            }
+            long value = readLittleEndianLong(data, entry + 16);
+            if (valueReceived[slot] && values[slot] == value) {
+                continue;
+            }
+            values[slot] = value;
+            valueReceived[slot] = true;
+            changed++;
+            // one boxed value shared by all states with this UUID
+            Double stateValue = Double.longBitsToDouble(value);
+            for (LxState state : states[slot]) {
+                state.setStateValue(stateValue);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Reads the most significant bits of a UUID in the binary format, as represented by the first three groups of
+     * the {@link LxUuid} string.
+     */
+    static long getMostSignificantBits(byte[] data, int offset) {
+        return (readLittleEndianInt(data, offset) & 0xffffffffL) << 32 | (data[offset + 5] & 0xffL) << 24
+                | (data[offset + 4] & 0xffL) << 16 | (data[offset + 7] & 0xffL) << 8 | (data[offset + 6] & 0xffL);
+    }
+
+    /**
+     * Reads the least significant bits of a UUID in the binary format, as represented by the last group of the
+     * {@link LxUuid} string.
+     */
+    static long getLeastSignificantBits(byte[] data, int offset) {
+        long bits = 0;
+        for (int i = 8; i < 16; i++) {
+            bits = bits << 8 | (data[offset + i] & 0xffL);
+        }
+        return bits;
+    }
+
+    private void put(long msb, long lsb, LxState[] uuidStates) {
+        int slot = hash(msb, lsb);
+        while (states[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        mostSignificantBits[slot] = msb;
+        leastSignificantBits[slot] = lsb;
+        states[slot] = uuidStates;
+    }
+
+    private int find(long msb, long lsb) {
+        int slot = hash(msb, lsb);
+        while (states[slot] != null) {
+            if (mostSignificantBits[slot] == msb && leastSignificantBits[slot] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int readLittleEndianInt(byte[] data, int offset) {
+        return (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8 | (data[offset + 2] & 0xff) << 16
+                | (data[offset + 3] & 0xff) << 24;
+    }
+
+    private static long readLittleEndianLong(byte[] data, int offset) {
+        return (readLittleEndianInt(data, offset) & 0xffffffffL)
+                | (long) readLittleEndianInt(data, offset + 4) << 32;
+    }
+}
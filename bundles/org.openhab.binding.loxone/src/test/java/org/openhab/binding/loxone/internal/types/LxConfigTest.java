@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.types;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.loxone.internal.controls.LxControl;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Test class for parsing the structure file with {@link LxConfig#parse}
+ *
+ * @author agent - initial contribution
+ *
+ */
+public class LxConfigTest {
+    private static final LxUuid INFO_ONLY_ANALOG = new LxUuid("0fec5dc3-003e-8800-ffff403fb0c34b9e");
+    private static final LxUuid SPRINKLER_1 = new LxUuid("4255054f-0355-af47-ffff403fb0c34b9e");
+    private static final LxUuid SPRINKLER_2 = new LxUuid("1255054f-0355-af47-ffff403fb0c34b9e");
+
+    private Gson gson;
+    private String structureFile;
+
+    @Before
+    public void setup() {
+        GsonBuilder builder = new GsonBuilder();
+        builder.registerTypeAdapter(LxUuid.class, LxUuid.DESERIALIZER);
+        builder.registerTypeAdapter(LxControl.class, LxControl.DESERIALIZER);
+        gson = builder.create();
+
+        InputStream stream = LxConfigTest.class
+                .getResourceAsStream("/org/openhab/binding/loxone/internal/controls/LoxAPP3.json");
+        assertNotNull(stream);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream));
+        structureFile = reader.lines().collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @Test
+    public void testParseSameAsGson() throws IOException {
+        LxConfig expected = gson.fromJson(structureFile, LxConfig.class);
+        LxConfig config = LxConfig.parse(gson, new StringReader(structureFile));
+
+        assertEquals("2019-03-13 16:39:54", config.lastModified);
+        assertEquals(expected.msInfo.serialNr, config.msInfo.serialNr);
+        assertEquals(expected.msInfo.msName, config.msInfo.msName);
+        assertEquals(expected.controls.keySet(), config.controls.keySet());
+        config.controls.forEach((uuid, control) -> {
+            assertEquals(expected.controls.get(uuid).getClass(), control.getClass());
+            assertEquals(expected.controls.get(uuid).getName(), control.getName());
+            assertNotNull(config.getFingerprint(uuid));
+        });
+    }
+
+    @Test
+    public void testReadLastModified() throws IOException {
+        assertEquals("2019-03-13 16:39:54", LxConfig.readLastModified(new StringReader(structureFile)));
+        assertNull(LxConfig.readLastModified(new StringReader("{\"msInfo\":{\"serialNr\":\"1\"}}")));
+    }
+
+    @Test
+    public void testFingerprintOfChangedControl() throws IOException {
+        LxConfig config = LxConfig.parse(gson, new StringReader(structureFile));
+        LxConfig changed = LxConfig.parse(gson,
+                new StringReader(structureFile.replace("\"Info Only Analog\"", "\"Info Only Analog Changed\"")));
+
+        assertEquals(new HashSet<>(Arrays.asList(INFO_ONLY_ANALOG)), changedControls(config, changed));
+    }
+
+    @Test
+    public void testFingerprintOfControlsInChangedRoom() throws IOException {
+        LxConfig config = LxConfig.parse(gson, new StringReader(structureFile));
+        LxConfig changed = LxConfig.parse(gson,
+                new StringReader(structureFile.replace("\"Room 6\"", "\"Room 6 Changed\"")));
+
+        assertEquals(new HashSet<>(Arrays.asList(SPRINKLER_1, SPRINKLER_2)), changedControls(config, changed));
+    }
+
+    private Set<LxUuid> changedControls(LxConfig config, LxConfig changed) {
+        assertEquals(config.controls.keySet(), changed.controls.keySet());
+        return config.controls.keySet().stream()
+                .filter(uuid -> !config.getFingerprint(uuid).equals(changed.getFingerprint(uuid)))
+                .collect(Collectors.toSet());
+    }
+}
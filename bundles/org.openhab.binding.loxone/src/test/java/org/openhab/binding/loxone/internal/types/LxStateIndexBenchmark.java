@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.types;
+
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.openhab.binding.loxone.internal.controls.LxControl;
+
+/**
+ * Benchmark comparing the decoding of value state event tables with {@link LxStateIndex} to the decoding with
+ * {@link LxUuid} objects and a map lookup per entry.
+ * <p>
+ * This is not a unit test. Run it from the IDE with the test classpath. Without arguments it runs on a generated table
+ * of 1500 states. Alternatively pass a file with a captured event table (the binary message following the
+ * EVENT_TABLE_OF_VALUE_STATES header).
+ *
+ * @author agent - initial contribution
+ *
+ */
+public class LxStateIndexBenchmark {
+    private static final int WARMUP_TABLES = 200;
+    private static final int MEASURED_TABLES = 500;
+    private static final int ROUNDS = 3;
+    private static final int ENTRY_SIZE = LxStateIndex.VALUE_STATE_ENTRY_SIZE;
+
+    private final byte[] table;
+    private final byte[] changedTable;
+    private final Map<LxUuid, Map<LxUuid, LxState>> states = new HashMap<>();
+    private final LxStateIndex index;
+
+    private LxStateIndexBenchmark(byte[] table) {
+        this.table = table;
+        // a copy of the table with all values changed
+        changedTable = table.clone();
+        LxControl control = mock(LxControl.class, withSettings().stubOnly());
+        LxUuid controlUuid = new LxUuid("00000000-0000-0000-0000000000000000");
+        Map<LxUuid, Collection<LxState>> statesByUuid = new HashMap<>();
+        ByteBuffer changedValues = ByteBuffer.wrap(changedTable).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int offset = 0; offset + ENTRY_SIZE <= table.length; offset += ENTRY_SIZE) {
+            LxUuid uuid = new LxUuid(table, offset);
+            LxState state = new LxState(uuid, "value", control);
+            states.put(uuid, Collections.singletonMap(controlUuid, state));
+            statesByUuid.put(uuid, Collections.singletonList(state));
+            changedValues.putDouble(offset + 16, changedValues.getDouble(offset + 16) + 1);
+        }
+        index = new LxStateIndex(statesByUuid);
+    }
+
+    public static void main(String[] args) throws IOException {
+        byte[] table;
+        if (args.length > 0) {
+            table = Files.readAllBytes(Paths.get(args[0]));
+        } else {
+            table = new byte[1500 * ENTRY_SIZE];
+            new Random(1).nextBytes(table);
+            for (int offset = 0; offset < table.length; offset += ENTRY_SIZE) {
+                ByteBuffer.wrap(table, offset + 16, 8).order(ByteOrder.LITTLE_ENDIAN).putDouble(offset % 100);
+            }
+        }
+        new LxStateIndexBenchmark(table).run();
+    }
+
+    private void run() {
+        measure("map, unchanged values", this::decodeWithMap, false);
+        measure("index, unchanged values", this::decodeWithIndex, false);
+        measure("map, changed values", this::decodeWithMap, true);
+        measure("index, changed values", this::decodeWithIndex, true);
+    }
+
+    private void measure(String name, Consumer<byte[]> decoder, boolean changeValues) {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocationBean = threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()
+                        ? (com.sun.management.ThreadMXBean) threadBean
+                        : null;
+        long threadId = Thread.currentThread().getId();
+
+        decode(decoder, WARMUP_TABLES, changeValues);
+        for (int round = 1; round <= ROUNDS; round++) {
+            long allocatedBefore = allocationBean == null ? 0 : allocationBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+
+            decode(decoder, MEASURED_TABLES, changeValues);
+            long durationNanos = System.nanoTime() - start;
+            long allocated = allocationBean == null ? -1
+                    : allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            long entries = (long) MEASURED_TABLES * (table.length / ENTRY_SIZE);
+
+            System.out.println(String.format(Locale.ROOT,
+                    "%s round %d: %d entries/table, %.1f ns/entry, %s bytes allocated/entry", name, round,
+                    table.length / ENTRY_SIZE, (double) durationNanos / entries,
+                    allocated < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", (double) allocated / entries)));
+        }
+    }
+
+    private void decode(Consumer<byte[]> decoder, int tables, boolean changeValues) {
+        for (int i = 0; i < tables; i++) {
+            decoder.accept(changeValues && i % 2 == 1 ? changedTable : table);
+        }
+    }
+
+    /**
+     * Decoding as done before the {@link LxStateIndex} was introduced.
+     */
+    private void decodeWithMap(byte[] data) {
+        int offset = 0;
+        int length = data.length;
+        while (length > 0) {
+            Double value = ByteBuffer.wrap(data, offset + 16, 8).order(ByteOrder.LITTLE_ENDIAN).getDouble();
+            Map<LxUuid, LxState> perStateUuid = states.get(new LxUuid(data, offset));
+            if (perStateUuid != null) {
+                perStateUuid.forEach((controlUuid, state) -> state.setStateValue(value));
+            }
+            offset += ENTRY_SIZE;
+            length -= ENTRY_SIZE;
+        }
+    }
+
+    private void decodeWithIndex(byte[] data) {
+        index.updateValueStates(data, 0, data.length);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.types;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.openhab.binding.loxone.internal.controls.LxControl;
+
+/**
+ * Test class for {@link LxStateIndex}
+ *
+ * @author agent - initial contribution
+ *
+ */
+public class LxStateIndexTest {
+    private static final byte[] SWITCH_STATE_UUID = { 0x5d, 0x6b, 0x2f, 0x0f, 0x49, 0x03, (byte) 0xb1, (byte) 0x83,
+            (byte) 0xff, (byte) 0xff, 0x40, 0x3f, (byte) 0xb0, (byte) 0xc3, 0x4b, (byte) 0x9e };
+    private static final byte[] UNKNOWN_STATE_UUID = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 };
+
+    private final LxControl control1 = mock(LxControl.class);
+    private final LxControl control2 = mock(LxControl.class);
+
+    @Test
+    public void testBinaryUuid() {
+        assertEquals(new LxUuid("0f2f6b5d-0349-83b1-ffff403fb0c34b9e"), new LxUuid(SWITCH_STATE_UUID, 0));
+        assertEquals(0x0f2f6b5d034983b1L, LxStateIndex.getMostSignificantBits(SWITCH_STATE_UUID, 0));
+        assertEquals(0xffff403fb0c34b9eL, LxStateIndex.getLeastSignificantBits(SWITCH_STATE_UUID, 0));
+    }
+
+    @Test
+    public void testUpdateSharedState() {
+        LxUuid uuid = new LxUuid("0f2f6b5d-0349-83b1-ffff403fb0c34b9e");
+        LxState state1 = new LxState(uuid, "active", control1);
+        LxState state2 = new LxState(uuid, "value", control2);
+        LxStateIndex index = new LxStateIndex(Collections.singletonMap(uuid, Arrays.asList(state1, state2)));
+
+        byte[] table = table(SWITCH_STATE_UUID, 1.0);
+        assertEquals(1, index.updateValueStates(table, 0, table.length));
+        assertEquals(1.0, state1.getStateValue());
+        assertEquals(1.0, state2.getStateValue());
+        verify(control1).onStateChange(state1);
+        verify(control2).onStateChange(state2);
+    }
+
+    @Test
+    public void testUnchangedValuesSkipped() {
+        LxUuid uuid = new LxUuid("0f2f6b5d-0349-83b1-ffff403fb0c34b9e");
+        LxState state = new LxState(uuid, "active", control1);
+        LxStateIndex index = new LxStateIndex(Collections.singletonMap(uuid, Collections.singletonList(state)));
+
+        byte[] table = table(SWITCH_STATE_UUID, 0.0);
+        assertEquals(1, index.updateValueStates(table, 0, table.length));
+        assertEquals(0, index.updateValueStates(table, 0, table.length));
+        table = table(SWITCH_STATE_UUID, 1.0);
+        assertEquals(1, index.updateValueStates(table, 0, table.length));
+        assertEquals(1.0, state.getStateValue());
+        verify(control1, times(2)).onStateChange(state);
+    }
+
+    @Test
+    public void testUnknownUuidIgnored() {
+        LxUuid uuid = new LxUuid("0f2f6b5d-0349-83b1-ffff403fb0c34b9e");
+        LxState state = new LxState(uuid, "active", control1);
+        LxStateIndex index = new LxStateIndex(Collections.singletonMap(uuid, Collections.singletonList(state)));
+
+        byte[] table = table(UNKNOWN_STATE_UUID, 1.0);
+        assertEquals(0, index.updateValueStates(table, 0, table.length));
+        assertNull(state.getStateValue());
+        verify(control1, never()).onStateChange(state);
+    }
+
+    @Test
+    public void testManyStates() {
+        Random random = new Random(1);
+        Map<LxUuid, Collection<LxState>> states = new HashMap<>();
+        byte[] table = new byte[1500 * LxStateIndex.VALUE_STATE_ENTRY_SIZE];
+        random.nextBytes(table);
+        for (int offset = 0; offset < table.length; offset += LxStateIndex.VALUE_STATE_ENTRY_SIZE) {
+            LxUuid uuid = new LxUuid(table, offset);
+            states.put(uuid, Collections.singletonList(new LxState(uuid, "value", control1)));
+            ByteBuffer.wrap(table, offset + 16, 8).order(ByteOrder.LITTLE_ENDIAN).putDouble(offset);
+        }
+        LxStateIndex index = new LxStateIndex(states);
+
+        assertEquals(1500, index.updateValueStates(table, 0, table.length));
+        states.forEach((uuid, uuidStates) -> assertNotNull(uuidStates.iterator().next().getStateValue()));
+    }
+
+    private static byte[] table(byte[] uuid, double value) {
+        ByteBuffer buffer = ByteBuffer.allocate(LxStateIndex.VALUE_STATE_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(uuid).putDouble(value);
+        return buffer.array();
+    }
+}
@@ -31,12 +31,16 @@ public class NetworkBindingConfiguration {
     public BigDecimal cacheDeviceStateTimeInMS = BigDecimal.valueOf(2000);
     public String arpPingToolPath = "arping";
     public @NonNullByDefault({}) ArpPingUtilEnum arpPingUtilMethod;
+    public BigDecimal scanConnectionsPerSecond = BigDecimal.valueOf(1000);
+    public BigDecimal scanMaxPendingConnections = BigDecimal.valueOf(500);
 
     public void update(NetworkBindingConfiguration newConfiguration) {
         this.allowSystemPings = newConfiguration.allowSystemPings;
         this.allowDHCPlisten = newConfiguration.allowDHCPlisten;
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
+        this.scanConnectionsPerSecond = newConfiguration.scanConnectionsPerSecond;
+        this.scanMaxPendingConnections = newConfiguration.scanMaxPendingConnections;
 
         NetworkUtils networkUtils = new NetworkUtils();
         this.arpPingUtilMethod = networkUtils.determineNativeARPpingMethod(arpPingToolPath);
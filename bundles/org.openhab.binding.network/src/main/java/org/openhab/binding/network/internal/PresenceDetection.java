@@ -17,18 +17,26 @@ import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.cache.ExpiringCache;
+import org.eclipse.smarthome.core.common.NamedThreadFactory;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
@@ -49,6 +57,13 @@ import org.slf4j.LoggerFactory;
 public class PresenceDetection implements IPRequestReceivedCallback {
     public static final double NOT_REACHABLE = -1;
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
+    private static final int MAX_DETECTION_THREADS = 32;
+
+    /**
+     * All presence detections share this bounded pool for the checks which block a thread (ICMP and ARP pings).
+     * TCP service pings do not need a thread at all. Idle threads end after a minute.
+     */
+    private static final ExecutorService SHARED_EXECUTOR = createSharedExecutor();
 
     NetworkUtils networkUtils = new NetworkUtils();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
@@ -62,6 +77,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     protected @Nullable IpPingMethodEnum pingMethod = null;
     private boolean iosDevice;
     private Set<Integer> tcpPorts = new HashSet<>();
+    private @Nullable ExecutorService executorService;
 
     private long refreshIntervalInMS = 60000;
     private int timeoutInMS = 5000;
@@ -75,7 +91,13 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    /** Signals the end of the ongoing detection, null if there is no ongoing detection */
+    protected @Nullable CountDownLatch detectionFinished;
+    private final List<Future<?>> runningChecks = new ArrayList<>();
+    /** Start of the ongoing detection and of its last check, which had to wait for a thread of the shared pool */
+    private long detectionStartInMS;
+    private long lastCheckStartInMS;
+    private int waitingChecks;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
@@ -271,14 +293,36 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+    private static ExecutorService createSharedExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_DETECTION_THREADS, MAX_DETECTION_THREADS, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("network-presenceDetection"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Use the given executor for the blocking checks instead of the pool shared by all presence detections.
+     * A network scan uses its own executor, so that it does not delay the presence detection of the things.
+     *
+     * @param executorService An executor or null to use the shared pool
+     */
+    public void setExecutorService(@Nullable ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Return the executor for the blocking checks of the presence detection.
+     */
+    public ExecutorService getExecutorService() {
+        ExecutorService executorService = this.executorService;
+        return executorService != null ? executorService : SHARED_EXECUTOR;
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The blocking ICMP and ARP pings are performed by
+     * a bounded thread pool shared by all presence detections, the TCP connection attempts
+     * are performed with non-blocking sockets.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -292,74 +336,70 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        synchronized (this) {
+            if (detectionFinished != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            Set<String> interfaceNames = null;
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
-            interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
-        }
+            currentCheck = 0;
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
+                detectionChecks += 1;
+            } else if (arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
+                interfaceNames = networkUtils.getInterfaceNames();
+                detectionChecks += interfaceNames.size();
+            }
 
-        if (detectionChecks == 0) {
-            return false;
-        }
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+            detectionFinished = new CountDownLatch(1);
+            detectionStartInMS = System.currentTimeMillis();
+            lastCheckStartInMS = detectionStartInMS;
+            waitingChecks = 0;
+            final ExecutorService executorService = getExecutorService();
+            // Checks may finish while others are still submitted, count the submission itself as an additional check
+            currentCheck = -1;
 
-        for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
+            for (Integer tcpPort : tcpPorts) {
                 performServicePing(tcpPort);
-                checkIfFinished();
-            });
-        }
-
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and 
-        // each own executor for each network interface for other tools
-        if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-               Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-               // arp-ping.exe tool capable of handling multiple interfaces by itself
-               performARPping("");
-               checkIfFinished();
-            });
-        } else if (interfaceNames != null) {                        
-            for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                   Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                   performARPping(interfaceName);
-                   checkIfFinished();
-               });               
             }
-        }
 
-        // ICMP ping
-        if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
+            // ARP ping for IPv4 addresses. Use a single check for the Windows tool and
+            // one check for each network interface for other tools
+            if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
+                // arp-ping.exe tool capable of handling multiple interfaces by itself
+                submitCheck(executorService, () -> performARPping(""));
+            } else if (interfaceNames != null) {
+                for (final String interfaceName : interfaceNames) {
+                    submitCheck(executorService, () -> performARPping(interfaceName));
                 }
-                checkIfFinished();
-            });
+            }
+
+            // ICMP ping
+            if (pingMethod != null) {
+                submitCheck(executorService, () -> {
+                    if (pingMethod != IpPingMethodEnum.JAVA_PING) {
+                        performSystemPing();
+                    } else {
+                        performJavaPing();
+                    }
+                });
+            }
+            checkIfFinished();
         }
 
         if (waitForDetectionToFinish) {
@@ -369,28 +409,65 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    private void submitCheck(ExecutorService executorService, Runnable check) {
+        FutureTask<?> task = new FutureTask<>(() -> {
+            checkStarted();
+            check.run();
+            checkIfFinished();
+        }, null);
+        runningChecks.add(task);
+        waitingChecks += 1;
+        executorService.execute(task);
+    }
+
+    /**
+     * Called when a check got a thread of the shared pool. The timeout of a detection starts with its last check,
+     * so checks waiting in the queue of a busy pool are not reported as unreachable.
+     */
+    private synchronized void checkStarted() {
+        if (detectionFinished == null) {
+            return;
+        }
+        waitingChecks -= 1;
+        lastCheckStartInMS = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the time in milliseconds the ongoing detection may still take, 0 if there is no ongoing detection.
+     */
+    private synchronized long getRemainingDetectionTime() {
+        if (detectionFinished == null) {
+            return 0;
+        }
+        if (waitingChecks > 0) {
+            return timeoutInMS + 100;
+        }
+        return Math.max(0, lastCheckStartInMS + timeoutInMS + 100 - System.currentTimeMillis());
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and all remaining checks are cancelled.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        CountDownLatch finished = detectionFinished;
+        if (finished == null) {
             return;
         }
-        // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        // Finish the detection process. This has to happen before cancelling the remaining checks, as cancelled
+        // service pings call checkIfFinished() synchronously.
+        detectionFinished = null;
         detectionChecks = 0;
+        cancelRunningChecks();
+        finished.countDown();
 
         PresenceDetectionValue v;
 
         // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
         // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+        if (lastSeenInMS < detectionStartInMS && lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
             // We haven't seen the device in the detection process
             v = new PresenceDetectionValue(hostname, -1);
         } else {
@@ -406,6 +483,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.finalDetectionResult(v);
     }
 
+    private void cancelRunningChecks() {
+        List<Future<?>> checks = new ArrayList<>(runningChecks);
+        runningChecks.clear();
+        for (Future<?> check : checks) {
+            check.cancel(true);
+        }
+    }
+
     /**
      * This method is called after each individual check and increases a check counter.
      * If the counter equals the total checks,the final result is submitted. This will
@@ -413,6 +498,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * Thread safe.
      */
     private synchronized void checkIfFinished() {
+        if (detectionFinished == null) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -421,22 +509,31 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection checks to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CountDownLatch finished = detectionFinished;
+        if (finished == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            long remainingTime;
+            while ((remainingTime = getRemainingDetectionTime()) > 0) {
+                if (finished.await(remainingTime, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+            }
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                detectionFinished = null;
+                detectionChecks = 0;
+                cancelRunningChecks();
+            }
+            finished.countDown();
         }
     }
 
@@ -465,22 +562,35 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
+    /**
+     * Starts a non-blocking TCP connection attempt to the given port. The result is
+     * reported as soon as the connection attempt finishes.
+     *
+     * @param tcpPort The tcp port
+     */
     protected void performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            double pingTime = System.nanoTime();
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null
-                    && networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS)) {
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            checkIfFinished();
+            return;
+        }
+        final double pingTime = System.nanoTime();
+        CompletableFuture<Boolean> servicePing = networkUtils.servicePingAsync(destinationAddress, tcpPort,
+                timeoutInMS);
+        runningChecks.add(servicePing);
+        servicePing.whenComplete((reachable, e) -> {
+            if (e instanceof IOException) {
+                // This should not happen and might be a user configuration issue, we log a warning message therefore.
+                logger.warn("Could not create a socket connection", e);
+            } else if (reachable != null && reachable) {
                 final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
                 v.addReachableTcpService(tcpPort);
                 updateListener.partialDetectionResult(v);
             }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+            checkIfFinished();
+        });
     }
 
     /**
@@ -22,6 +22,7 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +37,7 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.utils.AsyncServicePing;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -49,6 +51,10 @@ import org.slf4j.LoggerFactory;
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
  *
+ * The TCP ports of all IPs are swept with non-blocking connection attempts by a {@link ServicePortSweep},
+ * the ICMP and ARP pings are performed by a small thread pool of the scan. Devices are reported as soon as
+ * they answer.
+ *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
@@ -65,8 +71,9 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private Integer scannedIPcount = 0;
+    private final AtomicInteger pendingIPcount = new AtomicInteger();
     private @Nullable ExecutorService executorService = null;
+    private @Nullable ServicePortSweep servicePortSweep = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
@@ -96,9 +103,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
-        }
+        stopScan();
         super.deactivate();
     }
 
@@ -117,66 +122,76 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
 
     @Override
     public void finalDetectionResult(PresenceDetectionValue value) {
+        ipScanned();
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the service port sweep and the ping detection for each IP on each interface on the network
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
+    protected synchronized void startScan() {
+        if (executorService != null) {
             return;
         }
+        final ExecutorService service = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        executorService = service;
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount = 0;
+        // The service port sweep counts as an additional IP
+        pendingIPcount.set(networkIPs.size() + 1);
 
+        // TCP devices
+        final AsyncServicePing servicePing = AsyncServicePing.getInstance();
+        final ServicePortSweep sweep = new ServicePortSweep(networkIPs, tcpServicePorts, PING_TIMEOUT_IN_MS,
+                configuration.scanConnectionsPerSecond.intValue(), configuration.scanMaxPendingConnections.intValue(),
+                servicePing::ping, this::newServiceDevice, this::ipScanned);
+        servicePortSweep = sweep;
+        sweep.start(scheduler);
+
+        // Ping devices
         for (String ip : networkIPs) {
             final PresenceDetection s = new PresenceDetection(this, 2000);
             s.setHostname(ip);
             s.setIOSDevice(true);
             s.setUseDhcpSniffing(false);
             s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
-                    }
-                }
-            });
+            s.setServicePorts(Collections.emptySet());
+            s.setExecutorService(service);
+
+            if (!s.performPresenceDetection(false)) {
+                ipScanned();
+            }
+        }
+    }
+
+    /**
+     * Called for each IP with a finished ping detection and once for the finished service port sweep.
+     * Stops the scan after the last one.
+     */
+    private void ipScanned() {
+        if (pendingIPcount.decrementAndGet() == 0) {
+            logger.trace("Scan of all IPs successful");
+            scheduler.execute(this::stopScan);
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        final ServicePortSweep sweep = servicePortSweep;
+        if (sweep != null) {
+            sweep.stop();
+            servicePortSweep = null;
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
         }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
-        service.shutdown();
+        service.shutdownNow();
         executorService = null;
     }
 
@@ -186,7 +201,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the checks started in {@link #startScan()}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -229,7 +244,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the checks started in {@link #startScan()}.
      *
      * @param ip The device IP
      */
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sweeps a list of IPs for open TCP service ports. The connection attempts are non-blocking, so a single thread is
+ * able to keep many of them in flight. New connection attempts are started with a limited rate and up to a limited
+ * number of pending attempts, so the network and the local socket limits are not overwhelmed.
+ *
+ * Every open port is reported as soon as the connection was established.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ServicePortSweep {
+    static final int TICK_IN_MS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(ServicePortSweep.class);
+
+    private final Iterator<String> ips;
+    private final Set<Integer> ports;
+    private final int timeoutInMS;
+    private final int probesPerTick;
+    private final int maxPendingProbes;
+    private final BiFunction<InetSocketAddress, Integer, CompletableFuture<Boolean>> servicePing;
+    private final BiConsumer<String, Integer> reachableCallback;
+    private final Runnable finishedCallback;
+
+    private final List<CompletableFuture<Boolean>> pendingProbes = new ArrayList<>();
+    private @Nullable String currentIp;
+    private Iterator<Integer> currentPorts;
+    private @Nullable ScheduledFuture<?> sweepJob;
+    private int probeCount;
+
+    /**
+     * Creates a sweep.
+     *
+     * @param ips The IPs to sweep
+     * @param ports The TCP ports to try on every IP
+     * @param timeoutInMS The timeout of a connection attempt
+     * @param probesPerSecond The maximum number of connection attempts started per second
+     * @param maxPendingProbes The maximum number of pending connection attempts
+     * @param servicePing Starts a non-blocking connection attempt to the given address with the given timeout
+     * @param reachableCallback Called with IP and port of each open port
+     * @param finishedCallback Called once all connection attempts are finished
+     */
+    public ServicePortSweep(Collection<String> ips, Set<Integer> ports, int timeoutInMS, int probesPerSecond,
+            int maxPendingProbes, BiFunction<InetSocketAddress, Integer, CompletableFuture<Boolean>> servicePing,
+            BiConsumer<String, Integer> reachableCallback, Runnable finishedCallback) {
+        this.ips = new ArrayList<>(ips).iterator();
+        this.ports = ports;
+        this.timeoutInMS = timeoutInMS;
+        this.probesPerTick = Math.max(1, probesPerSecond * TICK_IN_MS / 1000);
+        this.maxPendingProbes = Math.max(1, maxPendingProbes);
+        this.servicePing = servicePing;
+        this.reachableCallback = reachableCallback;
+        this.finishedCallback = finishedCallback;
+        this.currentPorts = ports.iterator();
+    }
+
+    /**
+     * Starts the sweep.
+     *
+     * @param scheduler The scheduler used to start the connection attempts
+     */
+    public synchronized void start(ScheduledExecutorService scheduler) {
+        if (sweepJob == null) {
+            sweepJob = scheduler.scheduleWithFixedDelay(this::startProbes, 0, TICK_IN_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the sweep and aborts all pending connection attempts. The finished callback is not called.
+     */
+    public synchronized void stop() {
+        ScheduledFuture<?> job = sweepJob;
+        sweepJob = null;
+        if (job != null) {
+            job.cancel(false);
+        }
+        for (CompletableFuture<Boolean> probe : new ArrayList<>(pendingProbes)) {
+            probe.cancel(false);
+        }
+        pendingProbes.clear();
+    }
+
+    /**
+     * @return The number of connection attempts started so far
+     */
+    public synchronized int getProbeCount() {
+        return probeCount;
+    }
+
+    synchronized void startProbes() {
+        if (sweepJob == null) {
+            return;
+        }
+        int budget = probesPerTick;
+        while (budget > 0 && pendingProbes.size() < maxPendingProbes) {
+            String ip = currentIp;
+            if (ip == null || !currentPorts.hasNext()) {
+                if (!ips.hasNext() || ports.isEmpty()) {
+                    break;
+                }
+                ip = ips.next();
+                currentIp = ip;
+                currentPorts = ports.iterator();
+            }
+            startProbe(ip, currentPorts.next());
+            budget--;
+        }
+        checkIfFinished();
+    }
+
+    private void startProbe(String ip, int port) {
+        probeCount++;
+        CompletableFuture<Boolean> probe = servicePing.apply(new InetSocketAddress(ip, port), timeoutInMS);
+        pendingProbes.add(probe);
+        probe.whenComplete((reachable, e) -> {
+            if (reachable != null && reachable) {
+                reachableCallback.accept(ip, port);
+            } else if (e != null) {
+                logger.trace("Service ping to {}:{} failed", ip, port, e);
+            }
+            synchronized (this) {
+                if (pendingProbes.remove(probe)) {
+                    checkIfFinished();
+                }
+            }
+        });
+    }
+
+    private void checkIfFinished() {
+        if (sweepJob == null || !pendingProbes.isEmpty() || (ips.hasNext() && !ports.isEmpty())
+                || currentPorts.hasNext()) {
+            return;
+        }
+        ScheduledFuture<?> job = sweepJob;
+        sweepJob = null;
+        if (job != null) {
+            job.cancel(false);
+        }
+        logger.trace("Service port sweep finished after {} connection attempts", probeCount);
+        finishedCallback.run();
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs TCP service pings (connection attempts) with non-blocking sockets. A single selector thread handles all
+ * pending connection attempts of the binding, so no thread is blocked while waiting for a host to answer.
+ *
+ * The selector thread is started on demand and ends itself as soon as there are no more pending connection attempts.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AsyncServicePing {
+    private static final AsyncServicePing INSTANCE = new AsyncServicePing();
+
+    private final Logger logger = LoggerFactory.getLogger(AsyncServicePing.class);
+    private final Queue<Probe> newProbes = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+    private @Nullable Thread selectorThread;
+
+    private static class Probe {
+        final InetSocketAddress address;
+        final long deadline;
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        @Nullable
+        SocketChannel channel;
+
+        Probe(InetSocketAddress address, long deadline) {
+            this.address = address;
+            this.deadline = deadline;
+        }
+    }
+
+    public static AsyncServicePing getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Try to establish a tcp connection to the given address. The returned future completes with false if a timeout
+     * occurred or the connection was denied. It completes exceptionally on any other IO error.
+     *
+     * Cancelling the returned future aborts the connection attempt.
+     *
+     * @param address The address to connect to
+     * @param timeout Timeout in ms
+     * @return A future with the result of the connection attempt
+     */
+    public CompletableFuture<Boolean> ping(InetSocketAddress address, int timeout) {
+        Probe probe = new Probe(address, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout));
+        newProbes.add(probe);
+        try {
+            startOrWakeUp();
+        } catch (IOException e) {
+            newProbes.remove(probe);
+            probe.result.completeExceptionally(e);
+        }
+        return probe.result;
+    }
+
+    /**
+     * @return The number of connection attempts which have not been started yet
+     */
+    public int getQueuedCount() {
+        return newProbes.size();
+    }
+
+    private synchronized void startOrWakeUp() throws IOException {
+        Selector selector = this.selector;
+        if (selector != null && selectorThread != null) {
+            selector.wakeup();
+            return;
+        }
+        final Selector newSelector = Selector.open();
+        this.selector = newSelector;
+        Thread thread = new Thread(() -> run(newSelector), "OH-binding-network-servicePing");
+        thread.setDaemon(true);
+        selectorThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Ends the selector thread, if there is no pending work.
+     *
+     * @return true if the thread should end
+     */
+    private synchronized boolean stopIfIdle(Selector selector) {
+        if (!newProbes.isEmpty() || !selector.keys().isEmpty()) {
+            return false;
+        }
+        this.selector = null;
+        selectorThread = null;
+        return true;
+    }
+
+    private void run(Selector selector) {
+        PriorityQueue<Probe> pending = new PriorityQueue<>(Comparator.comparingLong(p -> p.deadline));
+        try {
+            while (true) {
+                Probe probe;
+                while ((probe = newProbes.poll()) != null) {
+                    if (startConnect(selector, probe)) {
+                        pending.add(probe);
+                    }
+                }
+
+                // Expire timed out connection attempts. Finished or cancelled ones are dropped lazily, as soon as
+                // they reach the head of the queue.
+                long now = System.nanoTime();
+                Probe head;
+                while ((head = pending.peek()) != null && (head.result.isDone() || head.deadline - now <= 0)) {
+                    finish(selector, pending.poll(), false, null);
+                }
+
+                if (pending.isEmpty()) {
+                    selector.selectNow();
+                    if (stopIfIdle(selector)) {
+                        break;
+                    }
+                    continue;
+                }
+
+                long timeout = Math.max(1, TimeUnit.NANOSECONDS.toMillis(pending.peek().deadline - now));
+                selector.select(timeout);
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    Probe p = (Probe) key.attachment();
+                    try {
+                        finish(selector, p, ((SocketChannel) key.channel()).finishConnect(), null);
+                    } catch (ConnectException | NoRouteToHostException e) {
+                        finish(selector, p, false, null);
+                    } catch (IOException e) {
+                        finish(selector, p, false, e);
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException e) {
+            logger.warn("Service ping selector failed", e);
+            synchronized (this) {
+                this.selector = null;
+                selectorThread = null;
+            }
+            pending.forEach(p -> finish(selector, p, false, e));
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Starts a non-blocking connection attempt.
+     *
+     * @return true if the connection attempt is pending, false if it is already finished
+     */
+    private boolean startConnect(Selector selector, Probe probe) {
+        if (probe.result.isDone()) {
+            return false;
+        }
+        try {
+            SocketChannel channel = SocketChannel.open();
+            probe.channel = channel;
+            channel.configureBlocking(false);
+            if (channel.connect(probe.address)) {
+                finish(selector, probe, true, null);
+                return false;
+            }
+            channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            return true;
+        } catch (ConnectException | NoRouteToHostException e) {
+            finish(selector, probe, false, null);
+        } catch (IOException e) {
+            finish(selector, probe, false, e);
+        }
+        return false;
+    }
+
+    private void finish(Selector selector, Probe probe, boolean reachable, @Nullable IOException e) {
+        SocketChannel channel = probe.channel;
+        if (channel != null) {
+            SelectionKey key = channel.keyFor(selector);
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+        if (e != null) {
+            probe.result.completeExceptionally(e);
+        } else {
+            probe.result.complete(reachable);
+        }
+    }
+}
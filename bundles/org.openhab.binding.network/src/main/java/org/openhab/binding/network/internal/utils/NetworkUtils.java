@@ -32,6 +32,7 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -164,6 +165,19 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Try to establish a tcp connection to the given port without blocking the calling thread.
+     * The returned future completes with false if a timeout occurred or the connection was denied.
+     *
+     * @param address The IP address
+     * @param port The tcp port. Must be not 0.
+     * @param timeout Timeout in ms
+     * @return A future with the result, cancel it to abort the connection attempt
+     */
+    public CompletableFuture<Boolean> servicePingAsync(InetAddress address, int port, int timeout) {
+        return AsyncServicePing.getInstance().ping(new InetSocketAddress(address, port), timeout);
+    }
+
     /**
      * Return the working method for the native system ping. If no native ping
      * works JavaPing is returned.
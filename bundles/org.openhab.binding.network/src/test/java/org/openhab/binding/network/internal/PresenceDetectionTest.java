@@ -18,8 +18,10 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -89,11 +91,11 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is performed.
+    // We will check if they are started and return in time.
     @Test
     public void threadCountTest() {
-        assertNull(subject.executorService);
+        assertNull(subject.detectionFinished);
 
         doNothing().when(subject).performARPping(any());
         doNothing().when(subject).performJavaPing();
@@ -102,13 +104,59 @@ public class PresenceDetectionTest {
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionFinished);
 
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detectionFinished);
+    }
+
+    @Test
+    public void cancelledServicePingDoesNotSubmitSecondFinalResult() {
+        doNothing().when(subject).performARPping(any());
+        doNothing().when(subject).performSystemPing();
+        // The service ping never finishes and is cancelled at the end of the detection
+        doReturn(new CompletableFuture<Boolean>()).when(networkUtils).servicePingAsync(any(InetAddress.class),
+                anyInt(), anyInt());
+
+        assertTrue(subject.performPresenceDetection(false));
+        subject.waitForPresenceDetection();
+
+        verify(listener, times(1)).finalDetectionResult(any());
+        assertNull(subject.detectionFinished);
+    }
+
+    @Test
+    public void checksWaitingForAThreadAreNotTimedOut() throws InterruptedException {
+        doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
+                any(), anyInt());
+        doReturn(CompletableFuture.completedFuture(false)).when(networkUtils).servicePingAsync(any(InetAddress.class),
+                anyInt(), anyInt());
+        doReturn(executorService).when(subject).getExecutorService();
+
+        assertTrue(subject.performPresenceDetection(false));
+        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService, times(2)).execute(capture.capture());
+
+        // The shared pool is busy and the checks get a thread only after the timeout of 300ms
+        Thread busyPool = new Thread(() -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException ignored) {
+            }
+            for (Runnable r : capture.getAllValues()) {
+                r.run();
+            }
+        });
+        busyPool.start();
+        subject.waitForPresenceDetection();
+        busyPool.join();
+
+        ArgumentCaptor<PresenceDetectionValue> result = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener, times(1)).finalDetectionResult(result.capture());
+        assertTrue(result.getValue().isReachable());
     }
 
     @Test
@@ -116,7 +164,8 @@ public class PresenceDetectionTest {
         doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
         doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
                 any(), anyInt());
-        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(true)).when(networkUtils).servicePingAsync(any(InetAddress.class),
+                anyInt(), anyInt());
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
@@ -138,22 +187,23 @@ public class PresenceDetectionTest {
         doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
         doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
                 any(), anyInt());
-        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(true)).when(networkUtils).servicePingAsync(any(InetAddress.class),
+                anyInt(), anyInt());
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        doReturn(executorService).when(subject).getExecutorService();
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
-        // There should be no straight callback yet
-        verify(callback, times(0)).accept(any());
+        assertNotNull(subject.detectionFinished);
+        // The non-blocking TCP check finished already, so there is a callback
+        verify(callback, times(1)).accept(any());
 
-        // Perform the different presence detection threads now
+        // Perform the different blocking presence detection checks now
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
+        verify(executorService, times(2)).execute(capture.capture());
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
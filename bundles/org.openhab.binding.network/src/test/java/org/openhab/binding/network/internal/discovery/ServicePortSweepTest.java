@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+/**
+ * Tests cases for {@see ServicePortSweep}
+ *
+ * @author agent - Initial contribution
+ */
+public class ServicePortSweepTest {
+    private final List<InetSocketAddress> pingedAddresses = new ArrayList<>();
+    private final List<CompletableFuture<Boolean>> pings = new ArrayList<>();
+    private final List<String> reachable = new ArrayList<>();
+    private int finished;
+
+    @Mock
+    ScheduledExecutorService scheduler;
+
+    @Mock
+    ScheduledFuture<?> sweepJob;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        doReturn(sweepJob).when(scheduler).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+    }
+
+    private ServicePortSweep createSweep(int probesPerSecond, int maxPendingProbes) {
+        ServicePortSweep sweep = new ServicePortSweep(Arrays.asList("192.168.0.1", "192.168.0.2", "192.168.0.3"),
+                new LinkedHashSet<>(Arrays.asList(80, 554)), 500, probesPerSecond, maxPendingProbes, (address, t) -> {
+                    CompletableFuture<Boolean> ping = new CompletableFuture<>();
+                    pingedAddresses.add(address);
+                    pings.add(ping);
+                    return ping;
+                }, (ip, port) -> reachable.add(ip + ":" + port), () -> finished++);
+        sweep.start(scheduler);
+        verify(scheduler).scheduleWithFixedDelay(any(), eq(0L), eq((long) ServicePortSweep.TICK_IN_MS),
+                eq(TimeUnit.MILLISECONDS));
+        return sweep;
+    }
+
+    @Test
+    public void limitsPendingProbes() {
+        ServicePortSweep sweep = createSweep(10000, 2);
+
+        sweep.startProbes();
+        assertEquals(2, pings.size());
+        assertEquals(new InetSocketAddress("192.168.0.1", 80), pingedAddresses.get(0));
+        assertEquals(new InetSocketAddress("192.168.0.1", 554), pingedAddresses.get(1));
+
+        // No free slot, no new probe
+        sweep.startProbes();
+        assertEquals(2, pings.size());
+
+        pings.get(0).complete(true);
+        pings.get(1).complete(false);
+        assertEquals(Arrays.asList("192.168.0.1:80"), reachable);
+
+        sweep.startProbes();
+        assertEquals(4, pings.size());
+        assertEquals(0, finished);
+    }
+
+    @Test
+    public void limitsRate() {
+        ServicePortSweep sweep = createSweep(20, 100);
+
+        // 20 probes per second are 2 probes per tick
+        sweep.startProbes();
+        assertEquals(2, pings.size());
+        sweep.startProbes();
+        assertEquals(4, pings.size());
+    }
+
+    @Test
+    public void finishesAfterLastProbe() {
+        ServicePortSweep sweep = createSweep(10000, 100);
+
+        sweep.startProbes();
+        assertEquals(6, pings.size());
+        assertEquals(6, sweep.getProbeCount());
+
+        for (int i = 0; i < 5; ++i) {
+            pings.get(i).complete(false);
+        }
+        assertEquals(0, finished);
+
+        pings.get(5).complete(true);
+        assertEquals(1, finished);
+        assertEquals(Arrays.asList("192.168.0.3:554"), reachable);
+        verify(sweepJob).cancel(false);
+
+        // Further ticks do nothing
+        sweep.startProbes();
+        assertEquals(6, pings.size());
+        assertEquals(1, finished);
+    }
+
+    @Test
+    public void stopCancelsPendingProbes() {
+        ServicePortSweep sweep = createSweep(10000, 100);
+
+        sweep.startProbes();
+        sweep.stop();
+        verify(sweepJob).cancel(false);
+        assertTrue(pings.stream().allMatch(CompletableFuture::isCancelled));
+        assertTrue(reachable.isEmpty());
+    }
+}
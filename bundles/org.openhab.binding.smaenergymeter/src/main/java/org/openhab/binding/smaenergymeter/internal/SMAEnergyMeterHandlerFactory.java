@@ -20,7 +20,9 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
 import org.openhab.binding.smaenergymeter.internal.handler.SMAEnergyMeterHandler;
+import org.openhab.binding.smaenergymeter.internal.packet.PacketListenerRegistry;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 /**
  * The {@link SMAEnergyMeterHandlerFactory} is responsible for creating things and thing
@@ -31,6 +33,8 @@ import org.osgi.service.component.annotations.Component;
 @Component(service = ThingHandlerFactory.class, configurationPid = "binding.smaenergymeter")
 public class SMAEnergyMeterHandlerFactory extends BaseThingHandlerFactory {
 
+    private PacketListenerRegistry packetListenerRegistry;
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -41,10 +45,19 @@ public class SMAEnergyMeterHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(THING_TYPE_ENERGY_METER)) {
-            return new SMAEnergyMeterHandler(thing);
+            return new SMAEnergyMeterHandler(thing, packetListenerRegistry);
         }
 
         return null;
     }
 
+    @Reference
+    protected void setPacketListenerRegistry(PacketListenerRegistry packetListenerRegistry) {
+        this.packetListenerRegistry = packetListenerRegistry;
+    }
+
+    protected void unsetPacketListenerRegistry(PacketListenerRegistry packetListenerRegistry) {
+        this.packetListenerRegistry = null;
+    }
+
 }
@@ -14,11 +14,12 @@ package org.openhab.binding.smaenergymeter.internal.discovery;
 
 import static org.openhab.binding.smaenergymeter.internal.SMAEnergyMeterBindingConstants.*;
 
-import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.config.discovery.AbstractDiscoveryService;
 import org.eclipse.smarthome.config.discovery.DiscoveryResult;
@@ -28,7 +29,11 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.smaenergymeter.internal.handler.EnergyMeter;
+import org.openhab.binding.smaenergymeter.internal.packet.PacketListener;
+import org.openhab.binding.smaenergymeter.internal.packet.PacketListenerRegistry;
+import org.openhab.binding.smaenergymeter.internal.packet.PayloadHandler;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +41,9 @@ import org.slf4j.LoggerFactory;
  * The {@link SMAEnergyMeterDiscoveryService} class implements a service
  * for discovering the SMA Energy Meter.
  *
+ * The discovery listens on the default multicast group with the {@link PacketListener} shared with the handlers and
+ * reports every energy meter sending to it.
+ *
  * @author Osman Basha - Initial contribution
  */
 @Component(service = DiscoveryService.class, immediate = true, configurationPid = "discovery.smaenergymeter")
@@ -43,6 +51,12 @@ public class SMAEnergyMeterDiscoveryService extends AbstractDiscoveryService {
 
     private final Logger logger = LoggerFactory.getLogger(SMAEnergyMeterDiscoveryService.class);
 
+    private final PayloadHandler scanHandler = this::discovered;
+    private final PayloadHandler backgroundHandler = this::discovered;
+    private final Set<String> discoveredSerialNumbers = ConcurrentHashMap.newKeySet();
+
+    private PacketListenerRegistry packetListenerRegistry;
+
     public SMAEnergyMeterDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS, 15, true);
     }
@@ -55,24 +69,61 @@ public class SMAEnergyMeterDiscoveryService extends AbstractDiscoveryService {
     @Override
     protected void startBackgroundDiscovery() {
         logger.debug("Start SMAEnergyMeter background discovery");
-        scheduler.schedule(this::discover, 0, TimeUnit.SECONDS);
+        PacketListener packetListener = getPacketListener();
+        if (packetListener != null) {
+            packetListener.addPayloadHandler(null, backgroundHandler);
+        }
+    }
+
+    @Override
+    protected void stopBackgroundDiscovery() {
+        logger.debug("Stop SMAEnergyMeter background discovery");
+        PacketListener packetListener = getPacketListener();
+        if (packetListener != null) {
+            packetListener.removePayloadHandler(null, backgroundHandler);
+        }
     }
 
     @Override
     public void startScan() {
         logger.debug("Start SMAEnergyMeter scan");
-        discover();
+        discoveredSerialNumbers.clear();
+        PacketListener packetListener = getPacketListener();
+        if (packetListener != null) {
+            packetListener.addPayloadHandler(null, scanHandler);
+        }
     }
 
-    private synchronized void discover() {
-        logger.debug("Try to discover a SMA Energy Meter device");
+    @Override
+    protected synchronized void stopScan() {
+        PacketListener packetListener = getPacketListener();
+        if (packetListener != null) {
+            packetListener.removePayloadHandler(null, scanHandler);
+        }
+        super.stopScan();
+    }
 
-        EnergyMeter energyMeter = new EnergyMeter(EnergyMeter.DEFAULT_MCAST_GRP, EnergyMeter.DEFAULT_MCAST_PORT);
+    @Reference
+    protected void setPacketListenerRegistry(PacketListenerRegistry packetListenerRegistry) {
+        this.packetListenerRegistry = packetListenerRegistry;
+    }
+
+    protected void unsetPacketListenerRegistry(PacketListenerRegistry packetListenerRegistry) {
+        this.packetListenerRegistry = null;
+    }
+
+    private PacketListener getPacketListener() {
         try {
-            energyMeter.update();
-        } catch (IOException e) {
-            logger.debug("No SMA Energy Meter found.");
-            logger.debug("Diagnostic: ", e);
+            return packetListenerRegistry.getListener(InetAddress.getByName(EnergyMeter.DEFAULT_MCAST_GRP),
+                    EnergyMeter.DEFAULT_MCAST_PORT);
+        } catch (UnknownHostException e) {
+            logger.debug("Invalid multicast group: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void discovered(EnergyMeter energyMeter) {
+        if (!discoveredSerialNumbers.add(energyMeter.getSerialNumber())) {
             return;
         }
 
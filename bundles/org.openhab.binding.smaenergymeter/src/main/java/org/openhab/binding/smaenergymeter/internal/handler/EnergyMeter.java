@@ -13,26 +13,19 @@
 package org.openhab.binding.smaenergymeter.internal.handler;
 
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.InetAddress;
-import java.net.MulticastSocket;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.Date;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
 
 /**
- * The {@link EnergyMeter} class is responsible for communication with the SMA device
- * and extracting the data fields out of the received telegrams.
+ * The {@link EnergyMeter} class is responsible for extracting the data fields out of the telegrams received from the
+ * SMA device.
  *
  * @author Osman Basha - Initial contribution
  */
 public class EnergyMeter {
 
-    private String multicastGroup;
-    private int port;
-
     private String serialNumber;
     private Date lastUpdate;
 
@@ -44,43 +37,46 @@ public class EnergyMeter {
     public static final String DEFAULT_MCAST_GRP = "239.12.255.254";
     public static final int DEFAULT_MCAST_PORT = 9522;
 
-    public EnergyMeter(String multicastGroup, int port) {
-        this.multicastGroup = multicastGroup;
-        this.port = port;
+    /**
+     * Protocol id of the energy meter telegrams. Other SMA devices (i.e. inverters) send to the same multicast group
+     * with a different protocol id.
+     */
+    private static final int ENERGY_METER_PROTOCOL_ID = 0x6069;
+    private static final int PROTOCOL_ID_ADDRESS = 0x10;
+    private static final int SERIAL_NUMBER_ADDRESS = 0x14;
+    private static final int MIN_TELEGRAM_LENGTH = 0x44;
 
+    public EnergyMeter() {
         powerIn = new FieldDTO(0x20, 4, 10);
         energyIn = new FieldDTO(0x28, 8, 3600000);
         powerOut = new FieldDTO(0x34, 4, 10);
         energyOut = new FieldDTO(0x3C, 8, 3600000);
     }
 
-    public void update() throws IOException {
-        byte[] bytes = new byte[600];
-        try (MulticastSocket socket = new MulticastSocket(port)) {
-            socket.setSoTimeout(5000);
-            InetAddress address = InetAddress.getByName(multicastGroup);
-            socket.joinGroup(address);
-
-            DatagramPacket msgPacket = new DatagramPacket(bytes, bytes.length);
-            socket.receive(msgPacket);
-
-            String sma = new String(Arrays.copyOfRange(bytes, 0x00, 0x03));
-            if (!sma.equals("SMA")) {
-                throw new IOException("Not a SMA telegram." + sma);
-            }
+    /**
+     * Extracts the data fields out of a received telegram.
+     *
+     * @param bytes the received telegram
+     * @param length the length of the received telegram
+     * @throws IOException if the telegram isn't a SMA Energy Meter telegram
+     */
+    public void parse(byte[] bytes, int length) throws IOException {
+        if (length < MIN_TELEGRAM_LENGTH || bytes[0] != 'S' || bytes[1] != 'M' || bytes[2] != 'A') {
+            throw new IOException("Not a SMA telegram.");
+        }
 
-            ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOfRange(bytes, 0x14, 0x18));
-            serialNumber = String.valueOf(buffer.getInt());
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        if ((buffer.getShort(PROTOCOL_ID_ADDRESS) & 0xFFFF) != ENERGY_METER_PROTOCOL_ID) {
+            throw new IOException("Not a SMA Energy Meter telegram.");
+        }
+        serialNumber = String.valueOf(buffer.getInt(SERIAL_NUMBER_ADDRESS));
 
-            powerIn.updateValue(bytes);
-            energyIn.updateValue(bytes);
-            powerOut.updateValue(bytes);
-            energyOut.updateValue(bytes);
+        powerIn.updateValue(buffer);
+        energyIn.updateValue(buffer);
+        powerOut.updateValue(buffer);
+        energyOut.updateValue(buffer);
 
-            lastUpdate = new Date(System.currentTimeMillis());
-        } catch (Exception e) {
-            throw new IOException(e);
-        }
+        lastUpdate = new Date(System.currentTimeMillis());
     }
 
     public String getSerialNumber() {
@@ -13,7 +13,6 @@
 package org.openhab.binding.smaenergymeter.internal.handler;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 
 /**
  * The {@link FieldDTO} class holds the data for a single field (i.e. the power purchased).
@@ -40,22 +39,12 @@ public class FieldDTO {
         return value;
     }
 
-    public void updateValue(byte[] bytes) {
+    public void updateValue(ByteBuffer buffer) {
         if (length == 4) {
-            value = (float) bytesToUInt16(Arrays.copyOfRange(bytes, address, address + 4)) / divisor;
+            value = (float) buffer.getInt(address) / divisor;
         } else {
-            value = (float) bytesToUInt32(Arrays.copyOfRange(bytes, address, address + 8)) / divisor;
+            value = (float) buffer.getLong(address) / divisor;
         }
     }
 
-    private int bytesToUInt16(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return buffer.getInt();
-    }
-
-    private long bytesToUInt32(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return buffer.getLong();
-    }
-
 }
@@ -14,7 +14,8 @@ package org.openhab.binding.smaenergymeter.internal.handler;
 
 import static org.openhab.binding.smaenergymeter.internal.SMAEnergyMeterBindingConstants.*;
 
-import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -26,6 +27,9 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.smaenergymeter.internal.configuration.EnergyMeterConfig;
+import org.openhab.binding.smaenergymeter.internal.packet.PacketListener;
+import org.openhab.binding.smaenergymeter.internal.packet.PacketListenerRegistry;
+import org.openhab.binding.smaenergymeter.internal.packet.PayloadHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,23 +37,41 @@ import org.slf4j.LoggerFactory;
  * The {@link SMAEnergyMeterHandler} is responsible for handling commands, which are
  * sent to one of the channels.
  *
+ * The energy meter sends its data about every second. The handler receives all telegrams from the shared
+ * {@link PacketListener}, but only updates the channels once per polling period.
+ *
  * @author Osman Basha - Initial contribution
  */
-public class SMAEnergyMeterHandler extends BaseThingHandler {
+public class SMAEnergyMeterHandler extends BaseThingHandler implements PayloadHandler {
+
+    private static final int DEFAULT_POLLING_PERIOD = 30;
+    private static final int OFFLINE_TIMEOUT_SECONDS = 30;
+    private static final int WATCHDOG_PERIOD_SECONDS = 10;
 
     private final Logger logger = LoggerFactory.getLogger(SMAEnergyMeterHandler.class);
+    private final PacketListenerRegistry packetListenerRegistry;
+    private PacketListener packetListener;
+    private String serialNumber;
+    private long pollingPeriodNanos;
+    private ScheduledFuture<?> watchdogJob;
+
     private EnergyMeter energyMeter;
-    private ScheduledFuture<?> pollingJob;
+    private long lastReceived;
+    private long lastChannelUpdate;
 
-    public SMAEnergyMeterHandler(Thing thing) {
+    public SMAEnergyMeterHandler(Thing thing, PacketListenerRegistry packetListenerRegistry) {
         super(thing);
+        this.packetListenerRegistry = packetListenerRegistry;
     }
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command == RefreshType.REFRESH) {
             logger.debug("Refreshing {}", channelUID);
-            updateData();
+            EnergyMeter localEnergyMeter = energyMeter;
+            if (localEnergyMeter != null) {
+                updateChannels(localEnergyMeter);
+            }
         } else {
             logger.warn("This binding is a read-only binding and cannot handle commands");
         }
@@ -61,53 +83,95 @@ public class SMAEnergyMeterHandler extends BaseThingHandler {
 
         EnergyMeterConfig config = getConfigAs(EnergyMeterConfig.class);
 
+        String mcastGroup = (config.getMcastGroup() == null) ? EnergyMeter.DEFAULT_MCAST_GRP : config.getMcastGroup();
         int port = (config.getPort() == null) ? EnergyMeter.DEFAULT_MCAST_PORT : config.getPort();
-        energyMeter = new EnergyMeter(config.getMcastGroup(), port);
+        InetAddress address;
         try {
-            energyMeter.update();
-
-            updateProperty(Thing.PROPERTY_VENDOR, "SMA");
-            updateProperty(Thing.PROPERTY_SERIAL_NUMBER, energyMeter.getSerialNumber());
-            logger.debug("Found a SMA Energy Meter with S/N '{}'", energyMeter.getSerialNumber());
-        } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
+            address = InetAddress.getByName(mcastGroup);
+        } catch (UnknownHostException e) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
             return;
         }
+        if (!address.isMulticastAddress()) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                    "Not a multicast address: " + mcastGroup);
+            return;
+        }
+
+        int pollingPeriod = (config.getPollingPeriod() == null) ? DEFAULT_POLLING_PERIOD : config.getPollingPeriod();
+        pollingPeriodNanos = TimeUnit.SECONDS.toNanos(pollingPeriod);
+        energyMeter = null;
+        lastReceived = System.nanoTime();
 
-        int pollingPeriod = (config.getPollingPeriod() == null) ? 30 : config.getPollingPeriod();
-        pollingJob = scheduler.scheduleWithFixedDelay(this::updateData, 0, pollingPeriod, TimeUnit.SECONDS);
-        logger.debug("Polling job scheduled to run every {} sec. for '{}'", pollingPeriod, getThing().getUID());
+        // A discovered thing has the serial number as property, otherwise use the first energy meter received
+        serialNumber = getThing().getProperties().get(Thing.PROPERTY_SERIAL_NUMBER);
+        packetListener = packetListenerRegistry.getListener(address, port);
+        packetListener.addPayloadHandler(serialNumber, this);
+        logger.debug("Channels of '{}' updated every {} sec.", getThing().getUID(), pollingPeriod);
 
-        updateStatus(ThingStatus.ONLINE);
+        watchdogJob = scheduler.scheduleWithFixedDelay(this::checkReceiving, OFFLINE_TIMEOUT_SECONDS,
+                WATCHDOG_PERIOD_SECONDS, TimeUnit.SECONDS);
+        updateStatus(ThingStatus.UNKNOWN);
     }
 
     @Override
     public void dispose() {
         logger.debug("Disposing SMAEnergyMeter handler '{}'", getThing().getUID());
 
-        if (pollingJob != null) {
-            pollingJob.cancel(true);
-            pollingJob = null;
+        if (watchdogJob != null) {
+            watchdogJob.cancel(true);
+            watchdogJob = null;
+        }
+        if (packetListener != null) {
+            packetListener.removePayloadHandler(serialNumber, this);
+            packetListener = null;
         }
         energyMeter = null;
     }
 
-    private synchronized void updateData() {
-        logger.debug("Update SMAEnergyMeter data '{}'", getThing().getUID());
+    @Override
+    public synchronized void handle(EnergyMeter receivedEnergyMeter) {
+        if (packetListener == null) {
+            // disposed
+            return;
+        }
+        if (serialNumber == null) {
+            serialNumber = receivedEnergyMeter.getSerialNumber();
+            updateProperty(Thing.PROPERTY_VENDOR, "SMA");
+            updateProperty(Thing.PROPERTY_SERIAL_NUMBER, serialNumber);
+            logger.debug("Found a SMA Energy Meter with S/N '{}'", serialNumber);
+            packetListener.addPayloadHandler(serialNumber, this);
+            packetListener.removePayloadHandler(null, this);
+        } else if (!serialNumber.equals(receivedEnergyMeter.getSerialNumber())) {
+            return;
+        }
 
-        try {
-            energyMeter.update();
+        long now = System.nanoTime();
+        energyMeter = receivedEnergyMeter;
+        lastReceived = now;
+        if (!ThingStatus.ONLINE.equals(getThing().getStatus())) {
+            updateStatus(ThingStatus.ONLINE);
+        } else if (now - lastChannelUpdate < pollingPeriodNanos) {
+            return;
+        }
+        lastChannelUpdate = now;
+        updateChannels(receivedEnergyMeter);
+    }
+
+    private void updateChannels(EnergyMeter energyMeter) {
+        logger.debug("Update SMAEnergyMeter data '{}'", getThing().getUID());
 
-            updateState(CHANNEL_POWER_IN, energyMeter.getPowerIn());
-            updateState(CHANNEL_POWER_OUT, energyMeter.getPowerOut());
-            updateState(CHANNEL_ENERGY_IN, energyMeter.getEnergyIn());
-            updateState(CHANNEL_ENERGY_OUT, energyMeter.getEnergyOut());
+        updateState(CHANNEL_POWER_IN, energyMeter.getPowerIn());
+        updateState(CHANNEL_POWER_OUT, energyMeter.getPowerOut());
+        updateState(CHANNEL_ENERGY_IN, energyMeter.getEnergyIn());
+        updateState(CHANNEL_ENERGY_OUT, energyMeter.getEnergyOut());
+    }
 
-            if (getThing().getStatus().equals(ThingStatus.OFFLINE)) {
-                updateStatus(ThingStatus.ONLINE);
-            }
-        } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
+    private synchronized void checkReceiving() {
+        if (System.nanoTime() - lastReceived > TimeUnit.SECONDS.toNanos(OFFLINE_TIMEOUT_SECONDS)
+                && !ThingStatus.OFFLINE.equals(getThing().getStatus())) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                    "No data received for " + OFFLINE_TIMEOUT_SECONDS + " sec.");
         }
     }
 
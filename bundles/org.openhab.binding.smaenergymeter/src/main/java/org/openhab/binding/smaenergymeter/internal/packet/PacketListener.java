@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smaenergymeter.internal.packet;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.smaenergymeter.internal.handler.EnergyMeter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PacketListener} receives the telegrams of all energy meters sending to a multicast group and port with a
+ * single socket. Every telegram is parsed once and passed to the {@link PayloadHandler}s registered for the serial
+ * number of the sending energy meter and to the handlers registered for all energy meters.
+ *
+ * The socket is open as long as at least one handler is registered.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PacketListener {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final int SOCKET_TIMEOUT_MS = 5000;
+    private static final int RECONNECT_DELAY_MS = 10000;
+
+    private final Logger logger = LoggerFactory.getLogger(PacketListener.class);
+
+    private final InetAddress multicastGroup;
+    private final int port;
+
+    private final Map<String, Set<PayloadHandler>> handlersBySerialNumber = new ConcurrentHashMap<>();
+    private final Set<PayloadHandler> handlersForAllSerialNumbers = new CopyOnWriteArraySet<>();
+
+    private volatile @Nullable Thread receiverThread;
+
+    public PacketListener(InetAddress multicastGroup, int port) {
+        this.multicastGroup = multicastGroup;
+        this.port = port;
+    }
+
+    /**
+     * Registers a handler and starts receiving telegrams if this is the first handler.
+     *
+     * @param serialNumber the serial number of the energy meter to receive the telegrams of, or null to receive the
+     *            telegrams of all energy meters
+     * @param handler the handler
+     */
+    public synchronized void addPayloadHandler(@Nullable String serialNumber, PayloadHandler handler) {
+        if (serialNumber == null) {
+            handlersForAllSerialNumbers.add(handler);
+        } else {
+            handlersBySerialNumber.computeIfAbsent(serialNumber, key -> new CopyOnWriteArraySet<>()).add(handler);
+        }
+        start();
+    }
+
+    /**
+     * Unregisters a handler registered with {@link #addPayloadHandler(String, PayloadHandler)} and stops receiving
+     * telegrams if no handler is left.
+     *
+     * @param serialNumber the serial number the handler was registered for
+     * @param handler the handler
+     */
+    public synchronized void removePayloadHandler(@Nullable String serialNumber, PayloadHandler handler) {
+        if (serialNumber == null) {
+            handlersForAllSerialNumbers.remove(handler);
+        } else {
+            Set<PayloadHandler> handlers = handlersBySerialNumber.get(serialNumber);
+            if (handlers != null) {
+                handlers.remove(handler);
+                if (handlers.isEmpty()) {
+                    handlersBySerialNumber.remove(serialNumber);
+                }
+            }
+        }
+        if (handlersForAllSerialNumbers.isEmpty() && handlersBySerialNumber.isEmpty()) {
+            stop();
+        }
+    }
+
+    private void start() {
+        if (receiverThread == null) {
+            Thread thread = new Thread(this::receive,
+                    "OH-binding-smaenergymeter-" + multicastGroup.getHostAddress() + ":" + port);
+            thread.setDaemon(true);
+            receiverThread = thread;
+            thread.start();
+        }
+    }
+
+    synchronized void stop() {
+        Thread thread = receiverThread;
+        if (thread != null) {
+            receiverThread = null;
+            // the thread ends at the latest with the next socket timeout
+            thread.interrupt();
+        }
+    }
+
+    private void receive() {
+        byte[] bytes = new byte[BUFFER_SIZE];
+        DatagramPacket packet = new DatagramPacket(bytes, bytes.length);
+
+        logger.debug("Start listening for SMA Energy Meter telegrams on {}:{}", multicastGroup.getHostAddress(), port);
+        while (isReceiverThread()) {
+            try (MulticastSocket socket = new MulticastSocket(port)) {
+                socket.setSoTimeout(SOCKET_TIMEOUT_MS);
+                socket.joinGroup(multicastGroup);
+
+                while (isReceiverThread()) {
+                    try {
+                        packet.setLength(bytes.length);
+                        socket.receive(packet);
+                        dispatch(bytes, packet.getLength());
+                    } catch (SocketTimeoutException e) {
+                        // check if still running
+                    }
+                }
+                socket.leaveGroup(multicastGroup);
+            } catch (IOException e) {
+                logger.debug("Error receiving SMA Energy Meter telegrams on {}:{}: {}",
+                        multicastGroup.getHostAddress(), port, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        logger.debug("Stop listening for SMA Energy Meter telegrams on {}:{}", multicastGroup.getHostAddress(), port);
+    }
+
+    private boolean isReceiverThread() {
+        return receiverThread == Thread.currentThread();
+    }
+
+    /**
+     * Parses a received telegram and passes it to the handlers of the sending energy meter.
+     *
+     * @param bytes the buffer containing the received telegram
+     * @param length the length of the received telegram
+     */
+    void dispatch(byte[] bytes, int length) {
+        EnergyMeter energyMeter = new EnergyMeter();
+        try {
+            energyMeter.parse(bytes, length);
+        } catch (IOException e) {
+            logger.trace("Ignoring telegram: {}", e.getMessage());
+            return;
+        }
+
+        Set<PayloadHandler> handlers = handlersBySerialNumber.get(energyMeter.getSerialNumber());
+        if (handlers != null) {
+            handlers.forEach(handler -> handle(handler, energyMeter));
+        }
+        handlersForAllSerialNumbers.forEach(handler -> handle(handler, energyMeter));
+    }
+
+    private void handle(PayloadHandler handler, EnergyMeter energyMeter) {
+        try {
+            handler.handle(energyMeter);
+        } catch (RuntimeException e) {
+            logger.warn("Error handling telegram of SMA Energy Meter with S/N '{}'", energyMeter.getSerialNumber(), e);
+        }
+    }
+
+}
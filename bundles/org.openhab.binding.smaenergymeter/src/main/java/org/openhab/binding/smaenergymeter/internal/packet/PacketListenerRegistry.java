@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smaenergymeter.internal.packet;
+
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+
+/**
+ * The {@link PacketListenerRegistry} provides the {@link PacketListener} of a multicast group and port, so that the
+ * energy meters and the discovery share one socket per multicast group and port.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = PacketListenerRegistry.class)
+public class PacketListenerRegistry {
+
+    private final Map<String, PacketListener> listeners = new HashMap<>();
+
+    /**
+     * @return the listener of the multicast group and port
+     */
+    public synchronized PacketListener getListener(InetAddress multicastGroup, int port) {
+        return listeners.computeIfAbsent(multicastGroup.getHostAddress() + ":" + port,
+                key -> new PacketListener(multicastGroup, port));
+    }
+
+    @Deactivate
+    protected synchronized void deactivate() {
+        listeners.values().forEach(PacketListener::stop);
+        listeners.clear();
+    }
+
+}
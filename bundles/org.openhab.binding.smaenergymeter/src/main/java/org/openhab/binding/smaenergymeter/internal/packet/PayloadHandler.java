@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smaenergymeter.internal.packet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.smaenergymeter.internal.handler.EnergyMeter;
+
+/**
+ * The {@link PayloadHandler} receives the telegrams of the energy meters from a {@link PacketListener}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@FunctionalInterface
+public interface PayloadHandler {
+
+    /**
+     * Handles a received telegram. Called from the thread of the {@link PacketListener}, so implementations should
+     * return quickly. The energy meter is shared by all handlers receiving the telegram and must not be modified.
+     *
+     * @param energyMeter the data of the received telegram
+     */
+    void handle(EnergyMeter energyMeter);
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smaenergymeter.internal.handler;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Test;
+
+/**
+ * Tests the parsing of the telegrams of a SMA Energy Meter with {@link EnergyMeter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class EnergyMeterTest {
+
+    /**
+     * Telegram in the format sent by a SMA Energy Meter with S/N 1900123456. It reports a purchased power of
+     * 1234.5 W, a purchased energy of 4321.5 kWh, no fed-in power and a fed-in energy of 10 kWh.
+     */
+    private static final String TELEGRAM = "534D4100" // "SMA"
+            + "000402A0" + "00000001" // group 1
+            + "003C" + "0010" // length of the data, SMA Net 2
+            + "6069" // protocol id of the energy meter
+            + "010E" + "71419540" // SUSy id and serial number
+            + "000F4240" // ticker in ms
+            + "00010400" + "00003039" // purchased power in 0.1 W
+            + "00010800" + "000000039F4B15C0" // purchased energy in Ws
+            + "00020400" + "00000000" // fed-in power in 0.1 W
+            + "00020800" + "0000000002255100" // fed-in energy in Ws
+            + "90000000" + "01020452" // software version
+            + "00000000"; // end of data
+
+    private static final String SERIAL_NUMBER = "1900123456";
+    private static final int SERIAL_NUMBER_ADDRESS = 0x14;
+    private static final int PROTOCOL_ID_ADDRESS = 0x10;
+
+    /**
+     * Returns the telegram of an energy meter with the given serial number.
+     */
+    public static byte[] createTelegram(int serialNumber) {
+        byte[] telegram = HexUtils.hexToBytes(TELEGRAM);
+        ByteBuffer.wrap(telegram).putInt(SERIAL_NUMBER_ADDRESS, serialNumber);
+        return telegram;
+    }
+
+    @Test
+    public void telegramIsParsed() throws IOException {
+        byte[] telegram = HexUtils.hexToBytes(TELEGRAM);
+        EnergyMeter energyMeter = new EnergyMeter();
+
+        energyMeter.parse(telegram, telegram.length);
+
+        assertEquals(SERIAL_NUMBER, energyMeter.getSerialNumber());
+        assertEquals(1234.5, energyMeter.getPowerIn().doubleValue(), 0.01);
+        assertEquals(4321.5, energyMeter.getEnergyIn().doubleValue(), 0.01);
+        assertEquals(0, energyMeter.getPowerOut().doubleValue(), 0.01);
+        assertEquals(10, energyMeter.getEnergyOut().doubleValue(), 0.01);
+        assertNotNull(energyMeter.getLastUpdate());
+    }
+
+    @Test
+    public void onlyReceivedLengthOfBufferIsParsed() throws IOException {
+        byte[] telegram = HexUtils.hexToBytes(TELEGRAM);
+        // the receive buffer is reused, so it contains the rest of a longer telegram received before
+        byte[] buffer = Arrays.copyOf(telegram, 1024);
+        Arrays.fill(buffer, telegram.length, buffer.length, (byte) 0xFF);
+        EnergyMeter energyMeter = new EnergyMeter();
+
+        energyMeter.parse(buffer, telegram.length);
+
+        assertEquals(SERIAL_NUMBER, energyMeter.getSerialNumber());
+        assertEquals(1234.5, energyMeter.getPowerIn().doubleValue(), 0.01);
+    }
+
+    @Test(expected = IOException.class)
+    public void telegramOfOtherProtocolIsRejected() throws IOException {
+        byte[] telegram = HexUtils.hexToBytes(TELEGRAM);
+        telegram[0] = 'X';
+
+        new EnergyMeter().parse(telegram, telegram.length);
+    }
+
+    @Test(expected = IOException.class)
+    public void telegramOfOtherSmaDeviceIsRejected() throws IOException {
+        byte[] telegram = HexUtils.hexToBytes(TELEGRAM);
+        // protocol id of the inverters
+        ByteBuffer.wrap(telegram).putShort(PROTOCOL_ID_ADDRESS, (short) 0x6065);
+
+        new EnergyMeter().parse(telegram, telegram.length);
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedTelegramIsRejected() throws IOException {
+        byte[] telegram = HexUtils.hexToBytes(TELEGRAM);
+
+        new EnergyMeter().parse(telegram, 0x40);
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smaenergymeter.internal.packet;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.smaenergymeter.internal.handler.EnergyMeter;
+import org.openhab.binding.smaenergymeter.internal.handler.EnergyMeterTest;
+
+/**
+ * Tests the dispatching of the received telegrams by the {@link PacketListener} and the sharing of the listeners by
+ * the {@link PacketListenerRegistry}. The telegrams are passed to the listener instead of being received.
+ *
+ * @author agent - Initial contribution
+ */
+public class PacketListenerTest {
+    private static final int SERIAL_NUMBER = 1900123456;
+    private static final int OTHER_SERIAL_NUMBER = 1900654321;
+
+    private PacketListenerRegistry registry;
+    private PacketListener listener;
+
+    private final List<String> meterTelegrams = new ArrayList<>();
+    private final List<String> otherMeterTelegrams = new ArrayList<>();
+    private final List<String> allTelegrams = new ArrayList<>();
+    private final PayloadHandler meterHandler = energyMeter -> meterTelegrams.add(energyMeter.getSerialNumber());
+    private final PayloadHandler otherMeterHandler = energyMeter -> otherMeterTelegrams
+            .add(energyMeter.getSerialNumber());
+    private final PayloadHandler allHandler = energyMeter -> allTelegrams.add(energyMeter.getSerialNumber());
+
+    @Before
+    public void setup() throws UnknownHostException {
+        registry = new PacketListenerRegistry();
+        listener = registry.getListener(InetAddress.getByName(EnergyMeter.DEFAULT_MCAST_GRP), 0);
+    }
+
+    @After
+    public void cleanup() {
+        registry.deactivate();
+    }
+
+    @Test
+    public void telegramIsDispatchedBySerialNumber() {
+        listener.addPayloadHandler(String.valueOf(SERIAL_NUMBER), meterHandler);
+        listener.addPayloadHandler(String.valueOf(OTHER_SERIAL_NUMBER), otherMeterHandler);
+        listener.addPayloadHandler(null, allHandler);
+
+        dispatch(SERIAL_NUMBER);
+        dispatch(OTHER_SERIAL_NUMBER);
+        dispatch(SERIAL_NUMBER);
+
+        assertEquals(2, meterTelegrams.size());
+        assertEquals(String.valueOf(SERIAL_NUMBER), meterTelegrams.get(0));
+        assertEquals(1, otherMeterTelegrams.size());
+        assertEquals(String.valueOf(OTHER_SERIAL_NUMBER), otherMeterTelegrams.get(0));
+        assertEquals(3, allTelegrams.size());
+    }
+
+    @Test
+    public void removedHandlerReceivesNoTelegrams() {
+        listener.addPayloadHandler(String.valueOf(SERIAL_NUMBER), meterHandler);
+        listener.addPayloadHandler(null, allHandler);
+
+        listener.removePayloadHandler(String.valueOf(SERIAL_NUMBER), meterHandler);
+        dispatch(SERIAL_NUMBER);
+
+        assertTrue(meterTelegrams.isEmpty());
+        assertEquals(1, allTelegrams.size());
+    }
+
+    @Test
+    public void invalidTelegramIsIgnored() {
+        listener.addPayloadHandler(null, allHandler);
+        byte[] telegram = EnergyMeterTest.createTelegram(SERIAL_NUMBER);
+        telegram[0] = 'X';
+
+        listener.dispatch(telegram, telegram.length);
+
+        assertTrue(allTelegrams.isEmpty());
+    }
+
+    @Test
+    public void failingHandlerDoesNotStopDispatching() {
+        listener.addPayloadHandler(String.valueOf(SERIAL_NUMBER), energyMeter -> {
+            throw new IllegalStateException("handler failed");
+        });
+        listener.addPayloadHandler(null, allHandler);
+
+        dispatch(SERIAL_NUMBER);
+
+        assertEquals(1, allTelegrams.size());
+    }
+
+    @Test
+    public void listenerIsSharedPerMulticastGroupAndPort() throws UnknownHostException {
+        InetAddress multicastGroup = InetAddress.getByName(EnergyMeter.DEFAULT_MCAST_GRP);
+
+        assertSame(listener, registry.getListener(multicastGroup, 0));
+        assertNotSame(listener, registry.getListener(multicastGroup, EnergyMeter.DEFAULT_MCAST_PORT));
+        assertNotSame(listener, registry.getListener(InetAddress.getByName("239.12.255.253"), 0));
+    }
+
+    private void dispatch(int serialNumber) {
+        byte[] telegram = EnergyMeterTest.createTelegram(serialNumber);
+        listener.dispatch(telegram, telegram.length);
+    }
+}
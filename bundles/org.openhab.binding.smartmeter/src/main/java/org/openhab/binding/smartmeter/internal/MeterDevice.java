@@ -19,6 +19,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -72,6 +74,22 @@ public abstract class MeterDevice<T> {
      */
     IMeterReaderConnector<T> connector;
     private List<MeterValueListener> valueChangeListeners;
+    /**
+     * The OBIS codes of which the values are read, null to read all values.
+     */
+    private volatile @Nullable Set<String> subscribedObisCodes;
+    /**
+     * Whether all values have to be read with the next read request, independent of the subscribed OBIS codes.
+     */
+    private volatile boolean readAllValues = true;
+    /**
+     * Whether the listeners are notified about values which did not change since the last notification.
+     */
+    private volatile boolean suppressUnchangedValues;
+    /**
+     * The values the listeners were last notified about.
+     */
+    private final Map<String, MeterValue<?>> notifiedValues = new ConcurrentHashMap<>();
 
     public MeterDevice(Supplier<SerialPortManager> serialPortManagerSupplier, String deviceId, String serialPort,
             byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
@@ -150,6 +168,38 @@ public abstract class MeterDevice<T> {
         return new ArrayList<>(this.valueCache.keySet());
     }
 
+    /**
+     * Sets the OBIS codes of which the values are read. The values of all other OBIS codes may be skipped by the
+     * device. Independent of the subscribed OBIS codes all values are read once after the subscription changed or an
+     * error occurred, so all available OBIS codes are known.
+     *
+     * @param obisCodes The OBIS codes to read or null to read all values
+     */
+    public void setSubscribedObisCodes(@Nullable Set<String> obisCodes) {
+        this.subscribedObisCodes = obisCodes;
+        this.readAllValues = true;
+    }
+
+    /**
+     * Sets whether the listeners are notified about values which did not change since the last notification.
+     *
+     * @param suppressUnchangedValues true to notify the listeners only about changed values
+     */
+    public void setSuppressUnchangedValues(boolean suppressUnchangedValues) {
+        this.suppressUnchangedValues = suppressUnchangedValues;
+    }
+
+    /**
+     * Gets whether the value of the given OBIS code has to be read with the current read request.
+     *
+     * @param obisCode The OBIS code
+     * @return true if the value has to be read
+     */
+    protected boolean isSubscribed(String obisCode) {
+        Set<String> localSubscribedObisCodes = subscribedObisCodes;
+        return readAllValues || localSubscribedObisCodes == null || localSubscribedObisCodes.contains(obisCode);
+    }
+
     /**
      * Read values from this device an store them locally against their OBIS code.
      *
@@ -184,9 +234,16 @@ public abstract class MeterDevice<T> {
                     populateValueCache(value);
                     printInfo();
                     Collection<String> newObisCodes = getObisCodes();
-                    // notify every removed obis code.
+                    // notify every removed obis code. Values which were not subscribed are kept.
                     obisCodes.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
-                            .forEach((val) -> notifyValuesRemoved(val));
+                            .forEach((val) -> {
+                                if (isSubscribed(val.getObisCode())) {
+                                    notifyValuesRemoved(val);
+                                } else {
+                                    valueCache.put(val.getObisCode(), val);
+                                }
+                            });
+                    readAllValues = false;
                 });
     }
 
@@ -213,8 +270,12 @@ public abstract class MeterDevice<T> {
      * @param value The value to add.
      */
     protected <Q extends Quantity<Q>> void addObisCache(MeterValue<Q> value) {
-        logger.debug("Value changed: {}", value);
         this.valueCache.put(value.getObisCode(), value);
+        if (suppressUnchangedValues && value.equals(notifiedValues.get(value.getObisCode()))) {
+            return;
+        }
+        logger.debug("Value changed: {}", value);
+        this.notifiedValues.put(value.getObisCode(), value);
         this.valueChangeListeners.forEach((listener) -> {
             try {
                 listener.valueChanged(value);
@@ -257,10 +318,14 @@ public abstract class MeterDevice<T> {
     }
 
     private <Q extends Quantity<Q>> void notifyValuesRemoved(MeterValue<Q> value) {
+        this.notifiedValues.remove(value.getObisCode());
         this.valueChangeListeners.forEach((listener) -> listener.valueRemoved(value));
     }
 
     private void notifyReadingError(Throwable e) {
+        // notify about all values again after the error
+        this.notifiedValues.clear();
+        this.readAllValues = true;
         this.valueChangeListeners.forEach((listener) -> listener.errorOccurred(e));
     }
 
@@ -18,9 +18,11 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -115,6 +117,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                     "Waiting for messages from device");
 
             smlDevice.addValueChangeListener(channelTypeProvider);
+            updateValueFilter();
 
             updateOBISValue();
         } else {
@@ -134,6 +137,46 @@ public class SmartMeterHandler extends BaseThingHandler {
         }
     }
 
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        updateValueFilter();
+        super.channelLinked(channelUID);
+    }
+
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        updateValueFilter();
+        super.channelUnlinked(channelUID);
+    }
+
+    /**
+     * Lets the device only read the values of linked channels and notify only about changed values. This is not
+     * possible when the state of a channel depends on the values of other OBIS codes (conformity or negate setting), in
+     * that case all values are read and every read value is updated.
+     */
+    private void updateValueFilter() {
+        MeterDevice<?> localDevice = this.smlDevice;
+        if (localDevice == null) {
+            return;
+        }
+        boolean dependentValues = this.conformity != Conformity.NONE;
+        Set<String> linkedObisCodes = new HashSet<>();
+
+        for (Channel channel : getThing().getChannels()) {
+            Object negateProperty = channel.getConfiguration()
+                    .get(SmartMeterBindingConstants.CONFIGURATION_CHANNEL_NEGATE);
+            if (negateProperty != null && !negateProperty.toString().trim().isEmpty()) {
+                dependentValues = true;
+            }
+            String obis = channel.getProperties().get(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS);
+            if (obis != null && isLinked(channel.getUID().getId())) {
+                linkedObisCodes.add(obis);
+            }
+        }
+        localDevice.setSubscribedObisCodes(dependentValues || linkedObisCodes.isEmpty() ? null : linkedObisCodes);
+        localDevice.setSuppressUnchangedValues(!dependentValues);
+    }
+
     private void cancelRead() {
         if (this.valueReader != null) {
             this.valueReader.dispose();
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Reads SML transport (version 1) frames from a stream. The escape sequences of the frame are removed and the CRC of
+ * the frame is checked. The buffers are reused for every frame, so the data of a frame is only valid until the next
+ * frame is read.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class SmlFrameReader {
+
+    private static final byte ESCAPE = 0x1b;
+    private static final byte[] START_SEQUENCE = { ESCAPE, ESCAPE, ESCAPE, ESCAPE, 0x01, 0x01, 0x01, 0x01 };
+    private static final byte END_MARKER = 0x1a;
+    private static final int BLOCK_SIZE = 4;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        // CRC-16/X-25 (reflected polynomial 0x1021)
+        for (int i = 0; i < CRC_TABLE.length; i++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0x8408 : crc >>> 1;
+            }
+            CRC_TABLE[i] = crc;
+        }
+    }
+
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private byte[] rawFrame = new byte[INITIAL_BUFFER_SIZE];
+    private int rawFrameLength;
+    private byte[] messages = new byte[INITIAL_BUFFER_SIZE];
+    private int messagesLength;
+    private int crc;
+
+    /**
+     * Reads the next frame from the stream.
+     *
+     * @param is The stream to read from
+     * @return The messages of the frame without escape sequences and padding. Only valid until the next call.
+     * @throws IOException Whenever there was a reading error or the frame is invalid.
+     */
+    public ByteBuffer readFrame(DataInputStream is) throws IOException {
+        waitForStartSequence(is);
+        while (true) {
+            readBlock(is);
+            if (!isEscapeBlock()) {
+                appendMessages();
+                continue;
+            }
+            appendRaw(block, BLOCK_SIZE);
+            readBlock(is);
+            if (isEscapeBlock()) {
+                // escaped escape sequence within the messages
+                appendMessages();
+            } else if (isStartBlock()) {
+                // a new frame started without ending the current one
+                startFrame();
+            } else if (block[0] == END_MARKER) {
+                endFrame();
+                return ByteBuffer.wrap(messages, 0, messagesLength);
+            } else {
+                throw new IOException("Invalid escape sequence in SML frame");
+            }
+        }
+    }
+
+    /**
+     * @return The complete last read frame including escape sequences. Only valid until the next call of
+     *         {@link #readFrame(DataInputStream)}.
+     */
+    public ByteBuffer getRawFrame() {
+        return ByteBuffer.wrap(rawFrame, 0, rawFrameLength);
+    }
+
+    private void waitForStartSequence(DataInputStream is) throws IOException {
+        int matched = 0;
+
+        while (matched < START_SEQUENCE.length) {
+            byte b = is.readByte();
+
+            if (b == START_SEQUENCE[matched]) {
+                matched++;
+            } else if (b == ESCAPE) {
+                // more than 4 escape bytes: the last 4 still match
+                matched = matched == BLOCK_SIZE ? BLOCK_SIZE : 1;
+            } else {
+                matched = 0;
+            }
+        }
+        startFrame();
+    }
+
+    private void startFrame() throws IOException {
+        rawFrameLength = 0;
+        messagesLength = 0;
+        crc = 0xffff;
+        appendRaw(START_SEQUENCE, START_SEQUENCE.length);
+    }
+
+    private void endFrame() throws IOException {
+        int padding = block[1] & 0xff;
+
+        // the CRC covers the frame up to the number of padding bytes
+        appendRaw(block, 2);
+        int frameCrc = crc ^ 0xffff;
+        appendRaw(block, 2, 2);
+
+        int receivedCrc = (block[2] & 0xff) | ((block[3] & 0xff) << 8);
+        int swappedCrc = ((receivedCrc & 0xff) << 8) | (receivedCrc >>> 8);
+        // Meters differ in the byte order of the transmitted CRC, accept both
+        if (frameCrc != receivedCrc && frameCrc != swappedCrc) {
+            throw new IOException("Invalid CRC of SML frame");
+        }
+        if (padding > BLOCK_SIZE - 1 || padding > messagesLength) {
+            throw new IOException("Invalid padding of SML frame");
+        }
+        messagesLength -= padding;
+    }
+
+    private void readBlock(DataInputStream is) throws IOException {
+        is.readFully(block);
+    }
+
+    private boolean isEscapeBlock() {
+        return block[0] == ESCAPE && block[1] == ESCAPE && block[2] == ESCAPE && block[3] == ESCAPE;
+    }
+
+    private boolean isStartBlock() {
+        return block[0] == 0x01 && block[1] == 0x01 && block[2] == 0x01 && block[3] == 0x01;
+    }
+
+    private void appendMessages() throws IOException {
+        if (messagesLength + BLOCK_SIZE > messages.length) {
+            messages = Arrays.copyOf(messages, grow(messages.length));
+        }
+        System.arraycopy(block, 0, messages, messagesLength, BLOCK_SIZE);
+        messagesLength += BLOCK_SIZE;
+        appendRaw(block, BLOCK_SIZE);
+    }
+
+    private void appendRaw(byte[] data, int length) throws IOException {
+        appendRaw(data, 0, length);
+    }
+
+    private void appendRaw(byte[] data, int offset, int length) throws IOException {
+        if (rawFrameLength + length > rawFrame.length) {
+            rawFrame = Arrays.copyOf(rawFrame, grow(rawFrame.length));
+        }
+        System.arraycopy(data, offset, rawFrame, rawFrameLength, length);
+        rawFrameLength += length;
+        for (int i = offset; i < offset + length; i++) {
+            crc = (crc >>> 8) ^ CRC_TABLE[(crc ^ data[i]) & 0xff];
+        }
+    }
+
+    private static int grow(int size) throws IOException {
+        if (size >= MAX_FRAME_SIZE) {
+            throw new IOException("SML frame exceeds the maximum size of " + MAX_FRAME_SIZE + " bytes");
+        }
+        return size * 2;
+    }
+}
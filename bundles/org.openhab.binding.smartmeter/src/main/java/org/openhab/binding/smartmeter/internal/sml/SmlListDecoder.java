@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javax.measure.Quantity;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.smartmeter.internal.MeterValue;
+import org.openmuc.jsml.EUnit;
+import org.openmuc.jsml.structures.EMessageBody;
+import org.openmuc.jsml.structures.OctetString;
+
+/**
+ * Decodes the list entries of the GetListResponse messages directly from the SML messages of a frame, without
+ * building the complete SML structure. Only the entries of requested OBIS codes are decoded, all other entries are
+ * skipped. The values are converted the same way {@link SmlValueExtractor} does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class SmlListDecoder {
+
+    private static final int TYPE_OCTET_STRING = 0x00;
+    private static final int TYPE_BOOLEAN = 0x40;
+    private static final int TYPE_INTEGER = 0x50;
+    private static final int TYPE_UNSIGNED = 0x60;
+    private static final int TYPE_LIST = 0x70;
+    private static final int TYPE_MASK = 0x70;
+    private static final int MORE_LENGTH_BIT = 0x80;
+
+    private static final int MESSAGE_ELEMENTS = 6;
+    private static final int MESSAGE_BODY_ELEMENTS = 2;
+    private static final int GET_LIST_RESPONSE_ELEMENTS = 7;
+    private static final int GET_LIST_RESPONSE_VALUE_LIST = 4;
+    private static final int LIST_ENTRY_ELEMENTS = 7;
+    private static final int OBIS_NAME_LENGTH = 5;
+    private static final int MAX_CACHED_OBIS_NAMES = 256;
+    private static final ByteBuffer NO_MESSAGES = ByteBuffer.allocate(0);
+
+    /**
+     * Cache of the OBIS codes for the object names (packed into a long).
+     */
+    private final Map<Long, String> obisCodes = new HashMap<>();
+
+    private ByteBuffer buffer = NO_MESSAGES;
+    // Type, length and size of the type length field of the element last read with readTypeLength
+    private int type;
+    private int length;
+    private int typeLengthSize;
+
+    /**
+     * Decodes the list entries of all GetListResponse messages.
+     *
+     * @param messages The SML messages
+     * @param obisFilter Returns for an OBIS code whether to decode the value of that OBIS code
+     * @param valueConsumer Receives the decoded values
+     * @throws IOException Whenever the messages could not be decoded.
+     */
+    public void decode(ByteBuffer messages, Predicate<String> obisFilter, Consumer<MeterValue<?>> valueConsumer)
+            throws IOException {
+        buffer = messages;
+        try {
+            int position = messages.position();
+
+            while (position < messages.limit()) {
+                if (messages.get(position) == 0) {
+                    // padding
+                    position++;
+                } else {
+                    position = decodeMessage(position, obisFilter, valueConsumer);
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Incomplete SML message", e);
+        } finally {
+            buffer = NO_MESSAGES;
+        }
+    }
+
+    private int decodeMessage(int start, Predicate<String> obisFilter, Consumer<MeterValue<?>> valueConsumer)
+            throws IOException {
+        int position = readList(start, MESSAGE_ELEMENTS);
+
+        // transactionId, groupNo, abortOnError
+        for (int i = 0; i < 3; i++) {
+            position = skip(position);
+        }
+        position = readList(position, MESSAGE_BODY_ELEMENTS);
+        position = readTypeLength(position);
+        long tag = readNumber(position, false);
+        position += length;
+        if (tag == EMessageBody.GET_LIST_RESPONSE.id()) {
+            position = decodeGetListResponse(position, obisFilter, valueConsumer);
+        } else {
+            position = skip(position);
+        }
+        // crc16, endOfSmlMsg
+        position = skip(position);
+        return skip(position);
+    }
+
+    private int decodeGetListResponse(int start, Predicate<String> obisFilter, Consumer<MeterValue<?>> valueConsumer)
+            throws IOException {
+        int position = readList(start, GET_LIST_RESPONSE_ELEMENTS);
+
+        for (int i = 0; i < GET_LIST_RESPONSE_ELEMENTS; i++) {
+            if (i == GET_LIST_RESPONSE_VALUE_LIST) {
+                position = readTypeLength(position);
+                if (type != TYPE_LIST) {
+                    throw new IOException("SML value list expected");
+                }
+                for (int entries = length; entries > 0; entries--) {
+                    position = decodeListEntry(position, obisFilter, valueConsumer);
+                }
+            } else {
+                position = skip(position);
+            }
+        }
+        return position;
+    }
+
+    private int decodeListEntry(int start, Predicate<String> obisFilter, Consumer<MeterValue<?>> valueConsumer)
+            throws IOException {
+        int position = readList(start, LIST_ENTRY_ELEMENTS);
+
+        // objName
+        position = readTypeLength(position);
+        String obis = getObisCode(position, length);
+        position += length;
+        if (obis == null || !obisFilter.test(obis)) {
+            for (int i = 1; i < LIST_ENTRY_ELEMENTS; i++) {
+                position = skip(position);
+            }
+            return position;
+        }
+        // status
+        position = readTypeLength(position);
+        String status = length > 0 && (type == TYPE_UNSIGNED || type == TYPE_INTEGER)
+                ? Long.toString(readNumber(position, type == TYPE_INTEGER))
+                : null;
+        position = skip(position - typeLengthSize);
+        // valTime
+        position = skip(position);
+        // unit
+        position = readTypeLength(position);
+        int unitCode = length > 0 ? (int) readNumber(position, false) : 0;
+        position += length;
+        // scaler
+        position = readTypeLength(position);
+        int scaler = length > 0 ? (int) readNumber(position, true) : 0;
+        position += length;
+        // value
+        position = readTypeLength(position);
+        String value = readValue(position, scaler);
+        position = skip(position - typeLengthSize);
+        // valueSignature
+        position = skip(position);
+
+        if (value != null) {
+            valueConsumer.accept(createValue(obis, value, unitCode, status));
+        }
+        return position;
+    }
+
+    private <Q extends Quantity<Q>> MeterValue<Q> createValue(String obis, String value, int unitCode,
+            @Nullable String status) {
+        EUnit unit = EUnit.from(unitCode);
+
+        return new MeterValue<Q>(obis, value, SmlUnitConversion.getUnit(unit == null ? EUnit.EMPTY : unit), status);
+    }
+
+    private @Nullable String readValue(int position, int scaler) {
+        String value;
+
+        switch (type) {
+            case TYPE_INTEGER:
+            case TYPE_UNSIGNED:
+                long number = readNumber(position, type == TYPE_INTEGER);
+                double doubleValue = type == TYPE_UNSIGNED && number < 0 ? (number >>> 1) * 2.0 + (number & 1)
+                        : number;
+                return String.valueOf(doubleValue * Math.pow(10, scaler));
+            case TYPE_BOOLEAN:
+                value = String.valueOf(buffer.get(position) != 0);
+                break;
+            case TYPE_OCTET_STRING:
+                byte[] octets = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    octets[i] = buffer.get(position + i);
+                }
+                value = new OctetString(octets).toString();
+                break;
+            default:
+                // lists (e.g. time values) are not supported as values
+                return null;
+        }
+        try {
+            // numeric octet strings are scaled too
+            return String.valueOf(Double.parseDouble(value) * Math.pow(10, scaler));
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    /**
+     * @return the OBIS code of the object name, or null if the object name is no OBIS code.
+     */
+    private @Nullable String getObisCode(int position, int nameLength) {
+        if (type != TYPE_OCTET_STRING || nameLength < OBIS_NAME_LENGTH || nameLength > 8) {
+            return null;
+        }
+        long key = nameLength;
+        for (int i = 0; i < nameLength; i++) {
+            key = (key << 8) | (buffer.get(position + i) & 0xff);
+        }
+        String obis = obisCodes.get(key);
+        if (obis == null) {
+            byte[] name = new byte[OBIS_NAME_LENGTH];
+            for (int i = 0; i < OBIS_NAME_LENGTH; i++) {
+                name[i] = buffer.get(position + i);
+            }
+            obis = SmlValueExtractor.getObisAsString(name);
+            if (obisCodes.size() >= MAX_CACHED_OBIS_NAMES) {
+                obisCodes.clear();
+            }
+            obisCodes.put(key, obis);
+        }
+        return obis;
+    }
+
+    /**
+     * Reads the type length field at the given position into {@link #type}, {@link #length} and
+     * {@link #typeLengthSize}. For all types except lists the length is the length of the data only.
+     *
+     * @return the position of the data
+     */
+    private int readTypeLength(int position) {
+        int b = buffer.get(position) & 0xff;
+        int size = 1;
+
+        type = b & TYPE_MASK;
+        length = b & 0x0f;
+        while ((b & MORE_LENGTH_BIT) != 0) {
+            b = buffer.get(position + size) & 0xff;
+            length = (length << 4) | (b & 0x0f);
+            size++;
+        }
+        typeLengthSize = size;
+        if (type != TYPE_LIST) {
+            // the length of all other types includes the type length field, 0x00 is the end of message marker
+            length = Math.max(0, length - size);
+        }
+        return position + size;
+    }
+
+    private int readList(int position, int expectedElements) throws IOException {
+        int dataPosition = readTypeLength(position);
+
+        if (type != TYPE_LIST || length != expectedElements) {
+            throw new IOException("Unexpected SML structure at position " + position);
+        }
+        return dataPosition;
+    }
+
+    /**
+     * @return the position after the element at the given position
+     */
+    private int skip(int position) {
+        int dataPosition = readTypeLength(position);
+
+        if (type == TYPE_LIST) {
+            int elements = length;
+            for (int i = 0; i < elements; i++) {
+                dataPosition = skip(dataPosition);
+            }
+            return dataPosition;
+        }
+        return dataPosition + length;
+    }
+
+    private long readNumber(int position, boolean signed) {
+        long number = signed && length > 0 && buffer.get(position) < 0 ? -1 : 0;
+
+        for (int i = 0; i < length; i++) {
+            number = (number << 8) | (buffer.get(position + i) & 0xff);
+        }
+        return number;
+    }
+}
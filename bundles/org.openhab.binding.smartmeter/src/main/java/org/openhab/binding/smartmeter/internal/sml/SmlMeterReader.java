@@ -12,7 +12,8 @@
  */
 package org.openhab.binding.smartmeter.internal.sml;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -20,16 +21,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
 import org.openhab.binding.smartmeter.connectors.IMeterReaderConnector;
 import org.openhab.binding.smartmeter.internal.MeterDevice;
-import org.openhab.binding.smartmeter.internal.MeterValue;
 import org.openhab.binding.smartmeter.internal.helper.ProtocolMode;
-import org.openmuc.jsml.structures.ASNObject;
-import org.openmuc.jsml.structures.EMessageBody;
-import org.openmuc.jsml.structures.SmlFile;
-import org.openmuc.jsml.structures.SmlList;
-import org.openmuc.jsml.structures.SmlListEntry;
-import org.openmuc.jsml.structures.SmlMessage;
-import org.openmuc.jsml.structures.SmlStatus;
-import org.openmuc.jsml.structures.responses.SmlGetListRes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,10 +32,12 @@ import org.slf4j.LoggerFactory;
  * @author Mathias Gilhuber - Also-By
  */
 @NonNullByDefault
-public final class SmlMeterReader extends MeterDevice<SmlFile> {
+public final class SmlMeterReader extends MeterDevice<ByteBuffer> {
 
     protected final Logger logger = LoggerFactory.getLogger(SmlMeterReader.class);
 
+    private final SmlListDecoder decoder = new SmlListDecoder();
+
     /**
      * Static factory method to create a SmlDevice object with a serial connector member.
      *
@@ -81,76 +75,22 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
     }
 
     /**
-     * Decodes native SML informations from the device and stores them locally until the next read request.
+     * Decodes native SML informations from the device and stores them locally until the next read request. Only the
+     * values of subscribed OBIS codes are decoded.
      *
-     * @param smlFile the native SML informations from the device
+     * @param smlMessages the native SML messages from the device
      */
     @Override
-    protected void populateValueCache(SmlFile smlFile) {
-        if (logger.isTraceEnabled()) {
-            logger.trace("Read out following SML file: {}", System.lineSeparator());
-            SmlFileDebugOutput.printFile(smlFile, (msg) -> logger.trace(msg));
-        }
-        List<SmlMessage> smlMessages = smlFile.getMessages();
-
-        if (smlMessages != null) {
-            int messageCount = smlMessages.size();
-
-            if (messageCount <= 0) {
-                logger.warn("{}: no valid SML messages list retrieved.", this.toString());
-            }
-
-            for (int i = 0; i < messageCount; i++) {
-                SmlMessage smlMessage = smlMessages.get(i);
-
-                int tag = smlMessage.getMessageBody().getTag().id();
-
-                if (tag != EMessageBody.GET_LIST_RESPONSE.id()) {
-                    continue;
-                }
-
-                SmlGetListRes listResponse = (SmlGetListRes) smlMessage.getMessageBody().getChoice();
-                SmlList smlValueList = listResponse.getValList();
-                SmlListEntry[] smlListEntries = smlValueList.getValListEntry();
-
-                for (SmlListEntry entry : smlListEntries) {
-                    SmlValueExtractor valueExtractor = new SmlValueExtractor(entry);
-                    String obis = valueExtractor.getObisCode();
-
-                    MeterValue<?> smlValue = getMeterValue(obis);
-
-                    if (smlValue == null) {
-                        smlValue = valueExtractor.getSmlValue();
-                    }
-
-                    SmlStatus status = entry.getStatus();
-                    if (status != null) {
-                        String statusValue = readStatus(status, obis);
-                        if (statusValue != null) {
-                            smlValue.setStatus(statusValue);
-                        }
-                    }
-
-                    addObisCache(smlValue);
-                }
-            }
-
-        } else {
-            logger.warn("{}: no valid SML messages list retrieved.", this.toString());
-        }
-    }
-
-    private @Nullable String readStatus(SmlStatus status, String obis) {
-        ASNObject choice = status.getChoice();
-        if (choice != null) {
-            String statusValue = choice.toString();
-            return statusValue;
+    protected void populateValueCache(ByteBuffer smlMessages) {
+        try {
+            decoder.decode(smlMessages, this::isSubscribed, value -> addObisCache(value));
+        } catch (IOException e) {
+            logger.warn("{}: no valid SML messages list retrieved: {}", getDeviceId(), e.getMessage());
         }
-        return null;
     }
 
     @Override
-    protected IMeterReaderConnector<SmlFile> createConnector(Supplier<SerialPortManager> serialPortManagerSupplier,
+    protected IMeterReaderConnector<ByteBuffer> createConnector(Supplier<SerialPortManager> serialPortManagerSupplier,
             String serialPort, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
         return new SmlSerialConnector(serialPortManagerSupplier, serialPort, baudrate, baudrateChangeDelay);
     }
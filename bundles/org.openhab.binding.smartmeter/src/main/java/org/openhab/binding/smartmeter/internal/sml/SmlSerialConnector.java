@@ -14,11 +14,12 @@ package org.openhab.binding.smartmeter.internal.sml;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.text.MessageFormat;
-import java.util.Stack;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -42,10 +43,12 @@ import org.openmuc.jsml.transport.Transport;
  * @author Mathias Gilhuber - Also-By
  */
 @NonNullByDefault
-public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
+public final class SmlSerialConnector extends ConnectorBase<ByteBuffer> {
 
     private static final Transport TRANSPORT = new Transport();
 
+    private final SmlFrameReader frameReader = new SmlFrameReader();
+
     private Supplier<SerialPortManager> serialManagerSupplier;
     @NonNullByDefault({})
     private SerialPort serialPort;
@@ -78,8 +81,11 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
         this.baudrate = baudrate;
     }
 
+    /**
+     * Reads the most recent SML frame. The returned messages are only valid until the next call.
+     */
     @Override
-    protected SmlFile readNext(byte @Nullable [] initMessage) throws IOException {
+    protected ByteBuffer readNext(byte @Nullable [] initMessage) throws IOException {
         if (initMessage != null) {
             logger.debug("Writing init message: {}", HexUtils.bytesToHex(initMessage, " "));
             if (os != null) {
@@ -87,18 +93,35 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
                 os.flush();
             }
         }
+        DataInputStream localInputStream = is;
+        if (localInputStream == null) {
+            throw new IOException(getPortName() + " : Connection is not open.");
+        }
 
         // read out the whole buffer. We are only interested in the most recent SML file.
-        Stack<SmlFile> smlFiles = new Stack<>();
+        ByteBuffer messages;
+        int frameCount = 0;
         do {
-            logger.trace("Reading {}. SML message", smlFiles.size() + 1);
-            smlFiles.push(TRANSPORT.getSMLFile(is));
-        } while (is != null && is.available() > 0);
-        if (smlFiles.isEmpty()) {
-            throw new IOException(getPortName() + " : There is no SML file in buffer. Try to increase Refresh rate.");
+            logger.trace("Reading {}. SML message", frameCount + 1);
+            messages = frameReader.readFrame(localInputStream);
+            frameCount++;
+        } while (localInputStream.available() > 0);
+        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), frameCount);
+        if (logger.isTraceEnabled()) {
+            printFrame(frameReader.getRawFrame());
+        }
+        return messages;
+    }
+
+    private void printFrame(ByteBuffer rawFrame) {
+        try {
+            SmlFile smlFile = TRANSPORT.getSMLFile(
+                    new DataInputStream(new ByteArrayInputStream(rawFrame.array(), 0, rawFrame.limit())));
+            logger.trace("Read out following SML file: {}", System.lineSeparator());
+            SmlFileDebugOutput.printFile(smlFile, (msg) -> logger.trace(msg));
+        } catch (IOException e) {
+            logger.trace("Failed to decode SML file for output", e);
         }
-        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles.size());
-        return smlFiles.pop();
     }
 
     @Override
@@ -64,6 +64,25 @@ public class TestMeterReading {
         }
     }
 
+    @Test
+    public void testSuppressUnchangedValues() throws Exception {
+        final Duration period = Duration.ofSeconds(1);
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
+        MeterDevice<Object> meter = getMeterDevice(connector);
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        meter.addValueChangeListener(changeListener);
+        meter.setSuppressUnchangedValues(true);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            verify(changeListener, after(3 * period.toMillis() + period.toMillis() / 2).never())
+                    .errorOccurred(any());
+            verify(changeListener, times(1)).valueChanged(any());
+            verify(changeListener, never()).valueRemoved(any());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
     @Test
     public void testRetryHandling() {
         final Duration period = Duration.ofSeconds(1);
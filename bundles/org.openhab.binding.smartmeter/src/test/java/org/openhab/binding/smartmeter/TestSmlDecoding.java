@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Test;
+import org.openhab.binding.smartmeter.internal.MeterValue;
+import org.openhab.binding.smartmeter.internal.sml.SmlFrameReader;
+import org.openhab.binding.smartmeter.internal.sml.SmlListDecoder;
+import org.openhab.binding.smartmeter.internal.sml.SmlUnitConversion;
+import org.openmuc.jsml.EUnit;
+
+/**
+ * Tests the decoding of SML frames with {@link SmlFrameReader} and {@link SmlListDecoder}.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TestSmlDecoding {
+
+    private static final String OPEN_RESPONSE = "76 05 01020304 6200 6200 72 630101 76 01 01 01 01 01 01 63 1234 00";
+
+    private static final String GET_LIST_RESPONSE = "76 05 01020305 6200 6200 72 630701 77 01"
+            // serverId, contains an escape sequence
+            + " 0b 1b1b1b1b1b1b1b1b0102"
+            // listName, actSensorTime
+            + " 07 0100620affff 72 6201 6500000001"
+            // valList
+            + " 73"
+            // 1-0:1.8.0*255, status 386, Wh, scaler -1, 123456
+            + " 77 07 0100010800ff 6500000182 01 621e 52ff 59000000000001e240 01"
+            // 1-0:16.7.0*255, W, scaler 0, 300
+            + " 77 07 0100100700ff 01 01 621b 5200 550000012c 01"
+            // 1-0:96.1.0*255, device id
+            + " 77 07 0100600100ff 01 01 01 01 0b 0a01454d480000000001 01"
+            // listSignature, actGatewayTime, crc16, endOfSmlMsg
+            + " 01 01 63 5678 00";
+
+    @Test
+    public void decodesSubscribedValues() throws IOException {
+        SmlFrameReader frameReader = new SmlFrameReader();
+        ByteBuffer messages = frameReader
+                .readFrame(new DataInputStream(new ByteArrayInputStream(frame(OPEN_RESPONSE, GET_LIST_RESPONSE))));
+
+        List<MeterValue<?>> values = new ArrayList<>();
+        new SmlListDecoder().decode(messages,
+                obis -> Arrays.asList("1-0:1.8.0", "1-0:16.7.0").contains(obis), values::add);
+
+        assertEquals(2, values.size());
+        assertEquals("1-0:1.8.0", values.get(0).getObisCode());
+        assertEquals("12345.6", values.get(0).getValue());
+        assertEquals("386", values.get(0).getStatus());
+        assertEquals(SmlUnitConversion.getUnit(EUnit.WATT_HOUR), values.get(0).getUnit());
+        assertEquals("1-0:16.7.0", values.get(1).getObisCode());
+        assertEquals("300.0", values.get(1).getValue());
+        assertNull(values.get(1).getStatus());
+        assertEquals(SmlUnitConversion.getUnit(EUnit.WATT), values.get(1).getUnit());
+    }
+
+    @Test
+    public void readsConsecutiveFramesWithReusedBuffers() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(new byte[] { 0x12, 0x1b, 0x1b });
+        stream.write(frame(OPEN_RESPONSE));
+        stream.write(frame(GET_LIST_RESPONSE));
+        DataInputStream is = new DataInputStream(new ByteArrayInputStream(stream.toByteArray()));
+        SmlFrameReader frameReader = new SmlFrameReader();
+        SmlListDecoder decoder = new SmlListDecoder();
+        List<MeterValue<?>> values = new ArrayList<>();
+
+        decoder.decode(frameReader.readFrame(is), obis -> true, values::add);
+        assertTrue(values.isEmpty());
+
+        decoder.decode(frameReader.readFrame(is), obis -> true, values::add);
+        assertEquals(3, values.size());
+        assertEquals("1-0:96.1.0", values.get(2).getObisCode());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsInvalidCrc() throws IOException {
+        byte[] frame = frame(GET_LIST_RESPONSE);
+        frame[frame.length - 1]++;
+
+        new SmlFrameReader().readFrame(new DataInputStream(new ByteArrayInputStream(frame)));
+    }
+
+    /**
+     * Creates a SML transport frame with the given messages.
+     */
+    private static byte[] frame(String... messages) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        for (String message : messages) {
+            payload.write(HexUtils.hexToBytes(message.replace(" ", "")));
+        }
+        int padding = (4 - payload.size() % 4) % 4;
+        payload.write(new byte[padding]);
+
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        byte[] escape = { 0x1b, 0x1b, 0x1b, 0x1b };
+        frame.write(escape);
+        frame.write(new byte[] { 0x01, 0x01, 0x01, 0x01 });
+        byte[] data = payload.toByteArray();
+        for (int i = 0; i < data.length; i += 4) {
+            byte[] block = Arrays.copyOfRange(data, i, i + 4);
+            if (Arrays.equals(block, escape)) {
+                frame.write(escape);
+            }
+            frame.write(block);
+        }
+        frame.write(escape);
+        frame.write(new byte[] { 0x1a, (byte) padding });
+        int crc = crc16(frame.toByteArray());
+        frame.write(new byte[] { (byte) crc, (byte) (crc >> 8) });
+        return frame.toByteArray();
+    }
+
+    private static int crc16(byte[] data) {
+        int crc = 0xffff;
+        for (byte b : data) {
+            crc ^= b & 0xff;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0x8408 : crc >>> 1;
+            }
+        }
+        return crc ^ 0xffff;
+    }
+}
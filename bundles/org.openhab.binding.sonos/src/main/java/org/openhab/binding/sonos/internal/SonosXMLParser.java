@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,6 +30,7 @@ import org.apache.commons.lang.StringEscapeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
@@ -55,6 +57,14 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    private static final ContentHandler NO_CONTENT_HANDLER = new DefaultHandler();
+
+    /**
+     * Creating a SAX parser is expensive compared to parsing the small documents of the Zone Players,
+     * so each thread keeps its parser. A parser in use is taken from the thread, so nested parsing gets a new one.
+     */
+    private static final ThreadLocal<XMLReader> READERS = new ThreadLocal<>();
+
     private enum Element {
         TITLE,
         CLASS,
@@ -80,6 +90,26 @@ public class SonosXMLParser {
         desc;
     }
 
+    /**
+     * Parses the given source with a parser of the current thread
+     */
+    private static void parse(ContentHandler handler, InputSource source) throws IOException, SAXException {
+        XMLReader reader = READERS.get();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+        } else {
+            READERS.remove();
+        }
+        reader.setContentHandler(handler);
+        try {
+            reader.parse(source);
+        } finally {
+            // Do not keep the handler and its results alive
+            reader.setContentHandler(NO_CONTENT_HANDLER);
+            READERS.set(reader);
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -89,9 +119,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -109,9 +137,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -130,11 +156,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -153,9 +177,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -169,9 +191,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -183,11 +203,20 @@ public class SonosXMLParser {
     }
 
     public static Map<String, String> getRenderingControlFromXML(String xml) {
-        RenderingControlEventHandler handler = new RenderingControlEventHandler();
+        return getRenderingControlFromXML(xml, (variable, value) -> true);
+    }
+
+    /**
+     * Decodes a RenderingControl LastChange event in a single pass.
+     *
+     * @param xml the LastChange value
+     * @param filter decides for each variable and value, if it is part of the result, e.g. because it has changed
+     * @return the accepted variables and their values
+     */
+    public static Map<String, String> getRenderingControlFromXML(String xml, BiPredicate<String, String> filter) {
+        RenderingControlEventHandler handler = new RenderingControlEventHandler(filter);
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -198,11 +227,20 @@ public class SonosXMLParser {
     }
 
     public static Map<String, String> getAVTransportFromXML(String xml) {
-        AVTransportEventHandler handler = new AVTransportEventHandler();
+        return getAVTransportFromXML(xml, (variable, value) -> true);
+    }
+
+    /**
+     * Decodes an AVTransport LastChange event in a single pass.
+     *
+     * @param xml the LastChange value
+     * @param filter decides for each variable and value, if it is part of the result, e.g. because it has changed
+     * @return the accepted variables and their values
+     */
+    public static Map<String, String> getAVTransportFromXML(String xml, BiPredicate<String, String> filter) {
+        AVTransportEventHandler handler = new AVTransportEventHandler(filter);
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -215,9 +253,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -231,9 +267,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -680,6 +714,11 @@ public class SonosXMLParser {
          */
 
         private final Map<String, String> changes = new HashMap<String, String>();
+        private final BiPredicate<String, String> filter;
+
+        AVTransportEventHandler(BiPredicate<String, String> filter) {
+            this.filter = filter;
+        }
 
         @Override
         public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
@@ -688,8 +727,9 @@ public class SonosXMLParser {
              * the info we need from here.
              */
             try {
-                if (atts.getValue("val") != null) {
-                    changes.put(localName, atts.getValue("val"));
+                String value = atts.getValue("val");
+                if (value != null && filter.test(localName, value)) {
+                    changes.put(localName, value);
                 }
             } catch (IllegalArgumentException e) {
                 // this means that localName isn't defined in EventType, which is expected for some elements
@@ -792,24 +832,35 @@ public class SonosXMLParser {
     private static class RenderingControlEventHandler extends DefaultHandler {
 
         private final Map<String, String> changes = new HashMap<String, String>();
+        private final BiPredicate<String, String> filter;
 
         private boolean getPresetName = false;
         private String presetName;
 
+        RenderingControlEventHandler(BiPredicate<String, String> filter) {
+            this.filter = filter;
+        }
+
+        private void put(String variable, String value) {
+            if (filter.test(variable, value)) {
+                changes.put(variable, value);
+            }
+        }
+
         @Override
         public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
             if ("Volume".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                put(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("Mute".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                put(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("Bass".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                put(qName, atts.getValue("val"));
             } else if ("Treble".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                put(qName, atts.getValue("val"));
             } else if ("Loudness".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                put(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("OutputFixed".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                put(qName, atts.getValue("val"));
             } else if ("PresetNameList".equals(qName)) {
                 getPresetName = true;
             }
@@ -826,7 +877,7 @@ public class SonosXMLParser {
         public void endElement(String uri, String localName, String qName) throws SAXException {
             if (getPresetName) {
                 getPresetName = false;
-                changes.put(qName, presetName);
+                put(qName, presetName);
             }
         }
 
@@ -857,10 +908,8 @@ public class SonosXMLParser {
     public static String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            parse(roomNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -895,10 +944,8 @@ public class SonosXMLParser {
     public static String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            parse(modelNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -387,7 +387,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
             // pre-process some variables, eg XML processing
             if (service.equals("AVTransport") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
+                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value,
+                        this::isLastChangeValueToDispatch);
                 for (String parsedValue : parsedValues.keySet()) {
                     // Update the transport state after the update of the media information
                     // to not break the notification mechanism
@@ -409,7 +410,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             }
 
             if (service.equals("RenderingControl") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
+                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value,
+                        this::isLastChangeValueToDispatch);
                 for (String parsedValue : parsedValues.keySet()) {
                     onValueReceived(parsedValue, parsedValues.get(parsedValue), "RenderingControl");
                 }
@@ -783,6 +785,15 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
     }
 
+    /**
+     * Only the changed variables of a LastChange event are dispatched. The transport URI is always dispatched, because
+     * it is translated to the CurrentURI variable, which may also be set by other actions.
+     */
+    private boolean isLastChangeValueToDispatch(String variable, String value) {
+        return "AVTransportURI".equals(variable) || "AVTransportURIMetaData".equals(variable)
+                || !shouldIgnoreVariableUpdate(variable, value, stateMap.get(variable));
+    }
+
     /**
      * CurrentURI will not change, but will trigger change of CurrentURIFormated
      * CurrentTrackMetaData will not change, but will trigger change of Title, Artist, Album
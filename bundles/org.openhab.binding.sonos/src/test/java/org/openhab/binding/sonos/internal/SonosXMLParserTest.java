@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests the decoding of Zone Player events with {@link SonosXMLParser}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SonosXMLParserTest {
+
+    private static final String AV_TRANSPORT_EVENT = "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/AVT/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\"><InstanceID val=\"0\">"
+            + "<TransportState val=\"PLAYING\"/><CurrentPlayMode val=\"NORMAL\"/><NumberOfTracks val=\"29\"/>"
+            + "<CurrentTrack val=\"12\"/><CurrentTrackDuration val=\"0:03:02\"/>"
+            + "<AVTransportURI val=\"x-rincon-queue:RINCON_000E5812BC1801400#0\"/>"
+            + "<r:SleepTimerGeneration val=\"0\"/></InstanceID></Event>";
+
+    private static final String RENDERING_CONTROL_EVENT = "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/RCS/\">"
+            + "<InstanceID val=\"0\"><Volume channel=\"Master\" val=\"23\"/><Mute channel=\"Master\" val=\"0\"/>"
+            + "<Bass val=\"0\"/><Treble val=\"2\"/><Loudness channel=\"Master\" val=\"1\"/>"
+            + "<OutputFixed val=\"0\"/><PresetNameList>FactoryDefaults</PresetNameList></InstanceID></Event>";
+
+    private static final String ZONE_GROUP_STATE = "<ZoneGroups><ZoneGroup Coordinator=\"RINCON_1\" ID=\"RINCON_1:1\">"
+            + "<ZoneGroupMember UUID=\"RINCON_1\" ZoneName=\"Kitchen\"/>"
+            + "<ZoneGroupMember UUID=\"RINCON_2\" ZoneName=\"Living Room\"/></ZoneGroup></ZoneGroups>";
+
+    @Test
+    public void decodesAVTransportEvent() {
+        Map<String, String> values = SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT);
+
+        assertEquals("PLAYING", values.get("TransportState"));
+        assertEquals("NORMAL", values.get("CurrentPlayMode"));
+        assertEquals("12", values.get("CurrentTrack"));
+        assertEquals("x-rincon-queue:RINCON_000E5812BC1801400#0", values.get("AVTransportURI"));
+        assertEquals("0", values.get("SleepTimerGeneration"));
+    }
+
+    @Test
+    public void decodesOnlyChangedAVTransportValues() {
+        Map<String, String> state = new HashMap<>(SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT));
+        state.put("CurrentTrack", "11");
+
+        Map<String, String> values = SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT,
+                (variable, value) -> !value.equals(state.get(variable)));
+
+        assertEquals(1, values.size());
+        assertEquals("12", values.get("CurrentTrack"));
+    }
+
+    @Test
+    public void decodesRenderingControlEvent() {
+        Map<String, String> values = SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_EVENT);
+
+        assertEquals("23", values.get("VolumeMaster"));
+        assertEquals("0", values.get("MuteMaster"));
+        assertEquals("2", values.get("Treble"));
+        assertEquals("1", values.get("LoudnessMaster"));
+        assertEquals("FactoryDefaults", values.get("PresetNameList"));
+
+        Map<String, String> changed = SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_EVENT,
+                (variable, value) -> variable.startsWith("Volume"));
+        assertEquals(1, changed.size());
+        assertEquals("23", changed.get("VolumeMaster"));
+    }
+
+    @Test
+    public void reusesParserForConsecutiveAndNestedDocuments() {
+        for (int i = 0; i < 100; ++i) {
+            assertEquals("PLAYING", SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT).get("TransportState"));
+            List<SonosZoneGroup> groups = SonosXMLParser.getZoneGroupFromXML(ZONE_GROUP_STATE);
+            assertEquals(1, groups.size());
+            assertEquals(2, groups.get(0).getMembers().size());
+        }
+
+        // A broken document must not break the parser of the thread
+        assertTrue(SonosXMLParser.getAVTransportFromXML("<Event><InstanceID").isEmpty());
+
+        // Parse another document from within a parser callback
+        Map<String, String> values = SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_EVENT, (variable, value) -> {
+            assertEquals("23", SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_EVENT).get("VolumeMaster"));
+            return true;
+        });
+        assertEquals("PLAYING", values.get("TransportState"));
+    }
+}
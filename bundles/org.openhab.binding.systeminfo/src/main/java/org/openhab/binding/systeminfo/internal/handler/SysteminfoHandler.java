@@ -239,6 +239,9 @@ public class SysteminfoHandler extends BaseThingHandler {
 
     private void publishData(Set<ChannelUID> channels) {
         if (channels != null) {
+            if (!updateSnapshot()) {
+                return;
+            }
             Iterator<ChannelUID> iter = channels.iterator();
             while (iter.hasNext()) {
                 ChannelUID channeUID = iter.next();
@@ -249,6 +252,23 @@ public class SysteminfoHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Queries the dynamic system information once for all channels of a refresh cycle
+     *
+     * @return false if the system information is not available
+     */
+    private boolean updateSnapshot() {
+        try {
+            systeminfo.updateSnapshot();
+            return true;
+        } catch (Exception e) {
+            logger.debug("Unexpected error occurred while getting system information!", e);
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                    "Cannot get system info as result of unexpected error. Please try to restart the binding (remove and re-add the thing)!");
+            return false;
+        }
+    }
+
     private void publishDataForChannel(ChannelUID channelUID) {
         State state = getInfoForChannel(channelUID);
         String channelID = channelUID.getId();
@@ -513,7 +533,9 @@ public class SysteminfoHandler extends BaseThingHandler {
         if (thing.getStatus().equals(ThingStatus.ONLINE)) {
             if (command instanceof RefreshType) {
                 logger.debug("Refresh command received for channel {}!", channelUID);
-                publishDataForChannel(channelUID);
+                if (updateSnapshot()) {
+                    publishDataForChannel(channelUID);
+                }
             } else {
                 logger.debug("Unsupported command {}! Supported commands: REFRESH", command);
             }
@@ -13,6 +13,9 @@
 package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -45,6 +48,7 @@ import oshi.util.EdidUtil;
  *         initializeSysteminfo method
  * @author Christoph Weitkamp - Update to OSHI 3.13.0 - Replaced deprecated method
  *         CentralProcessor#getSystemSerialNumber()
+ * @author agent - Share the dynamic information of one refresh cycle in a {@link Snapshot}
  *
  * @see <a href="https://github.com/oshi/oshi">OSHI github repository</a>
  */
@@ -63,14 +67,115 @@ public class OSHISysteminfo implements SysteminfoInterface {
     // Static objects, should be recreated on each request
     private ComputerSystem computerSystem;
     private OperatingSystem operatingSystem;
-    private NetworkIF[] networks;
     private Display[] displays;
-    private OSFileStore[] fileStores;
-    private PowerSource[] powerSources;
     private HWDiskStore[] drives;
 
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
+    /**
+     * Snapshots younger than this are reused by {@link #updateSnapshot()}, so that things and priority tiers which are
+     * refreshed at the same time share the queried information.
+     */
+    static final long SNAPSHOT_MAX_AGE_IN_MS = 1000;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * The dynamic information of one refresh cycle. The values are grouped by their OSHI source and each group is
+     * queried on first access, so that a refresh cycle only queries the sources of its channels.
+     */
+    private class Snapshot {
+        final long timestamp = System.nanoTime();
+
+        private MemoryValues memoryValues;
+        private CpuValues cpuValues;
+        private SensorValues sensorValues;
+        private OSFileStore[] fileStores;
+        private NetworkIF[] networks;
+        private PowerSource[] powerSources;
+        private final Map<Integer, OSProcess> processes = new ConcurrentHashMap<>();
+
+        boolean isExpired() {
+            return System.nanoTime() - timestamp > TimeUnit.MILLISECONDS.toNanos(SNAPSHOT_MAX_AGE_IN_MS);
+        }
+
+        synchronized MemoryValues getMemory() {
+            if (memoryValues == null) {
+                memoryValues = new MemoryValues();
+            }
+            return memoryValues;
+        }
+
+        synchronized CpuValues getCpu() {
+            if (cpuValues == null) {
+                cpuValues = new CpuValues();
+            }
+            return cpuValues;
+        }
+
+        synchronized SensorValues getSensors() {
+            if (sensorValues == null) {
+                sensorValues = new SensorValues();
+            }
+            return sensorValues;
+        }
+
+        // In the current OSHI version a new query is required for the storage, network and battery data values to be
+        // updated. In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
+        synchronized OSFileStore[] getFileStores() {
+            if (fileStores == null) {
+                fileStores = operatingSystem.getFileSystem().getFileStores();
+            }
+            return fileStores;
+        }
+
+        synchronized NetworkIF[] getNetworks() {
+            if (networks == null) {
+                networks = hal.getNetworkIFs();
+                for (NetworkIF network : networks) {
+                    network.updateNetworkStats();
+                }
+            }
+            return networks;
+        }
+
+        synchronized PowerSource[] getPowerSources() {
+            if (powerSources == null) {
+                powerSources = hal.getPowerSources();
+            }
+            return powerSources;
+        }
+
+        OSProcess getProcess(int pid) throws DeviceNotFoundException {
+            OSProcess process = processes.computeIfAbsent(pid, operatingSystem::getProcess);
+            if (process == null) {
+                throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
+            }
+            return process;
+        }
+    }
+
+    private class MemoryValues {
+        final long total = memory.getTotal();
+        final long available = memory.getAvailable();
+        final long swapTotal = memory.getSwapTotal();
+        final long swapUsed = memory.getSwapUsed();
+    }
+
+    private class CpuValues {
+        // The CPU load is calculated from the ticks since the previous query, so it is queried once per cycle
+        final double load = cpu.getSystemCpuLoad();
+        final double[] loadAverage = cpu.getSystemLoadAverage(3);
+        final long uptime = cpu.getSystemUptime();
+        final int threadCount = operatingSystem.getThreadCount();
+    }
+
+    private class SensorValues {
+        final double cpuTemperature = sensors.getCpuTemperature();
+        final double cpuVoltage = sensors.getCpuVoltage();
+        final int[] fanSpeeds = sensors.getFanSpeeds();
+    }
+
     /**
      * Some of the methods used in this constructor execute native code and require execute permissions
      *
@@ -84,7 +189,14 @@ public class OSHISysteminfo implements SysteminfoInterface {
         logger.debug("OSHISysteminfo service starts initializing");
 
         SystemInfo systemInfo = new SystemInfo();
-        hal = systemInfo.getHardware();
+        initializeSysteminfo(systemInfo.getHardware(), systemInfo.getOperatingSystem());
+    }
+
+    /**
+     * Initializes the service with the given OSHI hardware and operating system information.
+     */
+    void initializeSysteminfo(HardwareAbstractionLayer hal, OperatingSystem operatingSystem) {
+        this.hal = hal;
 
         // Doesn't need regular update, they may be queried repeatedly
         memory = hal.getMemory();
@@ -93,14 +205,37 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
         // Static objects, should be recreated on each request. In OSHI 4.0.0. it is planned to change this mechanism -
         // see https://github.com/oshi/oshi/issues/310
-        // TODO: Once the issue is resolved in OSHI , remove unnecessary object recreations from the public get methods
+        // TODO: Once the issue is resolved in OSHI , remove unnecessary object recreations from the Snapshot
         computerSystem = hal.getComputerSystem();
-        operatingSystem = systemInfo.getOperatingSystem();
-        networks = hal.getNetworkIFs();
+        this.operatingSystem = operatingSystem;
         displays = hal.getDisplays();
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        powerSources = hal.getPowerSources();
         drives = hal.getDiskStores();
+        snapshot = null;
+    }
+
+    @Override
+    public synchronized void updateSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null || current.isExpired()) {
+            snapshot = new Snapshot();
+        }
+    }
+
+    /**
+     * Returns the snapshot of the current refresh cycle. A snapshot is only taken here, if there was none yet.
+     */
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = new Snapshot();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
     }
 
     @SuppressWarnings("null")
@@ -111,14 +246,6 @@ public class OSHISysteminfo implements SysteminfoInterface {
         return devices[index];
     }
 
-    private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
-        if (process == null) {
-            throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
-        }
-        return process;
-    }
-
     @Override
     public StringType getOsFamily() {
         String osFamily = operatingSystem.getFamily();
@@ -172,29 +299,29 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getCpuLoad() {
-        double processorLoad = cpu.getSystemCpuLoad();
+        double processorLoad = getSnapshot().getCpu().load;
         BigDecimal processorLoadPercent = getPercentsValue(processorLoad);
         return new DecimalType(processorLoadPercent);
     }
 
     @Override
     public DecimalType getMemoryTotal() {
-        long totalMemory = memory.getTotal();
+        long totalMemory = getSnapshot().getMemory().total;
         totalMemory = getSizeInMB(totalMemory);
         return new DecimalType(totalMemory);
     }
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getSnapshot().getMemory().available;
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
 
     @Override
     public DecimalType getMemoryUsed() {
-        long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        long totalMemory = getSnapshot().getMemory().total;
+        long availableMemory = getSnapshot().getMemory().available;
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -202,10 +329,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSnapshot().getFileStores(), index);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
@@ -213,10 +337,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSnapshot().getFileStores(), index);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
@@ -224,10 +345,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSnapshot().getFileStores(), index);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -237,10 +355,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSnapshot().getFileStores(), deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -254,10 +369,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSnapshot().getFileStores(), deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -272,31 +384,28 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getStorageName(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSnapshot().getFileStores(), index);
         String name = fileStore.getName();
         return new StringType(name);
     }
 
     @Override
     public StringType getStorageType(int deviceIndex) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSnapshot().getFileStores(), deviceIndex);
         String type = fileStore.getType();
         return new StringType(type);
     }
 
     @Override
     public StringType getStorageDescription(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getSnapshot().getFileStores(), index);
         String description = fileStore.getDescription();
         return new StringType(description);
     }
 
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        NetworkIF netInterface = (NetworkIF) getDevice(getSnapshot().getNetworks(), index);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -304,14 +413,14 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getNetworkName(int index) throws DeviceNotFoundException {
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        NetworkIF netInterface = (NetworkIF) getDevice(getSnapshot().getNetworks(), index);
         String name = netInterface.getName();
         return new StringType(name);
     }
 
     @Override
     public StringType getNetworkDisplayName(int index) throws DeviceNotFoundException {
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        NetworkIF netInterface = (NetworkIF) getDevice(getSnapshot().getNetworks(), index);
         String adapterName = netInterface.getDisplayName();
         return new StringType(adapterName);
     }
@@ -334,31 +443,28 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSensorsCpuTemperature() {
-        BigDecimal cpuTemp = new BigDecimal(sensors.getCpuTemperature());
+        BigDecimal cpuTemp = new BigDecimal(getSnapshot().getSensors().cpuTemperature);
         cpuTemp = cpuTemp.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuTemp.signum() == 1 ? new DecimalType(cpuTemp) : null;
     }
 
     @Override
     public DecimalType getSensorsCpuVoltage() {
-        BigDecimal cpuVoltage = new BigDecimal(sensors.getCpuVoltage());
+        BigDecimal cpuVoltage = new BigDecimal(getSnapshot().getSensors().cpuVoltage);
         cpuVoltage = cpuVoltage.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuVoltage.signum() == 1 ? new DecimalType(cpuVoltage) : null;
     }
 
     @Override
     public DecimalType getSensorsFanSpeed(int index) throws DeviceNotFoundException {
-        int[] fanSpeeds = sensors.getFanSpeeds();
+        int[] fanSpeeds = getSnapshot().getSensors().fanSpeeds;
         int speed = (int) getDevice(ArrayUtils.toObject(fanSpeeds), index);
         return speed > 0 ? new DecimalType(speed) : null;
     }
 
     @Override
     public DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(getSnapshot().getPowerSources(), index);
         double remainingTimeInSeconds = powerSource.getTimeRemaining();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -367,10 +473,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(getSnapshot().getPowerSources(), index);
         double remainingCapacity = powerSource.getRemainingCapacity();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -378,15 +481,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getBatteryName(int index) throws DeviceNotFoundException {
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(getSnapshot().getPowerSources(), index);
         String name = powerSource.getName();
         return new StringType(name);
     }
 
     @Override
     public DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        long availableMemory = getSnapshot().getMemory().available;
+        long totalMemory = getSnapshot().getMemory().total;
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
             BigDecimal freePercent = getPercentsValue(freePercentDecimal);
@@ -398,8 +501,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        long availableMemory = getSnapshot().getMemory().available;
+        long totalMemory = getSnapshot().getMemory().total;
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
             double usedPercentDecimal = (double) usedMemory / (double) totalMemory;
@@ -433,15 +536,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapTotal() {
-        long swapTotal = memory.getSwapTotal();
+        long swapTotal = getSnapshot().getMemory().swapTotal;
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailable() {
-        long swapTotal = memory.getSwapTotal();
-        long swapUsed = memory.getSwapUsed();
+        long swapTotal = getSnapshot().getMemory().swapTotal;
+        long swapUsed = getSnapshot().getMemory().swapUsed;
         long swapAvaialble = swapTotal - swapUsed;
         swapAvaialble = getSizeInMB(swapAvaialble);
         return swapAvaialble > 0 ? new DecimalType(swapAvaialble) : null;
@@ -449,15 +552,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapUsed() {
-        long swapTotal = memory.getSwapUsed();
+        long swapTotal = getSnapshot().getMemory().swapUsed;
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailablePercent() {
-        long usedSwap = memory.getSwapUsed();
-        long totalSwap = memory.getSwapTotal();
+        long usedSwap = getSnapshot().getMemory().swapUsed;
+        long totalSwap = getSnapshot().getMemory().swapTotal;
         long freeSwap = totalSwap - usedSwap;
         if (totalSwap > 0) {
             double freePercentDecimal = (double) freeSwap / (double) totalSwap;
@@ -470,8 +573,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapUsedPercent() {
-        long usedSwap = memory.getSwapUsed();
-        long totalSwap = memory.getSwapTotal();
+        long usedSwap = getSnapshot().getMemory().swapUsed;
+        long totalSwap = getSnapshot().getMemory().swapTotal;
         if (totalSwap > 0) {
             double usedPercentDecimal = (double) usedSwap / (double) totalSwap;
             BigDecimal usedPercent = getPercentsValue(usedPercentDecimal);
@@ -546,7 +649,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
             default:
                 index = 2;
         }
-        double processorLoads[] = cpu.getSystemLoadAverage(index + 1);
+        double processorLoads[] = getSnapshot().getCpu().loadAverage;
         BigDecimal result = new BigDecimal(processorLoads[index]);
         result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return result;
@@ -554,63 +657,47 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getCpuUptime() {
-        long seconds = cpu.getSystemUptime();
+        long seconds = getSnapshot().getCpu().uptime;
         return new DecimalType(getTimeInMinutes(seconds));
     }
 
     @Override
     public DecimalType getCpuThreads() {
-        int threadCount = operatingSystem.getThreadCount();
+        int threadCount = getSnapshot().getCpu().threadCount;
         return new DecimalType(threadCount);
     }
 
     @Override
     public StringType getNetworkMac(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
+        NetworkIF network = (NetworkIF) getDevice(getSnapshot().getNetworks(), networkIndex);
         String mac = network.getMacaddr();
         return new StringType(mac);
     }
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = (NetworkIF) getDevice(getSnapshot().getNetworks(), networkIndex);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = (NetworkIF) getDevice(getSnapshot().getNetworks(), networkIndex);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
 
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = (NetworkIF) getDevice(getSnapshot().getNetworks(), networkIndex);
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
 
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = (NetworkIF) getDevice(getSnapshot().getNetworks(), networkIndex);
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
@@ -618,7 +705,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public StringType getProcessName(int pid) throws DeviceNotFoundException {
         if (pid > 0) {
-            OSProcess process = getProcess(pid);
+            OSProcess process = getSnapshot().getProcess(pid);
             String name = process.getName();
             return new StringType(name);
         } else {
@@ -629,7 +716,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getProcessCpuUsage(int pid) throws DeviceNotFoundException {
         if (pid > 0) {
-            OSProcess process = getProcess(pid);
+            OSProcess process = getSnapshot().getProcess(pid);
             double cpuUsageRaw = (process.getKernelTime() + process.getUserTime()) / process.getUpTime();
             BigDecimal cpuUsage = getPercentsValue(cpuUsageRaw);
             return new DecimalType(cpuUsage);
@@ -641,7 +728,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getProcessMemoryUsage(int pid) throws DeviceNotFoundException {
         if (pid > 0) {
-            OSProcess process = getProcess(pid);
+            OSProcess process = getSnapshot().getProcess(pid);
             long memortInBytes = process.getResidentSetSize();
             long memoryInMB = getSizeInMB(memortInBytes);
             return new DecimalType(memoryInMB);
@@ -653,7 +740,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public StringType getProcessPath(int pid) throws DeviceNotFoundException {
         if (pid > 0) {
-            OSProcess process = getProcess(pid);
+            OSProcess process = getSnapshot().getProcess(pid);
             String path = process.getPath();
             return new StringType(path);
         } else {
@@ -664,7 +751,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getProcessThreads(int pid) throws DeviceNotFoundException {
         if (pid > 0) {
-            OSProcess process = getProcess(pid);
+            OSProcess process = getSnapshot().getProcess(pid);
             int threadCount = process.getThreadCount();
             return new DecimalType(threadCount);
         } else {
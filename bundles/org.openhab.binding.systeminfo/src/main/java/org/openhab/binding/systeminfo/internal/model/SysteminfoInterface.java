@@ -27,6 +27,14 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Starts a new snapshot of the dynamic system information (CPU load, memory, network counters, storage, battery
+     * and process data) for a refresh cycle. Each kind of information is collected on its first request and all
+     * following get methods answer from this snapshot, until it is updated again.
+     * A recently updated snapshot is reused, so that all things and channels refreshed at the same time share it.
+     */
+    public void updateSnapshot();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import static org.mockito.Mockito.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.NetworkIF;
+import oshi.hardware.PowerSource;
+import oshi.hardware.Sensors;
+import oshi.software.os.FileSystem;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * Tests that the {@link OSHISysteminfo} queries the dynamic information from OSHI on first access within a snapshot,
+ * reuses it for the rest of the snapshot and queries it again when a snapshot is updated after it expired.
+ *
+ * @author agent - Initial contribution
+ */
+public class OSHISysteminfoTest {
+    private HardwareAbstractionLayer hal;
+    private GlobalMemory memory;
+    private CentralProcessor cpu;
+    private Sensors sensors;
+    private OperatingSystem operatingSystem;
+    private FileSystem fileSystem;
+    private NetworkIF network;
+
+    private OSHISysteminfo systeminfo;
+
+    @Before
+    public void setUp() {
+        hal = mock(HardwareAbstractionLayer.class);
+        memory = mock(GlobalMemory.class);
+        cpu = mock(CentralProcessor.class);
+        sensors = mock(Sensors.class);
+        operatingSystem = mock(OperatingSystem.class);
+        fileSystem = mock(FileSystem.class);
+        network = mock(NetworkIF.class);
+
+        when(hal.getMemory()).thenReturn(memory);
+        when(hal.getProcessor()).thenReturn(cpu);
+        when(hal.getSensors()).thenReturn(sensors);
+        when(hal.getNetworkIFs()).thenReturn(new NetworkIF[] { network });
+        when(hal.getPowerSources()).thenReturn(new PowerSource[0]);
+        when(operatingSystem.getFileSystem()).thenReturn(fileSystem);
+        when(fileSystem.getFileStores()).thenReturn(new OSFileStore[0]);
+        when(cpu.getSystemLoadAverage(3)).thenReturn(new double[] { 1, 1, 1 });
+        when(sensors.getFanSpeeds()).thenReturn(new int[0]);
+
+        systeminfo = new OSHISysteminfo();
+        systeminfo.initializeSysteminfo(hal, operatingSystem);
+    }
+
+    @Test
+    public void sourcesAreQueriedOnFirstAccess() throws DeviceNotFoundException {
+        systeminfo.updateSnapshot();
+        systeminfo.getMemoryTotal();
+
+        verify(memory).getTotal();
+        verify(cpu, never()).getSystemCpuLoad();
+        verify(sensors, never()).getCpuTemperature();
+        verify(fileSystem, never()).getFileStores();
+        verify(hal, never()).getNetworkIFs();
+        verify(hal, never()).getPowerSources();
+
+        systeminfo.getNetworkPacketsSent(0);
+
+        verify(hal).getNetworkIFs();
+        verify(network).updateNetworkStats();
+    }
+
+    @Test
+    public void snapshotIsReusedWithinMaxAge() throws DeviceNotFoundException {
+        systeminfo.updateSnapshot();
+        systeminfo.getMemoryTotal();
+        systeminfo.getCpuLoad();
+        systeminfo.getNetworkPacketsSent(0);
+
+        systeminfo.updateSnapshot();
+        systeminfo.getMemoryAvailable();
+        systeminfo.getCpuLoad();
+        systeminfo.getNetworkPacketsReceived(0);
+
+        verify(memory).getTotal();
+        verify(memory).getAvailable();
+        verify(cpu).getSystemCpuLoad();
+        verify(hal).getNetworkIFs();
+        verify(network).updateNetworkStats();
+    }
+
+    @Test
+    public void snapshotExpiresAfterMaxAge() throws DeviceNotFoundException, InterruptedException {
+        systeminfo.updateSnapshot();
+        systeminfo.getMemoryTotal();
+        systeminfo.getCpuLoad();
+        systeminfo.getNetworkPacketsSent(0);
+
+        Thread.sleep(OSHISysteminfo.SNAPSHOT_MAX_AGE_IN_MS + 100);
+
+        // an expired snapshot is not refreshed by the get methods, only by an update
+        systeminfo.getMemoryTotal();
+        verify(memory).getTotal();
+
+        systeminfo.updateSnapshot();
+        systeminfo.getMemoryTotal();
+        systeminfo.getCpuLoad();
+        systeminfo.getNetworkPacketsSent(0);
+
+        verify(memory, times(2)).getTotal();
+        verify(cpu, times(2)).getSystemCpuLoad();
+        verify(hal, times(2)).getNetworkIFs();
+        verify(network, times(2)).updateNetworkStats();
+    }
+}
@@ -13,12 +13,8 @@
 package org.openhab.io.homekit.internal;
 
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 
 import org.openhab.io.homekit.internal.accessories.GroupedAccessory;
 import org.slf4j.Logger;
@@ -28,69 +24,80 @@ import com.beowulfe.hap.HomekitAccessory;
 import com.beowulfe.hap.HomekitRoot;
 
 /**
- * Stores the created HomekitAccessories. GroupedAccessories are also held here
- * in a pre-created pending state until all required characteristics are found.
+ * Stores the created HomekitAccessories, keyed by the name of their root item. GroupedAccessories are also held here
+ * in a pre-created pending state until all required characteristics are found. Characteristic items are kept for
+ * the lifetime of the item, so that a grouped accessory can be re-created on its own when one of its items changes.
  *
  * @author Andy Lintner - Initial contribution
  */
 class HomekitAccessoryRegistry {
 
     private HomekitRoot bridge;
-    private final List<HomekitAccessory> createdAccessories = new LinkedList<>();
-    private final Set<Integer> createdIds = new HashSet<>();
+    private final Map<String, HomekitAccessory> createdAccessories = new LinkedHashMap<>();
     private final Map<String, GroupedAccessory> pendingGroupedAccessories = new HashMap<>();
-    private final List<HomekitTaggedItem> pendingCharacteristics = new LinkedList<>();
+    private final Map<String, HomekitTaggedItem> characteristics = new LinkedHashMap<>();
 
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryRegistry.class);
 
-    public void remove(HomekitTaggedItem taggedItem) {
-        Iterator<HomekitAccessory> i = createdAccessories.iterator();
-        while (i.hasNext()) {
-            HomekitAccessory accessory = i.next();
-            if (accessory.getId() == taggedItem.getId()) {
-                logger.debug("Removed accessory {}", accessory.getId());
+    public synchronized void removeRootDevice(String itemName) {
+        pendingGroupedAccessories.remove(itemName);
+        HomekitAccessory accessory = createdAccessories.remove(itemName);
+        if (accessory != null) {
+            if (bridge != null) {
                 bridge.removeAccessory(accessory);
-                i.remove();
             }
+            logger.debug("Removed accessory {}", accessory.getId());
         }
     }
 
+    /**
+     * Forgets the characteristic item with the given name.
+     *
+     * @return the previously stored characteristic or null if the item was no characteristic
+     */
+    public synchronized HomekitTaggedItem removeCharacteristic(String itemName) {
+        return characteristics.remove(itemName);
+    }
+
     public synchronized void clear() {
-        while (!createdAccessories.isEmpty()) {
-            bridge.removeAccessory(createdAccessories.remove(0));
+        if (bridge != null) {
+            createdAccessories.values().forEach(accessory -> bridge.removeAccessory(accessory));
         }
-        createdIds.clear();
+        createdAccessories.clear();
+        pendingGroupedAccessories.clear();
+        characteristics.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
         this.bridge = bridge;
-        createdAccessories.forEach(accessory -> bridge.addAccessory(accessory));
+        if (bridge != null) {
+            createdAccessories.values().forEach(accessory -> bridge.addAccessory(accessory));
+        }
     }
 
-    public synchronized void addRootDevice(HomekitAccessory accessory) {
+    public synchronized void addRootDevice(String itemName, HomekitAccessory accessory) {
         if (accessory instanceof GroupedAccessory) {
             GroupedAccessory groupedAccessory = (GroupedAccessory) accessory;
-            pendingGroupedAccessories.put(groupedAccessory.getGroupName(), groupedAccessory);
-            for (HomekitTaggedItem characteristic : pendingCharacteristics) {
-                if (characteristic.getItem().getGroupNames().contains(groupedAccessory.getGroupName())) {
-                    addCharacteristicToGroup(groupedAccessory.getGroupName(), characteristic);
+            pendingGroupedAccessories.put(itemName, groupedAccessory);
+            for (HomekitTaggedItem characteristic : characteristics.values()) {
+                if (characteristic.getItem().getGroupNames().contains(groupedAccessory.getGroupName())
+                        && pendingGroupedAccessories.containsKey(itemName)) {
+                    addCharacteristicToGroup(itemName, characteristic);
+                    logger.debug("Added item {} to group {}", characteristic.getItem().getName(), itemName);
                 }
             }
         } else {
-            doAddDevice(accessory);
+            doAddDevice(itemName, accessory);
         }
     }
 
+    /**
+     * Stores a characteristic item. It is added to its grouped accessory when the root device of the group is
+     * (re-)created.
+     */
     public synchronized void addCharacteristic(HomekitTaggedItem item) {
-        for (String group : item.getItem().getGroupNames()) {
-            if (pendingGroupedAccessories.containsKey(group)) {
-                addCharacteristicToGroup(group, item);
-                logger.debug("Added item {} to group {}", item.getItem().getName(), group);
-                return;
-            }
-        }
-        pendingCharacteristics.add(item);
-        logger.debug("Stored item{} until group is ready", item.getItem().getName());
+        characteristics.put(item.getItem().getName(), item);
+        logger.debug("Stored item {} until group is ready", item.getItem().getName());
     }
 
     private void addCharacteristicToGroup(String group, HomekitTaggedItem item) {
@@ -98,13 +105,12 @@ class HomekitAccessoryRegistry {
         accessory.addCharacteristic(item);
         if (accessory.isComplete()) {
             pendingGroupedAccessories.remove(group);
-            doAddDevice(accessory);
+            doAddDevice(group, accessory);
         }
     }
 
-    private void doAddDevice(HomekitAccessory accessory) {
-        createdAccessories.add(accessory);
-        createdIds.add(accessory.getId());
+    private void doAddDevice(String itemName, HomekitAccessory accessory) {
+        createdAccessories.put(itemName, accessory);
         if (bridge != null) {
             bridge.addAccessory(accessory);
         }
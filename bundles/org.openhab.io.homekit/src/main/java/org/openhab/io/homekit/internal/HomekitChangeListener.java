@@ -12,8 +12,20 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.Arrays;
 import java.util.Collection;
-
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
@@ -27,50 +39,57 @@ import com.beowulfe.hap.HomekitRoot;
  * Listens for changes to the item registry. When changes are detected, check
  * for Homekit tags and, if present, add the items to the HomekitAccessoryRegistry.
  *
+ * Registry events are only collected and applied as one batch once the registry has been quiet for
+ * {@link #UPDATE_DELAY_MS}, so reloading an items file does not make the HomeKit clients re-read every accessory.
+ * Only accessories whose items actually changed in a way relevant to HomeKit, or whose item instances have been
+ * replaced in the registry, are re-created.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitChangeListener implements ItemRegistryChangeListener {
 
+    private static final long UPDATE_DELAY_MS = 1000;
+
     private ItemRegistry itemRegistry;
     private HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
     private Logger logger = LoggerFactory.getLogger(HomekitChangeListener.class);
     private final HomekitAccessoryRegistry accessoryRegistry = new HomekitAccessoryRegistry();
     private HomekitSettings settings;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("homekit");
+    private final Set<String> pendingUpdates = new LinkedHashSet<>();
+    private final Map<String, List<Object>> knownItems = new HashMap<>();
+    private final Map<String, Item> knownInstances = new HashMap<>();
+    private ScheduledFuture<?> pendingUpdatesFuture;
 
     @Override
     public synchronized void added(Item item) {
-        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
-        if (taggedItem.isTagged()) {
-            if (taggedItem.isRootDevice()) {
-                createRootDevice(taggedItem);
-            }
-            if (taggedItem.isCharacteristic()) {
-                createCharacteristic(taggedItem);
-            }
-        }
+        markDirty(item.getName());
     }
 
     @Override
-    public void allItemsChanged(Collection<String> oldItemNames) {
-        clearAccessories();
+    public synchronized void allItemsChanged(Collection<String> oldItemNames) {
+        oldItemNames.forEach(this::markDirty);
+        if (itemRegistry != null) {
+            itemRegistry.getAll().forEach(item -> markDirty(item.getName()));
+        }
     }
 
     @Override
     public synchronized void removed(Item item) {
-        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
-        if (taggedItem.isTagged()) {
-            accessoryRegistry.remove(taggedItem);
-        }
+        markDirty(item.getName());
     }
 
     @Override
-    public void updated(Item oldElement, Item element) {
-        removed(oldElement);
-        added(element);
+    public synchronized void updated(Item oldElement, Item element) {
+        markDirty(oldElement.getName());
+        markDirty(element.getName());
     }
 
     public synchronized void clearAccessories() {
+        cancelPendingUpdates();
         accessoryRegistry.clear();
+        knownItems.clear();
+        knownInstances.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
@@ -79,8 +98,13 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public synchronized void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        if (itemRegistry == null) {
+            cancelPendingUpdates();
+            return;
+        }
         itemRegistry.addRegistryChangeListener(this);
-        itemRegistry.getAll().forEach(item -> added(item));
+        itemRegistry.getAll().forEach(item -> pendingUpdates.add(item.getName()));
+        applyPendingUpdates();
     }
 
     public void setUpdater(HomekitAccessoryUpdater updater) {
@@ -91,17 +115,108 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.settings = settings;
     }
 
-    public void stop() {
+    public synchronized void stop() {
+        cancelPendingUpdates();
         if (this.itemRegistry != null) {
             this.itemRegistry.removeRegistryChangeListener(this);
         }
     }
 
+    private void markDirty(String itemName) {
+        pendingUpdates.add(itemName);
+        if (pendingUpdatesFuture != null) {
+            pendingUpdatesFuture.cancel(false);
+        }
+        pendingUpdatesFuture = scheduler.schedule(this::applyPendingUpdates, UPDATE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelPendingUpdates() {
+        if (pendingUpdatesFuture != null) {
+            pendingUpdatesFuture.cancel(false);
+            pendingUpdatesFuture = null;
+        }
+        pendingUpdates.clear();
+    }
+
+    private synchronized void applyPendingUpdates() {
+        pendingUpdatesFuture = null;
+        if (itemRegistry == null || pendingUpdates.isEmpty()) {
+            return;
+        }
+
+        // Drop items that did not change in a way relevant to HomeKit, members of changed groups need to be
+        // re-evaluated as their characteristics depend on the tags of the group. An updated item is a new instance
+        // and the accessories listen to the state of the disposed one, so these are always re-created.
+        Set<String> changedItems = new LinkedHashSet<>();
+        for (String itemName : pendingUpdates) {
+            Item item = itemRegistry.get(itemName);
+            if (item == null) {
+                knownInstances.remove(itemName);
+                if (knownItems.remove(itemName) == null) {
+                    continue;
+                }
+            } else {
+                List<Object> signature = getSignature(item);
+                boolean sameInstance = knownInstances.put(itemName, item) == item;
+                if (signature.equals(knownItems.put(itemName, signature)) && sameInstance) {
+                    continue;
+                }
+            }
+            changedItems.add(itemName);
+            if (item instanceof GroupItem) {
+                ((GroupItem) item).getMembers().forEach(member -> changedItems.add(member.getName()));
+            }
+        }
+        pendingUpdates.clear();
+        logger.debug("Applying {} changed items to homekit", changedItems.size());
+
+        Set<String> changedRootItems = new LinkedHashSet<>();
+        for (String itemName : changedItems) {
+            changedRootItems.add(itemName);
+            HomekitTaggedItem oldCharacteristic = accessoryRegistry.removeCharacteristic(itemName);
+            if (oldCharacteristic != null) {
+                changedRootItems.addAll(oldCharacteristic.getItem().getGroupNames());
+            }
+            Item item = itemRegistry.get(itemName);
+            if (item != null) {
+                HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
+                if (taggedItem.isCharacteristic()) {
+                    createCharacteristic(taggedItem);
+                    changedRootItems.addAll(item.getGroupNames());
+                }
+            }
+        }
+
+        Set<String> handledRootItems = new HashSet<>();
+        for (String itemName : changedRootItems) {
+            if (!handledRootItems.add(itemName)) {
+                continue;
+            }
+            accessoryRegistry.removeRootDevice(itemName);
+            Item item = itemRegistry.get(itemName);
+            if (item != null) {
+                HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
+                if (taggedItem.isTagged() && taggedItem.isRootDevice()) {
+                    createRootDevice(taggedItem);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the parts of an item that are used for creating accessories. If these are equal, the accessories of
+     * the item do not need to be re-created.
+     */
+    private List<Object> getSignature(Item item) {
+        return Arrays.asList(item.getType(), item.getLabel(), new HashSet<>(item.getTags()),
+                new HashSet<>(item.getGroupNames()));
+    }
+
     private void createRootDevice(HomekitTaggedItem taggedItem) {
         try {
             logger.debug("Adding homekit device {}", taggedItem.getItem().getName());
-            accessoryRegistry
-                    .addRootDevice(HomekitAccessoryFactory.create(taggedItem, itemRegistry, updater, settings));
+            accessoryRegistry.addRootDevice(taggedItem.getItem().getName(),
+                    HomekitAccessoryFactory.create(taggedItem, itemRegistry, updater, settings));
             logger.debug("Added homekit device {}", taggedItem.getItem().getName());
         } catch (Exception e) {
             logger.error("Could not add device: {}", e.getMessage(), e);
@@ -25,21 +25,23 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.json.JSONException;
@@ -53,6 +55,7 @@ import io.socket.client.Manager;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
 import io.socket.engineio.client.Transport;
+import io.socket.thread.EventThread;
 
 /**
  * This class provides communication between openHAB and the openHAB Cloud service.
@@ -83,6 +86,8 @@ public class CloudClient {
      */
     private static final int HTTP_CLIENT_TIMEOUT = 30000;
 
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
     /*
      * This variable holds base URL for the openHAB Cloud connections
      */
@@ -142,6 +147,12 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * This variable holds the instance of ItemUpdateCoalescer which limits the rate of item updates sent to
+     * the openHAB Cloud
+     */
+    private final ItemUpdateCoalescer itemUpdateCoalescer;
+
     /**
      * Constructor of CloudClient
      *
@@ -149,10 +160,12 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateInterval Interval in milliseconds, in which only the latest update of an item is sent to the
+     *            openHAB Cloud, 0 to send all updates
      *
      */
     public CloudClient(String uuid, String secret, String baseURL, String localBaseUrl, boolean remoteAccessEnabled,
-            Set<String> exposedItems) {
+            Set<String> exposedItems, long itemUpdateInterval) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -163,6 +176,8 @@ public class CloudClient {
         jettyClient = new HttpClient();
         jettyClient.setMaxConnectionsPerDestination(HTTP_CLIENT_MAX_CONNECTIONS_PER_DEST);
         jettyClient.setConnectTimeout(HTTP_CLIENT_TIMEOUT);
+        itemUpdateCoalescer = new ItemUpdateCoalescer(this::emitItemUpdate,
+                ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD), itemUpdateInterval);
     }
 
     /**
@@ -364,8 +379,9 @@ public class CloudClient {
                 logger.error("Unsupported request method {}", requestMethod);
                 return;
             }
-            ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
+            ResponseListener listener = new ResponseListener(requestId, acceptsGzip(requestHeadersJson));
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
@@ -397,6 +413,18 @@ public class CloudClient {
         }
     }
 
+    private boolean acceptsGzip(JSONObject requestHeadersJson) {
+        @SuppressWarnings("unchecked")
+        Iterator<String> headersIterator = requestHeadersJson.keys();
+        while (headersIterator.hasNext()) {
+            String headerName = headersIterator.next();
+            if (HttpHeader.ACCEPT_ENCODING.is(headerName)) {
+                return requestHeadersJson.optString(headerName).toLowerCase().contains("gzip");
+            }
+        }
+        return false;
+    }
+
     private void handleCancelEvent(JSONObject data) {
         try {
             int requestId = data.getInt("id");
@@ -417,6 +445,7 @@ public class CloudClient {
         if (exposedItems.contains(itemName)) {
             try {
                 logger.debug("Received command {} for item {}.", data.getString("command"), itemName);
+                itemUpdateCoalescer.commandReceived(itemName);
                 if (this.listener != null) {
                     this.listener.sendCommand(itemName, data.getString("command"));
                 }
@@ -510,6 +539,10 @@ public class CloudClient {
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
+        itemUpdateCoalescer.update(itemName, itemState);
+    }
+
+    private boolean emitItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
@@ -517,12 +550,14 @@ public class CloudClient {
                 itemUpdateMessage.put("itemName", itemName);
                 itemUpdateMessage.put("itemStatus", itemState);
                 socket.emit("itemupdate", itemUpdateMessage);
+                return true;
             } catch (JSONException e) {
                 logger.error("{}", e.getMessage());
             }
         } else {
             logger.debug("No connection, Item update is not sent");
         }
+        return false;
     }
 
     /**
@@ -532,11 +567,34 @@ public class CloudClient {
         return isConnected;
     }
 
+    /**
+     * Returns the number of item updates sent to the openHAB Cloud
+     */
+    public long getSentItemUpdates() {
+        return itemUpdateCoalescer.getSentUpdates();
+    }
+
+    /**
+     * Returns the number of item updates not sent to the openHAB Cloud, because they were replaced by a newer
+     * update of the same item
+     */
+    public long getCoalescedItemUpdates() {
+        return itemUpdateCoalescer.getCoalescedUpdates();
+    }
+
+    /**
+     * Returns the number of item updates not sent to the openHAB Cloud, because there was no connection
+     */
+    public long getDroppedItemUpdates() {
+        return itemUpdateCoalescer.getDroppedUpdates();
+    }
+
     /**
      * Disconnect from openHAB Cloud
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        itemUpdateCoalescer.stop();
         try {
             jettyClient.stop();
         } catch (Exception e) {
@@ -561,21 +619,32 @@ public class CloudClient {
      * An internal class which forwards response headers and data back to the openHAB Cloud
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+        private final ScheduledExecutorService scheduler = ThreadPoolManager
+                .getScheduledPool(THREADPOOL_OPENHABCLOUD);
         private int mRequestId;
+        private boolean mAcceptsGzip;
         private boolean mHeadersSent = false;
+        private ResponseFrameWriter mFrameWriter;
+        private final ResponseContentThrottle mContentThrottle = new ResponseContentThrottle();
 
-        public ResponseListener(int requestId) {
+        public ResponseListener(int requestId, boolean acceptsGzip) {
             mRequestId = requestId;
+            mAcceptsGzip = acceptsGzip;
         }
 
-        private JSONObject getJSONHeaders(HttpFields httpFields) {
+        private JSONObject getJSONHeaders(HttpFields httpFields, boolean compress) {
             JSONObject headersJSON = new JSONObject();
             try {
                 for (HttpField field : httpFields) {
-                    headersJSON.put(field.getName(), field.getValue());
+                    // the length of the compressed content is not known in advance
+                    if (!compress || field.getHeader() != HttpHeader.CONTENT_LENGTH) {
+                        headersJSON.put(field.getName(), field.getValue());
+                    }
+                }
+                if (compress) {
+                    headersJSON.put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
                 }
             } catch (JSONException e) {
                 logger.error("Error forming response headers: {}", e.getMessage());
@@ -583,6 +652,43 @@ public class CloudClient {
             return headersJSON;
         }
 
+        /*
+         * Text content is compressed, if the client accepts it and it is not compressed already
+         */
+        private boolean isCompressible(Response response) {
+            HttpFields headers = response.getHeaders();
+            String contentType = headers.get(HttpHeader.CONTENT_TYPE);
+            if (!mAcceptsGzip || contentType == null || headers.containsKey(HttpHeader.CONTENT_ENCODING.asString())) {
+                return false;
+            }
+            contentType = contentType.toLowerCase();
+            return (contentType.startsWith("text/") && !contentType.startsWith("text/event-stream"))
+                    || contentType.startsWith("application/json") || contentType.startsWith("application/javascript")
+                    || contentType.startsWith("application/xml") || contentType.startsWith("image/svg+xml");
+        }
+
+        private synchronized ResponseFrameWriter getFrameWriter(boolean compress) throws IOException {
+            if (mFrameWriter == null) {
+                mFrameWriter = new ResponseFrameWriter(this::sendFrame, scheduler, compress);
+            }
+            return mFrameWriter;
+        }
+
+        private void sendFrame(byte[] frame) {
+            JSONObject responseJson = new JSONObject();
+            try {
+                responseJson.put("id", mRequestId);
+                responseJson.put("body", frame);
+                mContentThrottle.frameQueued();
+                socket.emit("responseContentBinary", responseJson);
+                // Socket.IO client processes the emitted messages and this task in order on its event thread
+                EventThread.exec(mContentThrottle::frameSent);
+                logger.debug("Sent content of size {} to request {}", frame.length, mRequestId);
+            } catch (JSONException e) {
+                logger.error("{}", e.getMessage());
+            }
+        }
+
         @Override
         public void onComplete(Result result) {
             // Remove this request from list of running requests
@@ -599,13 +705,28 @@ public class CloudClient {
                     logger.warn("Response Failure: {}", result.getResponseFailure().getMessage());
                 }
             }
+            ResponseFrameWriter frameWriter;
+            synchronized (this) {
+                frameWriter = mFrameWriter;
+            }
+            if (frameWriter != null && result != null && result.isFailed()) {
+                frameWriter.close();
+            } else if (frameWriter != null) {
+                try {
+                    // send the rest of the content
+                    frameWriter.finish();
+                } catch (IOException e) {
+                    logger.warn("Error compressing content of request {}: {}", mRequestId, e.getMessage());
+                    frameWriter.close();
+                }
+            }
 
             /**
              * What is this? In some cases where latency is very low the myopenhab service
              * can receive responseFinished before the headers or content are received and I
              * cannot find another workaround to prevent it.
              */
-            ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(() -> {
+            scheduler.schedule(() -> {
                 JSONObject responseJson = new JSONObject();
                 try {
                     responseJson.put("id", mRequestId);
@@ -631,17 +752,16 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
-            JSONObject responseJson = new JSONObject();
             try {
-                responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
-                socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
-            } catch (JSONException e) {
-                logger.error("{}", e.getMessage());
+                getFrameWriter(false).write(content);
+            } catch (IOException e) {
+                logger.warn("Error compressing content of request {}: {}", mRequestId, e.getMessage());
+                callback.failed(e);
+                return;
             }
+            mContentThrottle.contentProcessed(callback);
         }
 
         @Override
@@ -650,14 +770,18 @@ public class CloudClient {
                 logger.debug("Jetty finished receiving response header");
                 JSONObject responseJson = new JSONObject();
                 mHeadersSent = true;
+                boolean compress = isCompressible(response);
                 try {
+                    getFrameWriter(compress);
                     responseJson.put("id", mRequestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers", getJSONHeaders(response.getHeaders(), compress));
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
                     logger.debug("Sent headers to request {}", mRequestId);
                     logger.debug("{}", responseJson.toString());
+                } catch (IOException e) {
+                    logger.error("Error creating compressor for request {}: {}", mRequestId, e.getMessage());
                 } catch (JSONException e) {
                     logger.error("{}", e.getMessage());
                 }
@@ -80,8 +80,10 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_UPDATE_INTERVAL = "updateInterval";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
+    private static final long DEFAULT_UPDATE_INTERVAL = 1000;
 
     private Logger logger = LoggerFactory.getLogger(CloudService.class);
 
@@ -93,6 +95,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private long itemUpdateInterval = DEFAULT_UPDATE_INTERVAL;
     private int localPort;
 
     public CloudService() {
@@ -207,6 +210,19 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             }
         }
 
+        Object updateIntervalCfg = config.get(CFG_UPDATE_INTERVAL);
+        if (updateIntervalCfg != null) {
+            try {
+                itemUpdateInterval = Math.max(0, Long.parseLong(updateIntervalCfg.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid item update interval '{}', using {} ms", updateIntervalCfg,
+                        DEFAULT_UPDATE_INTERVAL);
+                itemUpdateInterval = DEFAULT_UPDATE_INTERVAL;
+            }
+        } else {
+            itemUpdateInterval = DEFAULT_UPDATE_INTERVAL;
+        }
+
         logger.debug("UUID = {}, secret = {}", InstanceUUID.get(), getSecret());
 
         if (cloudClient != null) {
@@ -215,7 +231,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl, remoteAccessEnabled,
-                exposedItems);
+                exposedItems, itemUpdateInterval);
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
         cloudClient.connect();
         cloudClient.setListener(this);
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class limits the rate of item updates sent to the openHAB Cloud. Updates received within the update interval
+ * are collected and only the latest state of each item is sent at the end of the interval, together with the updates
+ * of all other items. The first update of an item after a command was received for it from the openHAB Cloud
+ * acknowledges the command and is sent immediately.
+ *
+ * The updates are passed to the sender while holding the lock of the coalescer, so an older state of an item can never
+ * be sent after a newer one.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemUpdateCoalescer {
+    /*
+     * Time after which a command from the openHAB Cloud is considered as not acknowledged by an item update anymore
+     */
+    private static final long ACKNOWLEDGEMENT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateCoalescer.class);
+    private final BiPredicate<String, String> updateSender;
+    private final ScheduledExecutorService scheduler;
+    private final long intervalMillis;
+
+    /*
+     * The latest states of the items updated in the current interval, in the order of their first update
+     */
+    private final Map<String, String> pendingUpdates = new LinkedHashMap<>();
+
+    /*
+     * The items, for which a command was received, with the time until which their update is sent immediately
+     */
+    private final Map<String, Long> pendingAcknowledgements = new HashMap<>();
+
+    private final AtomicLong sentUpdates = new AtomicLong();
+    private final AtomicLong coalescedUpdates = new AtomicLong();
+    private final AtomicLong droppedUpdates = new AtomicLong();
+    private ScheduledFuture<?> flushJob;
+
+    /**
+     * Constructor of ItemUpdateCoalescer
+     *
+     * @param updateSender sends the state (second argument) of an item (first argument) to the openHAB Cloud, returns
+     *            false if the update was dropped
+     * @param scheduler scheduler used to send the collected updates
+     * @param intervalMillis the update interval in milliseconds, 0 to send all updates immediately
+     */
+    ItemUpdateCoalescer(BiPredicate<String, String> updateSender, ScheduledExecutorService scheduler,
+            long intervalMillis) {
+        this.updateSender = updateSender;
+        this.scheduler = scheduler;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Adds an item update. It replaces an update of the same item not sent yet.
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     */
+    synchronized void update(String itemName, String itemState) {
+        Long acknowledgementDeadline = pendingAcknowledgements.remove(itemName);
+        boolean acknowledgement = acknowledgementDeadline != null
+                && acknowledgementDeadline >= System.currentTimeMillis();
+
+        if (intervalMillis > 0 && !acknowledgement) {
+            if (pendingUpdates.put(itemName, itemState) != null) {
+                coalescedUpdates.incrementAndGet();
+            } else if (flushJob == null) {
+                flushJob = scheduler.schedule(this::flush, intervalMillis, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+        // a pending update of the item is outdated by this one
+        if (pendingUpdates.remove(itemName) != null) {
+            coalescedUpdates.incrementAndGet();
+        }
+        send(itemName, itemState);
+    }
+
+    /**
+     * Notifies that a command for an item was received from the openHAB Cloud. The next update of the item
+     * acknowledges the command and is sent before the updates collected for other items.
+     *
+     * @param itemName the name of the item
+     */
+    synchronized void commandReceived(String itemName) {
+        pendingAcknowledgements.put(itemName, System.currentTimeMillis() + ACKNOWLEDGEMENT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Sends all collected updates.
+     */
+    synchronized void flush() {
+        flushJob = null;
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Iterator<Long> iterator = pendingAcknowledgements.values().iterator(); iterator.hasNext();) {
+            if (iterator.next() < now) {
+                iterator.remove();
+            }
+        }
+
+        logger.debug("Sending {} collected item updates", pendingUpdates.size());
+        pendingUpdates.forEach(this::send);
+        pendingUpdates.clear();
+        logStatistics();
+    }
+
+    /**
+     * Discards all collected updates.
+     */
+    synchronized void stop() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        pendingUpdates.clear();
+        pendingAcknowledgements.clear();
+        logStatistics();
+    }
+
+    /**
+     * Returns the number of item updates sent to the openHAB Cloud
+     */
+    long getSentUpdates() {
+        return sentUpdates.get();
+    }
+
+    /**
+     * Returns the number of item updates not sent, because they were replaced by newer updates of the same item
+     */
+    long getCoalescedUpdates() {
+        return coalescedUpdates.get();
+    }
+
+    /**
+     * Returns the number of item updates dropped by the sender, e.g. because there was no connection
+     */
+    long getDroppedUpdates() {
+        return droppedUpdates.get();
+    }
+
+    private void send(String itemName, String itemState) {
+        if (updateSender.test(itemName, itemState)) {
+            sentUpdates.incrementAndGet();
+        } else {
+            droppedUpdates.incrementAndGet();
+        }
+    }
+
+    private void logStatistics() {
+        logger.debug("Sent {} item updates, {} item updates were replaced by newer ones, {} were dropped",
+                sentUpdates.get(), coalescedUpdates.get(), droppedUpdates.get());
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import org.eclipse.jetty.util.Callback;
+
+/**
+ * This class applies back-pressure to the content of a response to a request proxied from the openHAB Cloud. The
+ * frames of the content are passed to the Socket.IO client, which sends them later on its event thread. While
+ * {@link #MAX_PENDING_FRAMES} frames are waiting there, Jetty is not asked for more content of the response, so that a
+ * large response is not buffered completely in memory when the connection to the openHAB Cloud is slow.
+ *
+ * @author agent - Initial contribution
+ */
+class ResponseContentThrottle {
+    /*
+     * Maximum number of frames passed to the Socket.IO client, which were not sent by it yet. With frames of
+     * ResponseFrameWriter.FRAME_SIZE bytes at most 256 KiB of a response are buffered, while there are still enough
+     * frames queued to keep the connection busy until the next frames are read.
+     */
+    static final int MAX_PENDING_FRAMES = 4;
+
+    private int pendingFrames;
+    private Callback pendingContentCallback;
+
+    /**
+     * Counts a frame passed to the Socket.IO client.
+     */
+    synchronized void frameQueued() {
+        pendingFrames++;
+    }
+
+    /**
+     * Counts a frame sent by the Socket.IO client and requests more content, if it was held back.
+     */
+    void frameSent() {
+        Callback callback = null;
+        synchronized (this) {
+            pendingFrames--;
+            if (pendingContentCallback != null && pendingFrames < MAX_PENDING_FRAMES) {
+                callback = pendingContentCallback;
+                pendingContentCallback = null;
+            }
+        }
+        if (callback != null) {
+            callback.succeeded();
+        }
+    }
+
+    /**
+     * Requests more content after the received content was processed. The request is held back until the Socket.IO
+     * client caught up, if there are too many pending frames.
+     *
+     * @param callback the callback of Jetty to request more content
+     */
+    void contentProcessed(Callback callback) {
+        synchronized (this) {
+            if (pendingFrames >= MAX_PENDING_FRAMES) {
+                pendingContentCallback = callback;
+                return;
+            }
+        }
+        callback.succeeded();
+    }
+}
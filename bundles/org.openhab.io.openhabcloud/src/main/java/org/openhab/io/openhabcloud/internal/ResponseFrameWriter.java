@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class aggregates the content of a response to a request proxied from the openHAB Cloud into frames. Jetty
+ * delivers the content in small chunks, which are collected in a buffer until a frame of {@link #FRAME_SIZE} bytes is
+ * complete, the content is complete or no more content was received for {@link #FLUSH_DELAY_MILLIS} (to not delay
+ * streamed responses). Each frame is then sent as one message. Optionally the content is compressed with gzip.
+ *
+ * The buffers are reused by all responses.
+ *
+ * @author agent - Initial contribution
+ */
+class ResponseFrameWriter {
+    /*
+     * Maximum size of a frame sent to the openHAB Cloud
+     */
+    static final int FRAME_SIZE = 64 * 1024;
+
+    /*
+     * Time after which an incomplete frame is sent, if no more content is received. Jetty delivers the chunks of a
+     * response within a few milliseconds, so they are still collected in one frame, while the delay is not noticeable
+     * for streamed responses like server-sent events.
+     */
+    static final long FLUSH_DELAY_MILLIS = 20;
+
+    private static final int MAX_POOLED_BUFFERS = 16;
+    private static final Queue<byte[]> BUFFER_POOL = new ConcurrentLinkedQueue<>();
+
+    private final Logger logger = LoggerFactory.getLogger(ResponseFrameWriter.class);
+    private final Consumer<byte[]> frameSender;
+    private final ScheduledExecutorService scheduler;
+    private final GZIPOutputStream gzip;
+    private byte[] buffer;
+    private byte[] transferBuffer;
+    private int length;
+    private ScheduledFuture<?> flushJob;
+    private boolean closed;
+
+    /**
+     * Constructor of ResponseFrameWriter
+     *
+     * @param frameSender receives the frames to send to the openHAB Cloud
+     * @param scheduler scheduler used to send incomplete frames after a delay
+     * @param compress compress the content with gzip
+     */
+    ResponseFrameWriter(Consumer<byte[]> frameSender, ScheduledExecutorService scheduler, boolean compress)
+            throws IOException {
+        this.frameSender = frameSender;
+        this.scheduler = scheduler;
+        gzip = compress ? new GZIPOutputStream(new FrameOutputStream(), true) : null;
+    }
+
+    /**
+     * Adds content to the current frame. Complete frames are sent immediately.
+     *
+     * @param content content received from the local openHAB
+     * @throws IOException when compression of the content fails
+     */
+    synchronized void write(ByteBuffer content) throws IOException {
+        if (closed) {
+            return;
+        }
+        if (gzip == null) {
+            while (content.hasRemaining()) {
+                int size = Math.min(content.remaining(), FRAME_SIZE - length);
+                content.get(getBuffer(), length, size);
+                frameWritten(size);
+            }
+        } else if (content.hasArray()) {
+            gzip.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            content.position(content.limit());
+        } else {
+            if (transferBuffer == null) {
+                transferBuffer = new byte[8192];
+            }
+            while (content.hasRemaining()) {
+                int size = Math.min(content.remaining(), transferBuffer.length);
+                content.get(transferBuffer, 0, size);
+                gzip.write(transferBuffer, 0, size);
+            }
+        }
+        if (flushJob == null || flushJob.isDone()) {
+            flushJob = scheduler.schedule(this::flushDelayed, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the rest of the content and releases the buffer.
+     *
+     * @throws IOException when compression of the content fails
+     */
+    synchronized void finish() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (gzip != null) {
+                gzip.finish();
+            }
+            sendFrame();
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Discards the rest of the content and releases the buffer.
+     */
+    synchronized void close() {
+        closed = true;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        if (gzip != null) {
+            try {
+                gzip.close();
+            } catch (IOException e) {
+                // nothing is written anymore
+            }
+        }
+        if (buffer != null) {
+            if (BUFFER_POOL.size() < MAX_POOLED_BUFFERS) {
+                BUFFER_POOL.offer(buffer);
+            }
+            buffer = null;
+        }
+    }
+
+    private synchronized void flushDelayed() {
+        if (closed) {
+            return;
+        }
+        try {
+            if (gzip != null) {
+                gzip.flush();
+            }
+            sendFrame();
+        } catch (IOException e) {
+            logger.debug("Error compressing response content: {}", e.getMessage());
+        }
+    }
+
+    private byte[] getBuffer() {
+        if (buffer == null) {
+            buffer = BUFFER_POOL.poll();
+            if (buffer == null) {
+                buffer = new byte[FRAME_SIZE];
+            }
+        }
+        return buffer;
+    }
+
+    private void frameWritten(int size) {
+        length += size;
+        if (length == FRAME_SIZE) {
+            sendFrame();
+        }
+    }
+
+    private void sendFrame() {
+        if (length > 0) {
+            frameSender.accept(Arrays.copyOf(buffer, length));
+            length = 0;
+        }
+    }
+
+    /*
+     * Receives the compressed content, the content written after the writer was closed is discarded
+     */
+    private class FrameOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+            if (closed) {
+                return;
+            }
+            getBuffer()[length] = (byte) b;
+            frameWritten(1);
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int size) {
+            if (closed) {
+                return;
+            }
+            int written = 0;
+            while (written < size) {
+                int chunk = Math.min(size - written, FRAME_SIZE - length);
+                System.arraycopy(data, offset + written, getBuffer(), length, chunk);
+                frameWritten(chunk);
+                written += chunk;
+            }
+        }
+    }
+}
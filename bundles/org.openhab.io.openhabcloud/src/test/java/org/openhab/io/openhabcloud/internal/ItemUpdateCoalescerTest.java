@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ItemUpdateCoalescer}. The interval is long enough to never elapse during a test, the collected
+ * updates are flushed by the tests.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemUpdateCoalescerTest {
+    private static final long INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final List<String> sentUpdates = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private boolean connected = true;
+
+    @Before
+    public void setup() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void cleanup() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void onlyLatestUpdateOfAnItemIsSent() {
+        ItemUpdateCoalescer coalescer = createCoalescer(INTERVAL);
+
+        coalescer.update("Power", "100");
+        coalescer.update("Light", "ON");
+        coalescer.update("Power", "120");
+        assertEquals(0, sentUpdates.size());
+
+        coalescer.flush();
+
+        assertEquals(Arrays.asList("Power=120", "Light=ON"), sentUpdates);
+        assertEquals(2, coalescer.getSentUpdates());
+        assertEquals(1, coalescer.getCoalescedUpdates());
+    }
+
+    @Test
+    public void acknowledgementIsSentImmediatelyAndReplacesCollectedUpdate() {
+        ItemUpdateCoalescer coalescer = createCoalescer(INTERVAL);
+
+        coalescer.update("Light", "OFF");
+        coalescer.commandReceived("Light");
+        coalescer.update("Light", "ON");
+        assertEquals(Arrays.asList("Light=ON"), sentUpdates);
+
+        // The older state collected before the acknowledgement must not be sent afterwards
+        coalescer.flush();
+        assertEquals(Arrays.asList("Light=ON"), sentUpdates);
+        assertEquals(1, coalescer.getCoalescedUpdates());
+
+        // Further updates are collected again
+        coalescer.update("Light", "OFF");
+        assertEquals(1, sentUpdates.size());
+    }
+
+    @Test
+    public void allUpdatesAreSentWithoutInterval() {
+        ItemUpdateCoalescer coalescer = createCoalescer(0);
+
+        coalescer.update("Power", "100");
+        coalescer.update("Power", "120");
+
+        assertEquals(Arrays.asList("Power=100", "Power=120"), sentUpdates);
+        assertEquals(0, coalescer.getCoalescedUpdates());
+    }
+
+    @Test
+    public void droppedUpdatesAreNotCountedAsSent() {
+        ItemUpdateCoalescer coalescer = createCoalescer(0);
+
+        connected = false;
+        coalescer.update("Power", "100");
+        connected = true;
+        coalescer.update("Power", "120");
+
+        assertEquals(1, coalescer.getSentUpdates());
+        assertEquals(1, coalescer.getDroppedUpdates());
+    }
+
+    @Test
+    public void stopDiscardsCollectedUpdates() {
+        ItemUpdateCoalescer coalescer = createCoalescer(INTERVAL);
+
+        coalescer.update("Power", "100");
+        coalescer.stop();
+        coalescer.flush();
+
+        assertEquals(0, sentUpdates.size());
+    }
+
+    private ItemUpdateCoalescer createCoalescer(long interval) {
+        return new ItemUpdateCoalescer((itemName, itemState) -> {
+            if (!connected) {
+                return false;
+            }
+            sentUpdates.add(itemName + "=" + itemState);
+            return true;
+        }, scheduler, interval);
+    }
+}
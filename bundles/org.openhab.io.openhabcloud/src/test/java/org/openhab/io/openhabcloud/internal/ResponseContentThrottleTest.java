@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.jetty.util.Callback;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the back-pressure of {@link ResponseContentThrottle}. The callbacks count how often Jetty was asked for
+ * more content.
+ *
+ * @author agent - Initial contribution
+ */
+public class ResponseContentThrottleTest {
+    private static final int MAX_PENDING_FRAMES = ResponseContentThrottle.MAX_PENDING_FRAMES;
+
+    private ResponseContentThrottle throttle;
+
+    @Before
+    public void setup() {
+        throttle = new ResponseContentThrottle();
+    }
+
+    @Test
+    public void contentIsRequestedBelowPendingFrameLimit() {
+        CountingCallback callback = new CountingCallback();
+
+        for (int i = 0; i < MAX_PENDING_FRAMES - 1; i++) {
+            throttle.frameQueued();
+            throttle.contentProcessed(callback);
+        }
+
+        assertEquals(MAX_PENDING_FRAMES - 1, callback.succeeded);
+    }
+
+    @Test
+    public void contentIsHeldBackWhenPendingFrameLimitIsReached() {
+        for (int i = 0; i < MAX_PENDING_FRAMES; i++) {
+            throttle.frameQueued();
+        }
+        CountingCallback callback = new CountingCallback();
+
+        throttle.contentProcessed(callback);
+        assertEquals(0, callback.succeeded);
+
+        throttle.frameSent();
+        assertEquals(1, callback.succeeded);
+
+        // the held back request is only continued once
+        throttle.frameSent();
+        assertEquals(1, callback.succeeded);
+    }
+
+    @Test
+    public void contentIsHeldBackUntilPendingFramesAreBelowLimit() {
+        // the content of one chunk may fill several frames
+        for (int i = 0; i < MAX_PENDING_FRAMES + 2; i++) {
+            throttle.frameQueued();
+        }
+        CountingCallback callback = new CountingCallback();
+
+        throttle.contentProcessed(callback);
+        throttle.frameSent();
+        throttle.frameSent();
+        assertEquals(0, callback.succeeded);
+
+        throttle.frameSent();
+        assertEquals(1, callback.succeeded);
+    }
+
+    @Test
+    public void contentIsRequestedAgainAfterFramesWereSent() {
+        for (int i = 0; i < MAX_PENDING_FRAMES; i++) {
+            throttle.frameQueued();
+        }
+        for (int i = 0; i < MAX_PENDING_FRAMES; i++) {
+            throttle.frameSent();
+        }
+        CountingCallback callback = new CountingCallback();
+
+        throttle.contentProcessed(callback);
+
+        assertEquals(1, callback.succeeded);
+    }
+
+    private static class CountingCallback implements Callback {
+        private int succeeded;
+
+        @Override
+        public void succeeded() {
+            succeeded++;
+        }
+
+        @Override
+        public void failed(Throwable x) {
+            fail("Reading content failed");
+        }
+    }
+}
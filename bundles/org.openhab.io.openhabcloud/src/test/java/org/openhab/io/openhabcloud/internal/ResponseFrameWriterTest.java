@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ResponseFrameWriter}. The frames are recorded instead of being sent to the openHAB Cloud and the
+ * delayed flushes are run by the tests.
+ *
+ * @author agent - Initial contribution
+ */
+public class ResponseFrameWriterTest {
+    private static final int FRAME_SIZE = ResponseFrameWriter.FRAME_SIZE;
+
+    private final List<byte[]> frames = new ArrayList<>();
+    private ManualScheduler scheduler;
+
+    @Before
+    public void setup() {
+        scheduler = new ManualScheduler();
+    }
+
+    @After
+    public void cleanup() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void contentIsSentInFramesOfFrameSize() throws IOException {
+        ResponseFrameWriter writer = new ResponseFrameWriter(frames::add, scheduler, false);
+        byte[] content = createContent(2 * FRAME_SIZE + 100);
+
+        for (int offset = 0; offset < content.length; offset += 1000) {
+            writer.write(ByteBuffer.wrap(content, offset, Math.min(1000, content.length - offset)));
+        }
+
+        assertEquals(2, frames.size());
+        assertEquals(FRAME_SIZE, frames.get(0).length);
+        assertEquals(FRAME_SIZE, frames.get(1).length);
+
+        writer.finish();
+
+        assertEquals(3, frames.size());
+        assertEquals(100, frames.get(2).length);
+        assertArrayEquals(content, concatFrames());
+    }
+
+    @Test
+    public void framesDoNotExceedFrameSize() throws IOException {
+        ResponseFrameWriter writer = new ResponseFrameWriter(frames::add, scheduler, false);
+        byte[] content = createContent(3 * FRAME_SIZE + 1);
+
+        writer.write(ByteBuffer.wrap(content));
+        writer.finish();
+
+        assertEquals(4, frames.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(FRAME_SIZE, frames.get(i).length);
+        }
+        assertEquals(1, frames.get(3).length);
+        assertArrayEquals(content, concatFrames());
+    }
+
+    @Test
+    public void incompleteFrameIsSentByDelayedFlush() throws IOException {
+        ResponseFrameWriter writer = new ResponseFrameWriter(frames::add, scheduler, false);
+        byte[] content = createContent(300);
+
+        writer.write(ByteBuffer.wrap(content, 0, 100));
+        writer.write(ByteBuffer.wrap(content, 100, 100));
+        assertEquals(0, frames.size());
+        assertEquals(1, scheduler.getScheduledCount());
+
+        scheduler.runScheduled();
+        assertEquals(1, frames.size());
+        assertEquals(200, frames.get(0).length);
+
+        // Content written after the flush schedules the next flush
+        writer.write(ByteBuffer.wrap(content, 200, 100));
+        assertEquals(1, scheduler.getScheduledCount());
+        writer.finish();
+
+        assertEquals(2, frames.size());
+        assertArrayEquals(content, concatFrames());
+
+        // The flush scheduled before the content was finished does not send anything anymore
+        scheduler.runScheduled();
+        assertEquals(2, frames.size());
+    }
+
+    @Test
+    public void closedWriterDiscardsContent() throws IOException {
+        ResponseFrameWriter writer = new ResponseFrameWriter(frames::add, scheduler, false);
+
+        writer.write(ByteBuffer.wrap(createContent(100)));
+        writer.close();
+        scheduler.runScheduled();
+        writer.finish();
+
+        assertEquals(0, frames.size());
+    }
+
+    @Test
+    public void compressedContentIsSentInFrames() throws IOException {
+        ResponseFrameWriter writer = new ResponseFrameWriter(frames::add, scheduler, true);
+        byte[] content = createRandomContent(2 * FRAME_SIZE);
+
+        writer.write(ByteBuffer.wrap(content, 0, FRAME_SIZE));
+        // Content of direct buffers is compressed through a transfer buffer
+        ByteBuffer direct = ByteBuffer.allocateDirect(FRAME_SIZE);
+        direct.put(content, FRAME_SIZE, FRAME_SIZE).flip();
+        writer.write(direct);
+        writer.finish();
+
+        assertTrue(frames.size() > 1);
+        for (byte[] frame : frames) {
+            assertTrue(frame.length <= FRAME_SIZE);
+        }
+        assertArrayEquals(content, decompress(new GZIPInputStream(new ByteArrayInputStream(concatFrames())), -1));
+    }
+
+    @Test
+    public void compressedContentIsFlushed() throws IOException {
+        ResponseFrameWriter writer = new ResponseFrameWriter(frames::add, scheduler, true);
+        byte[] content = "{\"state\":\"ON\"}".getBytes();
+
+        writer.write(ByteBuffer.wrap(content));
+        scheduler.runScheduled();
+
+        // The flushed frames can be decompressed before the content is finished
+        assertTrue(frames.size() > 0);
+        assertArrayEquals(content,
+                decompress(new GZIPInputStream(new ByteArrayInputStream(concatFrames())), content.length));
+        writer.close();
+    }
+
+    private byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i % 251);
+        }
+        return content;
+    }
+
+    private byte[] createRandomContent(int size) {
+        // Content which can hardly be compressed, so the compressed content needs several frames as well
+        byte[] content = new byte[size];
+        long seed = 42;
+        for (int i = 0; i < size; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            content[i] = (byte) (seed >>> 56);
+        }
+        return content;
+    }
+
+    private byte[] concatFrames() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] frame : frames) {
+            out.write(frame, 0, frame.length);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] decompress(InputStream in, int length) throws IOException {
+        if (length >= 0) {
+            byte[] data = new byte[length];
+            new DataInputStream(in).readFully(data);
+            return data;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Scheduler which only runs the scheduled tasks when requested by the test.
+     */
+    private static class ManualScheduler extends ScheduledThreadPoolExecutor {
+        private final List<ManualFuture> scheduled = new ArrayList<>();
+
+        ManualScheduler() {
+            super(1);
+        }
+
+        @Override
+        public synchronized ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            ManualFuture future = new ManualFuture(command);
+            scheduled.add(future);
+            return future;
+        }
+
+        synchronized int getScheduledCount() {
+            return scheduled.size();
+        }
+
+        void runScheduled() {
+            List<ManualFuture> tasks;
+            synchronized (this) {
+                tasks = new ArrayList<>(scheduled);
+                scheduled.clear();
+            }
+            for (ManualFuture task : tasks) {
+                task.run();
+            }
+        }
+    }
+
+    private static class ManualFuture extends FutureTask<Object> implements ScheduledFuture<Object> {
+        ManualFuture(Runnable runnable) {
+            super(runnable, null);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return 0;
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}